@@ -0,0 +1,89 @@
+package mda.generator.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import mda.generator.beans.UmlAssociation;
+import mda.generator.beans.UmlAttribute;
+import mda.generator.beans.UmlClass;
+import mda.generator.beans.UmlPackage;
+import mda.generator.writers.java.utils.ImportManager;
+
+/**
+ * Imports computing : names of the types used by each class of the model, resolved by an import manager per class.
+ *
+ * @author Fabien Crapart
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Dlog4j.configurationFile=log4j2-benchmarks.xml"})
+public class ImportManagerBenchmark {
+
+	/**
+	 * Full names of the types used by each class
+	 */
+	@State(Scope.Benchmark)
+	public static class TypesState {
+		private final List<String> packageNames = new ArrayList<>();
+		private final List<String[]> typesNames = new ArrayList<>();
+
+		@Setup(Level.Trial)
+		public void setUp(ModelState model) {
+			for(UmlPackage umlPackage : model.getPackages()) {
+				for(UmlClass umlClass : umlPackage.getClasses()) {
+					List<String> names = new ArrayList<>();
+					names.add("javax.persistence.Entity");
+					names.add("javax.persistence.Table");
+					names.add("javax.persistence.Id");
+					names.add("javax.persistence.GeneratedValue");
+					names.add("javax.persistence.SequenceGenerator");
+					for(UmlAttribute umlAttribute : umlClass.getAttributes()) {
+						names.add("javax.persistence.Column");
+						names.add(model.getTypeConverter().getJavaType(umlAttribute.getDomain()));
+					}
+					for(UmlAssociation umlAssociation : umlClass.getAssociations()) {
+						names.add(umlAssociation.isTargetMultiple() ? "javax.persistence.OneToMany" : "javax.persistence.ManyToOne");
+						names.add("javax.persistence.JoinColumn");
+						names.add("javax.persistence.FetchType");
+						if(umlAssociation.isTargetMultiple()) {
+							names.add("java.util.Set");
+							names.add("java.util.HashSet");
+						}
+						UmlClass target = umlAssociation.getTarget();
+						names.add(target.getXmiPackage().getName() + "." + model.getJavaNameConverter().convertClassName(target.getName()));
+					}
+
+					packageNames.add(umlPackage.getName());
+					typesNames.add(names.toArray(new String[names.size()]));
+				}
+			}
+		}
+	}
+
+	@Benchmark
+	public void getFinalName(TypesState types, Blackhole blackhole) {
+		for(int idx = 0; idx < types.packageNames.size(); idx++) {
+			ImportManager importManager = new ImportManager(types.packageNames.get(idx));
+			for(String typeName : types.typesNames.get(idx)) {
+				blackhole.consume(importManager.getFinalName(typeName));
+			}
+			blackhole.consume(importManager.getAllImports());
+		}
+	}
+}
@@ -0,0 +1,40 @@
+package mda.generator.benchmarks;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import mda.generator.beans.UmlPackage;
+import mda.generator.writers.java.codepart.JavaPackage;
+
+/**
+ * Model build phase : creation of the java packages and classes (attributes, methods, annotations) from the UML objects.
+ *
+ * @author Fabien Crapart
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Dlog4j.configurationFile=log4j2-benchmarks.xml"})
+public class JavaModelBenchmark {
+
+	@Benchmark
+	public List<JavaPackage> javaPackages(ModelState model) {
+		Path srcRoot = model.getDirectory().resolve("javagen");
+		List<JavaPackage> javaPackages = new ArrayList<>();
+		for(UmlPackage umlPackage : model.getPackages()) {
+			javaPackages.add(new JavaPackage(srcRoot, umlPackage, model.getTypeConverter(), model.getJavaNameConverter()));
+		}
+		return javaPackages;
+	}
+}
@@ -0,0 +1,164 @@
+package mda.generator.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import mda.generator.beans.UmlPackage;
+import mda.generator.converters.java.JavaNameConverterInterface;
+import mda.generator.converters.java.JavaSnakeToCamelNameConverter;
+import mda.generator.converters.type.DomainToOracleConverter;
+import mda.generator.converters.type.TypeConverterInterface;
+import mda.generator.exceptions.MdaGeneratorException;
+import mda.generator.readers.xmi.XmiReader;
+
+/**
+ * Synthetic model shared by the benchmarks : model files written in a temporary directory with the default templates,
+ * and the UML objects read from these files.
+ *
+ * @author Fabien Crapart
+ */
+@State(Scope.Benchmark)
+public class ModelState {
+	/** Default templates copied from the generator jar */
+	private static final String[] TEMPLATES = {"entity.vm", "entity_plan.vm", "dao_spring.vm", "package-info.vm", "createSQL_oracle.vm", "dropSQL_oracle.vm"};
+
+	/** Number of classes of the model */
+	@Param({"100", "1000", "10000", "50000"})
+	public int classCount;
+
+	private Path directory;
+	private Path xmiPath;
+	private Path metadataPath;
+	private Path templatesPath;
+	private List<UmlPackage> packages;
+
+	private final TypeConverterInterface typeConverter = new DomainToOracleConverter();
+	private final JavaNameConverterInterface javaNameConverter = new JavaSnakeToCamelNameConverter();
+
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		directory = Files.createTempDirectory("mda-benchmarks");
+		xmiPath = directory.resolve("model.xmi");
+		metadataPath = directory.resolve("model_metadata.xml");
+		new SyntheticModelWriter()
+				.withClasses(classCount)
+				.withPackages(Math.max(1, classCount / 100))
+				.withOneToMany(classCount)
+				.withOneToOne(classCount / 10)
+				.withManyToMany(classCount / 10)
+				.withCompositeKeys(classCount / 20)
+				.write(xmiPath, metadataPath);
+
+		templatesPath = Files.createDirectories(directory.resolve("templates"));
+		for(String template : TEMPLATES) {
+			try(InputStream input = ModelState.class.getResourceAsStream("/templates/" + template)) {
+				if(input == null) {
+					throw new MdaGeneratorException("Template " + template + " not found in classpath");
+				}
+				Files.copy(input, templatesPath.resolve(template));
+			}
+		}
+
+		XmiReader reader = new XmiReader();
+		reader.extractObjects(xmiPath.toString(), metadataPath.toString());
+		packages = new ArrayList<>(reader.getPackagesMap().values());
+		packages.sort(Comparator.comparing(UmlPackage::getName));
+		if(reader.getClassesMap().size() != classCount) {
+			throw new MdaGeneratorException(reader.getClassesMap().size() + " classes read instead of " + classCount);
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		deleteDirectory(directory);
+	}
+
+	/**
+	 * Delete a directory and its content
+	 * @param directoryToDelete
+	 * @throws IOException
+	 */
+	static void deleteDirectory(Path directoryToDelete) throws IOException {
+		if(directoryToDelete == null || !Files.exists(directoryToDelete)) {
+			return;
+		}
+		Files.walkFileTree(directoryToDelete, new SimpleFileVisitor<Path>() {
+			@Override
+			public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+				Files.delete(file);
+				return FileVisitResult.CONTINUE;
+			}
+
+			@Override
+			public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
+				Files.delete(dir);
+				return FileVisitResult.CONTINUE;
+			}
+		});
+	}
+
+	/**
+	 * @return temporary directory of the model
+	 */
+	public Path getDirectory() {
+		return directory;
+	}
+
+	/**
+	 * @return the xmiPath
+	 */
+	public Path getXmiPath() {
+		return xmiPath;
+	}
+
+	/**
+	 * @return the metadataPath
+	 */
+	public Path getMetadataPath() {
+		return metadataPath;
+	}
+
+	/**
+	 * @param templateName name of a default template
+	 * @return path of the template copy
+	 */
+	public Path getTemplatePath(String templateName) {
+		return templatesPath.resolve(templateName);
+	}
+
+	/**
+	 * @return packages read from the model, sorted by name
+	 */
+	public List<UmlPackage> getPackages() {
+		return packages;
+	}
+
+	/**
+	 * @return the typeConverter
+	 */
+	public TypeConverterInterface getTypeConverter() {
+		return typeConverter;
+	}
+
+	/**
+	 * @return the javaNameConverter
+	 */
+	public JavaNameConverterInterface getJavaNameConverter() {
+		return javaNameConverter;
+	}
+}
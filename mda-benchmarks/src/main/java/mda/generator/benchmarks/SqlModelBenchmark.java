@@ -0,0 +1,48 @@
+package mda.generator.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import mda.generator.writers.sql.SQLWriterConfig;
+import mda.generator.writers.sql.StandardSQLWriter;
+
+/**
+ * SQL model build phase : extraction of tables, sequences and FKs from the UML packages.
+ *
+ * @author Fabien Crapart
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Dlog4j.configurationFile=log4j2-benchmarks.xml"})
+public class SqlModelBenchmark {
+
+	@Benchmark
+	public StandardSQLWriter extractDataFromPackage(ModelState model) {
+		SQLWriterConfig config = new SQLWriterConfig();
+		config.setPackagesList(model.getPackages());
+		config.setTypeConverter(model.getTypeConverter());
+
+		ExtractingSQLWriter writer = new ExtractingSQLWriter();
+		writer.extractData(config);
+		return writer;
+	}
+
+	/**
+	 * SQL writer only extracting data, without writing files
+	 */
+	private static class ExtractingSQLWriter extends StandardSQLWriter {
+		@Override
+		protected void extractData(SQLWriterConfig config) {
+			super.extractData(config);
+		}
+	}
+}
@@ -0,0 +1,622 @@
+package mda.generator.benchmarks;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Properties;
+import java.util.Random;
+
+import mda.generator.exceptions.MdaGeneratorException;
+import mda.generator.utils.file.PropertyUtils;
+
+/**
+ * Write a synthetic model (XMI 2.1 and metadata files) with the shape of the files exported by Enterprise Architect (see example.xmi),
+ * to test the generator on big models.
+ *
+ * The numbers of packages, classes, attributes per class, associations (1:1, 1:n, n:m), classes with a composite key and domains are configurable.
+ * Associations link random classes (reproducible with the seed), classes with a composite key are only on the "many" side of 1:n associations
+ * because the generator doesn't handle them as target of n:m associations.
+ * Files are written on the fly, memory only depends on the number of associations.
+ *
+ * Can be used from the command line : SyntheticModelWriter outputDirectory [name=value ...], for example :
+ * <pre>java -cp target/benchmarks.jar mda.generator.benchmarks.SyntheticModelWriter /tmp/model classes=100000 packages=500</pre>
+ *
+ * @author Fabien Crapart
+ */
+public class SyntheticModelWriter {
+	/** Name of the model file written by the command line */
+	public static final String XMI_FILE_NAME = "model.xmi";
+	/** Name of the metadata file written by the command line */
+	public static final String METADATA_FILE_NAME = "model_metadata.xml";
+
+	/** Value of xrefs marking an attribute as PK */
+	private static final String PK_XREFS = "$XREFPROP=$XID={00000000-0000-0000-0000-000000000000}$XID;$NAM=CustomProperties$NAM;$TYP=attribute property$TYP;$VIS=Public$VIS;$PAR=0$PAR;"
+			+ "$DES=@PROP=@NAME=isID@ENDNAME;@TYPE=Boolean@ENDTYPE;@VALU=1@ENDVALU;@PRMT=@ENDPRMT;@ENDPROP;$DES;$SUP=<none>$SUP;$ENDXREF;";
+
+	/** Domain of the PKs */
+	private static final String[] PK_DOMAIN = {"DO_ID", "long", "0", "0"};
+	/** Types of the other domains : java type, max length, precision */
+	private static final String[][] DOMAIN_TYPES = {
+			{"String", "50", "0"},
+			{"Integer", "0", "0"},
+			{"LocalDate", "0", "0"},
+			{"Boolean", "0", "0"},
+			{"String", "2000", "0"},
+			{"LocalDateTime", "0", "0"},
+			{"Long", "0", "0"},
+			{"BigDecimal", "0", "12"},
+			{"String", "255", "0"},
+			{"Double", "0", "12"}
+	};
+
+	private static final int ONE_TO_MANY = 0;
+	private static final int ONE_TO_ONE = 1;
+	private static final int MANY_TO_MANY = 2;
+
+	private int packages = 10;
+	private int classes = 1000;
+	private int attributesPerClass = 6;
+	private int oneToOne = 100;
+	private int oneToMany = 1000;
+	private int manyToMany = 100;
+	private int compositeKeys = 50;
+	private int domains = 10;
+	private int seed = 0;
+	private String packagePrefix = "com.benchmark.entities";
+
+	/** Associations : source class, target class and kind */
+	private int[] associationsSources;
+	private int[] associationsTargets;
+	private int[] associationsKinds;
+	/** Associations ends of each class (association index * 2, + 1 for the end towards the source), indexed by endsStarts */
+	private int[] ends;
+	private int[] endsStarts;
+	/** Associations of each package (package of the source class), indexed by packagesAssociationsStarts */
+	private int[] packagesAssociations;
+	private int[] packagesAssociationsStarts;
+
+	/**
+	 * @param packages number of packages
+	 * @return this
+	 */
+	public SyntheticModelWriter withPackages(int packages) {
+		this.packages = packages;
+		return this;
+	}
+
+	/**
+	 * @param classes number of classes, spread over the packages
+	 * @return this
+	 */
+	public SyntheticModelWriter withClasses(int classes) {
+		this.classes = classes;
+		return this;
+	}
+
+	/**
+	 * @param attributesPerClass number of attributes of each class (PKs included)
+	 * @return this
+	 */
+	public SyntheticModelWriter withAttributesPerClass(int attributesPerClass) {
+		this.attributesPerClass = attributesPerClass;
+		return this;
+	}
+
+	/**
+	 * @param oneToOne number of 1:1 associations
+	 * @return this
+	 */
+	public SyntheticModelWriter withOneToOne(int oneToOne) {
+		this.oneToOne = oneToOne;
+		return this;
+	}
+
+	/**
+	 * @param oneToMany number of 1:n associations
+	 * @return this
+	 */
+	public SyntheticModelWriter withOneToMany(int oneToMany) {
+		this.oneToMany = oneToMany;
+		return this;
+	}
+
+	/**
+	 * @param manyToMany number of n:m associations
+	 * @return this
+	 */
+	public SyntheticModelWriter withManyToMany(int manyToMany) {
+		this.manyToMany = manyToMany;
+		return this;
+	}
+
+	/**
+	 * @param compositeKeys number of classes with a composite key (two PK attributes)
+	 * @return this
+	 */
+	public SyntheticModelWriter withCompositeKeys(int compositeKeys) {
+		this.compositeKeys = compositeKeys;
+		return this;
+	}
+
+	/**
+	 * @param domains number of domains in metadata (PK domain included)
+	 * @return this
+	 */
+	public SyntheticModelWriter withDomains(int domains) {
+		this.domains = domains;
+		return this;
+	}
+
+	/**
+	 * @param seed seed of the random associations
+	 * @return this
+	 */
+	public SyntheticModelWriter withSeed(int seed) {
+		this.seed = seed;
+		return this;
+	}
+
+	/**
+	 * @param packagePrefix prefix of the packages names, must contain the entities part of the generator configuration
+	 * @return this
+	 */
+	public SyntheticModelWriter withPackagePrefix(String packagePrefix) {
+		this.packagePrefix = packagePrefix;
+		return this;
+	}
+
+	/**
+	 * Load the parameters from properties (same names as the "with" methods)
+	 * @param prop properties
+	 * @return this
+	 */
+	public SyntheticModelWriter fromProperties(Properties prop) {
+		PropertyUtils.loadInteger("packages", prop, this::withPackages);
+		PropertyUtils.loadInteger("classes", prop, this::withClasses);
+		PropertyUtils.loadInteger("attributesPerClass", prop, this::withAttributesPerClass);
+		PropertyUtils.loadInteger("oneToOne", prop, this::withOneToOne);
+		PropertyUtils.loadInteger("oneToMany", prop, this::withOneToMany);
+		PropertyUtils.loadInteger("manyToMany", prop, this::withManyToMany);
+		PropertyUtils.loadInteger("compositeKeys", prop, this::withCompositeKeys);
+		PropertyUtils.loadInteger("domains", prop, this::withDomains);
+		PropertyUtils.loadInteger("seed", prop, this::withSeed);
+		PropertyUtils.loadString("packagePrefix", prop, this::withPackagePrefix);
+		return this;
+	}
+
+	/**
+	 * Write the model and metadata files.
+	 * @param xmiPath XMI file to write
+	 * @param metadataPath metadata file to write
+	 * @throws IOException
+	 */
+	public void write(Path xmiPath, Path metadataPath) throws IOException {
+		checkParameters();
+		createAssociations();
+		try(Writer writer = Files.newBufferedWriter(xmiPath, StandardCharsets.UTF_8)) {
+			writeModel(new XmlOutput(writer));
+		}
+		try(Writer writer = Files.newBufferedWriter(metadataPath, StandardCharsets.UTF_8)) {
+			writeMetadata(new XmlOutput(writer));
+		}
+	}
+
+	/**
+	 * Command line : output directory, then parameters as name=value
+	 * @param args
+	 * @throws IOException
+	 */
+	public static void main(String[] args) throws IOException {
+		if(args.length == 0) {
+			System.err.println("Usage : SyntheticModelWriter outputDirectory [packages=10] [classes=1000] [attributesPerClass=6] [oneToOne=100] [oneToMany=1000]"
+					+ " [manyToMany=100] [compositeKeys=50] [domains=10] [seed=0] [packagePrefix=com.benchmark.entities]");
+			System.exit(1);
+		}
+
+		Properties prop = new Properties();
+		for(int idx = 1; idx < args.length; idx++) {
+			int separator = args[idx].indexOf('=');
+			if(separator <= 0) {
+				throw new MdaGeneratorException("Parameter " + args[idx] + " must be written name=value");
+			}
+			prop.setProperty(args[idx].substring(0, separator), args[idx].substring(separator + 1));
+		}
+
+		Path outputDirectory = Files.createDirectories(Paths.get(args[0]));
+		new SyntheticModelWriter().fromProperties(prop).write(outputDirectory.resolve(XMI_FILE_NAME), outputDirectory.resolve(METADATA_FILE_NAME));
+	}
+
+	private void checkParameters() {
+		if(classes < 1 || packages < 1 || packages > classes) {
+			throw new MdaGeneratorException("At least one class and one package are needed, and no more packages than classes");
+		}
+		if(attributesPerClass < 2 || domains < 2) {
+			throw new MdaGeneratorException("At least two attributes per class and two domains are needed");
+		}
+		if(compositeKeys < 0 || compositeKeys > classes || oneToOne < 0 || oneToMany < 0 || manyToMany < 0) {
+			throw new MdaGeneratorException("Negative number of associations or more classes with composite keys than classes");
+		}
+		int singlePkClasses = classes - compositeKeys;
+		if((oneToMany > 0 && (classes < 2 || singlePkClasses < 1)) || (oneToOne + manyToMany > 0 && singlePkClasses < 2)) {
+			throw new MdaGeneratorException("Not enough classes with a single PK for the associations");
+		}
+	}
+
+	/**
+	 * Random associations, and their indexes by class and by package
+	 */
+	private void createAssociations() {
+		int[] singlePkClasses = new int[classes - compositeKeys];
+		int singlePkCount = 0;
+		for(int cls = 0; cls < classes; cls++) {
+			if(!isCompositeKey(cls)) {
+				singlePkClasses[singlePkCount++] = cls;
+			}
+		}
+
+		int count = oneToMany + oneToOne + manyToMany;
+		associationsSources = new int[count];
+		associationsTargets = new int[count];
+		associationsKinds = new int[count];
+		Random random = new Random(seed);
+		for(int assoc = 0; assoc < count; assoc++) {
+			int target = singlePkClasses[random.nextInt(singlePkCount)];
+			int source;
+			if(assoc < oneToMany) {
+				associationsKinds[assoc] = ONE_TO_MANY;
+				source = random.nextInt(classes);
+				if(source == target) {
+					source = (source + 1) % classes;
+				}
+			} else {
+				associationsKinds[assoc] = assoc < oneToMany + oneToOne ? ONE_TO_ONE : MANY_TO_MANY;
+				source = singlePkClasses[random.nextInt(singlePkCount)];
+				if(source == target) {
+					source = singlePkClasses[(indexOf(singlePkClasses, singlePkCount, source) + 1) % singlePkCount];
+				}
+			}
+			associationsSources[assoc] = source;
+			associationsTargets[assoc] = target;
+		}
+
+		// Ends by class
+		endsStarts = new int[classes + 1];
+		for(int assoc = 0; assoc < count; assoc++) {
+			endsStarts[associationsSources[assoc] + 1]++;
+			endsStarts[associationsTargets[assoc] + 1]++;
+		}
+		for(int cls = 0; cls < classes; cls++) {
+			endsStarts[cls + 1] += endsStarts[cls];
+		}
+		ends = new int[count * 2];
+		int[] endsPositions = endsStarts.clone();
+		for(int assoc = 0; assoc < count; assoc++) {
+			ends[endsPositions[associationsSources[assoc]]++] = assoc * 2;
+			ends[endsPositions[associationsTargets[assoc]]++] = assoc * 2 + 1;
+		}
+
+		// Associations by package
+		packagesAssociationsStarts = new int[packages + 1];
+		for(int assoc = 0; assoc < count; assoc++) {
+			packagesAssociationsStarts[packageOf(associationsSources[assoc]) + 1]++;
+		}
+		for(int pkg = 0; pkg < packages; pkg++) {
+			packagesAssociationsStarts[pkg + 1] += packagesAssociationsStarts[pkg];
+		}
+		packagesAssociations = new int[count];
+		int[] packagesPositions = packagesAssociationsStarts.clone();
+		for(int assoc = 0; assoc < count; assoc++) {
+			packagesAssociations[packagesPositions[packageOf(associationsSources[assoc])]++] = assoc;
+		}
+	}
+
+	private void writeModel(XmlOutput out) throws IOException {
+		out.declaration();
+		out.start("xmi:XMI", "xmi:version", "2.1", "xmlns:uml", "http://schema.omg.org/spec/UML/2.1", "xmlns:xmi", "http://schema.omg.org/spec/XMI/2.1");
+		out.empty("xmi:Documentation", "exporter", "Enterprise Architect", "exporterVersion", "6.5");
+		out.start("uml:Model", "xmi:type", "uml:Model", "name", "EA_Model", "visibility", "public");
+		out.start("packagedElement", "xmi:type", "uml:Package", "xmi:id", id("EAPK", 0, 0), "name", "model", "visibility", "public");
+		for(int pkg = 0; pkg < packages; pkg++) {
+			out.start("packagedElement", "xmi:type", "uml:Package", "xmi:id", id("EAPK", 1, pkg), "name", packageName(pkg), "visibility", "public");
+			for(int cls = firstClass(pkg); cls < firstClass(pkg + 1); cls++) {
+				writeModelClass(out, cls);
+			}
+			for(int idx = packagesAssociationsStarts[pkg]; idx < packagesAssociationsStarts[pkg + 1]; idx++) {
+				int assoc = packagesAssociations[idx];
+				out.start("packagedElement", "xmi:type", "uml:Association", "xmi:id", id("EAID", 3, assoc), "name", associationName(assoc), "visibility", "public");
+				out.empty("memberEnd", "xmi:idref", id("EAID", 4, assoc));
+				out.empty("memberEnd", "xmi:idref", id("EAID", 5, assoc));
+				out.end("packagedElement");
+			}
+			out.end("packagedElement");
+		}
+		out.end("packagedElement");
+		out.end("uml:Model");
+
+		out.start("xmi:Extension", "extender", "Enterprise Architect", "extenderID", "6.5");
+		out.start("elements");
+		for(int pkg = 0; pkg < packages; pkg++) {
+			out.start("element", "xmi:idref", id("EAPK", 1, pkg), "xmi:type", "uml:Package", "name", packageName(pkg), "scope", "public");
+			out.empty("model", "package2", id("EAID", 1, pkg), "package", id("EAPK", 0, 0), "tpos", "0", "ea_eleType", "package");
+			out.empty("properties", "isSpecification", "false", "sType", "Package", "nType", "0", "scope", "public");
+			out.empty("extendedProperties", "tagged", "0", "package_name", "model");
+			out.end("element");
+			for(int cls = firstClass(pkg); cls < firstClass(pkg + 1); cls++) {
+				writeExtensionClass(out, pkg, cls);
+			}
+		}
+		out.end("elements");
+		out.start("connectors");
+		for(int assoc = 0; assoc < associationsKinds.length; assoc++) {
+			writeConnector(out, assoc);
+		}
+		out.end("connectors");
+		out.end("xmi:Extension");
+		out.end("xmi:XMI");
+	}
+
+	private void writeModelClass(XmlOutput out, int cls) throws IOException {
+		out.start("packagedElement", "xmi:type", "uml:Class", "xmi:id", classId(cls), "name", className(cls), "visibility", "public");
+		for(int attr = 0; attr < attributesPerClass; attr++) {
+			out.start("ownedAttribute", "xmi:type", "uml:Property", "xmi:id", attributeId(cls, attr), "name", attributeName(cls, attr),
+					"visibility", "private", "isStatic", "false", "isReadOnly", "false", "isDerived", "false", "isOrdered", "false", "isUnique", "true", "isDerivedUnion", "false");
+			out.empty("type", "xmi:idref", "EAJava_" + domainName(domainOf(cls, attr)));
+			out.end("ownedAttribute");
+		}
+		// Associations ends (ignored by the reader, as in the files exported by Enterprise Architect)
+		for(int idx = endsStarts[cls]; idx < endsStarts[cls + 1]; idx++) {
+			int assoc = ends[idx] / 2;
+			boolean towardsSource = ends[idx] % 2 == 1;
+			out.start("ownedAttribute", "xmi:type", "uml:Property", "xmi:id", id("EAID", towardsSource ? 5 : 4, assoc), "visibility", "public", "association", id("EAID", 3, assoc),
+					"isStatic", "false", "isReadOnly", "false", "isDerived", "false", "isOrdered", "false", "isUnique", "true", "isDerivedUnion", "false", "aggregation", "none");
+			out.empty("type", "xmi:idref", classId(towardsSource ? associationsSources[assoc] : associationsTargets[assoc]));
+			out.end("ownedAttribute");
+		}
+		out.end("packagedElement");
+	}
+
+	private void writeExtensionClass(XmlOutput out, int pkg, int cls) throws IOException {
+		out.start("element", "xmi:idref", classId(cls), "xmi:type", "uml:Class", "name", className(cls), "scope", "public");
+		out.empty("model", "package", id("EAPK", 1, pkg), "tpos", "0", "ea_localid", String.valueOf(cls + 1), "ea_eleType", "element");
+		out.empty("properties", "documentation", "Synthetic class " + (cls + 1), "isSpecification", "false", "sType", "Class", "nType", "0", "scope", "public",
+				"isRoot", "false", "isLeaf", "false", "isAbstract", "false", "isActive", "false");
+		out.empty("code", "gentype", "Java");
+		out.empty("tags");
+		out.empty("xrefs");
+		out.empty("extendedProperties", "tagged", "0", "package_name", packageName(pkg));
+		out.start("attributes");
+		for(int attr = 0; attr < attributesPerClass; attr++) {
+			out.start("attribute", "xmi:idref", attributeId(cls, attr), "name", attributeName(cls, attr), "scope", "Private");
+			out.empty("initial");
+			out.empty("documentation");
+			out.empty("properties", "type", domainName(domainOf(cls, attr)), "derived", "0", "collection", "false", "duplicates", "0", "changeability", "changeable");
+			out.empty("containment", "containment", "Not Specified", "position", String.valueOf(attr));
+			out.empty("bounds", "lower", isPk(cls, attr) || attr % 2 == 1 ? "1" : "0", "upper", "1");
+			out.empty("style", "value", "Attribute " + attr + " of synthetic class " + (cls + 1));
+			out.empty("styleex", "value", "IsLiteral=0;volatile=0;");
+			out.empty("tags");
+			if(isPk(cls, attr)) {
+				out.empty("xrefs", "value", PK_XREFS);
+			} else {
+				out.empty("xrefs");
+			}
+			out.end("attribute");
+		}
+		out.end("attributes");
+		out.end("element");
+	}
+
+	private void writeConnector(XmlOutput out, int assoc) throws IOException {
+		String sourceMultiplicity;
+		String targetMultiplicity;
+		switch(associationsKinds[assoc]) {
+		case ONE_TO_MANY:
+			sourceMultiplicity = "0..*";
+			targetMultiplicity = assoc % 2 == 0 ? "1" : "0..1";
+			break;
+		case ONE_TO_ONE:
+			sourceMultiplicity = "0..1";
+			targetMultiplicity = assoc % 2 == 0 ? "1" : "0..1";
+			break;
+		default:
+			sourceMultiplicity = "0..*";
+			targetMultiplicity = "0..*";
+			break;
+		}
+
+		String number = String.format("%06d", assoc + 1);
+		out.start("connector", "xmi:idref", id("EAID", 3, assoc));
+		// The source class is the owner : it holds the FK for 1:1 (and 1:n), the join table for n:m
+		writeConnectorEnd(out, "source", associationsSources[assoc], "from" + number, "fk_" + number + "_from", sourceMultiplicity, "Owned=0;");
+		writeConnectorEnd(out, "target", associationsTargets[assoc], "to" + number, "fk_" + number + "_to", targetMultiplicity, "Owned=1;");
+		out.empty("model", "ea_localid", String.valueOf(assoc + 1));
+		out.empty("properties", "ea_type", "Association", "direction", "Bi-Directional");
+		out.empty("modifiers", "isRoot", "false", "isLeaf", "false");
+		out.empty("labels", "lb", sourceMultiplicity, "mt", associationName(assoc), "rb", targetMultiplicity);
+		out.empty("extendedProperties", "virtualInheritance", "0");
+		out.end("connector");
+	}
+
+	private void writeConnectorEnd(XmlOutput out, String tagName, int cls, String role, String alias, String multiplicity, String owned) throws IOException {
+		out.start(tagName, "xmi:idref", classId(cls));
+		out.empty("model", "ea_localid", String.valueOf(cls + 1), "type", "Class", "name", className(cls));
+		out.empty("role", "name", role, "visibility", "Public", "targetScope", "instance");
+		out.empty("type", "multiplicity", multiplicity, "aggregation", "none", "containment", "Unspecified");
+		out.empty("constraints");
+		out.empty("modifiers", "isOrdered", "false", "changeable", "none", "isNavigable", "true");
+		out.empty("style", "value", "Union=0;Derived=0;AllowDuplicates=0;" + owned + "Navigable=Navigable;alias=" + alias + ";");
+		out.empty("documentation");
+		out.empty("xrefs");
+		out.empty("tags");
+		out.end(tagName);
+	}
+
+	private void writeMetadata(XmlOutput out) throws IOException {
+		out.declaration();
+		out.start("RefData", "version", "1.0", "exporter", "EA.25");
+		out.start("DataSet", "name", "Model Data Types - Code and DDL", "table", "t_datatypes",
+				"filter", "Type='#Type#' and ProductName='#ProductName#' and DataType='#DataType#'", "stoplist", ";DatatypeID;");
+		for(int domain = 0; domain < domains; domain++) {
+			String[] type = domainType(domain);
+			out.start("DataRow");
+			writeColumn(out, "Type", "Code");
+			writeColumn(out, "ProductName", "Java");
+			writeColumn(out, "DataType", domainName(domain));
+			writeColumn(out, "Size", "0");
+			writeColumn(out, "MaxLen", type[1]);
+			writeColumn(out, "MaxPrec", type[2]);
+			writeColumn(out, "MaxScale", "0");
+			writeColumn(out, "User", "1");
+			writeColumn(out, "GenericType", type[0]);
+			writeColumn(out, "DatatypeID", String.valueOf(domain + 1));
+			out.end("DataRow");
+		}
+		out.end("DataSet");
+		out.end("RefData");
+	}
+
+	private void writeColumn(XmlOutput out, String name, String value) throws IOException {
+		out.empty("Column", "name", name, "value", value);
+	}
+
+	/**
+	 * Classes with a composite key are spread over the model
+	 */
+	private boolean isCompositeKey(int cls) {
+		return (long) (cls + 1) * compositeKeys / classes != (long) cls * compositeKeys / classes;
+	}
+
+	private boolean isPk(int cls, int attr) {
+		return attr == 0 || (attr == 1 && isCompositeKey(cls));
+	}
+
+	private int domainOf(int cls, int attr) {
+		return isPk(cls, attr) ? 0 : 1 + (cls + attr) % (domains - 1);
+	}
+
+	private static String[] domainType(int domain) {
+		return domain == 0 ? new String[] {PK_DOMAIN[1], PK_DOMAIN[2], PK_DOMAIN[3]} : DOMAIN_TYPES[(domain - 1) % DOMAIN_TYPES.length];
+	}
+
+	private static String domainName(int domain) {
+		return domain == 0 ? PK_DOMAIN[0] : String.format("DO_%s_%03d", domainType(domain)[0].toUpperCase(), domain);
+	}
+
+	private int firstClass(int pkg) {
+		return (int) ((long) pkg * classes / packages);
+	}
+
+	private int packageOf(int cls) {
+		int pkg = (int) ((long) cls * packages / classes);
+		// Rounding of firstClass
+		while(firstClass(pkg + 1) <= cls) {
+			pkg++;
+		}
+		while(firstClass(pkg) > cls) {
+			pkg--;
+		}
+		return pkg;
+	}
+
+	private String packageName(int pkg) {
+		return String.format("%s.package%04d", packagePrefix, pkg + 1);
+	}
+
+	private static int indexOf(int[] values, int length, int value) {
+		for(int idx = 0; idx < length; idx++) {
+			if(values[idx] == value) {
+				return idx;
+			}
+		}
+		return -1;
+	}
+
+	private static String className(int cls) {
+		return String.format("entity_%06d", cls + 1);
+	}
+
+	private static String classId(int cls) {
+		return id("EAID", 2, cls);
+	}
+
+	private static String associationName(int assoc) {
+		return String.format("assoc_%06d", assoc + 1);
+	}
+
+	private String attributeName(int cls, int attr) {
+		if(isCompositeKey(cls) && attr < 2) {
+			return className(cls) + "_key" + (attr + 1);
+		}
+		return attr == 0 ? className(cls) + "_id" : "attribute_" + attr;
+	}
+
+	private static String attributeId(int cls, int attr) {
+		return id("EAID", 6 + attr, cls);
+	}
+
+	/**
+	 * Identifier with the shape of Enterprise Architect ones (ex: EAID_1AE89AC7_3731_4adb_8710_3D68FE9BA33D)
+	 */
+	private static String id(String prefix, int kind, int number) {
+		return String.format("%s_%08X_0000_4000_8000_%012X", prefix, kind, number);
+	}
+
+	/**
+	 * Minimal indented XML output
+	 */
+	private static class XmlOutput {
+		private final Writer writer;
+		private int depth;
+
+		private XmlOutput(Writer writer) {
+			this.writer = writer;
+		}
+
+		private void declaration() throws IOException {
+			writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+		}
+
+		private void start(String tagName, String... attributes) throws IOException {
+			tag(tagName, attributes, ">");
+			depth++;
+		}
+
+		private void empty(String tagName, String... attributes) throws IOException {
+			tag(tagName, attributes, "/>");
+		}
+
+		private void end(String tagName) throws IOException {
+			depth--;
+			indent();
+			writer.write("</" + tagName + ">\n");
+		}
+
+		private void tag(String tagName, String[] attributes, String close) throws IOException {
+			indent();
+			writer.write('<');
+			writer.write(tagName);
+			for(int idx = 0; idx < attributes.length; idx += 2) {
+				writer.write(' ');
+				writer.write(attributes[idx]);
+				writer.write("=\"");
+				writer.write(escape(attributes[idx + 1]));
+				writer.write('"');
+			}
+			writer.write(close);
+			writer.write('\n');
+		}
+
+		private void indent() throws IOException {
+			for(int idx = 0; idx < depth; idx++) {
+				writer.write('\t');
+			}
+		}
+
+		private static String escape(String value) {
+			return value.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+		}
+	}
+}
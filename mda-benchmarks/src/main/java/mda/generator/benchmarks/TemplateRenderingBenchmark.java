@@ -0,0 +1,151 @@
+package mda.generator.benchmarks;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.velocity.VelocityContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import mda.generator.beans.UmlPackage;
+import mda.generator.writers.VelocityTemplateCache;
+import mda.generator.writers.VelocityUtils;
+import mda.generator.writers.java.JavaSourceEmitter;
+import mda.generator.writers.java.JavaWriter;
+import mda.generator.writers.java.codepart.JavaClass;
+import mda.generator.writers.java.codepart.JavaClassRenderingPlan;
+import mda.generator.writers.java.codepart.JavaPackage;
+
+/**
+ * Rendering phase : entities of the model rendered with the default template, in memory only or written to files,
+ * and with the template iterating the rendering plans (plans built in the measure), compared with the java emitter of the default template.
+ * Written files are deleted before each invocation, so each invocation really writes all of them.
+ *
+ * @author Fabien Crapart
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Dlog4j.configurationFile=log4j2-benchmarks.xml"})
+public class TemplateRenderingBenchmark {
+	private static final Charset CHARSET = StandardCharsets.UTF_8;
+
+	/**
+	 * Java classes to render and their files
+	 */
+	@State(Scope.Benchmark)
+	public static class RenderState {
+		private final List<JavaClass> javaClasses = new ArrayList<>();
+		private final List<Path> filesPaths = new ArrayList<>();
+		private final VelocityTemplateCache templateCache = new VelocityTemplateCache();
+		private final StringBuilder buffer = new StringBuilder(16 * 1024);
+		private JavaSourceEmitter emitter;
+		private Path outputPath;
+		private Path templatePath;
+		private Path planTemplatePath;
+
+		@Setup(Level.Trial)
+		public void setUp(ModelState model) throws IOException {
+			outputPath = model.getDirectory().resolve("javagen");
+			templatePath = model.getTemplatePath("entity.vm");
+			planTemplatePath = model.getTemplatePath("entity_plan.vm");
+			emitter = new JavaSourceEmitter(new String(Files.readAllBytes(templatePath), CHARSET).contains("\r\n") ? "\r\n" : "\n");
+			for(UmlPackage umlPackage : model.getPackages()) {
+				JavaPackage javaPackage = new JavaPackage(outputPath, umlPackage, model.getTypeConverter(), model.getJavaNameConverter());
+				Files.createDirectories(javaPackage.getPackagePath());
+				for(JavaClass javaClass : javaPackage.getClasses()) {
+					javaClasses.add(javaClass);
+					filesPaths.add(javaPackage.getPackagePath().resolve(javaClass.getName() + ".java"));
+				}
+			}
+		}
+
+		@Setup(Level.Invocation)
+		public void deleteFiles() throws IOException {
+			for(Path filePath : filesPaths) {
+				Files.deleteIfExists(filePath);
+			}
+		}
+
+		@TearDown(Level.Trial)
+		public void tearDown() throws IOException {
+			ModelState.deleteDirectory(outputPath);
+		}
+
+		private VelocityContext newContext(int idx) {
+			VelocityContext context = new VelocityContext();
+			context.put("javaClass", javaClasses.get(idx));
+			context.put("end_of_generated", JavaWriter.END_OF_GENERATED);
+			return context;
+		}
+
+		private VelocityContext newPlanContext(int idx) {
+			VelocityContext context = newContext(idx);
+			context.put("plan", new JavaClassRenderingPlan(javaClasses.get(idx)));
+			return context;
+		}
+	}
+
+	@Benchmark
+	public void merge(RenderState render, Blackhole blackhole) {
+		for(int idx = 0; idx < render.javaClasses.size(); idx++) {
+			blackhole.consume(render.templateCache.merge(render.templatePath, render.newContext(idx)));
+		}
+	}
+
+	@Benchmark
+	public void mergePlan(RenderState render, Blackhole blackhole) {
+		for(int idx = 0; idx < render.javaClasses.size(); idx++) {
+			blackhole.consume(render.templateCache.merge(render.planTemplatePath, render.newPlanContext(idx)));
+		}
+	}
+
+	@Benchmark
+	public void emit(RenderState render, Blackhole blackhole) {
+		for(int idx = 0; idx < render.javaClasses.size(); idx++) {
+			render.buffer.setLength(0);
+			render.emitter.appendEntity(render.buffer, render.javaClasses.get(idx), JavaWriter.END_OF_GENERATED, false, null);
+			blackhole.consume(render.buffer.toString());
+		}
+	}
+
+	@Benchmark
+	@SuppressWarnings("deprecation")
+	public void velocityUtilsWriteFileFromTemplate(RenderState render) throws IOException {
+		for(int idx = 0; idx < render.javaClasses.size(); idx++) {
+			VelocityUtils.writeFileFromTemplate(render.filesPaths.get(idx), render.templatePath, render.newContext(idx), CHARSET);
+		}
+	}
+
+	@Benchmark
+	public void writeFileFromTemplate(RenderState render, Blackhole blackhole) throws IOException {
+		for(int idx = 0; idx < render.javaClasses.size(); idx++) {
+			blackhole.consume(render.templateCache.writeFileFromTemplate(render.filesPaths.get(idx), render.templatePath, render.newContext(idx), CHARSET));
+		}
+	}
+
+	@Benchmark
+	public void streamFileFromTemplate(RenderState render, Blackhole blackhole) throws IOException {
+		for(int idx = 0; idx < render.javaClasses.size(); idx++) {
+			blackhole.consume(render.templateCache.streamFileFromTemplate(render.filesPaths.get(idx), render.templatePath, render.newContext(idx), CHARSET));
+		}
+	}
+}
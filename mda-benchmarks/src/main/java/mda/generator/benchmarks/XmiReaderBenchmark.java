@@ -0,0 +1,43 @@
+package mda.generator.benchmarks;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import mda.generator.beans.UmlClass;
+import mda.generator.readers.xmi.XmiReader;
+import mda.generator.readers.xmi.XmiStaxReader;
+
+/**
+ * Read phase : extraction of the UML objects from the model and metadata files.
+ *
+ * @author Fabien Crapart
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Dlog4j.configurationFile=log4j2-benchmarks.xml"})
+public class XmiReaderBenchmark {
+
+	@Benchmark
+	public Map<String, UmlClass> domReader(ModelState model) {
+		XmiReader reader = new XmiReader();
+		reader.extractObjects(model.getXmiPath().toString(), model.getMetadataPath().toString());
+		return reader.getClassesMap();
+	}
+
+	@Benchmark
+	public Map<String, UmlClass> staxReader(ModelState model) {
+		XmiReader reader = new XmiStaxReader();
+		reader.extractObjects(model.getXmiPath().toString(), model.getMetadataPath().toString());
+		return reader.getClassesMap();
+	}
+}
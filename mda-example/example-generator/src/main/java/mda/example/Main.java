@@ -1,11 +1,18 @@
 package mda.example;
+import java.io.IOException;
+
 import mda.generator.MdaGenerator;
 import mda.generator.MdaGeneratorBuilder;
+import mda.generator.MdaGeneratorWatcher;
 
 public class Main {
 	
 	
-	public static void main(String[] args) {
+	/**
+	 * @param args "watch" to generate again on each modification of the model or of the templates
+	 * @throws IOException
+	 */
+	public static void main(String[] args) throws IOException {
 		MdaGenerator generator = new MdaGeneratorBuilder() //
 				.fromPropertiesFile(null) // default file : mda-generator.properties
 				// Add specific cache annotation to UserType and Service classes
@@ -14,7 +21,13 @@ public class Main {
 				.withSqlSequencePrefixName("S_")
 				.build();
 
-		generator.generate();
+		if(args.length > 0 && "watch".equals(args[0])) {
+			try(MdaGeneratorWatcher watcher = new MdaGeneratorWatcher(generator)) {
+				watcher.watch();
+			}
+		} else {
+			generator.generate();
+		}
 	}
 
 
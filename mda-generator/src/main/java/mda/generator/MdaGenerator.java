@@ -1,22 +1,35 @@
 package mda.generator;
 
+import java.io.IOException;
 import java.nio.charset.Charset;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 
+import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import mda.generator.beans.UmlDomain;
-import mda.generator.beans.UmlPackage;
+import mda.generator.components.ComponentsRegistry;
 import mda.generator.converters.java.JavaNameConverterInterface;
+import mda.generator.converters.type.ResolvedTypeCache;
+import mda.generator.converters.type.TableTypeConverter;
 import mda.generator.converters.type.TypeConverterInterface;
 import mda.generator.exceptions.MdaGeneratorException;
+import mda.generator.metrics.GenerationPhase;
+import mda.generator.metrics.GenerationReport;
+import mda.generator.metrics.ModelReport;
+import mda.generator.metrics.PhaseMeasure;
 import mda.generator.readers.ModelFileReaderInterface;
-import mda.generator.writers.NamesComputingUtil;
+import mda.generator.readers.snapshot.ModelSnapshotReader;
+import mda.generator.validation.ModelValidator;
+import mda.generator.writers.NamingContext;
 import mda.generator.writers.java.JavaWriterConfig;
 import mda.generator.writers.java.JavaWriterInterface;
+import mda.generator.writers.sql.SQLSplitMode;
 import mda.generator.writers.sql.SQLWriterConfig;
 import mda.generator.writers.sql.SQLWriterInterface;
 
@@ -36,15 +49,17 @@ public class MdaGenerator {
 	/** Input models and reader */
 	private Path pathToModelFile;
 	private Path pathToMetadataFile;
-	private Class<? extends ModelFileReaderInterface> readerClass;
+	private Supplier<? extends ModelFileReaderInterface> readerSupplier;
 
-	private Class<? extends TypeConverterInterface> typeConverterClass;
-	private Class<? extends JavaNameConverterInterface> javaNameConverterClass;
+	private Supplier<? extends TypeConverterInterface> typeConverterSupplier;
+	/** Fichier de correspondance des types, utilisé à la place de typeConverterSupplier (optionnel) */
+	private Path pathToTypeMapping;
+	private Supplier<? extends JavaNameConverterInterface> javaNameConverterSupplier;
 
 
 	/** Java generation */
 	private Path javaOutputDirectory = null;
-	private Class<? extends JavaWriterInterface> javaWriterClass;
+	private Supplier<? extends JavaWriterInterface> javaWriterSupplier;
 	private Path pathToPackageInfoTemplate;
 	private Path pathToEntitiesTemplate;
 	private Path pathToDaosTemplate;
@@ -57,102 +72,231 @@ public class MdaGenerator {
 	/** Emplacement du fichier SQL généré en sortie */
 	private Path sqlCreateTablesPath = null;
 	private Path sqlDropTablesPath = null;
-	private Class<? extends SQLWriterInterface> sqlWriterClass;
+	private Supplier<? extends SQLWriterInterface> sqlWriterSupplier;
 	private Path pathToCreateSQLTemplate;
 	private Path pathToDropSQLTemplate;
 	private List<String> excludedPrefixes;
 	private String sequencePrefixName;
 	private String sqlSchemaName;
+	private int javaWriterThreads = 1;
+	private boolean incrementalGeneration = false;
+	private boolean streamingOutput = false;
+	private boolean renderingPlans = false;
+	private SQLSplitMode sqlSplitMode = SQLSplitMode.NONE;
+	private int sqlTablesPerScript;
+	private Path pathToMasterSQLTemplate;
+	/** Fichier JSON des mesures de la génération (optionnel) */
+	private Path pathToMetricsFile;
+	/** Export JSON du modèle lu (optionnel) */
+	private Path pathToModelExportFile;
+	/** Snapshot binaire du modèle lu, rechargé si les fichiers du modèle n'ont pas changé (optionnel) */
+	private Path pathToModelSnapshot;
 
 
 	/** Charset */
 	private Charset charset;
 
+	/** Converters and writers (with their templates caches), kept between the generations of a watcher */
+	private TypeConverterInterface typeConverter;
+	private JavaNameConverterInterface javaNameConverter;
+	private JavaWriterInterface javaWriter;
+	private SQLWriterInterface sqlWriter;
+	/** Model of the last generation, and its resolved types */
+	private ModelFileReaderInterface reader;
+	/** Reader instantiated with the converters and writers, used by the next reading */
+	private ModelFileReaderInterface nextReader;
+	private TypeConverterInterface resolvedTypes;
+
 	/**
-	 *
-	 * @param pathToModelFile
-	 * @param readerClass
+	 * Read the model and write java and sql files
+	 * @return counters and measures of each phase of the generation
 	 */
-	public void generate() {
-		// Instanciation du reader
-		ModelFileReaderInterface reader;
-		try {
-			reader = readerClass.newInstance();
-		} catch (InstantiationException | IllegalAccessException e) {
-			LOG.error("Impossible d'instancier le reader" , e);
-			throw new MdaGeneratorException("Impossible d'instancier le reader", e);
-		}
+	public GenerationReport generate() {
+		// Nouvelles instances à chaque appel
+		javaWriter = null;
+		reader = null;
+		return generate(true, true, true);
+	}
 
-		// Instanciation du type converter
-		TypeConverterInterface typeConverter;
+	/**
+	 * Generation keeping the converters, writers and model of the previous one (see {@link MdaGeneratorWatcher})
+	 * @param readModel true to read the model again (always read by the first generation)
+	 * @param writeJava true to write the java files
+	 * @param writeSql true to write the sql files
+	 * @return counters and measures of each phase of the generation
+	 */
+	GenerationReport generate(boolean readModel, boolean writeJava, boolean writeSql) {
+		// Compteurs des fichiers écrits et mesures des phases
+		GenerationReport report = new GenerationReport();
+		PhaseMeasure measure = report.measure(GenerationPhase.GENERATION);
 		try {
-			typeConverter = typeConverterClass.newInstance();
-		} catch (InstantiationException | IllegalAccessException e) {
-			LOG.error("Impossible d'instancier le converter" , e);
-			throw new MdaGeneratorException("Impossible d'instancier le converter", e);
+			generate(report, readModel, writeJava, writeSql);
+		} finally {
+			measure.close();
 		}
 
-		// Instanciation du converter de noms java
-		JavaNameConverterInterface javaNameConverter;
-		try {
-			javaNameConverter = javaNameConverterClass.newInstance();
-		} catch (InstantiationException | IllegalAccessException e) {
-			LOG.error("Impossible d'instancier le javaNameConverter" , e);
-			throw new MdaGeneratorException("Impossible d'instancier le javaNameConverter", e);
+		LOG.info("Generation done : " + report);
+		LOG.info("Generation phases :" + report.getPhasesSummary());
+
+		if(pathToMetricsFile != null) {
+			try {
+				report.writeJson(pathToMetricsFile);
+			} catch (IOException e) {
+				LOG.error("Impossible d'écrire le fichier de mesures " + pathToMetricsFile, e);
+				throw new MdaGeneratorException("Impossible d'écrire le fichier de mesures " + pathToMetricsFile, e);
+			}
 		}
+		return report;
+	}
 
-		// Instanciation du java writer
-		JavaWriterInterface javaWriter;
-		try {
-			javaWriter = javaWriterClass.newInstance();
-		} catch (InstantiationException | IllegalAccessException e) {
-			LOG.error("Impossible d'instancier le java writer" , e);
-			throw new MdaGeneratorException("Impossible d'instancier le java writer", e);
+	/**
+	 * Generation steps, measured in the report
+	 * @param report report of the generation
+	 * @param readModel true to read the model again
+	 * @param writeJava true to write the java files
+	 * @param writeSql true to write the sql files
+	 */
+	private void generate(GenerationReport report, boolean readModel, boolean writeJava, boolean writeSql) {
+		if(javaWriter == null) {
+			instantiate(report);
+
+			// Display configuration in logs
+			logConfiguration();
 		}
 
-		// Instanciation du sql writer
-		SQLWriterInterface sqlWriter;
-		try {
-			sqlWriter = sqlWriterClass.newInstance();
-		} catch (InstantiationException | IllegalAccessException e) {
-			LOG.error("Impossible d'instancier le sql writer" , e);
-			throw new MdaGeneratorException("Impossible d'instancier le sql writer", e);
+		if(readModel || reader == null) {
+			readModel(report);
+		} else {
+			report.setClasses(reader.getClassesMap().size());
 		}
 
-		// Display configuration in logs
-		logConfiguration();
+		// Names of this generation (SQL prefix name if provided), to be used for java and sql generation
+		NamingContext namingContext = new NamingContext(sequencePrefixName);
 
-		// Lecture du xmi
-		reader.extractObjects(pathToModelFile.toString(), pathToMetadataFile.toString());
+		if(writeJava) {
+			writeJava(report, namingContext);
+		}
+		if(writeSql) {
+			writeSql(report, namingContext);
+		}
+	}
 
-		// Logs de ce qui a été extrait
-		StringBuilder sbUmlObjects = new StringBuilder();
+	/**
+	 * Instanciation of the converters and writers
+	 * @param report report of the generation
+	 */
+	private void instantiate(GenerationReport report) {
+		PhaseMeasure instantiation = report.measure(GenerationPhase.READER_INSTANTIATION);
+		try {
+			// Instanciation du type converter
+			if(pathToTypeMapping != null) {
+				typeConverter = new TableTypeConverter(pathToTypeMapping);
+			} else {
+				typeConverter = newInstance(typeConverterSupplier, "le converter");
+			}
+
+			javaNameConverter = newInstance(javaNameConverterSupplier, "le javaNameConverter");
+			javaWriter = newInstance(javaWriterSupplier, "le java writer");
+			sqlWriter = newInstance(sqlWriterSupplier, "le sql writer");
+			nextReader = newInstance(readerSupplier, "le reader");
+		} finally {
+			instantiation.close();
+		}
+	}
 
-		sbUmlObjects.append("\n\nDOMAINS (JAVA / DATABASE):\n-------------------------------------");
-		for(UmlDomain umlDomain : reader.getDomainsMap().values()) {
-			sbUmlObjects.append(umlDomain);
-			sbUmlObjects.append(" ").append(typeConverter.getJavaType(umlDomain));
-			sbUmlObjects.append(" / ").append(typeConverter.getDataBaseType(umlDomain));
+	/**
+	 * @param supplier supplier of the instance
+	 * @param description description of the instance for the error
+	 * @return new instance
+	 */
+	private static <T> T newInstance(Supplier<? extends T> supplier, String description) {
+		T instance;
+		try {
+			instance = supplier.get();
+		} catch (RuntimeException e) {
+			LOG.error("Impossible d'instancier " + description, e);
+			throw new MdaGeneratorException("Impossible d'instancier " + description, e);
+		}
+		if(instance == null) {
+			LOG.error("Impossible d'instancier " + description + " : null");
+			throw new MdaGeneratorException("Impossible d'instancier " + description + " : null");
 		}
+		return instance;
+	}
 
-		sbUmlObjects.append("\n\nPACKAGES & CLASSES :\n-------------------------------------");
-		for(UmlPackage xmiPackage : reader.getPackagesMap().values()) {
-			sbUmlObjects.append(xmiPackage);
+	/**
+	 * Reading of the model with a new reader, resolution of the types of its domains and validation.
+	 * An invalid model is not kept (the watcher keeps generating with the previous one).
+	 * @param report report of the generation
+	 */
+	private void readModel(GenerationReport report) {
+		// Instanciation du reader
+		ModelFileReaderInterface newReader;
+		PhaseMeasure instantiation = report.measure(GenerationPhase.READER_INSTANTIATION);
+		try {
+			newReader = nextReader != null ? nextReader : newInstance(readerSupplier, "le reader");
+			nextReader = null;
+			if(pathToModelSnapshot != null) {
+				newReader = new ModelSnapshotReader(newReader, pathToModelSnapshot);
+			}
+		} finally {
+			instantiation.close();
 		}
 
-		LOG.info(sbUmlObjects);
+		// Lecture du xmi
+		newReader.setReport(report);
+		newReader.extractObjects(pathToModelFile.toString(), pathToMetadataFile.toString());
+		report.setClasses(newReader.getClassesMap().size());
 
+		// Types java et bdd des domaines, résolus une seule fois
+		TypeConverterInterface newResolvedTypes;
+		PhaseMeasure resolution = report.measure(GenerationPhase.TYPES_RESOLUTION);
+		try {
+			newResolvedTypes = new ResolvedTypeCache(typeConverter, newReader.getDomainsMap().values());
+		} finally {
+			resolution.close();
+		}
 
-		// Change SQL prefix name if provided, to be used for java and sql generation
-		if(sequencePrefixName != null) {
-			NamesComputingUtil.changeSequencePrefix(sequencePrefixName);
+		// Toutes les erreurs du modèle sont remontées avant l'écriture du premier fichier
+		List<String> violations;
+		PhaseMeasure validation = report.measure(GenerationPhase.MODEL_VALIDATION);
+		try {
+			violations = new ModelValidator(newResolvedTypes, excludedPrefixes).validate(newReader.getPackagesMap().values());
+		} finally {
+			validation.close();
+		}
+		if(!violations.isEmpty()) {
+			for(String violation : violations) {
+				LOG.error(violation);
+			}
+			throw new MdaGeneratorException(violations.size() + " error(s) in model " + pathToModelFile + ", nothing written :\n - " + String.join("\n - ", violations));
+		}
+		reader = newReader;
+		resolvedTypes = newResolvedTypes;
+
+		// Logs de ce qui a été extrait (uniquement si le niveau INFO est actif) et export éventuel
+		ModelReport modelReport = new ModelReport(reader.getDomainsMap().values(), reader.getPackagesMap().values(), resolvedTypes);
+		modelReport.log(LOG, Level.INFO);
+		if(pathToModelExportFile != null) {
+			try {
+				modelReport.writeJson(pathToModelExportFile);
+			} catch (IOException e) {
+				LOG.error("Impossible d'écrire l'export du modèle " + pathToModelExportFile, e);
+				throw new MdaGeneratorException("Impossible d'écrire l'export du modèle " + pathToModelExportFile, e);
+			}
 		}
+	}
 
-		// Generation du code java
+	/**
+	 * Generation du code java
+	 * @param report report of the generation
+	 * @param namingContext names of the generation
+	 */
+	private void writeJava(GenerationReport report, NamingContext namingContext) {
 		JavaWriterConfig javaConfig = new JavaWriterConfig();
 		javaConfig.setJavaOutputDirectory(javaOutputDirectory);
 		javaConfig.setUmlPackages(reader.getPackagesMap().values());
-		javaConfig.setConverter(typeConverter);
+		javaConfig.setConverter(resolvedTypes);
 		javaConfig.setJavaNameConverter(javaNameConverter);
 		javaConfig.setAnnotationsForClasses(annotationsForClasses);
 		javaConfig.setEntities(entitiesPackagePartName);
@@ -160,21 +304,40 @@ public class MdaGenerator {
 		javaConfig.setPathToPackageInfoTemplate(pathToPackageInfoTemplate);
 		javaConfig.setPathToEntitiesTemplate(pathToEntitiesTemplate);
 		javaConfig.setPathToDaosTemplate(pathToDaosTemplate);
+		javaConfig.setPathToTypeMapping(pathToTypeMapping);
 		javaConfig.setCharset(charset);
+		javaConfig.setThreads(javaWriterThreads);
+		javaConfig.setReport(report);
+		javaConfig.setNamingContext(namingContext);
+		javaConfig.setIncremental(incrementalGeneration);
+		javaConfig.setStreamingOutput(streamingOutput);
+		javaConfig.setRenderingPlans(renderingPlans);
 
 		javaWriter.writeSourceCode(javaConfig);
+	}
 
-		// Generation du sql
+	/**
+	 * Generation du sql
+	 * @param report report of the generation
+	 * @param namingContext names of the generation
+	 */
+	private void writeSql(GenerationReport report, NamingContext namingContext) {
 		SQLWriterConfig sqlConfig = new SQLWriterConfig();
 		sqlConfig.setPackagesList(reader.getPackagesMap().values());
 		sqlConfig.setCreateTablesPath(sqlCreateTablesPath);
 		sqlConfig.setDropTablesPath(sqlDropTablesPath);
 		sqlConfig.setCreateSqlTemplatePath(pathToCreateSQLTemplate);
 		sqlConfig.setDropSqlTemplatePath(pathToDropSQLTemplate);
-		sqlConfig.setTypeConverter(typeConverter);
+		sqlConfig.setTypeConverter(resolvedTypes);
 		sqlConfig.setCharset(charset);
 		sqlConfig.setExcludesClassesPrefixes(excludedPrefixes);
 		sqlConfig.setSqlSchemaName(sqlSchemaName);
+		sqlConfig.setReport(report);
+		sqlConfig.setNamingContext(namingContext);
+		sqlConfig.setStreamingOutput(streamingOutput);
+		sqlConfig.setSplitMode(sqlSplitMode);
+		sqlConfig.setTablesPerScript(sqlTablesPerScript);
+		sqlConfig.setMasterSqlTemplatePath(pathToMasterSQLTemplate);
 
 		sqlWriter.writeSql(sqlConfig);
 	}
@@ -187,42 +350,126 @@ public class MdaGenerator {
 		this.pathToModelFile = pathToModelFile;
 	}
 
+	/**
+	 * @param readerSupplier the readerSupplier to set (a new reader for each reading)
+	 */
+	public void setReaderSupplier(Supplier<? extends ModelFileReaderInterface> readerSupplier) {
+		this.readerSupplier = readerSupplier;
+	}
+
 	/**
 	 * @param readerClass the readerClass to set
+	 * @deprecated use {@link #setReaderSupplier(Supplier)}
 	 */
+	@Deprecated
 	public void setReaderClass(Class<? extends ModelFileReaderInterface> readerClass) {
-		this.readerClass = readerClass;
+		setReaderSupplier(ComponentsRegistry.getDefault().getLegacySupplier(ModelFileReaderInterface.class, readerClass));
+	}
+
+	/**
+	 * @return model and metadata files
+	 */
+	List<Path> getModelFiles() {
+		return Arrays.asList(pathToModelFile, pathToMetadataFile);
+	}
+
+	/**
+	 * @return types mapping file, null if types are converted by a class
+	 */
+	Path getPathToTypeMapping() {
+		return pathToTypeMapping;
+	}
+
+	/**
+	 * @return templates of the java files
+	 */
+	List<Path> getJavaTemplates() {
+		return Arrays.asList(pathToPackageInfoTemplate, pathToEntitiesTemplate, pathToDaosTemplate);
+	}
+
+	/**
+	 * @return templates of the sql files (master template only if scripts are split)
+	 */
+	List<Path> getSqlTemplates() {
+		List<Path> templates = new ArrayList<>(Arrays.asList(pathToCreateSQLTemplate, pathToDropSQLTemplate));
+		if(sqlSplitMode != null && sqlSplitMode != SQLSplitMode.NONE) {
+			templates.add(pathToMasterSQLTemplate);
+		}
+		return templates;
+	}
+
+	/**
+	 * @param typeConverterSupplier the typeConverterSupplier to set
+	 */
+	public void setTypeConverterSupplier(Supplier<? extends TypeConverterInterface> typeConverterSupplier) {
+		this.typeConverterSupplier = typeConverterSupplier;
 	}
 
 	/**
-	 * @param converterClass the converterClass to set
+	 * @param typeConverterClass the typeConverterClass to set
+	 * @deprecated use {@link #setTypeConverterSupplier(Supplier)}
 	 */
+	@Deprecated
 	public void setTypeConverterClass(Class<? extends TypeConverterInterface> typeConverterClass) {
-		this.typeConverterClass = typeConverterClass;
+		setTypeConverterSupplier(ComponentsRegistry.getDefault().getLegacySupplier(TypeConverterInterface.class, typeConverterClass));
+	}
+
+	/**
+	 * @param pathToTypeMapping the pathToTypeMapping to set
+	 */
+	public void setPathToTypeMapping(Path pathToTypeMapping) {
+		this.pathToTypeMapping = pathToTypeMapping;
 	}
 
 
+	/**
+	 * @param javaWriterSupplier the javaWriterSupplier to set
+	 */
+	public void setJavaWriterSupplier(Supplier<? extends JavaWriterInterface> javaWriterSupplier) {
+		this.javaWriterSupplier = javaWriterSupplier;
+	}
+
 	/**
 	 * @param javaWriterClass the javaWriterClass to set
+	 * @deprecated use {@link #setJavaWriterSupplier(Supplier)}
 	 */
+	@Deprecated
 	public void setJavaWriterClass(Class<? extends JavaWriterInterface> javaWriterClass) {
-		this.javaWriterClass = javaWriterClass;
+		setJavaWriterSupplier(ComponentsRegistry.getDefault().getLegacySupplier(JavaWriterInterface.class, javaWriterClass));
 	}
 
 
+	/**
+	 * @param javaNameConverterSupplier the javaNameConverterSupplier to set
+	 */
+	public void setJavaNameConverterSupplier(Supplier<? extends JavaNameConverterInterface> javaNameConverterSupplier) {
+		this.javaNameConverterSupplier = javaNameConverterSupplier;
+	}
+
 	/**
 	 * @param javaNameConverterClass the javaNameConverterClass to set
+	 * @deprecated use {@link #setJavaNameConverterSupplier(Supplier)}
 	 */
+	@Deprecated
 	public void setJavaNameConverterClass(Class<? extends JavaNameConverterInterface> javaNameConverterClass) {
-		this.javaNameConverterClass = javaNameConverterClass;
+		setJavaNameConverterSupplier(ComponentsRegistry.getDefault().getLegacySupplier(JavaNameConverterInterface.class, javaNameConverterClass));
 	}
 
 
+	/**
+	 * @param sqlWriterSupplier the sqlWriterSupplier to set
+	 */
+	public void setSqlWriterSupplier(Supplier<? extends SQLWriterInterface> sqlWriterSupplier) {
+		this.sqlWriterSupplier = sqlWriterSupplier;
+	}
+
 	/**
 	 * @param sqlWriterClass the sqlWriterClass to set
+	 * @deprecated use {@link #setSqlWriterSupplier(Supplier)}
 	 */
+	@Deprecated
 	public void setSqlWriterClass(Class<? extends SQLWriterInterface> sqlWriterClass) {
-		this.sqlWriterClass = sqlWriterClass;
+		setSqlWriterSupplier(ComponentsRegistry.getDefault().getLegacySupplier(SQLWriterInterface.class, sqlWriterClass));
 	}
 
 	/**
@@ -331,6 +578,76 @@ public class MdaGenerator {
 		sqlSchemaName = schema;
 	}
 
+	/**
+	 * @param javaWriterThreads the javaWriterThreads to set
+	 */
+	public void setJavaWriterThreads(int javaWriterThreads) {
+		this.javaWriterThreads = javaWriterThreads;
+	}
+
+	/**
+	 * @param incrementalGeneration the incrementalGeneration to set
+	 */
+	public void setIncrementalGeneration(boolean incrementalGeneration) {
+		this.incrementalGeneration = incrementalGeneration;
+	}
+
+	/**
+	 * @param streamingOutput the streamingOutput to set
+	 */
+	public void setStreamingOutput(boolean streamingOutput) {
+		this.streamingOutput = streamingOutput;
+	}
+
+	/**
+	 * @param renderingPlans the renderingPlans to set
+	 */
+	public void setRenderingPlans(boolean renderingPlans) {
+		this.renderingPlans = renderingPlans;
+	}
+
+	/**
+	 * @param sqlSplitMode the sqlSplitMode to set
+	 */
+	public void setSqlSplitMode(SQLSplitMode sqlSplitMode) {
+		this.sqlSplitMode = sqlSplitMode;
+	}
+
+	/**
+	 * @param sqlTablesPerScript the sqlTablesPerScript to set
+	 */
+	public void setSqlTablesPerScript(int sqlTablesPerScript) {
+		this.sqlTablesPerScript = sqlTablesPerScript;
+	}
+
+	/**
+	 * @param pathToMasterSQLTemplate the pathToMasterSQLTemplate to set
+	 */
+	public void setPathToMasterSQLTemplate(Path pathToMasterSQLTemplate) {
+		this.pathToMasterSQLTemplate = pathToMasterSQLTemplate;
+	}
+
+	/**
+	 * @param pathToMetricsFile the pathToMetricsFile to set
+	 */
+	public void setPathToMetricsFile(Path pathToMetricsFile) {
+		this.pathToMetricsFile = pathToMetricsFile;
+	}
+
+	/**
+	 * @param pathToModelExportFile the pathToModelExportFile to set
+	 */
+	public void setPathToModelExportFile(Path pathToModelExportFile) {
+		this.pathToModelExportFile = pathToModelExportFile;
+	}
+
+	/**
+	 * @param pathToModelSnapshot the pathToModelSnapshot to set
+	 */
+	public void setPathToModelSnapshot(Path pathToModelSnapshot) {
+		this.pathToModelSnapshot = pathToModelSnapshot;
+	}
+
 	/**
 	 * @param sqlCreateTablesPath the sqlCreateTablesPath to set
 	 */
@@ -348,15 +665,41 @@ public class MdaGenerator {
 	private void logConfiguration() {
 		StringBuilder msgConfig = new StringBuilder();
 		msgConfig.append("\nMDA GENERATOR CONFIGURATION :");
-		msgConfig.append("\n - Model file ").append(pathToModelFile).append(" will be parsed with ").append(readerClass.getName());
-		msgConfig.append("\n - Metadata file ").append(pathToMetadataFile).append(" will be parsed with ").append(readerClass.getName());
-		msgConfig.append("\n - Domains types will be converted with ").append(typeConverterClass.getName());
-		msgConfig.append("\n - Java names will be converted with ").append(javaNameConverterClass.getName());
-		msgConfig.append("\n - JAVA sources will be written with "+ javaWriterClass.getName() +" in ").append(javaOutputDirectory)
+		msgConfig.append("\n - Model file ").append(pathToModelFile).append(" will be parsed with ").append(nextReader.getClass().getName());
+		msgConfig.append("\n - Metadata file ").append(pathToMetadataFile).append(" will be parsed with ").append(nextReader.getClass().getName());
+		if(pathToModelSnapshot != null) {
+			msgConfig.append("\n - Model read will be kept in snapshot ").append(pathToModelSnapshot).append(", loaded instead of the files while they are unchanged");
+		}
+		if(pathToTypeMapping != null) {
+			msgConfig.append("\n - Domains types will be converted with the mapping ").append(pathToTypeMapping);
+		} else {
+			msgConfig.append("\n - Domains types will be converted with ").append(typeConverter.getClass().getName());
+		}
+		msgConfig.append("\n - Java names will be converted with ").append(javaNameConverter.getClass().getName());
+		msgConfig.append("\n - JAVA sources will be written with "+ javaWriter.getClass().getName() +" in ").append(javaOutputDirectory)
 		.append( " with '").append( entitiesPackagePartName ).append( "' as entities package part and '" )
 		.append( daosPackagePartName ).append( "' as daos package part");
-		msgConfig.append("\n - CREATE SQL will be written with '" + sqlWriterClass.getName() +"' and '" + pathToCreateSQLTemplate + "' template in " + sqlCreateTablesPath);
-		msgConfig.append("\n - DROP SQL will be written with '" + sqlWriterClass.getName() +"' and '" + pathToDropSQLTemplate + "' template in " + sqlDropTablesPath);
+		if(incrementalGeneration) {
+			msgConfig.append("\n - JAVA sources will only be written for classes modified since the previous generation");
+		}
+		if(renderingPlans) {
+			msgConfig.append("\n - JAVA entities will be rendered from plans pre-computed once per class ('plan' in the template context)");
+		}
+		if(javaWriterThreads != 1) {
+			msgConfig.append("\n - JAVA sources will be written in parallel with ").append(javaWriterThreads > 0 ? String.valueOf(javaWriterThreads) : "one thread per processor");
+		}
+		msgConfig.append("\n - CREATE SQL will be written with '" + sqlWriter.getClass().getName() +"' and '" + pathToCreateSQLTemplate + "' template in " + sqlCreateTablesPath);
+		msgConfig.append("\n - DROP SQL will be written with '" + sqlWriter.getClass().getName() +"' and '" + pathToDropSQLTemplate + "' template in " + sqlDropTablesPath);
+		if(sqlSplitMode != null && sqlSplitMode != SQLSplitMode.NONE) {
+			msgConfig.append("\n - SQL scripts will be split by " + sqlSplitMode + (sqlSplitMode == SQLSplitMode.TABLES ? " (" + sqlTablesPerScript + " per script)" : "")
+					+ ", create and drop files being master scripts written with '" + pathToMasterSQLTemplate + "' template");
+		}
+		if(pathToMetricsFile != null) {
+			msgConfig.append("\n - Generation metrics will be written in ").append(pathToMetricsFile);
+		}
+		if(pathToModelExportFile != null) {
+			msgConfig.append("\n - Model read will be exported in ").append(pathToModelExportFile);
+		}
 		msgConfig.append("\n\n");
 
 		LOG.info(msgConfig.toString());
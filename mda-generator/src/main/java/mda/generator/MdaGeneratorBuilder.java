@@ -11,7 +11,9 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.function.Supplier;
 
+import mda.generator.components.ComponentsRegistry;
 import mda.generator.converters.java.JavaNameConverterInterface;
 import mda.generator.converters.java.JavaSnakeToCamelNameConverter;
 import mda.generator.converters.type.TypeConverterInterface;
@@ -22,6 +24,7 @@ import mda.generator.utils.file.PathUtils;
 import mda.generator.utils.file.PropertyUtils;
 import mda.generator.writers.java.JavaWriter;
 import mda.generator.writers.java.JavaWriterInterface;
+import mda.generator.writers.sql.SQLSplitMode;
 import mda.generator.writers.sql.SQLWriterInterface;
 import mda.generator.writers.sql.StandardSQLWriter;
 
@@ -29,30 +32,35 @@ import mda.generator.writers.sql.StandardSQLWriter;
 /**
  * Builder to initialize the MdaGenerator.
  *
+ * Reader, converters and writers are given as suppliers (ex: withJavaWriter(CompiledJavaWriter::new)), or as classes or names resolved
+ * by the {@link ComponentsRegistry} when the builder is configured.
+ *
  * @author Fabien
  */
 public class MdaGeneratorBuilder {
 	private static String CREATE_TABLES_DEFAULT_FILE_NAME = "create_tables.sql";
 	private static String DROP_TABLES_DEFAULT_FILE_NAME = "drop_tables.sql";
 
-	/** Classe pour lire le model */
-	private Class<? extends ModelFileReaderInterface> readerClass = XmiReader.class;
+	/** Reader du model (une nouvelle instance par lecture), nommé par sa classe dans les logs de la configuration */
+	private Supplier<? extends ModelFileReaderInterface> readerSupplier = ComponentsRegistry.getDefault().getSupplier(ModelFileReaderInterface.class, XmiReader.class);
 	/** Emplacement du fichier de métadonnées */
 	private Path pathToMetadata= null;
 	/** Empalcement du fichier de model */
 	private Path pathToModel = null;
 
-	/** Classe pour convertir les domains en types java et bdd */
-	private Class<? extends TypeConverterInterface> typeConverter;
+	/** Converter des domains en types java et bdd */
+	private Supplier<? extends TypeConverterInterface> typeConverter;
+	/** Fichier de correspondance des types, remplace typeConverter */
+	private Path pathToTypeMapping;
 
-	/** Classe pour convertir les noms du diagramme en nom java */
-	private Class<? extends JavaNameConverterInterface> javaNameConverter = JavaSnakeToCamelNameConverter.class;
+	/** Converter des noms du diagramme en nom java */
+	private Supplier<? extends JavaNameConverterInterface> javaNameConverter = JavaSnakeToCamelNameConverter::new;
 
-	/** Classe pour écrire les classes java*/
-	private Class<? extends JavaWriterInterface> javaWriter = JavaWriter.class;
+	/** Writer des classes java*/
+	private Supplier<? extends JavaWriterInterface> javaWriter = JavaWriter::new;
 
-	/** Classe pour écrire le sql */
-	private Class<? extends SQLWriterInterface> sqlWriter = StandardSQLWriter.class;
+	/** Writer du sql */
+	private Supplier<? extends SQLWriterInterface> sqlWriter = StandardSQLWriter::new;
 
 	/** Annotations à ajouter aux classes */
 	private final Map<String, List<String>> annotationsForClasses = new HashMap<>();
@@ -88,6 +96,26 @@ public class MdaGeneratorBuilder {
 	private String sqlSequencePrefixName = "SEQ_";
 	/** Schéma */
 	private String sqlSchemaName;
+	/** Number of threads writing java classes (1 = sequential, 0 = one per processor) */
+	private int javaWriterThreads = 1;
+	/** Only regenerate java classes modified since the previous generation */
+	private boolean incrementalGeneration = false;
+	/** Merge templates directly into files (temporary file moved into place) */
+	private boolean streamingOutput = false;
+	/** Pre-compute the rendering of each entity (default entity template replaced by entity_plan.vm) */
+	private boolean renderingPlans = false;
+	/** Split of SQL scripts */
+	private SQLSplitMode sqlSplitMode = SQLSplitMode.NONE;
+	/** Number of tables per SQL script with TABLES split mode */
+	private int sqlTablesPerScript = 100;
+	/** Master SQL Velocity template (including split scripts) */
+	private Path pathToMasterSQLTemplate =PathUtils.getPathForClassPathAndFs("/templates/masterSQL_oracle.vm");
+	/** JSON file of the generation metrics (not written if null) */
+	private Path pathToMetricsFile;
+	/** JSON export of the model read (not written if null) */
+	private Path pathToModelExportFile;
+	/** Binary snapshot of the model read (not used if null) */
+	private Path pathToModelSnapshot;
 
 
 	/**
@@ -136,19 +164,53 @@ public class MdaGeneratorBuilder {
 	 * [MANDATORY] Class to use for 'Domain -> java type' and 'Domain -> db type' conversion
 	 * @param typeConverter Class implementing DomainToTypeConverter interface
 	 * @return builder to re-use
+	 * @deprecated use {@link #withTypeConverter(Supplier)}, ex: withTypeConverter(DomainToOracleConverter::new)
 	 */
+	@Deprecated
 	public MdaGeneratorBuilder withTypeConverter(Class<? extends TypeConverterInterface> typeConverter) {
+		this.typeConverter = ComponentsRegistry.getDefault().getLegacySupplier(TypeConverterInterface.class, typeConverter);
+		return this;
+	}
+
+	/**
+	 * [MANDATORY] Converter to use for 'Domain -> java type' and 'Domain -> db type' conversion, created without reflection
+	 * @param typeConverter Supplier of the converter, ex: DomainToOracleConverter::new
+	 * @return builder to re-use
+	 */
+	public MdaGeneratorBuilder withTypeConverter(Supplier<? extends TypeConverterInterface> typeConverter) {
 		this.typeConverter = typeConverter;
 		return this;
 	}
 
+	/**
+	 * Properties file of the 'Domain -> java type' and 'Domain -> db type' conversions (see /types/oracle.properties), used instead of the type converter class
+	 * @param pathToTypeMapping Path to the mapping (classpath or filesystem)
+	 * @return builder to re-use
+	 */
+	public MdaGeneratorBuilder withTypeMapping(Path pathToTypeMapping) {
+		this.pathToTypeMapping = pathToTypeMapping;
+		return this;
+	}
+
 	/**
 	 * Class to use for generating java names from diagram names. Default is JavaSnakeToCamelNameConverter
 	 * @param typeConverter Class implementing JavaNameConverterInterface interface
 	 * @return builder to re-use
+	 * @deprecated use {@link #withJavaNameConverter(Supplier)}, ex: withJavaNameConverter(JavaSnakeToCamelNameConverter::new)
 	 */
+	@Deprecated
 	public MdaGeneratorBuilder withJavaNameConverter(Class<? extends JavaNameConverterInterface> javaNameConverterClass) {
-		javaNameConverter = javaNameConverterClass;
+		javaNameConverter = ComponentsRegistry.getDefault().getLegacySupplier(JavaNameConverterInterface.class, javaNameConverterClass);
+		return this;
+	}
+
+	/**
+	 * Converter to use for generating java names from diagram names, created without reflection
+	 * @param javaNameConverter Supplier of the converter, ex: JavaSnakeToCamelNameConverter::new
+	 * @return builder to re-use
+	 */
+	public MdaGeneratorBuilder withJavaNameConverter(Supplier<? extends JavaNameConverterInterface> javaNameConverter) {
+		this.javaNameConverter = javaNameConverter;
 		return this;
 	}
 
@@ -244,12 +306,26 @@ public class MdaGeneratorBuilder {
 	}
 
 	/**
-	 * Class used to read the model file, default is mda.generator.readers.XmiReader
+	 * Class used to read the model file, default is mda.generator.readers.XmiReader.
+	 * Use mda.generator.readers.xmi.XmiStaxReader for big model files (streaming read, no DOM loaded in memory).
 	 * @param readerClass Class implementing ModelFileReader interface (to use instead of default XmiReader)
 	 * @return builder to re-use
+	 * @deprecated use {@link #withReader(Supplier)}, ex: withReader(XmiStaxReader::new)
 	 */
+	@Deprecated
 	public MdaGeneratorBuilder withReaderClass(Class<? extends ModelFileReaderInterface> readerClass){
-		this.readerClass = readerClass;
+		readerSupplier = ComponentsRegistry.getDefault().getLegacySupplier(ModelFileReaderInterface.class, readerClass);
+
+		return this;
+	}
+
+	/**
+	 * Reader of the model file, created without reflection (a new reader for each reading)
+	 * @param readerSupplier Supplier of the reader, ex: XmiStaxReader::new
+	 * @return builder to re-use
+	 */
+	public MdaGeneratorBuilder withReader(Supplier<? extends ModelFileReaderInterface> readerSupplier){
+		this.readerSupplier = readerSupplier;
 
 		return this;
 	}
@@ -258,9 +334,22 @@ public class MdaGeneratorBuilder {
 	 * Class used to write the java files
 	 * @param javaWriterClass Class implementing JavaWriterInterface interface (to use instead of default JavaWriter)
 	 * @return builder to re-use
+	 * @deprecated use {@link #withJavaWriter(Supplier)}, ex: withJavaWriter(CompiledJavaWriter::new)
 	 */
+	@Deprecated
 	public MdaGeneratorBuilder withJavaWriter(Class<? extends JavaWriterInterface> javaWriterClass){
-		javaWriter = javaWriterClass;
+		javaWriter = ComponentsRegistry.getDefault().getLegacySupplier(JavaWriterInterface.class, javaWriterClass);
+
+		return this;
+	}
+
+	/**
+	 * Writer of the java files, created without reflection
+	 * @param javaWriter Supplier of the writer, ex: CompiledJavaWriter::new
+	 * @return builder to re-use
+	 */
+	public MdaGeneratorBuilder withJavaWriter(Supplier<? extends JavaWriterInterface> javaWriter){
+		this.javaWriter = javaWriter;
 
 		return this;
 	}
@@ -269,9 +358,22 @@ public class MdaGeneratorBuilder {
 	 * Class used to write the sql files
 	 * @param slqWriterClass Class implementing SqlWriterInterface interface (to use instead of default SqlWriter)
 	 * @return builder to re-use
+	 * @deprecated use {@link #withSqlWriter(Supplier)}, ex: withSqlWriter(StandardSQLWriter::new)
 	 */
+	@Deprecated
 	public MdaGeneratorBuilder withSqlWriter(Class<? extends SQLWriterInterface> slqWriterClass){
-		sqlWriter = slqWriterClass;
+		sqlWriter = ComponentsRegistry.getDefault().getLegacySupplier(SQLWriterInterface.class, slqWriterClass);
+
+		return this;
+	}
+
+	/**
+	 * Writer of the sql files, created without reflection
+	 * @param sqlWriter Supplier of the writer, ex: StandardSQLWriter::new
+	 * @return builder to re-use
+	 */
+	public MdaGeneratorBuilder withSqlWriter(Supplier<? extends SQLWriterInterface> sqlWriter){
+		this.sqlWriter = sqlWriter;
 
 		return this;
 	}
@@ -338,6 +440,111 @@ public class MdaGeneratorBuilder {
 		return this;
 	}
 
+	/**
+	 * Number of threads used to write java classes and daos. Output is the same whatever the number of threads.
+	 * @param javaWriterThreads 1 to write classes one after another (default), 0 or less for one thread per available processor
+	 * @return builder to re-use
+	 */
+	public MdaGeneratorBuilder withJavaWriterThreads(int javaWriterThreads) {
+		this.javaWriterThreads = javaWriterThreads;
+		return this;
+	}
+
+	/**
+	 * Only regenerate the java classes (and daos) whose model, annotations or templates changed since the previous generation.
+	 * Fingerprints are stored in a manifest file in the java output directory, delete it to regenerate all classes.
+	 * @param incrementalGeneration true to enable incremental generation (default false)
+	 * @return builder to re-use
+	 */
+	public MdaGeneratorBuilder withIncrementalGeneration(boolean incrementalGeneration) {
+		this.incrementalGeneration = incrementalGeneration;
+		return this;
+	}
+
+	/**
+	 * Merge templates directly into a temporary file moved into place once complete, instead of building the whole content in memory.
+	 * Useful for very large files (ex: SQL scripts of thousands of tables), the output is the same.
+	 * @param streamingOutput true to stream output to files (default false)
+	 * @return builder to re-use
+	 */
+	public MdaGeneratorBuilder withStreamingOutput(boolean streamingOutput) {
+		this.streamingOutput = streamingOutput;
+		return this;
+	}
+
+	/**
+	 * Pre-compute once per class the lines of the entity (imports, annotations, attributes, methods...), available as "plan" in the template context,
+	 * so the template iterates plain strings. The default entity template is then replaced by entity_plan.vm (same output),
+	 * custom templates keep working with "javaClass" and can use "plan".
+	 * @param renderingPlans true to pre-compute rendering plans (default false)
+	 * @return builder to re-use
+	 */
+	public MdaGeneratorBuilder withRenderingPlans(boolean renderingPlans) {
+		this.renderingPlans = renderingPlans;
+		return this;
+	}
+
+	/**
+	 * Split create and drop SQL scripts, one script per package or per group of tables, written in parallel.
+	 * The create and drop files become master scripts including the split scripts in dependency order.
+	 * @param sqlSplitMode NONE (default), PACKAGE or TABLES
+	 * @return builder to re-use
+	 */
+	public MdaGeneratorBuilder withSqlSplitMode(SQLSplitMode sqlSplitMode) {
+		this.sqlSplitMode = sqlSplitMode;
+		return this;
+	}
+
+	/**
+	 * Number of tables per script when SQL scripts are split by tables
+	 * @param sqlTablesPerScript number of tables (default 100)
+	 * @return builder to re-use
+	 */
+	public MdaGeneratorBuilder withSqlTablesPerScript(int sqlTablesPerScript) {
+		this.sqlTablesPerScript = sqlTablesPerScript;
+		return this;
+	}
+
+	/**
+	 * Template used for master scripts when SQL scripts are split
+	 * @param template Path to the template
+	 * @return builder to re-use
+	 */
+	public MdaGeneratorBuilder withMasterSQLTemplate(Path template) {
+		pathToMasterSQLTemplate = template;
+		return this;
+	}
+
+	/**
+	 * Write the generation metrics (counters, wall time, cpu time and allocated bytes of each phase) in a JSON file, to compare runs.
+	 * @param pathToMetricsFile Path to the JSON file (default null, no file written)
+	 * @return builder to re-use
+	 */
+	public MdaGeneratorBuilder withMetricsFile(Path pathToMetricsFile) {
+		this.pathToMetricsFile = pathToMetricsFile;
+		return this;
+	}
+
+	/**
+	 * Export the objects read from the model (domains, packages, classes, attributes and associations) in a JSON file.
+	 * @param pathToModelExportFile Path to the JSON file (default null, no file written)
+	 * @return builder to re-use
+	 */
+	public MdaGeneratorBuilder withModelExportFile(Path pathToModelExportFile) {
+		this.pathToModelExportFile = pathToModelExportFile;
+		return this;
+	}
+
+	/**
+	 * Keep a binary snapshot of the model read, loaded instead of reading the model and metadata files while they are unchanged (same size and date, or same content).
+	 * @param pathToModelSnapshot Path to the snapshot file (default null, model files always read)
+	 * @return builder to re-use
+	 */
+	public MdaGeneratorBuilder withModelSnapshot(Path pathToModelSnapshot) {
+		this.pathToModelSnapshot = pathToModelSnapshot;
+		return this;
+	}
+
 	/**
 	 * Build the MdaGenerator from parameters
 	 * @return MdaGenerator object built
@@ -350,13 +557,14 @@ public class MdaGeneratorBuilder {
 
 		generator.setPathToModelFile(pathToModel);
 		generator.setPathToMetadataFile(pathToMetadata);
-		generator.setReaderClass(readerClass);
-		generator.setTypeConverterClass(typeConverter);
-		generator.setJavaWriterClass(javaWriter);
-		generator.setSqlWriterClass(sqlWriter);
+		generator.setReaderSupplier(readerSupplier);
+		generator.setTypeConverterSupplier(typeConverter);
+		generator.setPathToTypeMapping(pathToTypeMapping);
+		generator.setJavaWriterSupplier(javaWriter);
+		generator.setSqlWriterSupplier(sqlWriter);
 		generator.setJavaOutputDirectory(javaOutputDirectory);
 		generator.setAnnotationsForClasses(annotationsForClasses);
-		generator.setJavaNameConverterClass(javaNameConverter);
+		generator.setJavaNameConverterSupplier(javaNameConverter);
 
 		if(sqlCreateTablesPath == null) {
 			generator.setSqlCreateTablesPath(sqlOutputDirectory.resolve(CREATE_TABLES_DEFAULT_FILE_NAME));
@@ -375,13 +583,27 @@ public class MdaGeneratorBuilder {
 		generator.setEntitiesPackagePartName(entitiesPackagePartName);
 		generator.setPathToCreateSQLTemplate(pathToCreateSQLTemplate);
 		generator.setPathToDropSQLTemplate(pathToDropSQLTemplate);
-		generator.setPathToEntitiesTemplate(pathToEntitiesTemplate);
+		if(renderingPlans && pathToEntitiesTemplate.equals(PathUtils.getPathForClassPathAndFs("/templates/entity.vm"))) {
+			generator.setPathToEntitiesTemplate(PathUtils.getPathForClassPathAndFs("/templates/entity_plan.vm"));
+		} else {
+			generator.setPathToEntitiesTemplate(pathToEntitiesTemplate);
+		}
 		generator.setPathToDaosTemplate(pathToDaosTemplate);
 		generator.setPathToPackageInfoTemplate(pathToPackageInfoTemplate);
 		generator.setCharset(charset);
 		generator.setExcludedPrefixes(excludedPrefixes);
 		generator.setSqlSequencePrefixName(sqlSequencePrefixName);
 		generator.setSqlSchemaName(sqlSchemaName);
+		generator.setJavaWriterThreads(javaWriterThreads);
+		generator.setIncrementalGeneration(incrementalGeneration);
+		generator.setStreamingOutput(streamingOutput);
+		generator.setRenderingPlans(renderingPlans);
+		generator.setSqlSplitMode(sqlSplitMode);
+		generator.setSqlTablesPerScript(sqlTablesPerScript);
+		generator.setPathToMasterSQLTemplate(pathToMasterSQLTemplate);
+		generator.setPathToMetricsFile(pathToMetricsFile);
+		generator.setPathToModelExportFile(pathToModelExportFile);
+		generator.setPathToModelSnapshot(pathToModelSnapshot);
 
 		return generator;
 	}
@@ -398,14 +620,18 @@ public class MdaGeneratorBuilder {
 		}
 
 
-		if(typeConverter == null){
-			throw new MdaGeneratorException("MdaGenerator needs a Domain -> Types converter, define a class implementing ConverterInterface interface and use mdaGeneratorBuilder.withTypeConverter(myTypeConverter.class)");
+		if(typeConverter == null && pathToTypeMapping == null){
+			throw new MdaGeneratorException("MdaGenerator needs a Domain -> Types converter, define a class implementing ConverterInterface interface and use mdaGeneratorBuilder.withTypeConverter(MyTypeConverter::new)"
+					+ " or a types mapping with mdaGeneratorBuilder.withTypeMapping(\"/path/to/mapping.properties\")");
+		}
+		if(pathToTypeMapping != null && !Files.exists(pathToTypeMapping)) {
+			throw new MdaGeneratorException("MdaGenerator types mapping " + pathToTypeMapping + " not found");
 		}
 		if(javaNameConverter == null){
-			throw new MdaGeneratorException("MdaGenerator needs a Java names converter, define a class implementing JavaNameConverterInterface interface and use mdaGeneratorBuilder.withJavaNameConverter(myJavaNameConverter.class)");
+			throw new MdaGeneratorException("MdaGenerator needs a Java names converter, define a class implementing JavaNameConverterInterface interface and use mdaGeneratorBuilder.withJavaNameConverter(MyJavaNameConverter::new)");
 		}
 		if(javaWriter == null){
-			throw new MdaGeneratorException("MdaGenerator needs a java writer, define a class implementing JavaWriterInterface interface and use mdaGeneratorBuilder.withJavaWriter(myJavaWriter.class)");
+			throw new MdaGeneratorException("MdaGenerator needs a java writer, define a class implementing JavaWriterInterface interface and use mdaGeneratorBuilder.withJavaWriter(MyJavaWriter::new)");
 		}
 		if(javaOutputDirectory == null) {
 			throw new MdaGeneratorException("MdaGenerator needs a java root directory to write files, use mdaGeneratorBuilder.withJavaOutputDirectory(\"/path/to/directory\")");
@@ -428,7 +654,7 @@ public class MdaGeneratorBuilder {
 		}
 
 		if(sqlWriter == null){
-			throw new MdaGeneratorException("MdaGenerator needs a sql writer, define a class implementing SqlWriterInterface interface and use mdaGeneratorBuilder.withSqlWriter(mySqlWriter.class)");
+			throw new MdaGeneratorException("MdaGenerator needs a sql writer, define a class implementing SqlWriterInterface interface and use mdaGeneratorBuilder.withSqlWriter(MySqlWriter::new)");
 		}
 
 
@@ -450,6 +676,12 @@ public class MdaGeneratorBuilder {
 		if(pathToDropSQLTemplate == null) {
 			throw new MdaGeneratorException("MdaGenerator needs a drop sql template. Create a velocity template and bind it with mdaGeneratorBuilder.withDropSQLTemplate(\"path/to/template.vm\")");
 		}
+		if(sqlSplitMode != null && sqlSplitMode != SQLSplitMode.NONE && pathToMasterSQLTemplate == null) {
+			throw new MdaGeneratorException("MdaGenerator needs a master sql template to split SQL scripts. Create a velocity template and bind it with mdaGeneratorBuilder.withMasterSQLTemplate(\"path/to/template.vm\")");
+		}
+		if(sqlSplitMode == SQLSplitMode.TABLES && sqlTablesPerScript <= 0) {
+			throw new MdaGeneratorException("MdaGenerator needs a positive number of tables per script to split SQL scripts by tables. Use mdaGeneratorBuilder.withSqlTablesPerScript(100)");
+		}
 		if(charset == null) {
 			throw new MdaGeneratorException("MdaGenerator needs a charset defined to create files. Use mdaGeneratorBuilder.withCharset(StandardCharsets.UTF_8)");
 		}
@@ -465,31 +697,43 @@ public class MdaGeneratorBuilder {
 		try (InputStream input = Files.newInputStream(pathToProperties)){
 			prop.load(input);
 
-			PropertyUtils.loadClassFromProperty("readerClass", prop, this);
-			PropertyUtils.loadPathFromProperty("pathToModel", prop, this);
-			PropertyUtils.loadPathFromProperty("pathToMetadata", prop, this);
-			PropertyUtils.loadClassFromProperty("typeConverter", prop, this);
-			PropertyUtils.loadClassFromProperty("javaNameConverter", prop, this);
-
-			PropertyUtils.loadCharset("charset", prop, this);
-
-			PropertyUtils.loadClassFromProperty("javaWriter", prop, this);
-			PropertyUtils.loadPathFromProperty("javaOutputDirectory", prop, this);
-			PropertyUtils.loadString("entitiesPackagePartName", prop, this);
-			PropertyUtils.loadString("daosPackagePartName", prop, this);
-			PropertyUtils.loadPathFromProperty("pathToPackageInfoTemplate", prop, this);
-			PropertyUtils.loadPathFromProperty("pathToEntitiesTemplate", prop, this);
-			PropertyUtils.loadPathFromProperty("pathToDaosTemplate", prop, this);
-
-			PropertyUtils.loadClassFromProperty("sqlWriter", prop, this);
-			PropertyUtils.loadPathFromProperty("sqlOutputDirectory", prop, this);
-			PropertyUtils.loadPathFromProperty("sqlCreateTablesPath", prop, this);
-			PropertyUtils.loadPathFromProperty("sqlDropTablesPath", prop, this);
-			PropertyUtils.loadPathFromProperty("pathToCreateSQLTemplate", prop, this);
-			PropertyUtils.loadPathFromProperty("pathToDropSQLTemplate", prop, this);
-			PropertyUtils.loadStringList("excludedPrefixes", prop, this);
-			PropertyUtils.loadString("sqlSequencePrefixName", prop, this);
-			PropertyUtils.loadString("sqlSchemaName", prop, this);
+			PropertyUtils.loadComponentFromProperty("readerClass", prop, ModelFileReaderInterface.class, supplier -> readerSupplier = supplier);
+			PropertyUtils.loadPathFromProperty("pathToModel", prop, path -> pathToModel = path);
+			PropertyUtils.loadPathFromProperty("pathToMetadata", prop, path -> pathToMetadata = path);
+			PropertyUtils.loadComponentFromProperty("typeConverter", prop, TypeConverterInterface.class, supplier -> typeConverter = supplier);
+			PropertyUtils.loadPathFromProperty("pathToTypeMapping", prop, path -> pathToTypeMapping = path);
+			PropertyUtils.loadComponentFromProperty("javaNameConverter", prop, JavaNameConverterInterface.class, supplier -> javaNameConverter = supplier);
+
+			PropertyUtils.loadCharset("charset", prop, value -> charset = value);
+
+			PropertyUtils.loadComponentFromProperty("javaWriter", prop, JavaWriterInterface.class, supplier -> javaWriter = supplier);
+			PropertyUtils.loadPathFromProperty("javaOutputDirectory", prop, path -> javaOutputDirectory = path);
+			PropertyUtils.loadString("entitiesPackagePartName", prop, value -> entitiesPackagePartName = value);
+			PropertyUtils.loadString("daosPackagePartName", prop, value -> daosPackagePartName = value);
+			PropertyUtils.loadPathFromProperty("pathToPackageInfoTemplate", prop, path -> pathToPackageInfoTemplate = path);
+			PropertyUtils.loadPathFromProperty("pathToEntitiesTemplate", prop, path -> pathToEntitiesTemplate = path);
+			PropertyUtils.loadPathFromProperty("pathToDaosTemplate", prop, path -> pathToDaosTemplate = path);
+			PropertyUtils.loadInteger("javaWriterThreads", prop, value -> javaWriterThreads = value);
+			PropertyUtils.loadBoolean("incrementalGeneration", prop, value -> incrementalGeneration = value);
+			PropertyUtils.loadBoolean("streamingOutput", prop, value -> streamingOutput = value);
+			PropertyUtils.loadBoolean("renderingPlans", prop, value -> renderingPlans = value);
+
+			PropertyUtils.loadComponentFromProperty("sqlWriter", prop, SQLWriterInterface.class, supplier -> sqlWriter = supplier);
+			PropertyUtils.loadPathFromProperty("sqlOutputDirectory", prop, path -> sqlOutputDirectory = path);
+			PropertyUtils.loadPathFromProperty("sqlCreateTablesPath", prop, path -> sqlCreateTablesPath = path);
+			PropertyUtils.loadPathFromProperty("sqlDropTablesPath", prop, path -> sqlDropTablesPath = path);
+			PropertyUtils.loadPathFromProperty("pathToCreateSQLTemplate", prop, path -> pathToCreateSQLTemplate = path);
+			PropertyUtils.loadPathFromProperty("pathToDropSQLTemplate", prop, path -> pathToDropSQLTemplate = path);
+			PropertyUtils.loadEnum("sqlSplitMode", prop, SQLSplitMode.class, value -> sqlSplitMode = value);
+			PropertyUtils.loadInteger("sqlTablesPerScript", prop, value -> sqlTablesPerScript = value);
+			PropertyUtils.loadPathFromProperty("pathToMasterSQLTemplate", prop, path -> pathToMasterSQLTemplate = path);
+			PropertyUtils.loadStringList("excludedPrefixes", prop, values -> excludedPrefixes = values);
+			PropertyUtils.loadString("sqlSequencePrefixName", prop, value -> sqlSequencePrefixName = value);
+			PropertyUtils.loadString("sqlSchemaName", prop, value -> sqlSchemaName = value);
+
+			PropertyUtils.loadPathFromProperty("pathToMetricsFile", prop, path -> pathToMetricsFile = path);
+			PropertyUtils.loadPathFromProperty("pathToModelExportFile", prop, path -> pathToModelExportFile = path);
+			PropertyUtils.loadPathFromProperty("pathToModelSnapshot", prop, path -> pathToModelSnapshot = path);
 		} catch(Exception e) {
 			throw new MdaGeneratorException("Cannot load property file " + pathToProperties.toString(),e);
 		}
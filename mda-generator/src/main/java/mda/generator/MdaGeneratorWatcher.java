@@ -0,0 +1,176 @@
+package mda.generator;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import mda.generator.exceptions.MdaGeneratorException;
+
+/**
+ * Watch mode : generation done again each time the model, the metadata, the templates or the types mapping are saved.
+ *
+ * The generator keeps its converters, writers (and parsed templates) and the model read between two generations, and only what is impacted is done again :
+ * <ul>
+ * <li>model or metadata saved : model read, java and sql files written</li>
+ * <li>java template saved : java files written (with the model already read)</li>
+ * <li>sql template saved : sql files written (with the model already read)</li>
+ * <li>types mapping saved : whole generation</li>
+ * </ul>
+ * With incremental generation, only the classes modified in the model are written again.
+ *
+ * Templates inside a jar (default templates) are not watched.
+ *
+ * @author Fabien Crapart
+ */
+public class MdaGeneratorWatcher implements Closeable {
+	private static final Logger LOG = LogManager.getLogger(MdaGeneratorWatcher.class);
+
+	/** Default time without modification before generating (a model export writes the file several times) */
+	public static final long DEFAULT_QUIET_PERIOD_MILLIS = 100;
+
+	/** Part of the generation impacted by a watched file */
+	private enum Impact {
+		ALL, MODEL, JAVA, SQL
+	}
+
+	private final MdaGenerator generator;
+	private final long quietPeriodMillis;
+	private final WatchService watchService;
+	/** Impact by watched file (absolute path) */
+	private final Map<Path, Impact> watchedFiles = new HashMap<>();
+	/** Watched directories by key */
+	private final Map<WatchKey, Path> watchedDirectories = new HashMap<>();
+
+	/**
+	 * @param generator generator to run
+	 * @throws IOException if the files can't be watched
+	 */
+	public MdaGeneratorWatcher(MdaGenerator generator) throws IOException {
+		this(generator, DEFAULT_QUIET_PERIOD_MILLIS);
+	}
+
+	/**
+	 * @param generator generator to run
+	 * @param quietPeriodMillis time without modification of the watched files before generating
+	 * @throws IOException if the files can't be watched
+	 */
+	public MdaGeneratorWatcher(MdaGenerator generator, long quietPeriodMillis) throws IOException {
+		this.generator = generator;
+		this.quietPeriodMillis = quietPeriodMillis;
+		watchService = FileSystems.getDefault().newWatchService();
+
+		addWatchedFiles(generator.getModelFiles(), Impact.MODEL);
+		addWatchedFiles(generator.getPathToTypeMapping() != null ? Collections.singletonList(generator.getPathToTypeMapping()) : Collections.<Path>emptyList(), Impact.ALL);
+		addWatchedFiles(generator.getJavaTemplates(), Impact.JAVA);
+		addWatchedFiles(generator.getSqlTemplates(), Impact.SQL);
+	}
+
+	private void addWatchedFiles(List<Path> files, Impact impact) throws IOException {
+		for(Path file : files) {
+			// Templates du jar du générateur : non surveillés
+			if(file == null || file.getFileSystem() != FileSystems.getDefault()) {
+				continue;
+			}
+			Path absoluteFile = file.toAbsolutePath().normalize();
+			// Un fichier modèle qui est aussi un template garde l'impact le plus large
+			Impact previous = watchedFiles.get(absoluteFile);
+			if(previous == null || impact.ordinal() < previous.ordinal()) {
+				watchedFiles.put(absoluteFile, impact);
+			}
+			Path directory = absoluteFile.getParent();
+			if(!watchedDirectories.containsValue(directory)) {
+				watchedDirectories.put(directory.register(watchService, ENTRY_CREATE, ENTRY_MODIFY), directory);
+			}
+		}
+	}
+
+	/**
+	 * Generate, then generate again on each modification of the watched files, until {@link #close()} or an interruption of the thread.
+	 * Generation errors (model being exported for example) are logged, the next modification is waited for.
+	 */
+	public void watch() {
+		LOG.info("Watching " + watchedFiles.keySet());
+		generate(EnumSet.of(Impact.MODEL));
+
+		try {
+			while(true) {
+				Set<Impact> impacts = EnumSet.noneOf(Impact.class);
+				collectImpacts(watchService.take(), impacts);
+
+				// Rafale d'événements (export, sauvegarde par renommage) : attente d'une période sans modification
+				WatchKey key;
+				while((key = watchService.poll(quietPeriodMillis, TimeUnit.MILLISECONDS)) != null) {
+					collectImpacts(key, impacts);
+				}
+
+				if(!impacts.isEmpty()) {
+					generate(impacts);
+				}
+			}
+		} catch (ClosedWatchServiceException e) {
+			LOG.info("Watch stopped");
+		} catch (InterruptedException e) {
+			LOG.info("Watch interrupted");
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void collectImpacts(WatchKey key, Set<Impact> impacts) {
+		Path directory = watchedDirectories.get(key);
+		for(WatchEvent<?> event : key.pollEvents()) {
+			if(event.kind() == OVERFLOW) {
+				// Evénements perdus : tout est refait
+				impacts.add(Impact.ALL);
+			} else if(directory != null) {
+				Impact impact = watchedFiles.get(directory.resolve((Path) event.context()));
+				if(impact != null) {
+					impacts.add(impact);
+				}
+			}
+		}
+		key.reset();
+	}
+
+	private void generate(Set<Impact> impacts) {
+		LOG.info("Generation for " + impacts);
+		try {
+			if(impacts.contains(Impact.ALL)) {
+				generator.generate();
+			} else {
+				boolean readModel = impacts.contains(Impact.MODEL);
+				generator.generate(readModel, readModel || impacts.contains(Impact.JAVA), readModel || impacts.contains(Impact.SQL));
+			}
+		} catch (MdaGeneratorException e) {
+			// Modèle invalide ou incomplet (export en cours) : la génération suivante le relira
+			LOG.error("Generation failed, waiting for the next modification", e);
+		}
+	}
+
+	/**
+	 * Stop watching, {@link #watch()} returns
+	 * @throws IOException
+	 */
+	@Override
+	public void close() throws IOException {
+		watchService.close();
+	}
+}
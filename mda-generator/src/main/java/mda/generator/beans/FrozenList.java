@@ -0,0 +1,40 @@
+package mda.generator.beans;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * Unmodifiable list backed by an array, used by the frozen model (a single small object per list).
+ *
+ * @author Fabien Crapart
+ *
+ * @param <E> type of the elements
+ */
+final class FrozenList<E> extends AbstractList<E> implements RandomAccess {
+	private static final FrozenList<Object> EMPTY = new FrozenList<>(new Object[0]);
+
+	private final E[] elements;
+
+	private FrozenList(E[] elements) {
+		this.elements = elements;
+	}
+
+	/**
+	 * @param elements elements of the list, the array must not be modified afterwards
+	 * @return list backed by the array
+	 */
+	@SuppressWarnings("unchecked")
+	static <E> FrozenList<E> of(E[] elements) {
+		return elements.length == 0 ? (FrozenList<E>) EMPTY : new FrozenList<>(elements);
+	}
+
+	@Override
+	public E get(int index) {
+		return elements[index];
+	}
+
+	@Override
+	public int size() {
+		return elements.length;
+	}
+}
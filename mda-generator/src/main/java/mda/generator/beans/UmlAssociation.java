@@ -2,6 +2,8 @@ package mda.generator.beans;
 
 import org.apache.commons.lang3.StringUtils;
 
+import mda.generator.exceptions.MdaGeneratorException;
+
 /**
  * Unidirectional association between two classes. Contains a reference to its opposite association
  * Provide informations about nullability, multiplicity and navigability.
@@ -9,7 +11,7 @@ import org.apache.commons.lang3.StringUtils;
  * @author Fabien Crapart
  */
 public class UmlAssociation {
-	private String id;
+	private UmlId id;
 	private String name;
 	private boolean owned; // pour les manyToMany on a besoin d'un côté principal
 
@@ -25,11 +27,39 @@ public class UmlAssociation {
 
 	private UmlClass source;
 	private UmlClass target;
+	private boolean frozen = false;
+
+	/**
+	 * Freeze the association : no more modification.
+	 */
+	public void freeze() {
+		frozen = true;
+	}
+
+	/**
+	 * @return true if the association has been frozen
+	 */
+	public boolean isFrozen() {
+		return frozen;
+	}
+
+	private void checkNotFrozen() {
+		if(frozen) {
+			throw new MdaGeneratorException("Association " + name + " is frozen and cannot be modified");
+		}
+	}
 
 	/**
 	 * @return the id
 	 */
 	public String getId() {
+		return id == null ? null : id.toString();
+	}
+
+	/**
+	 * @return the compact id
+	 */
+	public UmlId getUmlId() {
 		return id;
 	}
 
@@ -37,6 +67,15 @@ public class UmlAssociation {
 	 * @param id the eaId to set
 	 */
 	public void setId(String id) {
+		checkNotFrozen();
+		this.id = UmlId.of(id);
+	}
+
+	/**
+	 * @param id the id to set, already built (ex: loaded from a snapshot)
+	 */
+	public void setUmlId(UmlId id) {
+		checkNotFrozen();
 		this.id = id;
 	}
 
@@ -51,6 +90,7 @@ public class UmlAssociation {
 	 * @param name the name to set
 	 */
 	public void setName(String name) {
+		checkNotFrozen();
 		this.name = name;
 	}
 
@@ -65,6 +105,7 @@ public class UmlAssociation {
 	 * @param owner the owner to set
 	 */
 	public void setSource(UmlClass owner) {
+		checkNotFrozen();
 		source = owner;
 	}
 
@@ -79,6 +120,7 @@ public class UmlAssociation {
 	 * @param target the target to set
 	 */
 	public void setTarget(UmlClass target) {
+		checkNotFrozen();
 		this.target = target;
 	}
 
@@ -93,6 +135,7 @@ public class UmlAssociation {
 	 * @param name for fk object in association
 	 */
 	public void setFkObjectName(String roleName) {
+		checkNotFrozen();
 		fkObjectName = roleName;
 	}
 
@@ -109,6 +152,7 @@ public class UmlAssociation {
 	 * @param fkName the fk name to set
 	 */
 	public void setFkName(String fkName) {
+		checkNotFrozen();
 		this.fkName = fkName;
 	}
 
@@ -123,6 +167,7 @@ public class UmlAssociation {
 	 * @param owned the owned to set
 	 */
 	public void setTargetOwned(boolean owned) {
+		checkNotFrozen();
 		this.owned = owned;
 	}
 
@@ -137,6 +182,7 @@ public class UmlAssociation {
 	 * @param opposite the opposite to set
 	 */
 	public void setOpposite(UmlAssociation opposite) {
+		checkNotFrozen();
 		this.opposite = opposite;
 	}
 
@@ -151,6 +197,7 @@ public class UmlAssociation {
 	 * @param targetIsMultiple the targetIsMultiple to set
 	 */
 	public void setTargetMultiple(boolean targetIsMultiple) {
+		checkNotFrozen();
 		targetMultiple = targetIsMultiple;
 	}
 
@@ -165,6 +212,7 @@ public class UmlAssociation {
 	 * @param targetIsNullable the targetIsNullable to set
 	 */
 	public void setTargetNullable(boolean targetIsNullable) {
+		checkNotFrozen();
 		targetNullable = targetIsNullable;
 	}
 
@@ -179,6 +227,7 @@ public class UmlAssociation {
 	 * @param targetIsNavigable the targetIsNavigable to set
 	 */
 	public void setTargetNavigable(boolean targetIsNavigable) {
+		checkNotFrozen();
 		targetNavigable = targetIsNavigable;
 	}
 
@@ -1,5 +1,7 @@
 package mda.generator.beans;
 
+import mda.generator.exceptions.MdaGeneratorException;
+
 /**
  * Attribute of a class
  *
@@ -8,7 +10,7 @@ package mda.generator.beans;
  */
 public class UmlAttribute {
 	/** Id in xml schema */
-	private String id;
+	private UmlId id;
 
 	private boolean isPK;
 	private String name;
@@ -18,6 +20,27 @@ public class UmlAttribute {
 	private Boolean isNotNull;
 	/** Atrtibute used for JPA updatable=false */
 	private Boolean isReadonly = true;
+	private boolean frozen = false;
+
+	/**
+	 * Freeze the attribute : no more modification.
+	 */
+	public void freeze() {
+		frozen = true;
+	}
+
+	/**
+	 * @return true if the attribute has been frozen
+	 */
+	public boolean isFrozen() {
+		return frozen;
+	}
+
+	private void checkNotFrozen() {
+		if(frozen) {
+			throw new MdaGeneratorException("Attribute " + name + " is frozen and cannot be modified");
+		}
+	}
 
 	/**
 	 * @return the isPK
@@ -30,6 +53,7 @@ public class UmlAttribute {
 	 * @param isPK the isPK to set
 	 */
 	public void setPK(boolean isPK) {
+		checkNotFrozen();
 		this.isPK = isPK;
 	}
 
@@ -37,6 +61,7 @@ public class UmlAttribute {
 	 * @param name the name to set
 	 */
 	public void setName(String name) {
+		checkNotFrozen();
 		this.name = name;
 	}
 
@@ -49,7 +74,7 @@ public class UmlAttribute {
 
 
 	/**
-	 * @return the domain
+	 * @return the domain, null if it was not found in the metadata (reported by the validation of the model)
 	 */
 	public UmlDomain getDomain() {
 		return domain;
@@ -58,6 +83,7 @@ public class UmlAttribute {
 	 * @param domain the domain to set
 	 */
 	public void setDomain(UmlDomain domain) {
+		checkNotFrozen();
 		this.domain = domain;
 	}
 	/**
@@ -70,6 +96,7 @@ public class UmlAttribute {
 	 * @param isNotNull the isNotNull to set
 	 */
 	public void setIsNotNull(Boolean isNotNull) {
+		checkNotFrozen();
 		this.isNotNull = isNotNull;
 	}
 
@@ -84,6 +111,7 @@ public class UmlAttribute {
 	 * @param comment the comment to set
 	 */
 	public void setComment(String comment) {
+		checkNotFrozen();
 		this.comment = comment;
 	}
 
@@ -99,6 +127,7 @@ public class UmlAttribute {
 	 * @param isReadonly the isReadonly to set
 	 */
 	public void setReadonly(Boolean isReadonly) {
+		checkNotFrozen();
 		this.isReadonly = isReadonly;
 	}
 
@@ -115,6 +144,13 @@ public class UmlAttribute {
 	 * @return the id
 	 */
 	public String getId() {
+		return id == null ? null : id.toString();
+	}
+
+	/**
+	 * @return the compact id
+	 */
+	public UmlId getUmlId() {
 		return id;
 	}
 
@@ -122,6 +158,15 @@ public class UmlAttribute {
 	 * @param id the id to set
 	 */
 	public void setId(String id) {
+		checkNotFrozen();
+		this.id = UmlId.of(id);
+	}
+
+	/**
+	 * @param id the id to set, already built (ex: loaded from a snapshot)
+	 */
+	public void setUmlId(UmlId id) {
+		checkNotFrozen();
 		this.id = id;
 	}
 
@@ -1,49 +1,130 @@
 package mda.generator.beans;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
+import mda.generator.exceptions.MdaGeneratorException;
+
 /**
  * Class inside a package (containing attributes and associations with other classes)
  *
+ * Once the model is read, the class is frozen : it cannot be modified anymore and its attributes, PKs
+ * and associations lists are computed once, the getters then return the same unmodifiable lists.
+ *
  * @author Fabien Crapart
  *
  */
 public class UmlClass {
-	private String id;
+	private UmlId id;
 	private String name;
 	private String comment;
 
 	private UmlPackage xmiPackage;
-	private final Map<String,UmlAttribute> attributs = new LinkedHashMap<>();
-	private final List<UmlAssociation> associations = new ArrayList<>();
+	/** Attributes and associations while reading the model, null once frozen */
+	private Map<UmlId,UmlAttribute> attributs = new LinkedHashMap<>();
+	private List<UmlAssociation> associations = new ArrayList<>();
+
+	/** Lists backed by arrays, computed when frozen, null before */
+	private List<UmlAttribute> frozenAttributes;
+	private List<UmlAttribute> frozenPKs;
+	private List<UmlAssociation> frozenAssociations;
+	private List<UmlAssociation> frozenNavigableAssociations;
+
+	/**
+	 * Freeze the class, its attributes and associations : no more modification, derived lists computed once.
+	 */
+	public void freeze() {
+		if(isFrozen()) {
+			return;
+		}
+		for(UmlAttribute attribute : attributs.values()) {
+			attribute.freeze();
+		}
+		for(UmlAssociation association : associations) {
+			association.freeze();
+		}
+
+		frozenAttributes = FrozenList.of(attributs.values().toArray(new UmlAttribute[attributs.size()]));
+		List<UmlAttribute> pks = computePKs();
+		frozenPKs = pks.size() == frozenAttributes.size() ? frozenAttributes : FrozenList.of(pks.toArray(new UmlAttribute[pks.size()]));
+		frozenAssociations = FrozenList.of(associations.toArray(new UmlAssociation[associations.size()]));
+		List<UmlAssociation> navigableAssociations = computeNavigableAssociations();
+		frozenNavigableAssociations = navigableAssociations.size() == frozenAssociations.size() ? frozenAssociations
+				: FrozenList.of(navigableAssociations.toArray(new UmlAssociation[navigableAssociations.size()]));
+
+		attributs = null;
+		associations = null;
+	}
+
+	/**
+	 * @return true if the class has been frozen
+	 */
+	public boolean isFrozen() {
+		return frozenAttributes != null;
+	}
+
+	private void checkNotFrozen() {
+		if(isFrozen()) {
+			throw new MdaGeneratorException("Class " + name + " is frozen and cannot be modified");
+		}
+	}
 
 	/**
 	 * @return the eaId
 	 */
 	public String getId() {
+		return id == null ? null : id.toString();
+	}
+
+	/**
+	 * @return the compact id
+	 */
+	public UmlId getUmlId() {
 		return id;
 	}
+
 	/**
 	 * @param eaId the eaId to set
 	 */
 	public void setId(String eaId) {
-		id = eaId;
+		checkNotFrozen();
+		id = UmlId.of(eaId);
+	}
+
+	/**
+	 * @param id the id to set, already built (ex: loaded from a snapshot)
+	 */
+	public void setUmlId(UmlId id) {
+		checkNotFrozen();
+		this.id = id;
 	}
 
 	/**
 	 * @param name the name to set
 	 */
 	public void setName(String name) {
+		checkNotFrozen();
 		// On modifie le nom
 		this.name = name;
 	}
 
-
+	/**
+	 * @param attribute attribute to add to the class
+	 */
 	public void addAttribute(UmlAttribute attribute) {
-		attributs.put(attribute.getId(), attribute);
+		checkNotFrozen();
+		attributs.put(attribute.getUmlId(), attribute);
+	}
+
+	/**
+	 * @param association association to add to the class (class being the source of the association)
+	 */
+	public void addAssociation(UmlAssociation association) {
+		checkNotFrozen();
+		associations.add(association);
 	}
 
 	/**
@@ -63,6 +144,7 @@ public class UmlClass {
 	 * @param pack the pack to set
 	 */
 	public void setXmiPackage(UmlPackage pack) {
+		checkNotFrozen();
 		xmiPackage = pack;
 	}
 
@@ -77,13 +159,17 @@ public class UmlClass {
 	 * @param comment the comment to set
 	 */
 	public void setComment(String comment) {
+		checkNotFrozen();
 		this.comment = comment;
 	}
 
 	/**
-	 * @return the attribut
+	 * @return the attributes (a copy before freezing, the same unmodifiable list after)
 	 */
 	public List<UmlAttribute> getAttributes() {
+		if(frozenAttributes != null) {
+			return frozenAttributes;
+		}
 		return new ArrayList<>(attributs.values());
 	}
 
@@ -93,16 +179,32 @@ public class UmlClass {
 	 * @return
 	 */
 	public UmlAttribute getAttributeById(String id) {
-		return attributs.get(id);
+		UmlId umlId = UmlId.of(id);
+		if(frozenAttributes != null) {
+			for(UmlAttribute attribute : frozenAttributes) {
+				if(attribute.getUmlId().equals(umlId)) {
+					return attribute;
+				}
+			}
+			return null;
+		}
+		return attributs.get(umlId);
 	}
 
 	/**
 	 * Renvoie la liste des attributs PKs
-	 * @return liste des attributs PKs
+	 * @return liste des attributs PKs (calculée une seule fois une fois la classe figée)
 	 */
 	public List<UmlAttribute> getPKs(){
+		if(frozenPKs != null) {
+			return frozenPKs;
+		}
+		return computePKs();
+	}
+
+	private List<UmlAttribute> computePKs() {
 		List<UmlAttribute> pks = new ArrayList<>();
-		for(UmlAttribute attr : attributs.values()) {
+		for(UmlAttribute attr : getAttributes()) {
 			if(attr.isPK()) {
 				pks.add(attr);
 			}
@@ -112,10 +214,33 @@ public class UmlClass {
 	}
 
 	/**
-	 * @return the associations
+	 * @return the associations (unmodifiable, use addAssociation to add one)
 	 */
 	public List<UmlAssociation> getAssociations() {
-		return associations;
+		if(frozenAssociations != null) {
+			return frozenAssociations;
+		}
+		return Collections.unmodifiableList(associations);
+	}
+
+	/**
+	 * @return the associations navigable to their target
+	 */
+	public List<UmlAssociation> getNavigableAssociations() {
+		if(frozenNavigableAssociations != null) {
+			return frozenNavigableAssociations;
+		}
+		return computeNavigableAssociations();
+	}
+
+	private List<UmlAssociation> computeNavigableAssociations() {
+		List<UmlAssociation> navigableAssociations = new ArrayList<>();
+		for(UmlAssociation association : associations) {
+			if(association.isTargetNavigable()) {
+				navigableAssociations.add(association);
+			}
+		}
+		return navigableAssociations;
 	}
 
 	@Override
@@ -123,11 +248,11 @@ public class UmlClass {
 		StringBuilder sb = new StringBuilder();
 		sb.append("\n\t. ").append(name).append(" : ");
 
-		for(UmlAttribute attribut : attributs.values()) {
+		for(UmlAttribute attribut : getAttributes()) {
 			sb.append("\n\t\t- ").append(attribut);
 		}
 
-		for(UmlAssociation association : associations) {
+		for(UmlAssociation association : getAssociations()) {
 			sb.append("\n\t\t> ").append(association);
 		}
 
@@ -14,6 +14,27 @@ public class UmlDomain {
 	private String typeName;
 	private String maxLength;
 	private String precision;
+	private boolean frozen = false;
+
+	/**
+	 * Freeze the domain : no more modification.
+	 */
+	public void freeze() {
+		frozen = true;
+	}
+
+	/**
+	 * @return true if the domain has been frozen
+	 */
+	public boolean isFrozen() {
+		return frozen;
+	}
+
+	private void checkNotFrozen() {
+		if(frozen) {
+			throw new MdaGeneratorException("Domain " + name + " is frozen and cannot be modified");
+		}
+	}
 	
 	/**
 	 * @return the name
@@ -25,6 +46,7 @@ public class UmlDomain {
 	 * @param name the name to set
 	 */
 	public void setName(String name) {
+		checkNotFrozen();
 		this.name = name;
 	}
 	
@@ -38,6 +60,7 @@ public class UmlDomain {
 	 * @param typeName the typeName to set
 	 */
 	public void setTypeName(String typeName) {
+		checkNotFrozen();
 		if(typeName == null) {
 			throw new MdaGeneratorException("GenericType undefined for domain " + name);
 		}
@@ -53,6 +76,7 @@ public class UmlDomain {
 	 * @param maxLength the maxLength to set
 	 */
 	public void setMaxLength(String maxLength) {
+		checkNotFrozen();
 		this.maxLength = maxLength;
 	}
 	/**
@@ -65,6 +89,7 @@ public class UmlDomain {
 	 * @param precision the precision to set
 	 */
 	public void setPrecision(String precision) {
+		checkNotFrozen();
 		this.precision = precision;
 	}
 	public String toString() {
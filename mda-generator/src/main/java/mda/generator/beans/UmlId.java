@@ -0,0 +1,168 @@
+package mda.generator.beans;
+
+/**
+ * Identifier of a model element (xmi:id).
+ *
+ * Enterprise Architect ids (ex: EAID_3C6F55AC_762C_4339_AEA5_6B85C4EEFAB8) are stored as their prefix (interned)
+ * and the 128 bits of the GUID in two longs, with the case of the hexadecimal letters, instead of a 41 characters string.
+ * Other ids are kept as is.
+ *
+ * @author Fabien Crapart
+ */
+public final class UmlId {
+	/** Length of the GUID part : 32 hexadecimal digits and 4 separators */
+	private static final int GUID_LENGTH = 36;
+
+	/** Prefix (ex: "EAID_"), or the whole id when it is not a GUID */
+	private final String prefix;
+	private final long high;
+	private final long low;
+	/** Bit n set if the n-th hexadecimal digit is a lower case letter */
+	private final int lowerCaseMask;
+	/** false when the id is not a GUID (kept as is in prefix) */
+	private final boolean guid;
+
+	private UmlId(String prefix, long high, long low, int lowerCaseMask, boolean guid) {
+		this.prefix = prefix;
+		this.high = high;
+		this.low = low;
+		this.lowerCaseMask = lowerCaseMask;
+		this.guid = guid;
+	}
+
+	private UmlId(String id) {
+		this(id, 0, 0, 0, false);
+	}
+
+	/**
+	 * @param id id read in the model file
+	 * @return compact id, null if id is null
+	 */
+	public static UmlId of(String id) {
+		if(id == null) {
+			return null;
+		}
+
+		int guidStart = id.length() - GUID_LENGTH;
+		if(guidStart < 1 || id.charAt(guidStart - 1) != '_') {
+			return new UmlId(id);
+		}
+
+		long high = 0;
+		long low = 0;
+		int lowerCaseMask = 0;
+		int digit = 0;
+		for(int idx = guidStart; idx < id.length(); idx++) {
+			char c = id.charAt(idx);
+			int offset = idx - guidStart;
+			if(offset == 8 || offset == 13 || offset == 18 || offset == 23) {
+				if(c != '_') {
+					return new UmlId(id);
+				}
+				continue;
+			}
+
+			int value = c < 128 ? Character.digit(c, 16) : -1;
+			if(value < 0) {
+				return new UmlId(id);
+			}
+			if(c >= 'a') {
+				lowerCaseMask |= 1 << digit;
+			}
+			if(digit < 16) {
+				high = high << 4 | value;
+			} else {
+				low = low << 4 | value;
+			}
+			digit++;
+		}
+
+		return new UmlId(id.substring(0, guidStart).intern(), high, low, lowerCaseMask, true);
+	}
+
+	/**
+	 * @param prefix prefix of the GUID (ex: "EAID_"), shared by the caller
+	 * @param high first 64 bits of the GUID
+	 * @param low last 64 bits of the GUID
+	 * @param lowerCaseMask bit n set if the n-th hexadecimal digit is a lower case letter
+	 * @return GUID id, as returned by {@link #of(String)} for its string form
+	 */
+	public static UmlId ofGuid(String prefix, long high, long low, int lowerCaseMask) {
+		return new UmlId(prefix, high, low, lowerCaseMask, true);
+	}
+
+	/**
+	 * @return true if the id is a GUID stored in two longs, false if it is kept as is
+	 */
+	public boolean isGuid() {
+		return guid;
+	}
+
+	/**
+	 * @return prefix of the GUID, or the whole id if it is not a GUID
+	 */
+	public String getPrefix() {
+		return prefix;
+	}
+
+	/**
+	 * @return first 64 bits of the GUID
+	 */
+	public long getHigh() {
+		return high;
+	}
+
+	/**
+	 * @return last 64 bits of the GUID
+	 */
+	public long getLow() {
+		return low;
+	}
+
+	/**
+	 * @return bit n set if the n-th hexadecimal digit is a lower case letter
+	 */
+	public int getLowerCaseMask() {
+		return lowerCaseMask;
+	}
+
+	@Override
+	public String toString() {
+		if(!guid) {
+			return prefix;
+		}
+
+		StringBuilder sb = new StringBuilder(prefix.length() + GUID_LENGTH);
+		sb.append(prefix);
+		for(int digit = 0; digit < 32; digit++) {
+			if(digit == 8 || digit == 12 || digit == 16 || digit == 20) {
+				sb.append('_');
+			}
+			long bits = digit < 16 ? high : low;
+			int value = (int) (bits >>> (60 - (digit % 16) * 4)) & 0xF;
+			char c = Character.forDigit(value, 16);
+			sb.append((lowerCaseMask & 1 << digit) != 0 ? c : Character.toUpperCase(c));
+		}
+		return sb.toString();
+	}
+
+	@Override
+	public int hashCode() {
+		if(!guid) {
+			return prefix.hashCode();
+		}
+		return 31 * (31 * prefix.hashCode() + Long.hashCode(high)) + Long.hashCode(low);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if(this == obj) {
+			return true;
+		}
+		if(!(obj instanceof UmlId)) {
+			return false;
+		}
+		UmlId other = (UmlId) obj;
+		return guid == other.guid && high == other.high && low == other.low && lowerCaseMask == other.lowerCaseMask && prefix.equals(other.prefix);
+	}
+}
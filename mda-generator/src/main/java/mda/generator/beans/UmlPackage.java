@@ -3,28 +3,75 @@ package mda.generator.beans;
 import java.util.ArrayList;
 import java.util.List;
 
+import mda.generator.exceptions.MdaGeneratorException;
+
 
 /**
  * A java package (containing classes).
+ * Frozen with its classes once the model is read.
  * 
  * @author Fabien Crapart
  */
 public class UmlPackage {
-	private String id;
+	private UmlId id;
 	private String name;
 	private String comment;
 	private List<UmlClass> classes = new ArrayList<>();
+	private boolean frozen = false;
+
+	/**
+	 * Freeze the package and its classes : no more modification.
+	 */
+	public void freeze() {
+		if(frozen) {
+			return;
+		}
+		for(UmlClass umlClass : classes) {
+			umlClass.freeze();
+		}
+		classes = FrozenList.of(classes.toArray(new UmlClass[classes.size()]));
+		frozen = true;
+	}
+
+	/**
+	 * @return true if the package has been frozen
+	 */
+	public boolean isFrozen() {
+		return frozen;
+	}
+
+	private void checkNotFrozen() {
+		if(frozen) {
+			throw new MdaGeneratorException("Package " + name + " is frozen and cannot be modified");
+		}
+	}
 	/**
 	 * @return the eaId
 	 */
 	public String getId() {
+		return id == null ? null : id.toString();
+	}
+
+	/**
+	 * @return the compact id
+	 */
+	public UmlId getUmlId() {
 		return id;
 	}
 	/**
 	 * @param eaId the eaId to set
 	 */
 	public void setId(String eaId) {
-		this.id = eaId;
+		checkNotFrozen();
+		this.id = UmlId.of(eaId);
+	}
+
+	/**
+	 * @param id the id to set, already built (ex: loaded from a snapshot)
+	 */
+	public void setUmlId(UmlId id) {
+		checkNotFrozen();
+		this.id = id;
 	}
 	/**
 	 * @return the name
@@ -36,6 +83,7 @@ public class UmlPackage {
 	 * @param name the name to set
 	 */
 	public void setName(String name) {
+		checkNotFrozen();
 		this.name = name;
 	}
 	/**
@@ -48,10 +96,11 @@ public class UmlPackage {
 	 * @param comment the comment to set
 	 */
 	public void setComment(String comment) {
+		checkNotFrozen();
 		this.comment = comment;
 	}
 	/**
-	 * @return the classes
+	 * @return the classes (unmodifiable once frozen)
 	 */
 	public List<UmlClass> getClasses() {
 		return classes;
@@ -60,6 +109,7 @@ public class UmlPackage {
 	 * @param classes the classes to set
 	 */
 	public void setClasses(List<UmlClass> classes) {
+		checkNotFrozen();
 		this.classes = classes;
 	}
 	
@@ -0,0 +1,17 @@
+package mda.generator.components;
+
+/**
+ * Provider of implementations of the generator interfaces (readers, converters, writers), registered with a supplier creating them without reflection.
+ *
+ * Providers are discovered with ServiceLoader : a plugin jar lists its provider in META-INF/services/mda.generator.components.ComponentsProvider,
+ * its implementations can then be used by name in the properties file (full or simple class name).
+ *
+ * @author Fabien Crapart
+ */
+public interface ComponentsProvider {
+	/**
+	 * Register the implementations provided
+	 * @param registry registry to fill, ex: registry.register(MyTypeConverter.class, MyTypeConverter::new)
+	 */
+	void register(ComponentsRegistry registry);
+}
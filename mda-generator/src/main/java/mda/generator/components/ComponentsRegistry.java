@@ -0,0 +1,170 @@
+package mda.generator.components;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.function.Supplier;
+
+import mda.generator.exceptions.MdaGeneratorException;
+
+/**
+ * Suppliers of the implementations of the generator interfaces, by implementation class.
+ *
+ * The default registry is filled by the {@link ComponentsProvider}s found by ServiceLoader (generator implementations and plugins).
+ * Only registered implementations are resolved : an unknown name or class is reported when the generator is configured, before any generation.
+ * The reflective instantiation of a class not registered is kept for the deprecated configuration by class only (see {@link #getLegacySupplier(Class, Class)}).
+ *
+ * @author Fabien Crapart
+ */
+public class ComponentsRegistry {
+	/** Registry of the providers found by ServiceLoader, loaded on first use */
+	private static ComponentsRegistry defaultRegistry;
+
+	/** Suppliers by implementation class, in registration order */
+	private final Map<Class<?>, Supplier<?>> suppliers = new LinkedHashMap<>();
+
+	/**
+	 * @return registry of the providers found by ServiceLoader
+	 */
+	public static synchronized ComponentsRegistry getDefault() {
+		if(defaultRegistry == null) {
+			ComponentsRegistry registry = new ComponentsRegistry();
+			for(ComponentsProvider provider : ServiceLoader.load(ComponentsProvider.class, ComponentsRegistry.class.getClassLoader())) {
+				provider.register(registry);
+			}
+			defaultRegistry = registry;
+		}
+		return defaultRegistry;
+	}
+
+	/**
+	 * @param implementationClass class of the instances created by the supplier
+	 * @param supplier supplier of new instances, ex: MyTypeConverter::new
+	 */
+	public <T> void register(Class<T> implementationClass, Supplier<? extends T> supplier) {
+		suppliers.put(implementationClass, supplier);
+	}
+
+	/**
+	 * Supplier of an implementation given by name (properties file)
+	 * @param type interface to implement
+	 * @param name full or simple name of a registered class
+	 * @return supplier of new instances
+	 * @throws MdaGeneratorException if no registered class has this name or if the class doesn't implement the interface
+	 */
+	public <T> Supplier<? extends T> getSupplier(Class<T> type, String name) {
+		String className = name.trim();
+		List<Class<?>> simpleNameMatches = new ArrayList<>();
+		for(Class<?> implementationClass : suppliers.keySet()) {
+			if(implementationClass.getName().equals(className)) {
+				return getSupplier(type, asImplementation(type, implementationClass));
+			}
+			if(implementationClass.getSimpleName().equals(className) && type.isAssignableFrom(implementationClass)) {
+				simpleNameMatches.add(implementationClass);
+			}
+		}
+		if(simpleNameMatches.size() == 1) {
+			return getSupplier(type, asImplementation(type, simpleNameMatches.get(0)));
+		} else if(simpleNameMatches.size() > 1) {
+			throw new MdaGeneratorException("Several " + type.getSimpleName() + " named " + className + " : " + simpleNameMatches + ", use the full class name");
+		}
+
+		throw notRegistered(type, className);
+	}
+
+	/**
+	 * Supplier of an implementation given by class
+	 * @param type interface to implement
+	 * @param implementationClass registered class
+	 * @return supplier of new instances, described by the name of the class (toString)
+	 * @throws MdaGeneratorException if the class is not registered
+	 */
+	public <T> Supplier<? extends T> getSupplier(Class<T> type, Class<? extends T> implementationClass) {
+		Supplier<? extends T> supplier = getRegisteredSupplier(implementationClass);
+		if(supplier == null) {
+			throw notRegistered(type, implementationClass.getName());
+		}
+		return new ClassSupplier<>(implementationClass, supplier);
+	}
+
+	/**
+	 * Supplier of an implementation given by class, for the deprecated configuration by class (setXxxClass of MdaGenerator, withXxx(Class) of MdaGeneratorBuilder).
+	 * A class not registered is instantiated by reflection with its public constructor without parameters, as before the registry.
+	 * @param type interface to implement
+	 * @param implementationClass registered class, or class with a public constructor without parameters
+	 * @return supplier of new instances, described by the name of the class (toString)
+	 * @throws MdaGeneratorException if the class is not registered and cannot be instantiated
+	 * @deprecated register the class with a {@link ComponentsProvider} and use {@link #getSupplier(Class, Class)}, or give a supplier (ex: MyTypeConverter::new)
+	 */
+	@Deprecated
+	public <T> Supplier<? extends T> getLegacySupplier(Class<T> type, Class<? extends T> implementationClass) {
+		Supplier<? extends T> supplier = getRegisteredSupplier(implementationClass);
+		return new ClassSupplier<>(implementationClass, supplier != null ? supplier : constructorSupplier(asImplementation(type, implementationClass)));
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T> Supplier<? extends T> getRegisteredSupplier(Class<? extends T> implementationClass) {
+		return (Supplier<? extends T>) suppliers.get(implementationClass);
+	}
+
+	private static MdaGeneratorException notRegistered(Class<?> type, String className) {
+		return new MdaGeneratorException("Aucun " + type.getSimpleName() + " enregistré sous le nom " + className
+				+ " : enregistrez-le avec un ComponentsProvider (META-INF/services/" + ComponentsProvider.class.getName() + ")");
+	}
+
+	private static <T> Class<? extends T> asImplementation(Class<T> type, Class<?> implementationClass) {
+		if(!type.isAssignableFrom(implementationClass)) {
+			throw new MdaGeneratorException("La classe " + implementationClass.getName() + " n'implémente pas " + type.getName());
+		}
+		return implementationClass.asSubclass(type);
+	}
+
+	private static <T> Supplier<T> constructorSupplier(Class<T> implementationClass) {
+		if(Modifier.isAbstract(implementationClass.getModifiers())) {
+			throw new MdaGeneratorException("La classe " + implementationClass.getName() + " est abstraite");
+		}
+		Constructor<T> constructor;
+		try {
+			constructor = implementationClass.getConstructor();
+		} catch (NoSuchMethodException e) {
+			throw new MdaGeneratorException("La classe " + implementationClass.getName() + " n'a pas de constructeur public sans paramètre", e);
+		}
+		return () -> {
+			try {
+				return constructor.newInstance();
+			} catch (InvocationTargetException e) {
+				throw new MdaGeneratorException("Impossible d'instancier " + implementationClass.getName(), e.getCause());
+			} catch (ReflectiveOperationException e) {
+				throw new MdaGeneratorException("Impossible d'instancier " + implementationClass.getName(), e);
+			}
+		};
+	}
+
+	/**
+	 * Supplier of a class, named as the class in the logs of the configuration
+	 */
+	private static final class ClassSupplier<T> implements Supplier<T> {
+		private final Class<?> implementationClass;
+		private final Supplier<? extends T> supplier;
+
+		private ClassSupplier(Class<?> implementationClass, Supplier<? extends T> supplier) {
+			this.implementationClass = implementationClass;
+			this.supplier = supplier;
+		}
+
+		@Override
+		public T get() {
+			return supplier.get();
+		}
+
+		@Override
+		public String toString() {
+			return implementationClass.getName();
+		}
+	}
+}
@@ -0,0 +1,33 @@
+package mda.generator.components;
+
+import mda.generator.converters.java.JavaSnakeToCamelNameConverter;
+import mda.generator.converters.type.DomainToOracleConverter;
+import mda.generator.converters.type.DomainToPostgresConverter;
+import mda.generator.readers.xmi.XmiReader;
+import mda.generator.readers.xmi.XmiStaxReader;
+import mda.generator.writers.java.CompiledJavaWriter;
+import mda.generator.writers.java.JavaWriter;
+import mda.generator.writers.sql.StandardSQLWriter;
+
+/**
+ * Implementations of the generator.
+ *
+ * @author Fabien Crapart
+ */
+public class DefaultComponentsProvider implements ComponentsProvider {
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void register(ComponentsRegistry registry) {
+		registry.register(XmiReader.class, XmiReader::new);
+		registry.register(XmiStaxReader.class, XmiStaxReader::new);
+		registry.register(DomainToOracleConverter.class, DomainToOracleConverter::new);
+		registry.register(DomainToPostgresConverter.class, DomainToPostgresConverter::new);
+		registry.register(JavaSnakeToCamelNameConverter.class, JavaSnakeToCamelNameConverter::new);
+		registry.register(JavaWriter.class, JavaWriter::new);
+		registry.register(CompiledJavaWriter.class, CompiledJavaWriter::new);
+		registry.register(StandardSQLWriter.class, StandardSQLWriter::new);
+	}
+}
@@ -0,0 +1,64 @@
+package mda.generator.converters.type;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import mda.generator.beans.UmlDomain;
+
+/**
+ * Java and database types of the domains, resolved once by another converter and shared by the java attributes, the sql columns and the model report.
+ *
+ * Domains read from the model are resolved when the cache is built (after the metadata loading), other domains on first use.
+ * A type the converter fails to resolve is not kept : the error is raised again where the type is used, as without cache.
+ *
+ * @author Fabien Crapart
+ */
+public class ResolvedTypeCache implements TypeConverterInterface {
+	private final TypeConverterInterface converter;
+
+	/** Types by domain (domains are frozen once read, so kept by instance) */
+	private final Map<UmlDomain, String> javaTypes = new ConcurrentHashMap<>();
+	private final Map<UmlDomain, String> dataBaseTypes = new ConcurrentHashMap<>();
+
+	/**
+	 * @param converter converter resolving the types
+	 * @param domains domains read from the model, resolved now
+	 */
+	public ResolvedTypeCache(TypeConverterInterface converter, Collection<UmlDomain> domains) {
+		this.converter = converter;
+		for(UmlDomain domain : domains) {
+			try {
+				javaTypes.put(domain, converter.getJavaType(domain));
+				dataBaseTypes.put(domain, converter.getDataBaseType(domain));
+			} catch(RuntimeException e) {
+				// Resolved (and raised) on use
+			}
+		}
+	}
+
+	/**
+	 * @return the converter resolving the types
+	 */
+	public TypeConverterInterface getConverter() {
+		return converter;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String getJavaType(UmlDomain domain) {
+		String javaType = javaTypes.get(domain);
+		return javaType != null ? javaType : javaTypes.computeIfAbsent(domain, converter::getJavaType);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String getDataBaseType(UmlDomain domain) {
+		String dataBaseType = dataBaseTypes.get(domain);
+		return dataBaseType != null ? dataBaseType : dataBaseTypes.computeIfAbsent(domain, converter::getDataBaseType);
+	}
+}
@@ -0,0 +1,170 @@
+package mda.generator.converters.type;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import mda.generator.beans.UmlDomain;
+import mda.generator.exceptions.MdaGeneratorException;
+
+/**
+ * Type converter reading its conversions from a properties file, so a new database doesn't need a new class
+ * (see /types/oracle.properties and /types/postgres.properties) :
+ * <ul>
+ * <li>java.[domain type name in lower case]=java type (domain type name if absent)</li>
+ * <li>db.[java type]=database type, ${length} being replaced by the max length of the domain</li>
+ * <li>db.[java type].maxLength=maximum length for this database type, db.[java type].noLength used above</li>
+ * <li>db.[java type].noLength=database type when the domain has no max length (or a too long one)</li>
+ * <li>db.[java type].defaultLength=length used when the domain has no max length</li>
+ * <li>dbPrefix.[domain type name prefix]=database type of the domains whose type name starts with the prefix, before the java type conversion</li>
+ * <li>db.unknown=database type of the other java types</li>
+ * </ul>
+ *
+ * @author Fabien Crapart
+ */
+public class TableTypeConverter implements TypeConverterInterface {
+	private static final String JAVA_PREFIX = "java.";
+	private static final String DB_PREFIX = "db.";
+	private static final String DB_TYPE_NAME_PREFIX = "dbPrefix.";
+	private static final String MAX_LENGTH = ".maxLength";
+	private static final String NO_LENGTH = ".noLength";
+	private static final String DEFAULT_LENGTH = ".defaultLength";
+	private static final String UNKNOWN = "unknown";
+	private static final String LENGTH_VARIABLE = "${length}";
+
+	/** Database type of a java type (or of a type name prefix) */
+	private static final class DataBaseTypeRule {
+		private final String type;
+		private final Integer maxLength;
+		private final String noLength;
+		private final String defaultLength;
+
+		private DataBaseTypeRule(String type, Integer maxLength, String noLength, String defaultLength) {
+			this.type = type;
+			this.maxLength = maxLength;
+			this.noLength = noLength;
+			this.defaultLength = defaultLength;
+		}
+
+		private String apply(UmlDomain domain) {
+			if(!type.contains(LENGTH_VARIABLE)) {
+				return type;
+			}
+			Integer length = parseLength(domain);
+			if(length != null && (maxLength == null || length <= maxLength)) {
+				return type.replace(LENGTH_VARIABLE, domain.getMaxLength());
+			}
+			if(defaultLength != null) {
+				return type.replace(LENGTH_VARIABLE, defaultLength);
+			}
+			if(noLength != null) {
+				return noLength;
+			}
+			return type.replace(LENGTH_VARIABLE, String.valueOf(domain.getMaxLength()));
+		}
+	}
+
+	/** Java types by domain type name in lower case */
+	private final Map<String, String> javaTypes = new HashMap<>();
+	/** Database types by java type */
+	private final Map<String, DataBaseTypeRule> dataBaseTypes = new HashMap<>();
+	/** Database types by domain type name prefix, longest prefixes first */
+	private final List<Map.Entry<String, DataBaseTypeRule>> typeNamePrefixes = new ArrayList<>();
+	private final String unknownDataBaseType;
+
+	/**
+	 * @param mappingPath properties file of the conversions
+	 */
+	public TableTypeConverter(Path mappingPath) {
+		this(loadMapping(mappingPath));
+	}
+
+	/**
+	 * @param mapping conversions
+	 */
+	public TableTypeConverter(Properties mapping) {
+		Map<String, DataBaseTypeRule> prefixes = new HashMap<>();
+		for(String key : mapping.stringPropertyNames()) {
+			if(key.startsWith(JAVA_PREFIX)) {
+				javaTypes.put(key.substring(JAVA_PREFIX.length()).toLowerCase(), mapping.getProperty(key).trim());
+			} else if(key.startsWith(DB_PREFIX) && !key.endsWith(MAX_LENGTH) && !key.endsWith(NO_LENGTH) && !key.endsWith(DEFAULT_LENGTH)
+					&& !key.equals(DB_PREFIX + UNKNOWN)) {
+				dataBaseTypes.put(key.substring(DB_PREFIX.length()), createRule(mapping, key));
+			} else if(key.startsWith(DB_TYPE_NAME_PREFIX) && !key.endsWith(MAX_LENGTH) && !key.endsWith(NO_LENGTH) && !key.endsWith(DEFAULT_LENGTH)) {
+				prefixes.put(key.substring(DB_TYPE_NAME_PREFIX.length()), createRule(mapping, key));
+			}
+		}
+		typeNamePrefixes.addAll(prefixes.entrySet());
+		typeNamePrefixes.sort((e1, e2) -> e2.getKey().length() - e1.getKey().length());
+		unknownDataBaseType = mapping.getProperty(DB_PREFIX + UNKNOWN, "Unknown").trim();
+	}
+
+	private static DataBaseTypeRule createRule(Properties mapping, String key) {
+		String maxLength = mapping.getProperty(key + MAX_LENGTH);
+		try {
+			return new DataBaseTypeRule(mapping.getProperty(key).trim(),
+					maxLength != null ? Integer.valueOf(maxLength.trim()) : null,
+					mapping.getProperty(key + NO_LENGTH) != null ? mapping.getProperty(key + NO_LENGTH).trim() : null,
+					mapping.getProperty(key + DEFAULT_LENGTH) != null ? mapping.getProperty(key + DEFAULT_LENGTH).trim() : null);
+		} catch(NumberFormatException e) {
+			throw new MdaGeneratorException("Invalid " + key + MAX_LENGTH + " in types mapping : " + maxLength, e);
+		}
+	}
+
+	private static Properties loadMapping(Path mappingPath) {
+		Properties mapping = new Properties();
+		try(InputStream input = Files.newInputStream(mappingPath)) {
+			mapping.load(input);
+		} catch (IOException e) {
+			throw new MdaGeneratorException("Cannot load types mapping " + mappingPath, e);
+		}
+		return mapping;
+	}
+
+	/**
+	 * @param domain domain
+	 * @return max length of the domain, null if not defined (or 0)
+	 */
+	private static Integer parseLength(UmlDomain domain) {
+		if(domain.getMaxLength() == null) {
+			return null;
+		}
+		try {
+			int length = Integer.parseInt(domain.getMaxLength());
+			return length > 0 ? length : null;
+		} catch(NumberFormatException e) {
+			throw new MdaGeneratorException("Invalid maxLength for domain " + domain.getName() + " : " + domain.getMaxLength(), e);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String getJavaType(UmlDomain domain) {
+		String javaType = javaTypes.get(domain.getTypeName().toLowerCase());
+		return javaType != null ? javaType : domain.getTypeName();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String getDataBaseType(UmlDomain domain) {
+		if(domain.getTypeName() != null) {
+			for(Map.Entry<String, DataBaseTypeRule> typeNamePrefix : typeNamePrefixes) {
+				if(domain.getTypeName().startsWith(typeNamePrefix.getKey())) {
+					return typeNamePrefix.getValue().apply(domain);
+				}
+			}
+		}
+		DataBaseTypeRule rule = dataBaseTypes.get(getJavaType(domain));
+		return rule != null ? rule.apply(domain) : unknownDataBaseType;
+	}
+}
@@ -0,0 +1,40 @@
+package mda.generator.metrics;
+
+/**
+ * Phases of a generation measured in the {@link GenerationReport}.
+ * Phases can be nested (ASSOCIATIONS_LINKING is part of MODEL_PARSING, everything is part of GENERATION).
+ *
+ * @author Fabien Crapart
+ */
+public enum GenerationPhase {
+	/** Whole generation */
+	GENERATION,
+	/** Instanciation of reader, converters and writers */
+	READER_INSTANTIATION,
+	/** Reading of the metadata file (domains), in parallel with the model */
+	METADATA_PARSING,
+	/** Reading of the model file (packages, classes, attributes and associations) */
+	MODEL_PARSING,
+	/** Reading of the connectors and creation of the associations */
+	ASSOCIATIONS_LINKING,
+	/** Binding of the domains to the attributes */
+	DOMAINS_BINDING,
+	/** Resolution of the java and database types of the domains, once for the generation */
+	TYPES_RESOLUTION,
+	/** Validation of the model read (all the classes, in parallel), before any file is written */
+	MODEL_VALIDATION,
+	/** Checking of the model snapshot key (sizes, dates and hashes of the input files) */
+	SNAPSHOT_CHECK,
+	/** Loading of the model from its snapshot, instead of reading the model files */
+	SNAPSHOT_LOADING,
+	/** Writing of the model snapshot after a read of the model files */
+	SNAPSHOT_WRITING,
+	/** Creation of java packages and classes from UML objects */
+	JAVA_MODEL_BUILD,
+	/** Merge of a template with its context, detailed by template */
+	TEMPLATE_RENDERING,
+	/** Reading of existing generated files and writing of new ones */
+	FILE_IO,
+	/** Extraction of tables, sequences and foreign keys from UML objects */
+	SQL_MODEL_BUILD
+}
@@ -0,0 +1,225 @@
+package mda.generator.metrics;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Counters and per-phase measures (wall time, cpu time, allocated bytes) of a generation, can be shared between threads.
+ *
+ * @author Fabien Crapart
+ */
+public class GenerationReport {
+	/** Files created or modified */
+	private final AtomicInteger written = new AtomicInteger();
+	/** Files not regenerated at all (STOP GENERATION comment) */
+	private final AtomicInteger skipped = new AtomicInteger();
+	/** Files regenerated with the same content, not rewritten */
+	private final AtomicInteger unchanged = new AtomicInteger();
+	/** Bytes of the files created or modified */
+	private final AtomicLong bytesWritten = new AtomicLong();
+	/** Classes read from the model */
+	private volatile int classes;
+
+	/** Measures without detail, by phase ordinal (created on first measure) */
+	private final AtomicReferenceArray<PhaseMetrics> phases = new AtomicReferenceArray<>(GenerationPhase.values().length);
+	/** Measures by detail, by phase ordinal (created on first measure) */
+	private final AtomicReferenceArray<ConcurrentMap<String, PhaseMetrics>> detailedPhases = new AtomicReferenceArray<>(GenerationPhase.values().length);
+
+	/**
+	 * Start measuring a phase in the current thread, the measure is added when closed.
+	 * @param phase phase to measure
+	 * @return measure in progress
+	 */
+	public PhaseMeasure measure(GenerationPhase phase) {
+		return measure(phase, null);
+	}
+
+	/**
+	 * Start measuring a phase in the current thread, the measure is added when closed.
+	 * @param phase phase to measure
+	 * @param detail detail of the phase (template name for instance), null if none
+	 * @return measure in progress
+	 */
+	public PhaseMeasure measure(GenerationPhase phase, String detail) {
+		return new PhaseMeasure(detail == null ? getMetrics(phase) : getMetrics(phase, detail));
+	}
+
+	private PhaseMetrics getMetrics(GenerationPhase phase) {
+		PhaseMetrics metrics = phases.get(phase.ordinal());
+		if(metrics == null) {
+			phases.compareAndSet(phase.ordinal(), null, new PhaseMetrics(phase, null));
+			metrics = phases.get(phase.ordinal());
+		}
+		return metrics;
+	}
+
+	private PhaseMetrics getMetrics(GenerationPhase phase, String detail) {
+		ConcurrentMap<String, PhaseMetrics> byDetail = detailedPhases.get(phase.ordinal());
+		if(byDetail == null) {
+			detailedPhases.compareAndSet(phase.ordinal(), null, new ConcurrentHashMap<>());
+			byDetail = detailedPhases.get(phase.ordinal());
+		}
+		PhaseMetrics metrics = byDetail.get(detail);
+		return metrics != null ? metrics : byDetail.computeIfAbsent(detail, key -> new PhaseMetrics(phase, key));
+	}
+
+	/**
+	 * Count a file regenerated
+	 * @param fileWritten true if the file has been written, false if its content was unchanged
+	 */
+	public void fileGenerated(boolean fileWritten) {
+		if(fileWritten) {
+			written.incrementAndGet();
+		} else {
+			unchanged.incrementAndGet();
+		}
+	}
+
+	/**
+	 * Count a file not regenerated
+	 */
+	public void fileSkipped() {
+		skipped.incrementAndGet();
+	}
+
+	/**
+	 * Count bytes written in a file
+	 * @param bytes size of the file written
+	 */
+	public void bytesWritten(long bytes) {
+		bytesWritten.addAndGet(bytes);
+	}
+
+	/**
+	 * @param classes number of classes read from the model
+	 */
+	public void setClasses(int classes) {
+		this.classes = classes;
+	}
+
+	/**
+	 * @return number of files created or modified
+	 */
+	public int getWritten() {
+		return written.get();
+	}
+
+	/**
+	 * @return number of files not regenerated
+	 */
+	public int getSkipped() {
+		return skipped.get();
+	}
+
+	/**
+	 * @return number of files regenerated with the same content
+	 */
+	public int getUnchanged() {
+		return unchanged.get();
+	}
+
+	/**
+	 * @return number of bytes of the files created or modified
+	 */
+	public long getBytesWritten() {
+		return bytesWritten.get();
+	}
+
+	/**
+	 * @return number of classes read from the model
+	 */
+	public int getClasses() {
+		return classes;
+	}
+
+	/**
+	 * @return measures of the phases, ordered by phase then detail
+	 */
+	public List<PhaseMetrics> getPhases() {
+		List<PhaseMetrics> list = new ArrayList<>();
+		for(GenerationPhase phase : GenerationPhase.values()) {
+			if(phases.get(phase.ordinal()) != null) {
+				list.add(phases.get(phase.ordinal()));
+			}
+			if(detailedPhases.get(phase.ordinal()) != null) {
+				List<PhaseMetrics> byDetail = new ArrayList<>(detailedPhases.get(phase.ordinal()).values());
+				byDetail.sort(Comparator.comparing(PhaseMetrics::getDetail));
+				list.addAll(byDetail);
+			}
+		}
+		return list;
+	}
+
+	/**
+	 * @param phase phase wanted
+	 * @return measures of the phase without detail, null if the phase has not been measured
+	 */
+	public PhaseMetrics getPhase(GenerationPhase phase) {
+		return phases.get(phase.ordinal());
+	}
+
+	/**
+	 * @return one line per measured phase
+	 */
+	public String getPhasesSummary() {
+		StringBuilder sb = new StringBuilder();
+		for(PhaseMetrics metrics : getPhases()) {
+			sb.append("\n - ").append(metrics);
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * @return counters and measures as a JSON document
+	 */
+	public String toJson() {
+		StringBuilder json = new StringBuilder();
+		json.append("{\n");
+		json.append("  \"classes\": ").append(getClasses()).append(",\n");
+		json.append("  \"filesWritten\": ").append(getWritten()).append(",\n");
+		json.append("  \"filesUnchanged\": ").append(getUnchanged()).append(",\n");
+		json.append("  \"filesSkipped\": ").append(getSkipped()).append(",\n");
+		json.append("  \"bytesWritten\": ").append(getBytesWritten()).append(",\n");
+		json.append("  \"phases\": [");
+		String separator = "\n";
+		for(PhaseMetrics metrics : getPhases()) {
+			json.append(separator);
+			json.append("    {\"phase\": \"").append(metrics.getPhase()).append("\", \"detail\": ").append(JsonUtils.quote(metrics.getDetail()));
+			json.append(", \"count\": ").append(metrics.getCount());
+			json.append(", \"wallNanos\": ").append(metrics.getWallNanos());
+			json.append(", \"cpuNanos\": ").append(metrics.getCpuNanos());
+			json.append(", \"allocatedBytes\": ").append(metrics.getAllocatedBytes()).append('}');
+			separator = ",\n";
+		}
+		json.append("\n  ]\n}\n");
+		return json.toString();
+	}
+
+	/**
+	 * Write counters and measures as a JSON file
+	 * @param filePath file to write
+	 * @throws IOException
+	 */
+	public void writeJson(Path filePath) throws IOException {
+		if(filePath.getParent() != null) {
+			Files.createDirectories(filePath.getParent());
+		}
+		Files.write(filePath, toJson().getBytes(StandardCharsets.UTF_8));
+	}
+
+	@Override
+	public String toString() {
+		return getClasses() + " class(es) read, " + getWritten() + " file(s) written (" + getBytesWritten() + " bytes), "
+				+ getUnchanged() + " unchanged, " + getSkipped() + " skipped";
+	}
+}
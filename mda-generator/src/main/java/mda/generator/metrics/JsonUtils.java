@@ -0,0 +1,36 @@
+package mda.generator.metrics;
+
+/**
+ * Minimal JSON helpers for the reports (no JSON library in the generator dependencies).
+ *
+ * @author Fabien Crapart
+ */
+final class JsonUtils {
+	private JsonUtils() {
+
+	}
+
+	/**
+	 * @param value string value, may be null
+	 * @return JSON string literal, or null
+	 */
+	static String quote(String value) {
+		if(value == null) {
+			return "null";
+		}
+
+		StringBuilder sb = new StringBuilder(value.length() + 2);
+		sb.append('"');
+		for(int idx = 0; idx < value.length(); idx++) {
+			char c = value.charAt(idx);
+			if(c == '"' || c == '\\') {
+				sb.append('\\').append(c);
+			} else if(c < 0x20) {
+				sb.append(String.format("\\u%04x", (int) c));
+			} else {
+				sb.append(c);
+			}
+		}
+		return sb.append('"').toString();
+	}
+}
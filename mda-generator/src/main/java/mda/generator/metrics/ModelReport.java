@@ -0,0 +1,154 @@
+package mda.generator.metrics;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.Logger;
+
+import mda.generator.beans.UmlAssociation;
+import mda.generator.beans.UmlAttribute;
+import mda.generator.beans.UmlClass;
+import mda.generator.beans.UmlDomain;
+import mda.generator.beans.UmlPackage;
+import mda.generator.converters.type.TypeConverterInterface;
+
+/**
+ * Report of the objects read from the model (domains, packages, classes, attributes and associations).
+ *
+ * Nothing is built when the report is created : it is written to the logs only if the level is enabled, one message per package,
+ * and can be exported as a JSON file streamed package by package.
+ *
+ * @author Fabien Crapart
+ */
+public class ModelReport {
+	private final Collection<UmlDomain> domains;
+	private final Collection<UmlPackage> packages;
+	private final TypeConverterInterface typeConverter;
+
+	/**
+	 * @param domains domains read from the model
+	 * @param packages packages read from the model
+	 * @param typeConverter converter giving the java and database types of the domains
+	 */
+	public ModelReport(Collection<UmlDomain> domains, Collection<UmlPackage> packages, TypeConverterInterface typeConverter) {
+		this.domains = domains;
+		this.packages = packages;
+		this.typeConverter = typeConverter;
+	}
+
+	/**
+	 * Write the report in the logs, if the level is enabled for the logger.
+	 * @param logger logger to use
+	 * @param level level of the messages
+	 */
+	public void log(Logger logger, Level level) {
+		if(!logger.isEnabled(level)) {
+			return;
+		}
+
+		StringBuilder sbDomains = new StringBuilder();
+		sbDomains.append("\n\nDOMAINS (JAVA / DATABASE):\n-------------------------------------");
+		for(UmlDomain umlDomain : domains) {
+			sbDomains.append(umlDomain);
+			sbDomains.append(" ").append(typeConverter.getJavaType(umlDomain));
+			sbDomains.append(" / ").append(typeConverter.getDataBaseType(umlDomain));
+		}
+		logger.log(level, sbDomains);
+
+		logger.log(level, "\n\nPACKAGES & CLASSES :\n-------------------------------------");
+		for(UmlPackage umlPackage : packages) {
+			logger.log(level, "{}", umlPackage);
+		}
+	}
+
+	/**
+	 * Export the report as a JSON file, written package by package.
+	 * @param filePath file to write
+	 * @throws IOException
+	 */
+	public void writeJson(Path filePath) throws IOException {
+		if(filePath.getParent() != null) {
+			Files.createDirectories(filePath.getParent());
+		}
+		try(Writer writer = Files.newBufferedWriter(filePath, StandardCharsets.UTF_8)) {
+			writeJson(writer);
+		}
+	}
+
+	/**
+	 * Export the report as JSON.
+	 * @param writer destination, not closed
+	 * @throws IOException
+	 */
+	public void writeJson(Writer writer) throws IOException {
+		Writer out = writer instanceof BufferedWriter ? writer : new BufferedWriter(writer);
+		out.write("{\n  \"domains\": [");
+		String separator = "\n";
+		for(UmlDomain umlDomain : domains) {
+			out.write(separator);
+			out.write("    {\"name\": " + JsonUtils.quote(umlDomain.getName()));
+			out.write(", \"type\": " + JsonUtils.quote(umlDomain.getTypeName()));
+			out.write(", \"maxLength\": " + JsonUtils.quote(umlDomain.getMaxLength()));
+			out.write(", \"precision\": " + JsonUtils.quote(umlDomain.getPrecision()));
+			out.write(", \"javaType\": " + JsonUtils.quote(typeConverter.getJavaType(umlDomain)));
+			out.write(", \"databaseType\": " + JsonUtils.quote(typeConverter.getDataBaseType(umlDomain)) + "}");
+			separator = ",\n";
+		}
+		out.write("\n  ],\n  \"packages\": [");
+		separator = "\n";
+		for(UmlPackage umlPackage : packages) {
+			out.write(separator);
+			writePackage(out, umlPackage);
+			separator = ",\n";
+		}
+		out.write("\n  ]\n}\n");
+		out.flush();
+	}
+
+	private void writePackage(Writer out, UmlPackage umlPackage) throws IOException {
+		out.write("    {\"id\": " + JsonUtils.quote(umlPackage.getId()) + ", \"name\": " + JsonUtils.quote(umlPackage.getName()) + ", \"classes\": [");
+		String separator = "\n";
+		for(UmlClass umlClass : umlPackage.getClasses()) {
+			out.write(separator);
+			writeClass(out, umlClass);
+			separator = ",\n";
+		}
+		out.write("\n    ]}");
+	}
+
+	private void writeClass(Writer out, UmlClass umlClass) throws IOException {
+		out.write("      {\"id\": " + JsonUtils.quote(umlClass.getId()) + ", \"name\": " + JsonUtils.quote(umlClass.getName()) + ",\n");
+		out.write("       \"attributes\": [");
+		String separator = "";
+		for(UmlAttribute attribute : umlClass.getAttributes()) {
+			out.write(separator);
+			out.write("{\"name\": " + JsonUtils.quote(attribute.getName()));
+			out.write(", \"domain\": " + JsonUtils.quote(attribute.getDomain() == null ? null : attribute.getDomain().getName()));
+			out.write(", \"pk\": " + attribute.isPK());
+			out.write(", \"notNull\": " + Boolean.TRUE.equals(attribute.getIsNotNull()));
+			out.write(", \"readonly\": " + Boolean.TRUE.equals(attribute.isReadonly()) + "}");
+			separator = ", ";
+		}
+		out.write("],\n       \"associations\": [");
+		separator = "";
+		for(UmlAssociation association : umlClass.getAssociations()) {
+			out.write(separator);
+			out.write("{\"name\": " + JsonUtils.quote(association.getName()));
+			out.write(", \"target\": " + JsonUtils.quote(association.getTarget() == null ? null : association.getTarget().getName()));
+			out.write(", \"targetMultiple\": " + association.isTargetMultiple());
+			out.write(", \"targetNullable\": " + association.isTargetNullable());
+			out.write(", \"targetNavigable\": " + association.isTargetNavigable());
+			out.write(", \"targetOwned\": " + association.isTargetOwned());
+			out.write(", \"fkName\": " + JsonUtils.quote(association.getFkName()));
+			out.write(", \"fkObjectName\": " + JsonUtils.quote(association.getFkObjectName()) + "}");
+			separator = ", ";
+		}
+		out.write("]}");
+	}
+}
@@ -0,0 +1,92 @@
+package mda.generator.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Measure in progress of a phase, for the current thread. To be closed in a finally block :
+ * <pre>
+ * PhaseMeasure measure = report.measure(GenerationPhase.MODEL_PARSING);
+ * try {
+ *     ...
+ * } finally {
+ *     measure.close();
+ * }
+ * </pre>
+ * (with try-with-resources, javac -Xlint warns that the resource is never referenced in the body)
+ *
+ * The cpu time and the allocated bytes are measured only if the JVM supports them (com.sun.management extension for the allocations),
+ * otherwise the measure has the wall time only.
+ *
+ * @author Fabien Crapart
+ */
+public class PhaseMeasure implements AutoCloseable {
+	private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+	private static final boolean CPU_TIME_SUPPORTED = isCpuTimeSupported();
+	private static final boolean ALLOCATION_SUPPORTED = isAllocationSupported();
+
+	private final PhaseMetrics metrics;
+	private final long startWall;
+	private final long startCpu;
+	private final long startAllocated;
+
+	PhaseMeasure(PhaseMetrics metrics) {
+		this.metrics = metrics;
+		startAllocated = currentAllocatedBytes();
+		startCpu = currentCpuTime();
+		startWall = System.nanoTime();
+	}
+
+	/**
+	 * End the measure and add it to the metrics of the phase
+	 */
+	@Override
+	public void close() {
+		long wall = System.nanoTime() - startWall;
+		long cpu = startCpu < 0 ? -1 : currentCpuTime() - startCpu;
+		long allocated = startAllocated < 0 ? -1 : currentAllocatedBytes() - startAllocated;
+		metrics.add(wall, cpu, allocated);
+	}
+
+	private static long currentCpuTime() {
+		return CPU_TIME_SUPPORTED ? THREADS.getCurrentThreadCpuTime() : -1;
+	}
+
+	private static long currentAllocatedBytes() {
+		return ALLOCATION_SUPPORTED ? AllocationCounter.currentAllocatedBytes() : -1;
+	}
+
+	private static boolean isCpuTimeSupported() {
+		try {
+			return THREADS.isThreadCpuTimeSupported() && THREADS.isCurrentThreadCpuTimeSupported() && THREADS.isThreadCpuTimeEnabled();
+		} catch(RuntimeException e) {
+			return false;
+		}
+	}
+
+	private static boolean isAllocationSupported() {
+		try {
+			return AllocationCounter.isSupported();
+		} catch(RuntimeException | LinkageError e) {
+			// JVM without the com.sun.management extension
+			return false;
+		}
+	}
+
+	/**
+	 * Only class referencing the com.sun.management extension, loaded when checking the support of the allocations
+	 */
+	private static class AllocationCounter {
+		private static boolean isSupported() {
+			if(!(THREADS instanceof com.sun.management.ThreadMXBean)) {
+				return false;
+			}
+			com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) THREADS;
+			return threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled();
+		}
+
+		private static long currentAllocatedBytes() {
+			return ((com.sun.management.ThreadMXBean) THREADS).getThreadAllocatedBytes(Thread.currentThread().getId());
+		}
+	}
+}
@@ -0,0 +1,94 @@
+package mda.generator.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cumulated measures of a phase (optionally detailed, for instance by template), can be updated by several threads.
+ *
+ * Times are summed over all the measures, so wall time of a phase executed in parallel can be greater than the elapsed time.
+ *
+ * @author Fabien Crapart
+ */
+public class PhaseMetrics {
+	private final GenerationPhase phase;
+	private final String detail;
+
+	private final AtomicLong count = new AtomicLong();
+	private final AtomicLong wallNanos = new AtomicLong();
+	private final AtomicLong cpuNanos = new AtomicLong();
+	private final AtomicLong allocatedBytes = new AtomicLong();
+
+	/**
+	 * @param phase measured phase
+	 * @param detail detail of the phase, null if none
+	 */
+	public PhaseMetrics(GenerationPhase phase, String detail) {
+		this.phase = phase;
+		this.detail = detail;
+	}
+
+	/**
+	 * Add a measure
+	 * @param wall wall time in nanoseconds
+	 * @param cpu cpu time in nanoseconds, negative if unknown
+	 * @param allocated bytes allocated, negative if unknown
+	 */
+	void add(long wall, long cpu, long allocated) {
+		count.incrementAndGet();
+		wallNanos.addAndGet(wall);
+		if(cpu > 0) {
+			cpuNanos.addAndGet(cpu);
+		}
+		if(allocated > 0) {
+			allocatedBytes.addAndGet(allocated);
+		}
+	}
+
+	/**
+	 * @return the phase
+	 */
+	public GenerationPhase getPhase() {
+		return phase;
+	}
+
+	/**
+	 * @return the detail, null if none
+	 */
+	public String getDetail() {
+		return detail;
+	}
+
+	/**
+	 * @return number of measures
+	 */
+	public long getCount() {
+		return count.get();
+	}
+
+	/**
+	 * @return cumulated wall time in nanoseconds
+	 */
+	public long getWallNanos() {
+		return wallNanos.get();
+	}
+
+	/**
+	 * @return cumulated cpu time in nanoseconds (0 if not supported by the JVM)
+	 */
+	public long getCpuNanos() {
+		return cpuNanos.get();
+	}
+
+	/**
+	 * @return cumulated allocated bytes (0 if not supported by the JVM)
+	 */
+	public long getAllocatedBytes() {
+		return allocatedBytes.get();
+	}
+
+	@Override
+	public String toString() {
+		return phase + (detail == null ? "" : " (" + detail + ")") + " : " + count + " x, wall " + wallNanos.get() / 1_000_000 + " ms, cpu "
+				+ cpuNanos.get() / 1_000_000 + " ms, " + allocatedBytes.get() / 1024 + " KB allocated";
+	}
+}
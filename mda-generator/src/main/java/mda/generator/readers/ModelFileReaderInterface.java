@@ -5,6 +5,8 @@ import java.util.Map;
 import mda.generator.beans.UmlClass;
 import mda.generator.beans.UmlDomain;
 import mda.generator.beans.UmlPackage;
+import mda.generator.exceptions.MdaGeneratorException;
+import mda.generator.metrics.GenerationReport;
 
 /**
  * Interface for the model file Reader. Provides the generator with data to build Packages, Entities and DAO classes.
@@ -14,11 +16,20 @@ import mda.generator.beans.UmlPackage;
  */
 public interface ModelFileReaderInterface {
 	/**
-	 * Main method to extract data from model file
+	 * Main method to extract data from model file.
+	 * Errors in the model itself (domain not found, association without name...) don't stop the reading, they are reported by the validation of the model.
 	 * @param pathToModelFile Path to model file to read
 	 * @param pathToModelFile Path to metadata file to read
+	 * @throws MdaGeneratorException if a file can't be read or is not a valid model file (truncated export for example)
 	 */
 	void extractObjects(String pathToModelFile, String pathToMetadataFile);
+
+	/**
+	 * Report receiving the measures of the reading phases, readers not measuring their phases can ignore it.
+	 * @param report report of the generation
+	 */
+	default void setReport(GenerationReport report) {
+	}
 	
 	/**
 	 * @return Map by name of domains (type) in the file 
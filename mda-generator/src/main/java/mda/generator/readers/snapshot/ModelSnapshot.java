@@ -0,0 +1,499 @@
+package mda.generator.readers.snapshot;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import mda.generator.beans.UmlAssociation;
+import mda.generator.beans.UmlAttribute;
+import mda.generator.beans.UmlClass;
+import mda.generator.beans.UmlDomain;
+import mda.generator.beans.UmlId;
+import mda.generator.beans.UmlPackage;
+import mda.generator.exceptions.MdaGeneratorException;
+
+/**
+ * Binary snapshot of a model read (domains, packages, classes, attributes and associations).
+ *
+ * The file starts with the key of the input files (size, modification date and SHA-256 of each one), followed by a table
+ * of all the distinct strings and by the objects referencing strings and other objects by index. It is read back in a heap buffer : the file is not kept mapped, it can be replaced by the next write.
+ *
+ * @author Fabien Crapart
+ */
+public class ModelSnapshot {
+	private static final int MAGIC = 0x4D444153; // MDAS
+	private static final int VERSION = 1;
+	private static final int HASH_LENGTH = 32;
+	/** magic, version and count of input files */
+	private static final int HEADER_LENGTH = 12;
+	/** size, modification date and hash of an input file */
+	private static final int INPUT_LENGTH = 16 + HASH_LENGTH;
+	private static final int BUFFER_SIZE = 64 * 1024;
+	private static final int NULL_INDEX = -1;
+
+	private static final byte FLAG_PK = 1;
+	private static final byte FLAG_OWNED = 1;
+	private static final byte FLAG_MULTIPLE = 2;
+	private static final byte FLAG_NULLABLE = 4;
+	private static final byte FLAG_NAVIGABLE = 8;
+
+	private final Map<String, UmlDomain> domainsMap;
+	private final Map<String, UmlPackage> packagesMap;
+	private final Map<String, UmlClass> classesMap;
+
+	/**
+	 * @param domainsMap domains by name
+	 * @param packagesMap packages by name
+	 * @param classesMap classes by id
+	 */
+	public ModelSnapshot(Map<String, UmlDomain> domainsMap, Map<String, UmlPackage> packagesMap, Map<String, UmlClass> classesMap) {
+		this.domainsMap = domainsMap;
+		this.packagesMap = packagesMap;
+		this.classesMap = classesMap;
+	}
+
+	/**
+	 * @return domains by name
+	 */
+	public Map<String, UmlDomain> getDomainsMap() {
+		return domainsMap;
+	}
+
+	/**
+	 * @return packages by name
+	 */
+	public Map<String, UmlPackage> getPackagesMap() {
+		return packagesMap;
+	}
+
+	/**
+	 * @return classes by id
+	 */
+	public Map<String, UmlClass> getClassesMap() {
+		return classesMap;
+	}
+
+	/**
+	 * Write the snapshot (in a temporary file moved into place once complete)
+	 * @param snapshotPath file to write
+	 * @param inputs key of the input files
+	 * @throws IOException
+	 */
+	public void write(Path snapshotPath, List<InputFile> inputs) throws IOException {
+		// Index of all the objects and strings
+		List<UmlDomain> domains = new ArrayList<>(domainsMap.values());
+		List<UmlClass> classes = new ArrayList<>(classesMap.values());
+		List<UmlAssociation> associations = new ArrayList<>();
+		Map<Object, Integer> objectIndexes = new IdentityHashMap<>();
+		Map<String, Integer> stringIndexes = new LinkedHashMap<>();
+		for(int idx = 0; idx < domains.size(); idx++) {
+			objectIndexes.put(domains.get(idx), idx);
+		}
+		for(int idx = 0; idx < classes.size(); idx++) {
+			objectIndexes.put(classes.get(idx), idx);
+			for(UmlAssociation association : classes.get(idx).getAssociations()) {
+				objectIndexes.put(association, associations.size());
+				associations.add(association);
+			}
+		}
+
+		Path tempPath = snapshotPath.resolveSibling(snapshotPath.getFileName() + ".tmp");
+		try {
+			// Objects are written first in memory to collect the strings
+			ByteArrayOutputStream objectsBytes = new ByteArrayOutputStream();
+			DataOutputStream objects = new DataOutputStream(objectsBytes);
+
+			objects.writeInt(domains.size());
+			for(UmlDomain domain : domains) {
+				writeString(objects, stringIndexes, domain.getName());
+				writeString(objects, stringIndexes, domain.getTypeName());
+				writeString(objects, stringIndexes, domain.getMaxLength());
+				writeString(objects, stringIndexes, domain.getPrecision());
+			}
+
+			objects.writeInt(classes.size());
+			for(UmlClass umlClass : classes) {
+				writeId(objects, stringIndexes, umlClass.getUmlId());
+				writeString(objects, stringIndexes, umlClass.getName());
+				writeString(objects, stringIndexes, umlClass.getComment());
+				List<UmlAttribute> attributes = umlClass.getAttributes();
+				objects.writeInt(attributes.size());
+				for(UmlAttribute attribute : attributes) {
+					writeId(objects, stringIndexes, attribute.getUmlId());
+					writeString(objects, stringIndexes, attribute.getName());
+					writeString(objects, stringIndexes, attribute.getComment());
+					objects.writeInt(attribute.getDomain() == null ? NULL_INDEX : objectIndexes.get(attribute.getDomain()));
+					objects.writeByte(attribute.isPK() ? FLAG_PK : 0);
+					objects.writeByte(toByte(attribute.getIsNotNull()));
+					objects.writeByte(toByte(attribute.isReadonly()));
+				}
+			}
+
+			objects.writeInt(associations.size());
+			for(UmlAssociation association : associations) {
+				writeId(objects, stringIndexes, association.getUmlId());
+				writeString(objects, stringIndexes, association.getName());
+				objects.writeInt(indexOf(objectIndexes, association.getSource()));
+				objects.writeInt(indexOf(objectIndexes, association.getTarget()));
+				objects.writeInt(indexOf(objectIndexes, association.getOpposite()));
+				objects.writeByte((association.isTargetOwned() ? FLAG_OWNED : 0) | (association.isTargetMultiple() ? FLAG_MULTIPLE : 0)
+						| (association.isTargetNullable() ? FLAG_NULLABLE : 0) | (association.isTargetNavigable() ? FLAG_NAVIGABLE : 0));
+				writeString(objects, stringIndexes, association.getFkObjectName());
+				writeString(objects, stringIndexes, association.getFkName());
+			}
+
+			objects.writeInt(packagesMap.size());
+			for(UmlPackage umlPackage : packagesMap.values()) {
+				writeId(objects, stringIndexes, umlPackage.getUmlId());
+				writeString(objects, stringIndexes, umlPackage.getName());
+				writeString(objects, stringIndexes, umlPackage.getComment());
+				objects.writeInt(umlPackage.getClasses().size());
+				for(UmlClass umlClass : umlPackage.getClasses()) {
+					objects.writeInt(objectIndexes.get(umlClass));
+				}
+			}
+			objects.flush();
+
+			try(DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempPath)))) {
+				out.writeInt(MAGIC);
+				out.writeInt(VERSION);
+				writeKey(out, inputs);
+				out.writeInt(stringIndexes.size());
+				for(String value : stringIndexes.keySet()) {
+					byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+					out.writeInt(bytes.length);
+					out.write(bytes);
+				}
+				objectsBytes.writeTo(out);
+			}
+
+			try {
+				Files.move(tempPath, snapshotPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(tempPath, snapshotPath, StandardCopyOption.REPLACE_EXISTING);
+			}
+		} finally {
+			Files.deleteIfExists(tempPath);
+		}
+	}
+
+	/**
+	 * Read the key of the input files stored in a snapshot
+	 * @param snapshotPath snapshot file
+	 * @return key of the input files, null if the file doesn't exist or is not a snapshot of this version
+	 * @throws IOException
+	 */
+	public static List<InputFile> readKey(Path snapshotPath) throws IOException {
+		if(!Files.isRegularFile(snapshotPath)) {
+			return null;
+		}
+		try(FileChannel channel = FileChannel.open(snapshotPath, StandardOpenOption.READ)) {
+			// Only the key is read
+			ByteBuffer buffer = readBytes(channel, HEADER_LENGTH);
+			if(buffer.remaining() == HEADER_LENGTH) {
+				long keyLength = HEADER_LENGTH + (long) buffer.getInt(8) * INPUT_LENGTH;
+				if(keyLength > HEADER_LENGTH && keyLength <= channel.size()) {
+					channel.position(0);
+					buffer = readBytes(channel, (int) keyLength);
+				}
+			}
+			return readHeader(buffer);
+		} catch(BufferUnderflowException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Load a snapshot, the objects are frozen.
+	 * @param snapshotPath snapshot file
+	 * @return model of the snapshot
+	 * @throws IOException
+	 */
+	public static ModelSnapshot read(Path snapshotPath) throws IOException {
+		try(FileChannel channel = FileChannel.open(snapshotPath, StandardOpenOption.READ)) {
+			if(channel.size() > Integer.MAX_VALUE) {
+				throw new MdaGeneratorException("Model snapshot too large " + snapshotPath);
+			}
+			ByteBuffer buffer = readBytes(channel, (int) channel.size());
+			if(readHeader(buffer) == null) {
+				throw new MdaGeneratorException("Invalid model snapshot " + snapshotPath);
+			}
+
+			String[] strings = new String[buffer.getInt()];
+			for(int idx = 0; idx < strings.length; idx++) {
+				byte[] bytes = new byte[buffer.getInt()];
+				buffer.get(bytes);
+				strings[idx] = new String(bytes, StandardCharsets.UTF_8);
+			}
+
+			UmlDomain[] domains = new UmlDomain[buffer.getInt()];
+			Map<String, UmlDomain> domainsMap = new HashMap<>();
+			for(int idx = 0; idx < domains.length; idx++) {
+				UmlDomain domain = new UmlDomain();
+				domain.setName(readString(buffer, strings));
+				domain.setTypeName(readString(buffer, strings));
+				domain.setMaxLength(readString(buffer, strings));
+				domain.setPrecision(readString(buffer, strings));
+				domains[idx] = domain;
+				domainsMap.put(domain.getName(), domain);
+			}
+
+			UmlClass[] classes = new UmlClass[buffer.getInt()];
+			Map<String, UmlClass> classesMap = new HashMap<>();
+			for(int idx = 0; idx < classes.length; idx++) {
+				UmlClass umlClass = new UmlClass();
+				umlClass.setUmlId(readId(buffer, strings));
+				umlClass.setName(readString(buffer, strings));
+				umlClass.setComment(readString(buffer, strings));
+				int attributesCount = buffer.getInt();
+				for(int attributeIdx = 0; attributeIdx < attributesCount; attributeIdx++) {
+					UmlAttribute attribute = new UmlAttribute();
+					attribute.setUmlId(readId(buffer, strings));
+					attribute.setName(readString(buffer, strings));
+					attribute.setComment(readString(buffer, strings));
+					int domainIdx = buffer.getInt();
+					attribute.setDomain(domainIdx == NULL_INDEX ? null : domains[domainIdx]);
+					attribute.setPK(buffer.get() == FLAG_PK);
+					attribute.setIsNotNull(toBoolean(buffer.get()));
+					attribute.setReadonly(toBoolean(buffer.get()));
+					umlClass.addAttribute(attribute);
+				}
+				classes[idx] = umlClass;
+				classesMap.put(umlClass.getId(), umlClass);
+			}
+
+			UmlAssociation[] associations = new UmlAssociation[buffer.getInt()];
+			int[] opposites = new int[associations.length];
+			for(int idx = 0; idx < associations.length; idx++) {
+				UmlAssociation association = new UmlAssociation();
+				association.setUmlId(readId(buffer, strings));
+				association.setName(readString(buffer, strings));
+				UmlClass source = classes[buffer.getInt()];
+				association.setSource(source);
+				int targetIdx = buffer.getInt();
+				association.setTarget(targetIdx == NULL_INDEX ? null : classes[targetIdx]);
+				opposites[idx] = buffer.getInt();
+				byte flags = buffer.get();
+				association.setTargetOwned((flags & FLAG_OWNED) != 0);
+				association.setTargetMultiple((flags & FLAG_MULTIPLE) != 0);
+				association.setTargetNullable((flags & FLAG_NULLABLE) != 0);
+				association.setTargetNavigable((flags & FLAG_NAVIGABLE) != 0);
+				association.setFkObjectName(readString(buffer, strings));
+				association.setFkName(readString(buffer, strings));
+				source.addAssociation(association);
+				associations[idx] = association;
+			}
+			for(int idx = 0; idx < associations.length; idx++) {
+				associations[idx].setOpposite(opposites[idx] == NULL_INDEX ? null : associations[opposites[idx]]);
+			}
+
+			int packagesCount = buffer.getInt();
+			Map<String, UmlPackage> packagesMap = new HashMap<>();
+			for(int idx = 0; idx < packagesCount; idx++) {
+				UmlPackage umlPackage = new UmlPackage();
+				umlPackage.setUmlId(readId(buffer, strings));
+				umlPackage.setName(readString(buffer, strings));
+				umlPackage.setComment(readString(buffer, strings));
+				int classesCount = buffer.getInt();
+				for(int classIdx = 0; classIdx < classesCount; classIdx++) {
+					UmlClass umlClass = classes[buffer.getInt()];
+					umlClass.setXmiPackage(umlPackage);
+					umlPackage.getClasses().add(umlClass);
+				}
+				packagesMap.put(umlPackage.getName(), umlPackage);
+			}
+
+			for(UmlDomain domain : domains) {
+				domain.freeze();
+			}
+			for(UmlPackage umlPackage : packagesMap.values()) {
+				umlPackage.freeze();
+			}
+			for(UmlClass umlClass : classes) {
+				umlClass.freeze();
+			}
+
+			return new ModelSnapshot(domainsMap, packagesMap, classesMap);
+		} catch(BufferUnderflowException | IndexOutOfBoundsException e) {
+			throw new MdaGeneratorException("Truncated model snapshot " + snapshotPath, e);
+		}
+	}
+
+	/**
+	 * Read bytes of the channel from its current position in a heap buffer
+	 * @param channel channel to read
+	 * @param length number of bytes to read
+	 * @return buffer ready to be read, with less bytes than asked if the end of the file is reached
+	 * @throws IOException
+	 */
+	private static ByteBuffer readBytes(FileChannel channel, int length) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(length);
+		while(buffer.hasRemaining() && channel.read(buffer) >= 0) {
+			// read until the buffer is full or the end of the file
+		}
+		buffer.flip();
+		return buffer;
+	}
+
+	private static List<InputFile> readHeader(ByteBuffer buffer) {
+		if(buffer.remaining() < 12 || buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+			return null;
+		}
+		int count = buffer.getInt();
+		List<InputFile> inputs = new ArrayList<>();
+		for(int idx = 0; idx < count; idx++) {
+			long size = buffer.getLong();
+			long lastModified = buffer.getLong();
+			byte[] hash = new byte[HASH_LENGTH];
+			buffer.get(hash);
+			inputs.add(new InputFile(size, lastModified, hash));
+		}
+		return inputs;
+	}
+
+	private static void writeKey(DataOutputStream out, List<InputFile> inputs) throws IOException {
+		out.writeInt(inputs.size());
+		for(InputFile input : inputs) {
+			out.writeLong(input.size);
+			out.writeLong(input.lastModified);
+			out.write(input.hash);
+		}
+	}
+
+	private static void writeString(DataOutputStream out, Map<String, Integer> stringIndexes, String value) throws IOException {
+		if(value == null) {
+			out.writeInt(NULL_INDEX);
+		} else {
+			Integer index = stringIndexes.get(value);
+			if(index == null) {
+				index = stringIndexes.size();
+				stringIndexes.put(value, index);
+			}
+			out.writeInt(index);
+		}
+	}
+
+	/**
+	 * Ids are written as their GUID bits (no parsing of the id strings when loading)
+	 */
+	private static void writeId(DataOutputStream out, Map<String, Integer> stringIndexes, UmlId id) throws IOException {
+		writeString(out, stringIndexes, id == null ? null : id.getPrefix());
+		if(id != null) {
+			out.writeBoolean(id.isGuid());
+			if(id.isGuid()) {
+				out.writeLong(id.getHigh());
+				out.writeLong(id.getLow());
+				out.writeInt(id.getLowerCaseMask());
+			}
+		}
+	}
+
+	private static UmlId readId(ByteBuffer buffer, String[] strings) {
+		String prefix = readString(buffer, strings);
+		if(prefix == null) {
+			return null;
+		}
+		if(buffer.get() == 0) {
+			return UmlId.of(prefix);
+		}
+		return UmlId.ofGuid(prefix, buffer.getLong(), buffer.getLong(), buffer.getInt());
+	}
+
+	private static String readString(ByteBuffer buffer, String[] strings) {
+		int index = buffer.getInt();
+		return index == NULL_INDEX ? null : strings[index];
+	}
+
+	private static int indexOf(Map<Object, Integer> objectIndexes, Object object) {
+		Integer index = object == null ? null : objectIndexes.get(object);
+		return index == null ? NULL_INDEX : index;
+	}
+
+	private static byte toByte(Boolean value) {
+		return value == null ? 0 : value ? (byte) 2 : (byte) 1;
+	}
+
+	private static Boolean toBoolean(byte value) {
+		return value == 0 ? null : value == 2;
+	}
+
+	/**
+	 * Key of an input file : size, modification date and SHA-256 of the content
+	 */
+	public static class InputFile {
+		private final long size;
+		private final long lastModified;
+		private final byte[] hash;
+
+		private InputFile(long size, long lastModified, byte[] hash) {
+			this.size = size;
+			this.lastModified = lastModified;
+			this.hash = hash;
+		}
+
+		/**
+		 * Key of a file, with the SHA-256 of its content
+		 * @param filePath file
+		 * @return key of the file
+		 * @throws IOException
+		 */
+		public static InputFile of(Path filePath) throws IOException {
+			return new InputFile(Files.size(filePath), Files.getLastModifiedTime(filePath).toMillis(), hash(filePath));
+		}
+
+		/**
+		 * @param filePath file
+		 * @return true if the file has the same size and modification date (content not read)
+		 * @throws IOException
+		 */
+		public boolean hasSameAttributes(Path filePath) throws IOException {
+			return Files.size(filePath) == size && Files.getLastModifiedTime(filePath).toMillis() == lastModified;
+		}
+
+		/**
+		 * @param other key of the same file
+		 * @return true if both keys have the same size and content hash
+		 */
+		public boolean hasSameContent(InputFile other) {
+			return size == other.size && Arrays.equals(hash, other.hash);
+		}
+
+		private static byte[] hash(Path filePath) throws IOException {
+			MessageDigest digest;
+			try {
+				digest = MessageDigest.getInstance("SHA-256");
+			} catch (NoSuchAlgorithmException e) {
+				throw new MdaGeneratorException("SHA-256 not available", e);
+			}
+
+			try(FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+				ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+				while(channel.read(buffer) >= 0) {
+					buffer.flip();
+					digest.update(buffer);
+					buffer.clear();
+				}
+			}
+			return digest.digest();
+		}
+	}
+}
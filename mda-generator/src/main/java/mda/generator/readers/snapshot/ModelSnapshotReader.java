@@ -0,0 +1,208 @@
+package mda.generator.readers.snapshot;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import mda.generator.beans.UmlClass;
+import mda.generator.beans.UmlDomain;
+import mda.generator.beans.UmlPackage;
+import mda.generator.metrics.GenerationPhase;
+import mda.generator.metrics.GenerationReport;
+import mda.generator.metrics.PhaseMeasure;
+import mda.generator.readers.ModelFileReaderInterface;
+import mda.generator.readers.xmi.XmiStaxReader;
+
+/**
+ * Reader keeping a binary snapshot of the model read by another reader.
+ *
+ * The snapshot is loaded instead of reading the model files when their size and modification date are unchanged
+ * (or, if only the date changed, when their content hash is unchanged). Otherwise the files are read by the delegate reader and the snapshot is rewritten.
+ *
+ * @author Fabien Crapart
+ */
+public class ModelSnapshotReader implements ModelFileReaderInterface {
+	private static Logger LOG = LogManager.getLogger();
+
+	private final ModelFileReaderInterface delegate;
+	private final Path snapshotPath;
+
+	private Map<String, UmlClass> classesMap = new HashMap<>(); // by id
+	private Map<String, UmlDomain> domainsMap = new HashMap<>();  // by name
+	private Map<String, UmlPackage> packagesMap = new HashMap<>(); // by name
+
+	/** Measures of the reading phases */
+	private GenerationReport report = new GenerationReport();
+	/** true if the last extraction was loaded from the snapshot */
+	private boolean loadedFromSnapshot;
+
+	/**
+	 * Snapshot of a {@link XmiStaxReader} read, next to the model file (model file name + ".snapshot")
+	 */
+	public ModelSnapshotReader() {
+		this(new XmiStaxReader(), null);
+	}
+
+	/**
+	 * @param delegate reader of the model files when the snapshot is missing or outdated
+	 * @param snapshotPath snapshot file, null for the model file name + ".snapshot"
+	 */
+	public ModelSnapshotReader(ModelFileReaderInterface delegate, Path snapshotPath) {
+		this.delegate = delegate;
+		this.snapshotPath = snapshotPath;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void setReport(GenerationReport report) {
+		this.report = report;
+		delegate.setReport(report);
+	}
+
+	/**
+	 * @return true if the last extraction was loaded from the snapshot, false if the model files were read
+	 */
+	public boolean isLoadedFromSnapshot() {
+		return loadedFromSnapshot;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void extractObjects(String pathToModelFile, String pathToMetadataFile) {
+		List<Path> inputPaths = new ArrayList<>();
+		inputPaths.add(Paths.get(pathToModelFile));
+		inputPaths.add(Paths.get(pathToMetadataFile));
+		Path snapshot = snapshotPath != null ? snapshotPath : Paths.get(pathToModelFile + ".snapshot");
+
+		// Comparaison de la clé du snapshot avec les fichiers d'entrée
+		List<ModelSnapshot.InputFile> inputs = null;
+		boolean upToDate = false;
+		PhaseMeasure measure = report.measure(GenerationPhase.SNAPSHOT_CHECK);
+		try {
+			List<ModelSnapshot.InputFile> snapshotKey = ModelSnapshot.readKey(snapshot);
+			if(snapshotKey != null && snapshotKey.size() == inputPaths.size()) {
+				upToDate = true;
+				for(int idx = 0; idx < inputPaths.size() && upToDate; idx++) {
+					upToDate = snapshotKey.get(idx).hasSameAttributes(inputPaths.get(idx));
+				}
+				if(!upToDate) {
+					// Dates modifiées (checkout, copie...) : comparaison du contenu
+					inputs = computeKey(inputPaths);
+					upToDate = true;
+					for(int idx = 0; idx < inputPaths.size() && upToDate; idx++) {
+						upToDate = snapshotKey.get(idx).hasSameContent(inputs.get(idx));
+					}
+				}
+			}
+		} catch (IOException e) {
+			LOG.warn("Impossible de lire la clé du snapshot " + snapshot + ", le modèle sera relu", e);
+		} finally {
+			measure.close();
+		}
+
+		if(upToDate && load(snapshot)) {
+			if(inputs != null) {
+				// Contenu inchangé mais dates différentes : le snapshot est réécrit avec les nouvelles dates
+				write(snapshot, inputs);
+			}
+			return;
+		}
+
+		delegate.extractObjects(pathToModelFile, pathToMetadataFile);
+		classesMap = delegate.getClassesMap();
+		domainsMap = delegate.getDomainsMap();
+		packagesMap = delegate.getPackagesMap();
+		loadedFromSnapshot = false;
+
+		try {
+			write(snapshot, inputs != null ? inputs : computeKey(inputPaths));
+		} catch (IOException e) {
+			LOG.warn("Impossible de calculer la clé des fichiers du modèle, pas de snapshot", e);
+		}
+	}
+
+	private List<ModelSnapshot.InputFile> computeKey(List<Path> inputPaths) throws IOException {
+		List<ModelSnapshot.InputFile> inputs = new ArrayList<>();
+		for(Path inputPath : inputPaths) {
+			inputs.add(ModelSnapshot.InputFile.of(inputPath));
+		}
+		return inputs;
+	}
+
+	/**
+	 * @param snapshot snapshot file
+	 * @return true if the model was loaded, false if the snapshot is invalid and the model files must be read
+	 */
+	private boolean load(Path snapshot) {
+		PhaseMeasure measure = report.measure(GenerationPhase.SNAPSHOT_LOADING);
+		try {
+			ModelSnapshot modelSnapshot = ModelSnapshot.read(snapshot);
+			classesMap = modelSnapshot.getClassesMap();
+			domainsMap = modelSnapshot.getDomainsMap();
+			packagesMap = modelSnapshot.getPackagesMap();
+			loadedFromSnapshot = true;
+			LOG.info("Model loaded from snapshot " + snapshot);
+			return true;
+		} catch (IOException | RuntimeException e) {
+			LOG.warn("Snapshot " + snapshot + " invalide, le modèle sera relu", e);
+			return false;
+		} finally {
+			measure.close();
+		}
+	}
+
+	/**
+	 * Writing errors are only logged : the snapshot is an optimization, the generation can continue without it
+	 * @param snapshot snapshot file
+	 * @param inputs key of the input files
+	 */
+	private void write(Path snapshot, List<ModelSnapshot.InputFile> inputs) {
+		PhaseMeasure measure = report.measure(GenerationPhase.SNAPSHOT_WRITING);
+		try {
+			if(snapshot.getParent() != null) {
+				Files.createDirectories(snapshot.getParent());
+			}
+			new ModelSnapshot(domainsMap, packagesMap, classesMap).write(snapshot, inputs);
+		} catch (IOException e) {
+			LOG.warn("Impossible d'écrire le snapshot du modèle " + snapshot, e);
+		} finally {
+			measure.close();
+		}
+	}
+
+	/**
+	 * @return the classesMap
+	 */
+	@Override
+	public Map<String, UmlClass> getClassesMap() {
+		return classesMap;
+	}
+
+	/**
+	 * @return the domainsMap
+	 */
+	@Override
+	public Map<String, UmlDomain> getDomainsMap() {
+		return domainsMap;
+	}
+
+	/**
+	 * @return the packagesMap
+	 */
+	@Override
+	public Map<String, UmlPackage> getPackagesMap() {
+		return packagesMap;
+	}
+}
@@ -0,0 +1,139 @@
+package mda.generator.readers.xmi;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.w3c.dom.Node;
+
+/**
+ * Index of the elements of a XMI document, built with a single traversal of the tree.
+ *
+ * Gives direct access to elements by tag name and to the children of an element by tag name (and xmi:type),
+ * so that readers don't have to walk the child nodes again for each lookup.
+ * Lists returned are shared and unmodifiable.
+ *
+ * @author Fabien Crapart
+ */
+public class XmiIndex {
+	/** Separator between tag name and xmi:type in children keys */
+	private static final char TYPE_SEPARATOR = '|';
+
+	/** Elements by tag name, in document order */
+	private final Map<String, List<Node>> nodesByTagName = new HashMap<>();
+	/** Children of each element by tag name, and by tag name + xmi:type */
+	private final Map<Node, Map<String, List<Node>>> childsByParent = new IdentityHashMap<>();
+
+	/**
+	 * Build the index of all the elements under the root node (root included).
+	 * @param root root node, usually the document element
+	 */
+	public XmiIndex(Node root) {
+		Node current = root;
+		while(current != null) {
+			if(current.getNodeType() == Node.ELEMENT_NODE) {
+				indexElement(current);
+			}
+
+			// Depth first traversal without recursion
+			Node next = current.getFirstChild();
+			if(next == null && current != root) {
+				next = current.getNextSibling();
+				Node parent = current.getParentNode();
+				while(next == null && parent != null && parent != root) {
+					next = parent.getNextSibling();
+					parent = parent.getParentNode();
+				}
+			}
+			current = next;
+		}
+
+		freeze(nodesByTagName);
+		for(Map<String, List<Node>> childs : childsByParent.values()) {
+			freeze(childs);
+		}
+	}
+
+	/**
+	 * @param tagName tag name searched
+	 * @return all elements with this tag name, in document order (empty list if none)
+	 */
+	public List<Node> getElementsByTagName(String tagName) {
+		return valueOrEmpty(nodesByTagName.get(tagName));
+	}
+
+	/**
+	 * Children of a node with the given tag name and xmi:type. Nodes outside the index are scanned with XmiUtil.
+	 * @param parentNode parent
+	 * @param expectedName tag name
+	 * @param expectedType xmi:type, null for any type
+	 * @return children found (empty list if none)
+	 */
+	public List<Node> getChildsWithTagNameAndType(Node parentNode, String expectedName, XmiElementType expectedType) {
+		Map<String, List<Node>> childs = childsByParent.get(parentNode);
+		if(childs == null) {
+			if(parentNode.hasChildNodes()) {
+				return XmiUtil.getChildsWithTagNameAndType(parentNode, expectedName, expectedType);
+			}
+			return Collections.emptyList();
+		}
+
+		return valueOrEmpty(childs.get(expectedType == null ? expectedName : typedKey(expectedName, expectedType.getXmiName())));
+	}
+
+	/**
+	 * First child of a node with the given tag name.
+	 * @param parentNode parent
+	 * @param expectedName tag name
+	 * @return first child found, null if none
+	 */
+	public Node getFirstChildsNodeWithTagName(Node parentNode, String expectedName) {
+		List<Node> childs = getChildsWithTagNameAndType(parentNode, expectedName, null);
+		return childs.isEmpty() ? null : childs.get(0);
+	}
+
+	private void indexElement(Node element) {
+		String tagName = element.getNodeName();
+		add(nodesByTagName, tagName, element);
+
+		Node parent = element.getParentNode();
+		if(parent != null) {
+			Map<String, List<Node>> childs = childsByParent.get(parent);
+			if(childs == null) {
+				childs = new HashMap<>();
+				childsByParent.put(parent, childs);
+			}
+			add(childs, tagName, element);
+			String type = XmiUtil.getElementType(element);
+			if(type != null) {
+				add(childs, typedKey(tagName, type), element);
+			}
+		}
+	}
+
+	private static String typedKey(String tagName, String type) {
+		return tagName + TYPE_SEPARATOR + type;
+	}
+
+	private static void add(Map<String, List<Node>> map, String key, Node node) {
+		List<Node> nodes = map.get(key);
+		if(nodes == null) {
+			nodes = new ArrayList<>(1);
+			map.put(key, nodes);
+		}
+		nodes.add(node);
+	}
+
+	private static void freeze(Map<String, List<Node>> map) {
+		for(Map.Entry<String, List<Node>> entry : map.entrySet()) {
+			entry.setValue(Collections.unmodifiableList(entry.getValue()));
+		}
+	}
+
+	private static List<Node> valueOrEmpty(List<Node> nodes) {
+		return nodes == null ? Collections.<Node>emptyList() : nodes;
+	}
+}
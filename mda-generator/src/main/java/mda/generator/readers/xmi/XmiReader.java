@@ -1,9 +1,14 @@
 package mda.generator.readers.xmi;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
@@ -18,8 +23,12 @@ import mda.generator.beans.UmlAssociation;
 import mda.generator.beans.UmlAttribute;
 import mda.generator.beans.UmlClass;
 import mda.generator.beans.UmlDomain;
+import mda.generator.beans.UmlId;
 import mda.generator.beans.UmlPackage;
 import mda.generator.exceptions.MdaGeneratorException;
+import mda.generator.metrics.GenerationPhase;
+import mda.generator.metrics.GenerationReport;
+import mda.generator.metrics.PhaseMeasure;
 import mda.generator.readers.ModelFileReaderInterface;
 
 /**
@@ -33,6 +42,15 @@ public class XmiReader implements ModelFileReaderInterface {
 	private Map<String, UmlClass> classesMap = new HashMap<>(); // by id
 	private Map<String, UmlDomain> domainsMap = new HashMap<>();  // by name
 	private Map<String, UmlPackage> packagesMap = new HashMap<>(); // by name
+
+	/** Index of the model document, only available while the model is extracted */
+	private XmiIndex index;
+	/** Attributes waiting for their domain, bound once metadata and model are both read */
+	private List<PendingDomain> pendingDomains = new ArrayList<>();
+	/** Measures of the reading phases */
+	private GenerationReport report = new GenerationReport();
+	/** Names and comments read from the model, to share the repeated ones */
+	private Map<String, String> strings = new HashMap<>();
 	
 	/**
 	 * @return the classesMap
@@ -55,12 +73,108 @@ public class XmiReader implements ModelFileReaderInterface {
 		return packagesMap;
 	}
 
+	/**
+	 * @return the report
+	 */
+	protected GenerationReport getReport() {
+		return report;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void setReport(GenerationReport report) {
+		this.report = report;
+	}
+
 	/**
 	 * Extraction de tous les éléments du fichiers (DOMAINES, PACKAGE, CLASSES, ASSOCIATIONS).
+	 * Les métadonnées et le modèle sont lus en parallèle, les domaines sont affectés aux attributs une fois les deux lectures terminées.
 	 */
 	public void extractObjects(String pathToXmi, String pathToMetadataXmi) {
-		extractMetadata(pathToMetadataXmi);	
-		extractModel(pathToXmi);
+		ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "xmi-metadata-reader"));
+		try {
+			Future<?> metadataReading = executor.submit(() -> {
+				PhaseMeasure metadataParsing = report.measure(GenerationPhase.METADATA_PARSING);
+				try {
+					extractMetadata(pathToMetadataXmi);
+				} finally {
+					metadataParsing.close();
+				}
+			});
+
+			PhaseMeasure modelParsing = report.measure(GenerationPhase.MODEL_PARSING);
+			try {
+				extractModel(pathToXmi);
+			} finally {
+				modelParsing.close();
+			}
+			metadataReading.get();
+		} catch (ExecutionException e) {
+			if(e.getCause() instanceof MdaGeneratorException) {
+				throw (MdaGeneratorException) e.getCause();
+			}
+			throw new MdaGeneratorException("Error while reading metadata file " + pathToMetadataXmi, e.getCause());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new MdaGeneratorException("Interrupted while reading metadata file " + pathToMetadataXmi, e);
+		} finally {
+			// En cas d'erreur du modèle, la lecture des métadonnées est abandonnée
+			executor.shutdownNow();
+		}
+
+		PhaseMeasure binding = report.measure(GenerationPhase.DOMAINS_BINDING);
+		try {
+			bindDomains();
+		} finally {
+			binding.close();
+		}
+
+		freeze();
+	}
+
+	/**
+	 * Le modèle lu est figé : plus de modification possible, listes dérivées calculées une seule fois pour les writers
+	 */
+	protected void freeze() {
+		for(UmlDomain umlDomain : domainsMap.values()) {
+			umlDomain.freeze();
+		}
+		for(UmlPackage umlPackage : packagesMap.values()) {
+			umlPackage.freeze();
+		}
+		for(UmlClass umlClass : classesMap.values()) {
+			umlClass.freeze();
+		}
+		strings = new HashMap<>();
+	}
+
+	/**
+	 * Une seule instance par valeur pour les noms et commentaires répétés dans le modèle (noms d'attributs, commentaires, noms de FK...)
+	 * @param value value read from the model
+	 * @return shared instance of the value
+	 */
+	protected String intern(String value) {
+		if(value == null) {
+			return null;
+		}
+		String shared = strings.putIfAbsent(value, value);
+		return shared == null ? value : shared;
+	}
+
+	/**
+	 * Affectation des domaines (lus dans les métadonnées) aux attributs (lus dans le modèle).
+	 * Un domaine introuvable laisse l'attribut sans domaine : il est signalé par la validation du modèle (ModelValidator), avant toute écriture.
+	 */
+	protected void bindDomains() {
+		for(PendingDomain pending : pendingDomains) {
+			UmlDomain domain = domainsMap.get(pending.domainName);
+			if(domain != null) {
+				pending.umlAttribute.setDomain(domain);
+			}
+		}
+		pendingDomains.clear();
 	}
 	
 	protected void extractModel(String pathToXmi) {
@@ -69,6 +183,9 @@ public class XmiReader implements ModelFileReaderInterface {
 					.newDocumentBuilder();
 			Document doc = dBuilder.parse(new File(pathToXmi));
 
+			// Indexation du document en un seul parcours
+			index = new XmiIndex(doc.getDocumentElement());
+
 			// Analyse des packages
 			parcourirPackages(doc);
 
@@ -76,11 +193,66 @@ public class XmiReader implements ModelFileReaderInterface {
 			parcourirClasses(doc);
 
 			//Associations tagName = connector , 
-			parcourirAssociations(doc);
+			PhaseMeasure measure = report.measure(GenerationPhase.ASSOCIATIONS_LINKING);
+			try {
+				parcourirAssociations(doc);
+			} finally {
+				measure.close();
+			}
 
+		} catch (MdaGeneratorException e) {
+			throw e;
 		} catch (Exception e) {
-			LOG.error("Erreur lors du parsing du fichier XMI", e);
+			throw new MdaGeneratorException("Erreur lors du parsing du fichier XMI " + pathToXmi, e);
+		} finally {
+			index = null;
+		}
+	}
+
+	/**
+	 * @return index of the model document, null if the model is not read from a DOM document
+	 */
+	protected XmiIndex getIndex() {
+		return index;
+	}
+
+	/**
+	 * Enfants d'une node avec le nom de balise et le type xmi:type fournis (via l'index si disponible)
+	 * @param parentNode
+	 * @param expectedName
+	 * @param expectedType null pour tous les types
+	 * @return
+	 */
+	protected List<Node> getChilds(Node parentNode, String expectedName, XmiElementType expectedType) {
+		if(index != null) {
+			return index.getChildsWithTagNameAndType(parentNode, expectedName, expectedType);
+		}
+		return XmiUtil.getChildsWithTagNameAndType(parentNode, expectedName, expectedType);
+	}
+
+	/**
+	 * 1er enfant d'une node avec le nom de balise fourni (via l'index si disponible)
+	 * @param parentNode
+	 * @param expectedName
+	 * @return null si non trouvé
+	 */
+	protected Node getFirstChild(Node parentNode, String expectedName) {
+		if(index != null) {
+			return index.getFirstChildsNodeWithTagName(parentNode, expectedName);
+		}
+		return XmiUtil.getFirstChildsNodeWithTagName(parentNode, expectedName);
+	}
+
+	/**
+	 * @param doc
+	 * @return 1ère balise xmi:Extension du document
+	 */
+	private Node getExtension(Document doc) {
+		if(index != null) {
+			List<Node> extensions = index.getElementsByTagName("xmi:Extension");
+			return extensions.isEmpty() ? null : extensions.get(0);
 		}
+		return doc.getElementsByTagName("xmi:Extension").item(0);
 	}
 	
 	protected void extractMetadata(String pathToMetadataXmi) {
@@ -93,26 +265,36 @@ public class XmiReader implements ModelFileReaderInterface {
 			for (int idx = 0; idx < elts.getLength(); idx++) {    	
 				Node currNode = elts.item(idx);
 				if (currNode.getNodeType() == Node.ELEMENT_NODE) {
-					List<Node> columns = XmiUtil.getChildsWithTagName(currNode, "Column");
-					Map<String, String> columnNameValue = new HashMap<>();
-					for(Node column: columns) {
-						String name = XmiUtil.getAttribute(column, "name");
-						String value = XmiUtil.getAttribute(column, "value");
-						columnNameValue.put(name, value);
-					}
-					
-					if("Java".equals(columnNameValue.get("ProductName"))){
-						UmlDomain umlDomain = new UmlDomain();
-						umlDomain.setName(columnNameValue.get("DataType")); 
-						umlDomain.setTypeName(columnNameValue.get("GenericType"));
-						umlDomain.setMaxLength(columnNameValue.get("MaxLen"));
-						umlDomain.setPrecision(columnNameValue.get("MaxPrec"));
-						domainsMap.put(umlDomain.getName(), umlDomain);
-					}
+					extraireDataRow(currNode);
 				}
 			}
-		}	catch (Exception e) {
-			LOG.error("Erreur lors du parsing du fichier XMI", e);
+		} catch (MdaGeneratorException e) {
+			throw e;
+		} catch (Exception e) {
+			throw new MdaGeneratorException("Erreur lors du parsing du fichier XMI " + pathToMetadataXmi, e);
+		}
+	}
+
+	/**
+	 * Extraction d'un domaine depuis une ligne de métadonnées (seules les lignes "Java" sont conservées)
+	 * @param dataRowNode
+	 */
+	protected void extraireDataRow(Node dataRowNode) {
+		List<Node> columns = XmiUtil.getChildsWithTagName(dataRowNode, "Column");
+		Map<String, String> columnNameValue = new HashMap<>();
+		for(Node column: columns) {
+			String name = XmiUtil.getAttribute(column, "name");
+			String value = XmiUtil.getAttribute(column, "value");
+			columnNameValue.put(name, value);
+		}
+		
+		if("Java".equals(columnNameValue.get("ProductName"))){
+			UmlDomain umlDomain = new UmlDomain();
+			umlDomain.setName(columnNameValue.get("DataType")); 
+			umlDomain.setTypeName(columnNameValue.get("GenericType"));
+			umlDomain.setMaxLength(columnNameValue.get("MaxLen"));
+			umlDomain.setPrecision(columnNameValue.get("MaxPrec"));
+			domainsMap.put(umlDomain.getName(), umlDomain);
 		}
 	}
 
@@ -121,9 +303,9 @@ public class XmiReader implements ModelFileReaderInterface {
 	 * @param doc
 	 */
 	private void parcourirPackages(Document doc) {
-		NodeList elts = doc.getDocumentElement().getElementsByTagName("packagedElement");
-		for (int idx = 0; idx < elts.getLength(); idx++) {    	
-			Node currNode = elts.item(idx);
+		List<Node> elts = index != null ? index.getElementsByTagName("packagedElement") 
+				: XmiUtil.toList(doc.getDocumentElement().getElementsByTagName("packagedElement"));
+		for (Node currNode : elts) {    	
 			if (currNode.getNodeType() == Node.ELEMENT_NODE) {
 				XmiElementType type = XmiElementType.getByName(XmiUtil.getElementType(currNode));
 				try {
@@ -155,7 +337,7 @@ public class XmiReader implements ModelFileReaderInterface {
 		xmiPackage.setName(XmiUtil.getElementName(packageNode));
 
 		// On cherche les commentaires
-		List<Node>  commentaires = XmiUtil.getChildsWithTagNameAndType(packageNode, "ownedComment", XmiElementType.COMMENT);
+		List<Node>  commentaires = getChilds(packageNode, "ownedComment", XmiElementType.COMMENT);
 		if(!commentaires.isEmpty()) {
 			StringBuilder sbCommentaires = new StringBuilder();
 			for(Node commentaire : commentaires) {
@@ -165,7 +347,7 @@ public class XmiReader implements ModelFileReaderInterface {
 		}	
 		
 		// On veut extraite des métadonnées sur les classes et leur attribut
-		List<Node> classeNodes = XmiUtil.getChildsWithTagNameAndType(packageNode, "packagedElement", XmiElementType.CLASS);
+		List<Node> classeNodes = getChilds(packageNode, "packagedElement", XmiElementType.CLASS);
 		for(Node classNode : classeNodes) {
 			initClassExtraction(classNode);
 		}
@@ -183,7 +365,7 @@ public class XmiReader implements ModelFileReaderInterface {
 		classeUml.setId(XmiUtil.getElementId(classNode));		
 		classesMap.put(classeUml.getId(), classeUml);
 		
-		List<Node> attributesNodes = XmiUtil.getChildsWithTagNameAndType(classNode, "ownedAttribute", XmiElementType.PROPERTY);
+		List<Node> attributesNodes = getChilds(classNode, "ownedAttribute", XmiElementType.PROPERTY);
 		for(Node attributeNode : attributesNodes) {
 			initAttributeExtraction(classeUml, attributeNode);
 		}
@@ -224,10 +406,10 @@ public class XmiReader implements ModelFileReaderInterface {
 	 * @param doc
 	 */
 	protected void parcourirClasses(Document doc) {
-		Node xmiExtension =  doc.getElementsByTagName("xmi:Extension").item(0);
-		Node elements = XmiUtil.getFirstChildsNodeWithTagNameAndType(xmiExtension,"elements", null);
+		Node xmiExtension =  getExtension(doc);
+		Node elements = getFirstChild(xmiExtension,"elements");
 
-		List<Node> elts = XmiUtil.getChildsWithTagNameAndType(elements, "element", XmiElementType.CLASS);
+		List<Node> elts = getChilds(elements, "element", XmiElementType.CLASS);
 		for (Node currNode : elts) {    	
 			if (currNode.getNodeType() == Node.ELEMENT_NODE) {
 				XmiElementType type = XmiElementType.getByName(XmiUtil.getElementType(currNode));
@@ -239,8 +421,10 @@ public class XmiReader implements ModelFileReaderInterface {
 					default:
 						break;
 					}
+				} catch(MdaGeneratorException e) {
+					throw e;
 				} catch(Exception e) {
-					LOG.error("Error lors du traitement de la node de type '" +  XmiUtil.getElementType(currNode)+"'",e);
+					throw new MdaGeneratorException("Error lors du traitement de la node de type '" +  XmiUtil.getElementType(currNode)+"'",e);
 				}
 			}
 		}
@@ -256,25 +440,25 @@ public class XmiReader implements ModelFileReaderInterface {
 		UmlClass xmiClass = classesMap.get(XmiUtil.getElementIdRef(classNode));
 		
 		xmiClass.setId(XmiUtil.getElementIdRef(classNode));
-		xmiClass.setName(XmiUtil.getElementName(classNode));
+		xmiClass.setName(intern(XmiUtil.getElementName(classNode)));
 
 		// Package extendedProperties tagged="0" package_name="fr.gouv.mindef.gestim.domain.messages"/><attributes>
-		Node extendedProperties = XmiUtil.getFirstChildsNodeWithTagName(classNode, "extendedProperties");
+		Node extendedProperties = getFirstChild(classNode, "extendedProperties");
 		String packageName = XmiUtil.getAttribute(extendedProperties, "package_name");
 		UmlPackage xmiPackage = packagesMap.get(packageName);
 		xmiPackage.getClasses().add(xmiClass);
 		xmiClass.setXmiPackage(xmiPackage);
 
 		// Commentaires <properties documentation="Message à destination des CSNs" i
-		Node properties = XmiUtil.getFirstChildsNodeWithTagName(classNode, "properties");
+		Node properties = getFirstChild(classNode, "properties");
 		if(properties != null) {
-			xmiClass.setComment(XmiUtil.getAttribute(properties, "documentation"));
+			xmiClass.setComment(intern(XmiUtil.getAttribute(properties, "documentation")));
 		}
 
 		// Attributs
-		Node attributes = XmiUtil.getFirstChildsNodeWithTagName(classNode, "attributes");
+		Node attributes = getFirstChild(classNode, "attributes");
 		if(attributes != null && attributes.hasChildNodes()) {
-			for(Node attribut : XmiUtil.getChildsWithTagName(attributes, "attribute")) {
+			for(Node attribut : getChilds(attributes, "attribute", null)) {
 				extractAttribute(attribut, xmiClass);
 			}
 		}
@@ -291,67 +475,72 @@ public class XmiReader implements ModelFileReaderInterface {
 		// On récupère l'attribut dans la classe		
 		UmlAttribute xmiAttribut =  xmiClass.getAttributeById(XmiUtil.getElementIdRef(attribut));
 		
-		xmiAttribut.setName(XmiUtil.getElementName(attribut));
+		xmiAttribut.setName(intern(XmiUtil.getElementName(attribut)));
 		// Domain ex:  <properties type="DO_ID" derived="0" collection="false" duplicates="0" changeability="changeable"/>
-		Node properties = XmiUtil.getFirstChildsNodeWithTagName(attribut, "properties");
+		Node properties = getFirstChild(attribut, "properties");
 		String domainName = XmiUtil.getAttribute(properties, "type");
 		
-		UmlDomain domain = domainsMap.get(domainName);
-		if(domain == null) {
-			throw new MdaGeneratorException("Domain " + domainName + " not found for attribute " + xmiAttribut.getName() + " of class " + xmiClass.getName());
-		}
-		xmiAttribut.setDomain(domain);
+		// Le domaine est affecté une fois les métadonnées lues
+		pendingDomains.add(new PendingDomain(xmiAttribut, domainName));
 
 		// Commentaire ex : <style value="Identifiant technique de l'utilisateur"/>
-		Node style = XmiUtil.getFirstChildsNodeWithTagName(attribut, "style");
-		xmiAttribut.setComment(XmiUtil.getAttribute(style, "value"));
+		Node style = getFirstChild(attribut, "style");
+		xmiAttribut.setComment(intern(XmiUtil.getAttribute(style, "value")));
 
 		// Not null ex :  <bounds lower="1" upper="1"/>
-		Node bounds = XmiUtil.getFirstChildsNodeWithTagName(attribut, "bounds");
+		Node bounds = getFirstChild(attribut, "bounds");
 		xmiAttribut.setIsNotNull(!"0".equals(XmiUtil.getAttribute(bounds, "lower")));
 
 		// PK ? ex :  <xrefs value="$XREFPROP=$XID={3C6F55AC-762C-4339-AEA5-6B85C4EEFAB8}$XID;$NAM=CustomProperties$NAM;$TYP=attribute property$TYP;$VIS=Public$VIS;$PAR=0$PAR;$DES=@PROP=@NAME=isID@ENDNAME;@TYPE=Boolean@ENDTYPE;@VALU=1@ENDVALU;@PRMT=@ENDPRMT;@ENDPROP;$DES;$CLT={C11171CB-49AD-4ae1-97B5-32E527D973EB}$CLT;$SUP=<none>$SUP;$ENDXREF;"/>
-		Node xrefs = XmiUtil.getFirstChildsNodeWithTagName(attribut, "xrefs");
+		Node xrefs = getFirstChild(attribut, "xrefs");
 		String xrefsVals = XmiUtil.getAttribute(xrefs, "value");
 		xmiAttribut.setPK(xrefsVals != null && xrefsVals.contains("$DES=@PROP=@NAME=isID@ENDNAME;@TYPE=Boolean@ENDTYPE;@VALU=1@ENDVALU;"));
-
-		// Ajout de l'attribut dans la classe
-		xmiClass.getAttributes().add(xmiAttribut);
 	}
 
 
 	protected void parcourirAssociations(Document doc) {
-		Node xmiExtension =  doc.getElementsByTagName("xmi:Extension").item(0);
-		Node connectors = XmiUtil.getFirstChildsNodeWithTagName(xmiExtension,"connectors");
+		Node xmiExtension =  getExtension(doc);
+		Node connectors = getFirstChild(xmiExtension,"connectors");
 
-		List<Node> elts = XmiUtil.getChildsWithTagName(connectors, "connector");
+		List<Node> elts = getChilds(connectors, "connector", null);
 		for (Node currNode : elts) {    	
-			Node source = XmiUtil.getFirstChildsNodeWithTagName(currNode, "source");
-			Node target = XmiUtil.getFirstChildsNodeWithTagName(currNode, "target");
-			// Nom de l'association ex : <labels lb="0..*" mt="ORG_TOR" rb="1"/>
-			Node labels = XmiUtil.getFirstChildsNodeWithTagName(currNode, "labels");
-			String assocName = XmiUtil.getAttribute(labels, "mt");
-
-			UmlClass classSource = classesMap.get(XmiUtil.getElementIdRef(source));		
-			UmlClass classTarget = classesMap.get(XmiUtil.getElementIdRef(target));		
-			if(assocName == null) {
-				throw new MdaGeneratorException("Association between "+ classSource.getName() +" and " + classTarget.getName() + " has no name");
-			}
-
-			UmlAssociation sourceToTarget = extraireAssociation(assocName, classSource, classTarget, target);
+			extraireConnecteur(currNode);
+		}
+	}
 
-			UmlAssociation targetToSource = extraireAssociation(assocName, classTarget, classSource, source);
-			if((sourceToTarget.isTargetOwned() && targetToSource.isTargetOwned())  || 
-					(!sourceToTarget.isTargetOwned() && !targetToSource.isTargetOwned())) {
-				// Si aucun n'est owner (ou les deux), on choisit arbitrairement la sources (utile pour n:m et 1:1)
-				sourceToTarget.setTargetOwned(true); 
-			}
-			
-			
-			// On partage les infos entre les associations
-			sourceToTarget.setOpposite(targetToSource);			
-			targetToSource.setOpposite(sourceToTarget);
+	/**
+	 * Extraction des deux associations (une par sens) décrites par un connecteur
+	 * @param connectorNode
+	 */
+	protected void extraireConnecteur(Node connectorNode) {
+		Node source = getFirstChild(connectorNode, "source");
+		Node target = getFirstChild(connectorNode, "target");
+		// Nom de l'association ex : <labels lb="0..*" mt="ORG_TOR" rb="1"/>
+		Node labels = getFirstChild(connectorNode, "labels");
+		String assocName = intern(XmiUtil.getAttribute(labels, "mt"));
+
+		// Association sans nom : signalée par la validation du modèle, avec les autres erreurs
+		UmlClass classSource = classesMap.get(XmiUtil.getElementIdRef(source));		
+		UmlClass classTarget = classesMap.get(XmiUtil.getElementIdRef(target));		
+
+		UmlAssociation sourceToTarget = extraireAssociation(assocName, classSource, classTarget, target);
+
+		UmlAssociation targetToSource = extraireAssociation(assocName, classTarget, classSource, source);
+
+		// Les deux côtés portent l'id du connecteur
+		UmlId connectorId = UmlId.of(XmiUtil.getElementId(connectorNode));
+		sourceToTarget.setUmlId(connectorId);
+		targetToSource.setUmlId(connectorId);
+		if((sourceToTarget.isTargetOwned() && targetToSource.isTargetOwned())  || 
+				(!sourceToTarget.isTargetOwned() && !targetToSource.isTargetOwned())) {
+			// Si aucun n'est owner (ou les deux), on choisit arbitrairement la sources (utile pour n:m et 1:1)
+			sourceToTarget.setTargetOwned(true); 
 		}
+		
+		
+		// On partage les infos entre les associations
+		sourceToTarget.setOpposite(targetToSource);			
+		targetToSource.setOpposite(sourceToTarget);
 	}
 
 	protected UmlAssociation extraireAssociation(String assocName, UmlClass owner,UmlClass target, Node targetNode) {
@@ -359,10 +548,10 @@ public class XmiReader implements ModelFileReaderInterface {
 		umlAssoc.setName(assocName);
 		umlAssoc.setSource(owner);
 		umlAssoc.setTarget(target);
-		owner.getAssociations().add(umlAssoc);
+		owner.addAssociation(umlAssoc);
 
 		// Calcul de la multiplicté et nullabilité ex: <type multiplicity="0..1" 
-		String cardinalite = XmiUtil.getAttribute(XmiUtil.getFirstChildsNodeWithTagName(targetNode, "type"), "multiplicity");
+		String cardinalite = XmiUtil.getAttribute(getFirstChild(targetNode, "type"), "multiplicity");
 		switch(cardinalite) {
 		case "1":
 			umlAssoc.setTargetMultiple(false);
@@ -386,7 +575,7 @@ public class XmiReader implements ModelFileReaderInterface {
 		}
 		
 		// Navigabilité, ex: <modifiers isOrdered="false" changeable="none" isNavigable="false"/>
-		String navigabilite = XmiUtil.getAttribute(XmiUtil.getFirstChildsNodeWithTagName(targetNode, "modifiers"), "isNavigable");
+		String navigabilite = XmiUtil.getAttribute(getFirstChild(targetNode, "modifiers"), "isNavigable");
 		if("true".equals(navigabilite)) {
 			umlAssoc.setTargetNavigable(true);
 		}else {
@@ -394,16 +583,16 @@ public class XmiReader implements ModelFileReaderInterface {
 		}
 			
 		// Facultatif, récupérer le nom de l'objet FK ex: <role name="organismeParent"
-		String fkObjectName = XmiUtil.getAttribute(XmiUtil.getFirstChildsNodeWithTagName(targetNode, "role"), "name");
-		umlAssoc.setFkObjectName(fkObjectName);
+		String fkObjectName = XmiUtil.getAttribute(getFirstChild(targetNode, "role"), "name");
+		umlAssoc.setFkObjectName(intern(fkObjectName));
 		
 		// Facultatif, récupérer le nom de la colonne FK <style value="Union=0;Derived=0;AllowDuplicates=0;Owned=0;Navigable=Navigable;alias=workplace_service_id;"/>
-		String stylesValues = XmiUtil.getAttribute(XmiUtil.getFirstChildsNodeWithTagName(targetNode, "style"), "value");
+		String stylesValues = XmiUtil.getAttribute(getFirstChild(targetNode, "style"), "value");
 		for(String styleValue : stylesValues.split(";")) {
 			if(styleValue != null ) {
 				// Nom de la FK
 				if(styleValue.startsWith("alias=")) {
-					umlAssoc.setFkName(styleValue.split("=")[1]);
+					umlAssoc.setFkName(intern(styleValue.split("=")[1]));
 				}
 				// Owner de la relation (pour 1:1 et n:m)
 				else if(styleValue.startsWith("Owned=")) {					
@@ -416,4 +605,17 @@ public class XmiReader implements ModelFileReaderInterface {
 		return umlAssoc;		
 	}
 
-}
\ No newline at end of file
+	/**
+	 * Attribute waiting for the domain named in the model
+	 */
+	private static class PendingDomain {
+		private final UmlAttribute umlAttribute;
+		private final String domainName;
+
+		private PendingDomain(UmlAttribute umlAttribute, String domainName) {
+			this.umlAttribute = umlAttribute;
+			this.domainName = domainName;
+		}
+	}
+
+}
\ No newline at end of file
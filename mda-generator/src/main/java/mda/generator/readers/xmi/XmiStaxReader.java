@@ -0,0 +1,378 @@
+package mda.generator.readers.xmi;
+
+import java.io.BufferedInputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.apache.commons.lang3.StringUtils;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+import mda.generator.beans.UmlClass;
+import mda.generator.beans.UmlPackage;
+import mda.generator.exceptions.MdaGeneratorException;
+import mda.generator.metrics.GenerationPhase;
+import mda.generator.metrics.PhaseMeasure;
+
+/**
+ * Lecture en flux des fichiers XMI 2.1 exportés par Enterprise Architect.
+ *
+ * Le fichier est lu en une seule passe StAX au lieu d'être chargé dans un arbre DOM complet.
+ * Les packages, classes et attributs de la partie UML sont extraits au fil de la lecture, seuls les éléments
+ * de l'Extension (une classe ou un connecteur à la fois) sont construits en fragments DOM détachés
+ * afin de réutiliser les règles d'extraction de {@link XmiReader}.
+ *
+ * Enterprise Architect écrit l'Extension après la partie UML (uml:Model) : chaque fragment est alors traité
+ * dès sa lecture et la mémoire est bornée par le modèle extrait, pas par le fichier.
+ * Si l'Extension est lue avant la fin de la partie UML, ses fragments sont conservés et traités une fois
+ * la partie UML lue : le résultat est le même, mais la mémoire dépend alors de la taille de l'Extension.
+ *
+ * @author Fabien Crapart
+ */
+public class XmiStaxReader extends XmiReader {
+
+	private static final String MODEL = "uml:Model";
+	private static final String EXTENSION = "xmi:Extension";
+	private static final String ELEMENTS = "elements";
+	private static final String ELEMENT = "element";
+	private static final String CONNECTORS = "connectors";
+	private static final String CONNECTOR = "connector";
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected void extractMetadata(String pathToMetadataXmi) {
+		try (InputStream input = new BufferedInputStream(Files.newInputStream(Paths.get(pathToMetadataXmi)))) {
+			Document fragments = newFragmentsDocument();
+			XMLStreamReader reader = createStreamReader(input);
+			try {
+				while(reader.hasNext()) {
+					if(reader.next() == XMLStreamConstants.START_ELEMENT && "DataRow".equals(getTagName(reader))) {
+						extraireDataRow(readFragment(reader, fragments));
+					}
+				}
+			} finally {
+				reader.close();
+			}
+		} catch (MdaGeneratorException e) {
+			throw e;
+		} catch (Exception e) {
+			throw new MdaGeneratorException("Erreur lors du parsing du fichier XMI " + pathToMetadataXmi, e);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected void extractModel(String pathToXmi) {
+		try (InputStream input = new BufferedInputStream(Files.newInputStream(Paths.get(pathToXmi)))) {
+			Document fragments = newFragmentsDocument();
+			XMLStreamReader reader = createStreamReader(input);
+			try {
+				parcourirFlux(reader, fragments);
+			} finally {
+				reader.close();
+			}
+		} catch (MdaGeneratorException e) {
+			throw e;
+		} catch (Exception e) {
+			throw new MdaGeneratorException("Erreur lors du parsing du fichier XMI " + pathToXmi, e);
+		}
+	}
+
+	/**
+	 * Parcours du fichier en une seule passe : packages, classes et attributs de la partie UML,
+	 * détail des classes et connecteurs de la première Extension
+	 * @param reader flux positionné au début du fichier
+	 * @param fragments document utilisé pour créer les fragments détachés
+	 * @throws XMLStreamException erreur de lecture du fichier
+	 */
+	protected void parcourirFlux(XMLStreamReader reader, Document fragments) throws XMLStreamException {
+		int depth = 0;
+		Deque<PackageContext> packages = new ArrayDeque<>();
+		UmlClass currentClass = null;
+		int classDepth = -1;
+		int extensionDepth = -1;
+		boolean extensionDone = false;
+		String extensionSection = null;
+		// Fragments de l'Extension lus avant la fin de la partie UML, null une fois la partie UML lue
+		List<Element> pendingFragments = new ArrayList<>();
+
+		while(reader.hasNext()) {
+			int event = reader.next();
+			if(event == XMLStreamConstants.START_ELEMENT) {
+				depth++;
+				String tagName = getTagName(reader);
+
+				// Partie Extension (seule la première est utilisée)
+				if(extensionDepth != -1) {
+					if(depth == extensionDepth + 1 && CONNECTORS.equals(tagName)) {
+						parcourirConnecteurs(reader, fragments, pendingFragments);
+						depth--;
+						continue;
+					} else if(depth == extensionDepth + 1) {
+						extensionSection = tagName;
+					} else if(depth == extensionDepth + 2 && ELEMENTS.equals(extensionSection) && ELEMENT.equals(tagName)
+							&& XmiElementType.CLASS.getXmiName().equals(getAttribute(reader, "xmi:type"))) {
+						traiterFragment(readFragment(reader, fragments), pendingFragments);
+						depth--;
+						continue;
+					}
+				} else if(!extensionDone && EXTENSION.equals(tagName)) {
+					extensionDepth = depth;
+					continue;
+				}
+
+				// Partie UML : packages, classes et attributs
+				String type = getAttribute(reader, "xmi:type");
+				PackageContext currentPackage = packages.peek();
+				if("packagedElement".equals(tagName)) {
+					if(XmiElementType.PACKAGE.getXmiName().equals(type)) {
+						// On ne traite que les packages java
+						String name = getAttribute(reader, "name");
+						if(name != null && name.contains(".")) {
+							packages.push(new PackageContext(initPackageExtraction(reader), depth));
+						}
+					} else if(XmiElementType.CLASS.getXmiName().equals(type) && currentPackage != null && depth == currentPackage.depth + 1) {
+						Element classNode = toElement(reader, fragments);
+						initClassExtraction(classNode);
+						currentClass = getClassesMap().get(XmiUtil.getElementId(classNode));
+						classDepth = depth;
+					}
+				} else if("ownedComment".equals(tagName) && XmiElementType.COMMENT.getXmiName().equals(type)
+						&& currentPackage != null && depth == currentPackage.depth + 1) {
+					currentPackage.comments.append(getAttribute(reader, "body")).append("\n");
+				} else if("ownedAttribute".equals(tagName) && XmiElementType.PROPERTY.getXmiName().equals(type)
+						&& currentClass != null && depth == classDepth + 1) {
+					initAttributeExtraction(currentClass, toElement(reader, fragments));
+				}
+			} else if(event == XMLStreamConstants.END_ELEMENT) {
+				if(MODEL.equals(getTagName(reader)) && pendingFragments != null) {
+					// Fin de la partie UML : les fragments de l'Extension lus avant peuvent être traités
+					traiterFragments(pendingFragments);
+					pendingFragments = null;
+				}
+				if(depth == extensionDepth) {
+					extensionDepth = -1;
+					extensionDone = true;
+				} else if(extensionDepth != -1 && depth == extensionDepth + 1) {
+					extensionSection = null;
+				}
+				if(depth == classDepth) {
+					currentClass = null;
+					classDepth = -1;
+				}
+				if(!packages.isEmpty() && packages.peek().depth == depth) {
+					PackageContext packageContext = packages.pop();
+					if(packageContext.comments.length() > 0) {
+						packageContext.umlPackage.setComment(packageContext.comments.toString());
+					}
+				}
+				depth--;
+			}
+		}
+
+		// Fichier sans partie uml:Model
+		if(pendingFragments != null) {
+			traiterFragments(pendingFragments);
+		}
+	}
+
+	/**
+	 * Parcours des connecteurs de l'Extension, la liaison des associations est mesurée une seule fois pour tous les connecteurs
+	 * @param reader flux positionné sur la balise ouvrante des connecteurs, positionné sur la balise fermante après l'appel
+	 * @param fragments document utilisé pour créer les fragments détachés
+	 * @param pendingFragments fragments en attente, null si la partie UML est lue
+	 * @throws XMLStreamException erreur de lecture du fichier
+	 */
+	private void parcourirConnecteurs(XMLStreamReader reader, Document fragments, List<Element> pendingFragments) throws XMLStreamException {
+		PhaseMeasure measure = pendingFragments == null ? getReport().measure(GenerationPhase.ASSOCIATIONS_LINKING) : null;
+		try {
+			int depth = 0;
+			while(reader.hasNext()) {
+				int event = reader.next();
+				if(event == XMLStreamConstants.START_ELEMENT) {
+					if(depth == 0 && CONNECTOR.equals(getTagName(reader))) {
+						traiterFragment(readFragment(reader, fragments), pendingFragments);
+					} else {
+						depth++;
+					}
+				} else if(event == XMLStreamConstants.END_ELEMENT) {
+					if(depth == 0) {
+						return;
+					}
+					depth--;
+				}
+			}
+		} finally {
+			if(measure != null) {
+				measure.close();
+			}
+		}
+	}
+
+	/**
+	 * Traitement d'un fragment de l'Extension, ou mise en attente si la partie UML n'est pas encore lue
+	 * @param fragment classe ou connecteur de l'Extension
+	 * @param pendingFragments fragments en attente, null si la partie UML est lue
+	 */
+	private void traiterFragment(Element fragment, List<Element> pendingFragments) {
+		if(pendingFragments != null) {
+			pendingFragments.add(fragment);
+		} else if(CONNECTOR.equals(fragment.getTagName())) {
+			extraireConnecteur(fragment);
+		} else {
+			try {
+				extraireClasse(fragment);
+			} catch(MdaGeneratorException e) {
+				throw e;
+			} catch(Exception e) {
+				throw new MdaGeneratorException("Error lors du traitement de la node de type '" +  XmiUtil.getElementType(fragment)+"'",e);
+			}
+		}
+	}
+
+	/**
+	 * Traitement, dans l'ordre du fichier, des fragments de l'Extension mis en attente
+	 * @param pendingFragments fragments en attente
+	 */
+	private void traiterFragments(List<Element> pendingFragments) {
+		// Les connecteurs suivent les classes : la liaison est mesurée à partir du premier connecteur
+		PhaseMeasure linking = null;
+		try {
+			for(Element fragment : pendingFragments) {
+				if(linking == null && CONNECTOR.equals(fragment.getTagName())) {
+					linking = getReport().measure(GenerationPhase.ASSOCIATIONS_LINKING);
+				}
+				traiterFragment(fragment, null);
+			}
+		} finally {
+			if(linking != null) {
+				linking.close();
+			}
+		}
+		pendingFragments.clear();
+	}
+
+	/**
+	 * Création d'un package depuis la balise courante et ajout dans la map des packages
+	 * @param reader flux positionné sur la balise ouvrante du package
+	 * @return package créé
+	 */
+	protected UmlPackage initPackageExtraction(XMLStreamReader reader) {
+		UmlPackage xmiPackage = new UmlPackage();
+		xmiPackage.setId(getAttribute(reader, "xmi:id"));
+		xmiPackage.setName(getAttribute(reader, "name"));
+
+		// Ajout dans la map des packages par nom
+		getPackagesMap().put(xmiPackage.getName(), xmiPackage);
+
+		return xmiPackage;
+	}
+
+	/**
+	 * Lecture de l'élément courant et de tout son contenu en un fragment DOM détaché,
+	 * le flux est positionné sur la balise fermante correspondante après l'appel
+	 * @param reader flux positionné sur une balise ouvrante
+	 * @param fragments document utilisé pour créer le fragment
+	 * @return élément avec ses enfants
+	 * @throws XMLStreamException erreur de lecture du fichier
+	 */
+	protected static Element readFragment(XMLStreamReader reader, Document fragments) throws XMLStreamException {
+		Element root = toElement(reader, fragments);
+		Deque<Element> parents = new ArrayDeque<>();
+		parents.push(root);
+		while(!parents.isEmpty() && reader.hasNext()) {
+			int event = reader.next();
+			if(event == XMLStreamConstants.START_ELEMENT) {
+				Element child = toElement(reader, fragments);
+				parents.peek().appendChild(child);
+				parents.push(child);
+			} else if(event == XMLStreamConstants.END_ELEMENT) {
+				parents.pop();
+			}
+		}
+
+		return root;
+	}
+
+	/**
+	 * Création d'un élément détaché (sans enfants) depuis la balise courante,
+	 * les attributs sont nommés comme dans un DOM sans gestion des namespaces
+	 * @param reader flux positionné sur une balise ouvrante
+	 * @param fragments document utilisé pour créer l'élément
+	 * @return élément avec les attributs de la balise
+	 */
+	protected static Element toElement(XMLStreamReader reader, Document fragments) {
+		Element element = fragments.createElement(getTagName(reader));
+		for(int idx = 0; idx < reader.getAttributeCount(); idx++) {
+			element.setAttribute(getQualifiedName(reader.getAttributePrefix(idx), reader.getAttributeLocalName(idx)), reader.getAttributeValue(idx));
+		}
+		return element;
+	}
+
+	/**
+	 * Valeur d'un attribut de la balise courante, par nom qualifié (ex: "xmi:id")
+	 * @param reader flux positionné sur une balise ouvrante
+	 * @param attributeName nom qualifié de l'attribut
+	 * @return valeur, null si non trouvé
+	 */
+	protected static String getAttribute(XMLStreamReader reader, String attributeName) {
+		for(int idx = 0; idx < reader.getAttributeCount(); idx++) {
+			if(attributeName.equals(getQualifiedName(reader.getAttributePrefix(idx), reader.getAttributeLocalName(idx)))) {
+				return reader.getAttributeValue(idx);
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * @param reader flux positionné sur une balise ouvrante ou fermante
+	 * @return nom qualifié de la balise (ex: "xmi:Extension")
+	 */
+	protected static String getTagName(XMLStreamReader reader) {
+		return getQualifiedName(reader.getPrefix(), reader.getLocalName());
+	}
+
+	private static String getQualifiedName(String prefix, String localName) {
+		return StringUtils.isEmpty(prefix) ? localName : prefix + ":" + localName;
+	}
+
+	private static XMLStreamReader createStreamReader(InputStream input) throws XMLStreamException {
+		XMLInputFactory factory = XMLInputFactory.newInstance();
+		factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+		factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+		return factory.createXMLStreamReader(input);
+	}
+
+	private static Document newFragmentsDocument() throws Exception {
+		return DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
+	}
+
+	/**
+	 * Package en cours de lecture, avec sa profondeur dans le fichier et ses commentaires
+	 */
+	private static class PackageContext {
+		private final UmlPackage umlPackage;
+		private final int depth;
+		private final StringBuilder comments = new StringBuilder();
+
+		private PackageContext(UmlPackage umlPackage, int depth) {
+			this.umlPackage = umlPackage;
+			this.depth = depth;
+		}
+	}
+}
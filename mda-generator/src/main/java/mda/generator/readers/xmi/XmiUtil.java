@@ -15,6 +15,19 @@ public final class XmiUtil {
 		
 	}
 	
+	/**
+	 * Conversion d'une NodeList en liste
+	 * @param nodes
+	 * @return
+	 */
+	public static List<Node> toList(NodeList nodes) {
+		List<Node> nodeList = new ArrayList<>(nodes.getLength());
+		for (int idx = 0; idx < nodes.getLength(); idx++) {
+			nodeList.add(nodes.item(idx));
+		}
+		return nodeList;
+	}
+
 	/**
 	 * Récupération, depuis une node, des enfants qui ont le nom de balise fourni
 	 * @param parentNode
@@ -0,0 +1,176 @@
+package mda.generator.utils.file;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+
+/**
+ * Utility class to write files only when their content changes
+ * @author Fabien Crapart
+ *
+ */
+public final class FileUtils {
+	/** Size of buffers used to compare files */
+	private static final int BUFFER_SIZE = 8192;
+
+	private FileUtils() {
+
+	}
+
+	/**
+	 * Write the content in the file, unless the file already contains exactly this content (the file and its modification date are then left untouched).
+	 * @param filePath file to write
+	 * @param content bytes to write
+	 * @return true if the file has been written, false if it was already up to date
+	 * @throws IOException
+	 */
+	public static boolean writeIfChanged(Path filePath, byte[] content) throws IOException {
+		if(hasSameContent(filePath, content)) {
+			return false;
+		}
+
+		Files.write(filePath, content);
+		return true;
+	}
+
+	/**
+	 * Write the content in the file, unless its current content (already read) is exactly this content.
+	 * @param filePath file to write
+	 * @param content bytes to write
+	 * @param currentContent bytes of the file, null if it doesn't exist
+	 * @return true if the file has been written, false if it was already up to date
+	 * @throws IOException
+	 */
+	public static boolean writeIfChanged(Path filePath, byte[] content, byte[] currentContent) throws IOException {
+		if(Arrays.equals(currentContent, content)) {
+			return false;
+		}
+
+		Files.write(filePath, content);
+		return true;
+	}
+
+	/**
+	 * Compare the content of a file with the given bytes, the sizes are compared before reading the file.
+	 * The file is read with constant memory.
+	 * @param filePath file to compare
+	 * @param content expected content
+	 * @return true if the file exists and contains exactly the given bytes
+	 * @throws IOException
+	 */
+	public static boolean hasSameContent(Path filePath, byte[] content) throws IOException {
+		if(!Files.isRegularFile(filePath) || Files.size(filePath) != content.length) {
+			return false;
+		}
+
+		try(InputStream input = Files.newInputStream(filePath)) {
+			byte[] buffer = new byte[BUFFER_SIZE];
+			int offset = 0;
+			int read;
+			while((read = readFully(input, buffer)) > 0) {
+				if(offset + read > content.length || !equals(buffer, 0, content, offset, read)) {
+					return false;
+				}
+				offset += read;
+			}
+			return offset == content.length;
+		}
+	}
+
+	/**
+	 * Move a temporary file to its final place, unless the final file already contains exactly the same bytes (the temporary file is then deleted).
+	 * The move is atomic when the file system supports it.
+	 * @param tempFilePath temporary file, in the same directory as the final file
+	 * @param filePath final file
+	 * @return true if the file has been written, false if it was already up to date
+	 * @throws IOException
+	 */
+	public static boolean moveIfChanged(Path tempFilePath, Path filePath) throws IOException {
+		if(hasSameContent(tempFilePath, filePath)) {
+			Files.delete(tempFilePath);
+			return false;
+		}
+
+		move(tempFilePath, filePath);
+		return true;
+	}
+
+	/**
+	 * Move a temporary file to its final place, unless the current content of the final file (already read) is exactly the same.
+	 * @param tempFilePath temporary file, in the same directory as the final file
+	 * @param filePath final file
+	 * @param currentContent bytes of the final file, null if it doesn't exist
+	 * @return true if the file has been written, false if it was already up to date
+	 * @throws IOException
+	 */
+	public static boolean moveIfChanged(Path tempFilePath, Path filePath, byte[] currentContent) throws IOException {
+		if(currentContent != null && hasSameContent(tempFilePath, currentContent)) {
+			Files.delete(tempFilePath);
+			return false;
+		}
+
+		move(tempFilePath, filePath);
+		return true;
+	}
+
+	/**
+	 * Move a file, atomically when the file system supports it
+	 * @param tempFilePath file to move
+	 * @param filePath destination, replaced if it exists
+	 * @throws IOException
+	 */
+	private static void move(Path tempFilePath, Path filePath) throws IOException {
+		try {
+			Files.move(tempFilePath, filePath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(tempFilePath, filePath, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	/**
+	 * Compare the content of two files with constant memory, the sizes are compared before reading the files.
+	 * @param firstPath first file
+	 * @param secondPath second file
+	 * @return true if both files exist and contain exactly the same bytes
+	 * @throws IOException
+	 */
+	public static boolean hasSameContent(Path firstPath, Path secondPath) throws IOException {
+		if(!Files.isRegularFile(firstPath) || !Files.isRegularFile(secondPath) || Files.size(firstPath) != Files.size(secondPath)) {
+			return false;
+		}
+
+		try(InputStream first = Files.newInputStream(firstPath); InputStream second = Files.newInputStream(secondPath)) {
+			byte[] firstBuffer = new byte[BUFFER_SIZE];
+			byte[] secondBuffer = new byte[BUFFER_SIZE];
+			int read;
+			while((read = readFully(first, firstBuffer)) > 0) {
+				if(readFully(second, secondBuffer) != read || !equals(firstBuffer, 0, secondBuffer, 0, read)) {
+					return false;
+				}
+			}
+			return readFully(second, secondBuffer) == 0;
+		}
+	}
+
+	private static int readFully(InputStream input, byte[] buffer) throws IOException {
+		int total = 0;
+		int read;
+		while(total < buffer.length && (read = input.read(buffer, total, buffer.length - total)) != -1) {
+			total += read;
+		}
+		return total;
+	}
+
+	private static boolean equals(byte[] first, int firstOffset, byte[] second, int secondOffset, int length) {
+		for(int idx = 0; idx < length; idx++) {
+			if(first[firstOffset + idx] != second[secondOffset + idx]) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
@@ -15,25 +15,25 @@ import mda.generator.exceptions.MdaGeneratorException;
 public class PathUtils {
 
 	/**
-	 * Define a Path object for a relative (inside jar) or absolute path provided as a string
+	 * Define a Path object for a relative (inside jar) or absolute path provided as a string.
+	 * Resources are searched with the class loader of the generator (which can be a plugin class loader), the file system of a jar stays open to read them.
 	 * @param classPathOrFilePath
 	 * @return
 	 */
-	public static Path getPathForClassPathAndFs(String classPathOrFilePath) {
+	public static synchronized Path getPathForClassPathAndFs(String classPathOrFilePath) {
 		try {
 			Path p = null;
 			
-			URL url = Object.class.getResource(classPathOrFilePath);
+			URL url = PathUtils.class.getResource(classPathOrFilePath);
 			if(url != null) {
-				URI uri = Object.class.getResource(classPathOrFilePath).toURI();
+				URI uri = url.toURI();
 	
 				
 				try {		
 					p=Paths.get(uri);
 				} catch(FileSystemNotFoundException ex) {
-					try(FileSystem fs = FileSystems.newFileSystem(uri, Collections.<String,Object>emptyMap())) {
-						p = fs.provider().getPath(uri);
-					}
+					FileSystem fs = FileSystems.newFileSystem(uri, Collections.<String,Object>emptyMap());
+					p = fs.provider().getPath(uri);
 				}
 			} else {
 				p = Paths.get(classPathOrFilePath);
@@ -1,14 +1,18 @@
 package mda.generator.utils.file;
 
-import java.lang.reflect.Field;
 import java.nio.charset.Charset;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Properties;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
+import mda.generator.components.ComponentsRegistry;
 import mda.generator.exceptions.MdaGeneratorException;
 
 /**
- * Utility class to fill an object from a property file (names must be coherent)
+ * Utility class to fill an object from a property file, each value being given to a setter (ex: this::withModelPath, or a lambda setting a field)
  * @author Fabien Crapart
  *
  */
@@ -22,29 +26,26 @@ public final class PropertyUtils {
 	 * @param key
 	 * @param prop
 	 */
-	public static void loadPathFromProperty(String key , Properties prop, Object target) {
+	public static void loadPathFromProperty(String key , Properties prop, Consumer<Path> setter) {
 		if(prop != null) {
 			String val = prop.getProperty(key);
 			if(val != null) {
-				setAttributeValue(target, key, PathUtils.getPathForClassPathAndFs(val));
+				setter.accept(PathUtils.getPathForClassPathAndFs(val));
 			}
 		}		
 	}
 
 	/**
-	 * 
+	 * Implementation given by its name, registered by a ComponentsProvider (see {@link ComponentsRegistry})
 	 * @param key
 	 * @param prop
+	 * @param type interface to implement
 	 */
-	public static void loadClassFromProperty(String key, Properties prop, Object target)  {
+	public static <T> void loadComponentFromProperty(String key, Properties prop, Class<T> type, Consumer<Supplier<? extends T>> setter)  {
 		if(prop != null) {
 			String val = prop.getProperty(key);
 			if(val != null) {
-				try {
-					setAttributeValue(target, key, Class.forName(val));
-				} catch (ClassNotFoundException e) {
-					throw new MdaGeneratorException("La classe " + val + " n'a pas pu être chargée ",e );
-				}
+				setter.accept(ComponentsRegistry.getDefault().getSupplier(type, val));
 			}
 		}
 	}
@@ -54,7 +55,7 @@ public final class PropertyUtils {
 	 * @param key
 	 * @param prop
 	 */
-	public static void loadStringList(String key, Properties prop, Object target)  {
+	public static void loadStringList(String key, Properties prop, Consumer<List<String>> setter)  {
 		if(prop != null) {
 			String val = prop.getProperty(key);
 			if(val != null) {
@@ -62,7 +63,37 @@ public final class PropertyUtils {
 				for(String sVal : val.split(",")) {
 					list.add(sVal.trim());
 				}
-				setAttributeValue(target, key, list);			
+				setter.accept(list);			
+			}
+		}
+
+	}
+
+	/**
+	 * 
+	 * @param key
+	 * @param prop
+	 */
+	public static void loadCharset(String key, Properties prop, Consumer<Charset> setter)  {
+		if(prop != null) {
+			String val = prop.getProperty(key);
+			if(val != null) {
+				setter.accept(Charset.forName(val));			
+			}
+		}
+
+	}
+
+	/**
+	 * 
+	 * @param key
+	 * @param prop
+	 */
+	public static void loadString(String key, Properties prop, Consumer<String> setter)  {
+		if(prop != null) {
+			String val = prop.getProperty(key);
+			if(val != null) {
+				setter.accept(val);			
 			}
 		}
 
@@ -73,11 +104,15 @@ public final class PropertyUtils {
 	 * @param key
 	 * @param prop
 	 */
-	public static void loadCharset(String key, Properties prop, Object target)  {
+	public static void loadInteger(String key, Properties prop, Consumer<Integer> setter)  {
 		if(prop != null) {
 			String val = prop.getProperty(key);
 			if(val != null) {
-				setAttributeValue(target, key, Charset.forName(val));			
+				try {
+					setter.accept(Integer.valueOf(val.trim()));
+				} catch (NumberFormatException e) {
+					throw new MdaGeneratorException("La valeur " + val + " de " + key + " n'est pas un entier ",e );
+				}
 			}
 		}
 
@@ -88,30 +123,33 @@ public final class PropertyUtils {
 	 * @param key
 	 * @param prop
 	 */
-	public static void loadString(String key, Properties prop, Object target)  {
+	public static void loadBoolean(String key, Properties prop, Consumer<Boolean> setter)  {
 		if(prop != null) {
 			String val = prop.getProperty(key);
 			if(val != null) {
-				setAttributeValue(target, key, val);			
+				setter.accept(Boolean.valueOf(val.trim()));
 			}
 		}
 
 	}
 
-	private static boolean setAttributeValue(Object object, String fieldName, Object fieldValue) {
-		Class<?> clazz = object.getClass();
-		while (clazz != null) {
-			try {
-				Field field = clazz.getDeclaredField(fieldName);
-				field.setAccessible(true);
-				field.set(object, fieldValue);
-				return true;
-			} catch (NoSuchFieldException e) {
-				clazz = clazz.getSuperclass();
-			} catch (Exception e) {
-				throw new IllegalStateException(e);
+	/**
+	 * 
+	 * @param key
+	 * @param prop
+	 * @param enumClass type of the enum
+	 */
+	public static <E extends Enum<E>> void loadEnum(String key, Properties prop, Class<E> enumClass, Consumer<E> setter)  {
+		if(prop != null) {
+			String val = prop.getProperty(key);
+			if(val != null) {
+				try {
+					setter.accept(Enum.valueOf(enumClass, val.trim().toUpperCase()));
+				} catch (IllegalArgumentException e) {
+					throw new MdaGeneratorException("La valeur " + val + " de " + key + " n'est pas une valeur de " + enumClass.getSimpleName(),e );
+				}
 			}
 		}
-		return false;
+
 	}
 }
@@ -0,0 +1,209 @@
+package mda.generator.validation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang3.StringUtils;
+
+import mda.generator.beans.UmlAssociation;
+import mda.generator.beans.UmlAttribute;
+import mda.generator.beans.UmlClass;
+import mda.generator.beans.UmlPackage;
+import mda.generator.converters.type.TypeConverterInterface;
+
+/**
+ * Validation of the model read, before any file is written.
+ *
+ * The rules checked are the ones the writers would otherwise fail on in the middle of the generation (domain not found, association without name,
+ * primary key needed to name a foreign key, composite primary key in a many to many, one to one without navigability from its owner, type not converted).
+ * They are evaluated in parallel on all the classes and all the violations are returned together.
+ *
+ * @author Fabien Crapart
+ */
+public class ModelValidator {
+	private final TypeConverterInterface typeConverter;
+	/** Prefixes of the classes without sql (case insensitive) */
+	private final List<String> excludedPrefixes;
+
+	/**
+	 * @param typeConverter converter of the domains types
+	 * @param excludedPrefixes prefixes of the classes without sql, can be null
+	 */
+	public ModelValidator(TypeConverterInterface typeConverter, List<String> excludedPrefixes) {
+		this.typeConverter = typeConverter;
+		this.excludedPrefixes = excludedPrefixes;
+	}
+
+	/**
+	 * @param umlPackages packages read from the model
+	 * @return violations, in the order of the classes in the model (empty if the model is valid)
+	 */
+	public List<String> validate(Collection<UmlPackage> umlPackages) {
+		List<UmlClass> umlClasses = new ArrayList<>();
+		for(UmlPackage umlPackage : umlPackages) {
+			umlClasses.addAll(umlPackage.getClasses());
+		}
+
+		// Un domaine non converti ou un connecteur sans nom (vu depuis ses deux classes) est signalé une seule fois
+		return umlClasses.parallelStream()
+				.flatMap(umlClass -> validateClass(umlClass).stream())
+				.distinct()
+				.collect(Collectors.toList());
+	}
+
+	/**
+	 * @param umlClass class to check
+	 * @return violations of the class
+	 */
+	protected List<String> validateClass(UmlClass umlClass) {
+		List<String> violations = new ArrayList<>();
+		boolean withSql = !isExcludedClassName(umlClass);
+
+		// Domaines des attributs
+		for(UmlAttribute umlAttribute : umlClass.getAttributes()) {
+			if(umlAttribute.getDomain() == null) {
+				violations.add("Domain not found for attribute " + umlAttribute.getName() + " of class " + umlClass.getName());
+			} else {
+				validateTypes(umlAttribute, withSql, violations);
+			}
+		}
+
+		for(UmlAssociation umlAssociation : umlClass.getAssociations()) {
+			if(umlAssociation.getName() == null) {
+				violations.add(getNoNameViolation(umlAssociation));
+			}
+			if(umlAssociation.getOpposite() == null) {
+				continue;
+			}
+
+			if(umlAssociation.isTargetNavigable()) {
+				validateJavaAssociation(umlClass, umlAssociation, violations);
+			}
+			if(withSql) {
+				validateSqlAssociation(umlAssociation, violations);
+			}
+		}
+
+		return violations;
+	}
+
+	/**
+	 * Violation of a connector without name, the same from both sides of the connector
+	 * @param umlAssociation association without name
+	 * @return violation identified by the connector id
+	 */
+	protected String getNoNameViolation(UmlAssociation umlAssociation) {
+		String[] classNames = {umlAssociation.getSource().getName(), umlAssociation.getTarget().getName()};
+		Arrays.sort(classNames);
+		return "Association " + umlAssociation.getId() + " between " + classNames[0] + " and " + classNames[1] + " has no name";
+	}
+
+	/**
+	 * Java and database types of the domain of an attribute
+	 * @param umlAttribute attribute with a domain
+	 * @param withSql true if the class has sql (database type needed)
+	 * @param violations violations of the class
+	 */
+	protected void validateTypes(UmlAttribute umlAttribute, boolean withSql, List<String> violations) {
+		try {
+			typeConverter.getJavaType(umlAttribute.getDomain());
+			if(withSql) {
+				typeConverter.getDataBaseType(umlAttribute.getDomain());
+			}
+		} catch(RuntimeException e) {
+			violations.add("Types of domain " + umlAttribute.getDomain().getName() + " cannot be converted : " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Rules of the java writer for a navigable association (see JavaClass.manageAssociations)
+	 * @param umlClass class of the association
+	 * @param umlAssociation navigable association
+	 * @param violations violations of the class
+	 */
+	protected void validateJavaAssociation(UmlClass umlClass, UmlAssociation umlAssociation, List<String> violations) {
+		UmlAssociation opposite = umlAssociation.getOpposite();
+		if(umlAssociation.isTargetMultiple()) {
+			// ManyToMany, join table written by the owner
+			if(opposite.isTargetMultiple()) {
+				if(!umlAssociation.isTargetOwned() || !opposite.isTargetNavigable()) {
+					validateFkName(opposite, violations);
+					validateFkName(umlAssociation, violations);
+				}
+			}
+			// OneToMany unidirectional, join column to the pk of the class
+			else if(!opposite.isTargetNavigable()) {
+				validateFkName(opposite, violations);
+				validatePk(umlClass, umlAssociation, violations);
+			}
+		} else {
+			// ManyToOne, or OneToOne written by its owner
+			if(opposite.isTargetMultiple() || umlAssociation.isTargetOwned()) {
+				validateFkName(umlAssociation, violations);
+				validatePk(umlAssociation.getTarget(), umlAssociation, violations);
+			} else if(!opposite.isTargetNavigable()) {
+				violations.add("OneToOne association " + umlAssociation.getName() + " must have navigability from the owner side.");
+			}
+		}
+	}
+
+	/**
+	 * Rules of the sql writer for an association (see StandardSQLWriter.extractDataFromPackage)
+	 * @param umlAssociation association
+	 * @param violations violations of the class
+	 */
+	protected void validateSqlAssociation(UmlAssociation umlAssociation, List<String> violations) {
+		// ManyToMany, intermediate table created from the owned side
+		if(umlAssociation.isTargetMultiple() && umlAssociation.getOpposite().isTargetMultiple() && umlAssociation.isTargetOwned()) {
+			if(umlAssociation.getSource().getPKs().size() > 1 || umlAssociation.getTarget().getPKs().size() > 1) {
+				violations.add("Cannot create table for " + umlAssociation.getName() + " association, composite pk forbidden in many to many");
+			} else {
+				validatePk(umlAssociation.getSource(), umlAssociation, violations);
+				validatePk(umlAssociation.getTarget(), umlAssociation, violations);
+			}
+		}
+	}
+
+	/**
+	 * FK column name : name defined in the association, or pk name of its target
+	 * @param umlAssociation association
+	 * @param violations violations of the class
+	 */
+	protected void validateFkName(UmlAssociation umlAssociation, List<String> violations) {
+		if(StringUtils.isEmpty(umlAssociation.getFkName())) {
+			validatePk(umlAssociation.getTarget(), umlAssociation, violations);
+		}
+	}
+
+	/**
+	 * @param umlClass class whose pk is needed
+	 * @param umlAssociation association needing it
+	 * @param violations violations of the class
+	 */
+	protected void validatePk(UmlClass umlClass, UmlAssociation umlAssociation, List<String> violations) {
+		if(umlClass.getPKs().isEmpty()) {
+			violations.add("Cannot find a primary key for class " + umlClass.getName() + ", needed by association " + umlAssociation.getName());
+		}
+	}
+
+	/**
+	 * Indicate if the class sql is generated (same rule as StandardSQLWriter)
+	 * @param umlClass Class
+	 * @return true if the class should not be generated, false otherwise
+	 */
+	protected boolean isExcludedClassName(UmlClass umlClass) {
+		if(excludedPrefixes != null) {
+			String className = umlClass.getName().toLowerCase();
+			for(String excludedPrefix : excludedPrefixes) {
+				if(className.startsWith(excludedPrefix.toLowerCase())) {
+					return true;
+				}
+			}
+		}
+
+		return false;
+	}
+}
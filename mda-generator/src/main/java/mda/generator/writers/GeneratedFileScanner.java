@@ -0,0 +1,288 @@
+package mda.generator.writers;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.apache.commons.lang3.StringUtils;
+
+import mda.generator.exceptions.MdaGeneratorException;
+
+/**
+ * Single read analysis of an already generated file.
+ *
+ * The file is read once through a channel and scanned for the "stop generation" comment (the scan ends at the first one)
+ * and for the "end of generated code" comment. Only the offset of the user content following the end of generated code line is kept,
+ * the content itself is decoded on demand.
+ *
+ * The file is not memory-mapped because it is usually rewritten right after the analysis :
+ * its content is kept to be compared with the new content, without reading the file again.
+ *
+ * When the new content is streamed to a temporary file ({@link #scanStreamed(Path, String, String)}), the file is read by blocks
+ * and only the user content is kept : the temporary file is then compared with the file, block by block.
+ *
+ * @author Fabien Crapart
+ */
+public class GeneratedFileScanner {
+	/** Size of the blocks read by the streamed analysis */
+	private static final int BUFFER_SIZE = 8192;
+
+	/** Content of the file, null if it doesn't exist or if it is not kept */
+	private final byte[] content;
+	private final boolean exists;
+	private final boolean stopGeneration;
+	private final int userContentOffset;
+	/** User content, when the content of the file is not kept */
+	private final byte[] userContent;
+
+	private GeneratedFileScanner(byte[] content, boolean stopGeneration, int userContentOffset) {
+		this(content, content != null, stopGeneration, userContentOffset, null);
+	}
+
+	private GeneratedFileScanner(byte[] content, boolean exists, boolean stopGeneration, int userContentOffset, byte[] userContent) {
+		this.content = content;
+		this.exists = exists;
+		this.stopGeneration = stopGeneration;
+		this.userContentOffset = userContentOffset;
+		this.userContent = userContent;
+	}
+
+	/**
+	 * Analyse a file
+	 * @param filePath file to analyse, may not exist
+	 * @param stopGeneration comment preventing the regeneration of the file (null or empty if not used)
+	 * @param endOfGenerated comment marking the end of generated code (null or empty if not used)
+	 * @return result of the analysis
+	 * @throws IOException error while reading the file
+	 */
+	public static GeneratedFileScanner scan(Path filePath, String stopGeneration, String endOfGenerated) throws IOException {
+		if(!Files.exists(filePath)) {
+			return new GeneratedFileScanner(null, false, -1);
+		}
+
+		byte[] content = read(filePath);
+		byte[] stop = StringUtils.isEmpty(stopGeneration) ? null : stopGeneration.getBytes(StandardCharsets.UTF_8);
+		byte[] end = StringUtils.isEmpty(endOfGenerated) ? null : endOfGenerated.getBytes(StandardCharsets.UTF_8);
+
+		int endOffset = -1;
+		for(int idx = 0; idx < content.length; idx++) {
+			if(stop != null && matches(content, idx, stop)) {
+				return new GeneratedFileScanner(content, true, -1);
+			}
+			if(endOffset == -1 && end != null && matches(content, idx, end)) {
+				endOffset = idx + end.length;
+			}
+		}
+
+		return new GeneratedFileScanner(content, false, endOffset == -1 ? -1 : nextLineOffset(content, endOffset));
+	}
+
+	/**
+	 * Analyse a file by blocks, without keeping its content : only the user content is kept.
+	 * @param filePath file to analyse, may not exist
+	 * @param stopGeneration comment preventing the regeneration of the file (null or empty if not used)
+	 * @param endOfGenerated comment marking the end of generated code (null or empty if not used)
+	 * @return result of the analysis, without the content of the file
+	 * @throws IOException error while reading the file
+	 */
+	public static GeneratedFileScanner scanStreamed(Path filePath, String stopGeneration, String endOfGenerated) throws IOException {
+		if(!Files.exists(filePath)) {
+			return new GeneratedFileScanner(null, false, -1);
+		}
+
+		BytesMatcher stop = StringUtils.isEmpty(stopGeneration) ? null : new BytesMatcher(stopGeneration.getBytes(StandardCharsets.UTF_8));
+		BytesMatcher end = StringUtils.isEmpty(endOfGenerated) ? null : new BytesMatcher(endOfGenerated.getBytes(StandardCharsets.UTF_8));
+
+		// Once the end of generated code found : end of its line, then user content
+		boolean endFound = false;
+		boolean carriageReturn = false;
+		int userContentOffset = -1;
+		ByteArrayOutputStream userContent = null;
+		int offset = 0;
+		try(InputStream input = Files.newInputStream(filePath)) {
+			byte[] buffer = new byte[BUFFER_SIZE];
+			int read;
+			while((read = input.read(buffer)) != -1) {
+				for(int idx = 0; idx < read; idx++, offset++) {
+					byte current = buffer[idx];
+					if(stop != null && stop.next(current)) {
+						return new GeneratedFileScanner(null, true, true, -1, null);
+					}
+					if(userContent != null) {
+						userContent.write(current);
+					} else if(!endFound) {
+						endFound = end != null && end.next(current);
+					} else if(current == '\n') {
+						userContentOffset = offset + 1;
+						userContent = new ByteArrayOutputStream();
+					} else if(carriageReturn) {
+						// Line ended by \r only
+						userContentOffset = offset;
+						userContent = new ByteArrayOutputStream();
+						userContent.write(current);
+					} else {
+						carriageReturn = current == '\r';
+					}
+				}
+			}
+		}
+
+		if(endFound && userContent == null) {
+			// Nothing after the end of generated code line
+			userContentOffset = offset;
+			userContent = new ByteArrayOutputStream();
+		}
+		return new GeneratedFileScanner(null, true, false, userContentOffset, userContent == null ? null : userContent.toByteArray());
+	}
+
+	/**
+	 * @return true if the file contains the "stop generation" comment and must not be regenerated
+	 */
+	public boolean isStopGeneration() {
+		return stopGeneration;
+	}
+
+	/**
+	 * @return true if the file contains the "end of generated code" comment, the content after this line must be kept
+	 */
+	public boolean hasUserContent() {
+		return userContentOffset != -1;
+	}
+
+	/**
+	 * @return true if the file existed when analysed
+	 */
+	public boolean exists() {
+		return exists;
+	}
+
+	/**
+	 * @return content of the file when analysed (not copied, must not be modified), null if it didn't exist or if it is not kept
+	 */
+	public byte[] getContent() {
+		return content;
+	}
+
+	/**
+	 * @return offset in bytes of the user content (line following the end of generated code comment), -1 if none
+	 */
+	public int getUserContentOffset() {
+		return userContentOffset;
+	}
+
+	/**
+	 * User content following the end of generated code line, with line breaks normalized to "\n" and without the last line break.
+	 * @return user content, empty if none
+	 */
+	public String getUserContent() {
+		String decodedContent;
+		if(userContent != null) {
+			decodedContent = new String(userContent, StandardCharsets.UTF_8);
+		} else if(userContentOffset == -1 || userContentOffset >= content.length) {
+			return "";
+		} else {
+			decodedContent = new String(content, userContentOffset, content.length - userContentOffset, StandardCharsets.UTF_8);
+		}
+
+		if(decodedContent.indexOf('\r') != -1) {
+			decodedContent = decodedContent.replace("\r\n", "\n").replace('\r', '\n');
+		}
+		if(decodedContent.endsWith("\n")) {
+			decodedContent = decodedContent.substring(0, decodedContent.length() - 1);
+		}
+		return decodedContent;
+	}
+
+	private static byte[] read(Path filePath) throws IOException {
+		try(FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+			long size = channel.size();
+			if(size > Integer.MAX_VALUE) {
+				throw new MdaGeneratorException("File too big to be analysed : " + filePath);
+			}
+
+			ByteBuffer buffer = ByteBuffer.allocate((int) size);
+			while(buffer.hasRemaining() && channel.read(buffer) != -1) {
+				// Read until the end of the file
+			}
+			if(buffer.hasRemaining()) {
+				byte[] content = new byte[buffer.position()];
+				System.arraycopy(buffer.array(), 0, content, 0, content.length);
+				return content;
+			}
+			return buffer.array();
+		}
+	}
+
+	private static boolean matches(byte[] content, int offset, byte[] expected) {
+		if(offset + expected.length > content.length || content[offset] != expected[0]) {
+			return false;
+		}
+		for(int idx = 1; idx < expected.length; idx++) {
+			if(content[offset + idx] != expected[idx]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Search of a sequence of bytes in bytes given one by one (Knuth-Morris-Pratt)
+	 */
+	private static class BytesMatcher {
+		private final byte[] expected;
+		/** Length of the longest proper prefix of the expected bytes which is also a suffix, by matched length */
+		private final int[] fallbacks;
+		private int matched = 0;
+
+		private BytesMatcher(byte[] expected) {
+			this.expected = expected;
+			fallbacks = new int[expected.length];
+			int length = 0;
+			for(int idx = 1; idx < expected.length; idx++) {
+				while(length > 0 && expected[idx] != expected[length]) {
+					length = fallbacks[length - 1];
+				}
+				if(expected[idx] == expected[length]) {
+					length++;
+				}
+				fallbacks[idx] = length;
+			}
+		}
+
+		/**
+		 * @param current next byte
+		 * @return true if the expected bytes end with this byte
+		 */
+		private boolean next(byte current) {
+			while(matched > 0 && expected[matched] != current) {
+				matched = fallbacks[matched - 1];
+			}
+			if(expected[matched] == current) {
+				matched++;
+			}
+			if(matched == expected.length) {
+				matched = fallbacks[matched - 1];
+				return true;
+			}
+			return false;
+		}
+	}
+
+	private static int nextLineOffset(byte[] content, int offset) {
+		for(int idx = offset; idx < content.length; idx++) {
+			if(content[idx] == '\n') {
+				return idx + 1;
+			}
+			if(content[idx] == '\r') {
+				return idx + 1 < content.length && content[idx + 1] == '\n' ? idx + 2 : idx + 1;
+			}
+		}
+		return content.length;
+	}
+}
@@ -12,6 +12,8 @@ import mda.generator.exceptions.MdaGeneratorException;
 
 /**
  * Util to compute FK and PK names.
+ * Functions without state : the writers use the {@link NamingContext} of the generation, which holds the sequence prefix and memoises the names
+ * (only the deprecated methods without prefix use a default context, shared by the JVM).
  *
  * @author Fabien Crapart
  *
@@ -19,16 +21,28 @@ import mda.generator.exceptions.MdaGeneratorException;
 public class NamesComputingUtil {
 	/** Default prefix for sql sequence name */
 	public static final String DEFAULT_SEQUENCE_PREFIX ="SEQ_";
-	/** Actual sql sequence name prefix */
-	private static String sequencePrefix = DEFAULT_SEQUENCE_PREFIX;
+	/** Context of the deprecated static methods, shared by all the generations of the JVM */
+	private static volatile NamingContext defaultNamingContext = new NamingContext();
 
 
 	/**
-	 * Compute sequence name for a table with unique PK
+	 * Compute sequence name for a table with unique PK, with the prefix of the default context
 	 * @param umlClass
 	 * @return Sequence name
+	 * @deprecated the sequence prefix is global to the JVM, use the {@link NamingContext} of the generation
 	 */
+	@Deprecated
 	public static String computeSequenceName(UmlClass umlClass) {
+		return defaultNamingContext.computeSequenceName(umlClass);
+	}
+
+	/**
+	 * Compute sequence name for a table with unique PK
+	 * @param sequencePrefix prefix of the sequence name
+	 * @param umlClass
+	 * @return Sequence name
+	 */
+	public static String computeSequenceName(String sequencePrefix, UmlClass umlClass) {
 		return sequencePrefix + umlClass.getName().toUpperCase();
 	}
 
@@ -110,15 +124,15 @@ public class NamesComputingUtil {
 	}
 
 	/**
-	 * Change sequence prefix, default prefix is SEQ_
+	 * Change sequence prefix of the default context, default prefix is SEQ_
 	 * @param newPrefix new value for prefix
-	 * @return
+	 * @deprecated the sequence prefix is global to the JVM, give a {@link NamingContext} with the prefix to the writers configuration
 	 */
+	@Deprecated
 	public static void changeSequencePrefix(String newPrefix) {
-		sequencePrefix = newPrefix;
+		defaultNamingContext = new NamingContext(newPrefix);
 	}
 
-
 	/**
 	 * Convert a "snake case" name in "camel case name".
 	 * If there is no "_" in the original name, we just capitalize.
@@ -0,0 +1,92 @@
+package mda.generator.writers;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import mda.generator.beans.UmlAssociation;
+import mda.generator.beans.UmlClass;
+
+/**
+ * Names computed for one generation (sequence, PK and FK names), given to the java and sql writers by their configuration.
+ *
+ * Each generation has its own context (and its own sequence prefix), so several generations can run at the same time in the JVM.
+ * Names are computed once per class or association (the model is frozen once read) and can be shared by the writers threads.
+ *
+ * @author Fabien Crapart
+ */
+public class NamingContext {
+	/** Sql sequence name prefix */
+	private final String sequencePrefix;
+
+	private final Map<UmlClass, String> sequenceNames = new ConcurrentHashMap<>();
+	private final Map<UmlClass, String> columnPkNames = new ConcurrentHashMap<>();
+	private final Map<UmlClass, String> pkSqlNames = new ConcurrentHashMap<>();
+	private final Map<UmlAssociation, String> columnFkNames = new ConcurrentHashMap<>();
+	private final Map<UmlAssociation, String> fkSqlNames = new ConcurrentHashMap<>();
+
+	/**
+	 * Context with the default sequence prefix (SEQ_)
+	 */
+	public NamingContext() {
+		this(NamesComputingUtil.DEFAULT_SEQUENCE_PREFIX);
+	}
+
+	/**
+	 * @param sequencePrefix prefix of the sql sequences names, null for the default prefix (SEQ_)
+	 */
+	public NamingContext(String sequencePrefix) {
+		this.sequencePrefix = sequencePrefix != null ? sequencePrefix : NamesComputingUtil.DEFAULT_SEQUENCE_PREFIX;
+	}
+
+	/**
+	 * @return the sequencePrefix
+	 */
+	public String getSequencePrefix() {
+		return sequencePrefix;
+	}
+
+	/**
+	 * @param umlClass class with a single PK
+	 * @return Sequence name
+	 * @see NamesComputingUtil#computeSequenceName(String, UmlClass)
+	 */
+	public String computeSequenceName(UmlClass umlClass) {
+		return sequenceNames.computeIfAbsent(umlClass, key -> NamesComputingUtil.computeSequenceName(sequencePrefix, key));
+	}
+
+	/**
+	 * @param umlAssociation association
+	 * @return FK column name
+	 * @see NamesComputingUtil#computeColumnFkName(UmlAssociation)
+	 */
+	public String computeColumnFkName(UmlAssociation umlAssociation) {
+		return columnFkNames.computeIfAbsent(umlAssociation, NamesComputingUtil::computeColumnFkName);
+	}
+
+	/**
+	 * @param umlClass class
+	 * @return PK column name
+	 * @see NamesComputingUtil#computeColumnPkName(UmlClass)
+	 */
+	public String computeColumnPkName(UmlClass umlClass) {
+		return columnPkNames.computeIfAbsent(umlClass, NamesComputingUtil::computeColumnPkName);
+	}
+
+	/**
+	 * @param umlAssociation association
+	 * @return FK name for SQL
+	 * @see NamesComputingUtil#computeFkSqlName(UmlAssociation)
+	 */
+	public String computeFkSqlName(UmlAssociation umlAssociation) {
+		return fkSqlNames.computeIfAbsent(umlAssociation, NamesComputingUtil::computeFkSqlName);
+	}
+
+	/**
+	 * @param umlClass class
+	 * @return PK name for SQL
+	 * @see NamesComputingUtil#computePkSqlName(UmlClass)
+	 */
+	public String computePkSqlName(UmlClass umlClass) {
+		return pkSqlNames.computeIfAbsent(umlClass, NamesComputingUtil::computePkSqlName);
+	}
+}
@@ -0,0 +1,272 @@
+package mda.generator.writers;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.velocity.Template;
+import org.apache.velocity.VelocityContext;
+import org.apache.velocity.app.VelocityEngine;
+import org.apache.velocity.runtime.resource.loader.ClasspathResourceLoader;
+
+import mda.generator.exceptions.MdaGeneratorException;
+import mda.generator.metrics.GenerationPhase;
+import mda.generator.metrics.GenerationReport;
+import mda.generator.metrics.PhaseMeasure;
+
+/**
+ * Template engine used by the writers.
+ *
+ * Holds one VelocityEngine per template directory and one parsed Template per template path,
+ * a template is parsed again only when its file is modified. Can be shared between threads.
+ *
+ * @author Fabien Crapart
+ */
+public class VelocityTemplateCache {
+	private static final Logger LOG = LogManager.getLogger(VelocityTemplateCache.class);
+
+	/** Size of the buffer used when merging directly into a file */
+	private static final int STREAM_BUFFER_SIZE = 8192;
+	/** Suffix of temporary files written in streaming mode */
+	private static final String TEMP_FILE_SUFFIX = ".tmp";
+
+	/** Engines by template directory */
+	private final ConcurrentMap<Path, VelocityEngine> engines = new ConcurrentHashMap<>();
+	/** Parsed templates by template path */
+	private final ConcurrentMap<Path, CachedTemplate> templates = new ConcurrentHashMap<>();
+	/** Detail of the rendering measures, by template path */
+	private final ConcurrentMap<Path, String> measureDetails = new ConcurrentHashMap<>();
+
+	/**
+	 * Get the parsed template, parse it if not in cache or if the file has been modified since last parsing.
+	 * @param templatePath path of the template file
+	 * @return parsed template
+	 */
+	public Template getTemplate(Path templatePath) {
+		Path key = templatePath.toAbsolutePath().normalize();
+		FileTime lastModified = getLastModifiedTime(key);
+
+		CachedTemplate cached = templates.get(key);
+		if(cached == null || !cached.lastModified.equals(lastModified)) {
+			cached = templates.compute(key, (path, previous) -> {
+				if(previous != null && previous.lastModified.equals(lastModified)) {
+					return previous;
+				}
+				return new CachedTemplate(parseTemplate(path), lastModified);
+			});
+		}
+
+		return cached.template;
+	}
+
+	/**
+	 * Merge the template with the context into a string.
+	 * @param templatePath path of the template file
+	 * @param context velocity context
+	 * @return content created
+	 */
+	public String merge(Path templatePath, VelocityContext context) {
+		StringWriter sw = new StringWriter();
+		getTemplate(templatePath).merge(context, sw);
+		return sw.toString();
+	}
+
+	/**
+	 * Ecriture d'un contenu avec un template velocity, le fichier n'est pas réécrit si son contenu est identique
+	 * @param filePath
+	 * @param templatePath
+	 * @param context
+	 * @param charset
+	 * @return true if the file has been written, false if it already had the same content
+	 * @throws IOException
+	 */
+	public boolean writeFileFromTemplate(Path filePath, Path templatePath, VelocityContext context, Charset charset) throws IOException {
+		return writeFileFromTemplate(filePath, templatePath, context, charset, new GenerationReport());
+	}
+
+	/**
+	 * Ecriture d'un contenu avec un template velocity, le fichier n'est pas réécrit si son contenu est identique.
+	 * Le rendu (par template) et l'écriture sont mesurés dans le rapport.
+	 * @param filePath
+	 * @param templatePath
+	 * @param context
+	 * @param charset
+	 * @param report report receiving the measures and the bytes written
+	 * @return true if the file has been written, false if it already had the same content
+	 * @throws IOException
+	 */
+	public boolean writeFileFromTemplate(Path filePath, Path templatePath, VelocityContext context, Charset charset, GenerationReport report) throws IOException {
+		byte[] content;
+		PhaseMeasure rendering = report.measure(GenerationPhase.TEMPLATE_RENDERING, getMeasureDetail(templatePath));
+		try {
+			content = merge(templatePath, context).getBytes(charset);
+		} finally {
+			rendering.close();
+		}
+
+		PhaseMeasure fileIo = report.measure(GenerationPhase.FILE_IO);
+		try {
+			if(VelocityUtils.writeIfChanged(filePath, content, context)) {
+				LOG.debug("Creating " + filePath);
+				report.bytesWritten(content.length);
+				return true;
+			}
+		} finally {
+			fileIo.close();
+		}
+		LOG.debug(filePath + " is unchanged");
+		return false;
+	}
+
+	/**
+	 * Ecriture d'un contenu avec un template velocity, en flux directement dans un fichier temporaire (mémoire constante quelle que soit la taille du fichier).
+	 * Le fichier temporaire remplace le fichier final par un déplacement atomique, sauf si le contenu est identique.
+	 * @param filePath
+	 * @param templatePath
+	 * @param context
+	 * @param charset
+	 * @return true if the file has been written, false if it already had the same content
+	 * @throws IOException
+	 */
+	public boolean streamFileFromTemplate(Path filePath, Path templatePath, VelocityContext context, Charset charset) throws IOException {
+		return streamFileFromTemplate(filePath, templatePath, context, charset, new GenerationReport());
+	}
+
+	/**
+	 * Ecriture d'un contenu avec un template velocity, en flux directement dans un fichier temporaire.
+	 * Le rendu (par template, écriture du fichier temporaire comprise) et le remplacement du fichier final sont mesurés dans le rapport.
+	 * @param filePath
+	 * @param templatePath
+	 * @param context
+	 * @param charset
+	 * @param report report receiving the measures and the bytes written
+	 * @return true if the file has been written, false if it already had the same content
+	 * @throws IOException
+	 */
+	public boolean streamFileFromTemplate(Path filePath, Path templatePath, VelocityContext context, Charset charset, GenerationReport report) throws IOException {
+		Path tempFilePath = filePath.resolveSibling("." + filePath.getFileName() + TEMP_FILE_SUFFIX);
+
+		try {
+			PhaseMeasure rendering = report.measure(GenerationPhase.TEMPLATE_RENDERING, getMeasureDetail(templatePath));
+			try {
+				Template template = getTemplate(templatePath);
+				// Same replacements as String.getBytes(charset) to produce the same bytes
+				CharsetEncoder encoder = charset.newEncoder()
+						.onMalformedInput(CodingErrorAction.REPLACE)
+						.onUnmappableCharacter(CodingErrorAction.REPLACE);
+				try(FileChannel channel = FileChannel.open(tempFilePath, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+						Writer writer = new BufferedWriter(Channels.newWriter(channel, encoder, STREAM_BUFFER_SIZE), STREAM_BUFFER_SIZE)) {
+					template.merge(context, writer);
+				}
+			} finally {
+				rendering.close();
+			}
+
+			PhaseMeasure fileIo = report.measure(GenerationPhase.FILE_IO);
+			try {
+				long size = Files.size(tempFilePath);
+				if(VelocityUtils.moveIfChanged(tempFilePath, filePath, context)) {
+					LOG.debug("Creating " + filePath);
+					report.bytesWritten(size);
+					return true;
+				}
+			} finally {
+				fileIo.close();
+			}
+			LOG.debug(filePath + " is unchanged");
+			return false;
+		} finally {
+			Files.deleteIfExists(tempFilePath);
+		}
+	}
+
+	/**
+	 * @param templatePath path of the template file
+	 * @return file name of the template, computed once
+	 */
+	private String getMeasureDetail(Path templatePath) {
+		String detail = measureDetails.get(templatePath);
+		return detail != null ? detail : measureDetails.computeIfAbsent(templatePath, path -> path.getFileName().toString());
+	}
+
+	/**
+	 * Remove all the parsed templates from the cache.
+	 */
+	public void clear() {
+		templates.clear();
+	}
+
+	private Template parseTemplate(Path templatePath) {
+		VelocityEngine engine = engines.computeIfAbsent(templatePath.getParent(), VelocityTemplateCache::createEngine);
+		try{
+			LOG.debug("Parsing template " + templatePath);
+			if(isInJar(templatePath)) {
+				// Resource name in the classpath
+				return engine.getTemplate(StringUtils.removeStart(templatePath.toString(), "/"));
+			}
+			return engine.getTemplate(templatePath.getFileName().toString());
+		}catch( Exception e ){
+			throw new MdaGeneratorException("Error while writing from template " + templatePath,e);
+		}
+	}
+
+	private static VelocityEngine createEngine(Path templateDirectory) {
+		Properties prop = new Properties();
+		if(isInJar(templateDirectory)) {
+			// Default templates of the generator read from its jar
+			prop.setProperty("resource.loader", "class");
+			prop.setProperty("class.resource.loader.class", ClasspathResourceLoader.class.getName());
+		} else {
+			prop.setProperty("file.resource.loader.path", templateDirectory.toString());
+		}
+		VelocityEngine engine = new VelocityEngine(prop);
+		engine.init();
+		return engine;
+	}
+
+	/**
+	 * @param path template or template directory
+	 * @return true if the path is in a jar (classpath resource), not on the file system
+	 */
+	private static boolean isInJar(Path path) {
+		return path.getFileSystem() != FileSystems.getDefault();
+	}
+
+	private static FileTime getLastModifiedTime(Path templatePath) {
+		try {
+			return Files.getLastModifiedTime(templatePath);
+		} catch (IOException e) {
+			throw new MdaGeneratorException("Error while writing from template " + templatePath, e);
+		}
+	}
+
+	/**
+	 * Parsed template with the modification date of its file
+	 */
+	private static class CachedTemplate {
+		private final Template template;
+		private final FileTime lastModified;
+
+		private CachedTemplate(Template template, FileTime lastModified) {
+			this.template = template;
+			this.lastModified = lastModified;
+		}
+	}
+}
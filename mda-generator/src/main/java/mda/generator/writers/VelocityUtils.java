@@ -1,19 +1,12 @@
 package mda.generator.writers;
 
 import java.io.IOException;
-import java.io.StringWriter;
 import java.nio.charset.Charset;
-import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.Properties;
 
-import org.apache.logging.log4j.LogManager;
-import org.apache.logging.log4j.Logger;
-import org.apache.velocity.Template;
 import org.apache.velocity.VelocityContext;
-import org.apache.velocity.app.Velocity;
 
-import mda.generator.exceptions.MdaGeneratorException;
+import mda.generator.utils.file.FileUtils;
 
 /**
  * 
@@ -21,47 +14,87 @@ import mda.generator.exceptions.MdaGeneratorException;
  *
  */
 public class VelocityUtils {
-	private static Logger LOG = LogManager.getLogger(VelocityUtils.class);
+	/** Templates cache shared by static calls */
+	private static final VelocityTemplateCache TEMPLATE_CACHE = new VelocityTemplateCache();
+
+	/** Key of the analysed existing file in the velocity context */
+	public static final String EXISTING_FILE = "existing_file";
 
 	/**
-	 * Analyse already existing file and add "keep_content" and "content_to_keep" inside velocity context
+	 * Analyse already existing file and add "keep_content" and "content_to_keep" inside velocity context.
+	 * The analysis is also added as "existing_file" : the file is then compared with its new content without being read again.
 	 * 
 	 * @return false if the file shouldn't be regenerated
 	 * @throws IOException 
 	 */
 	public static boolean analyseFileAndCompleteContext(Path filePath,String OneTimeGeneration, String endOfGenerated, VelocityContext context ) throws IOException {
-		StringBuilder contentToKeep = new StringBuilder();
-		boolean doNotRegenerate = false;
-		boolean keepContent = false;
-		boolean lineAdded = false;
-		if(Files.exists(filePath)) {
-			for(String line : Files.readAllLines(filePath)) {
-				// No generation for this one
-				if(OneTimeGeneration!= null && line.contains(OneTimeGeneration)) {
-					doNotRegenerate =true;
-					break;
-				}
-				// We keep user edited content
-				if(keepContent) {
-					if(lineAdded) {
-						contentToKeep.append("\n");
-					}else {
-						lineAdded=true;
-					}
-					contentToKeep.append(line);
-				}	
+		return analyseFileAndCompleteContext(filePath, OneTimeGeneration, endOfGenerated, context, false);
+	}
 
-				// Comment to detect user content (after this line)
-				if(endOfGenerated!=null && line.contains(endOfGenerated)) {
-					keepContent = true;
-				}		
-			}
-		}			
-		
-		context.put( "keep_content", keepContent);
-		context.put( "content_to_keep", contentToKeep.toString());
+	/**
+	 * Analyse already existing file and add "keep_content" and "content_to_keep" inside velocity context.
+	 * With a streamed output, the content of the file is not kept : the new file is compared with it block by block.
+	 *
+	 * @param streamingOutput true if the new content is streamed to a temporary file
+	 * @return false if the file shouldn't be regenerated
+	 * @throws IOException
+	 */
+	public static boolean analyseFileAndCompleteContext(Path filePath,String OneTimeGeneration, String endOfGenerated, VelocityContext context, boolean streamingOutput) throws IOException {
+		GeneratedFileScanner scanner = streamingOutput ? GeneratedFileScanner.scanStreamed(filePath, OneTimeGeneration, endOfGenerated)
+				: GeneratedFileScanner.scan(filePath, OneTimeGeneration, endOfGenerated);
+		// No generation for this one
+		if(scanner.isStopGeneration()) {
+			return false;
+		}
+
+		// We keep user edited content (after the end of generated code line)
+		context.put( "keep_content", scanner.hasUserContent());
+		context.put( "content_to_keep", scanner.getUserContent());
+		context.put( EXISTING_FILE, scanner);
 		
-		return !doNotRegenerate;
+		return true;
+	}
+
+	/**
+	 * Write the content in the file, unless the file already contains exactly this content.
+	 * The file analysed for this context is not read again.
+	 * @param filePath file to write
+	 * @param content bytes to write
+	 * @param context velocity context of the file
+	 * @return true if the file has been written, false if it was already up to date
+	 * @throws IOException
+	 */
+	public static boolean writeIfChanged(Path filePath, byte[] content, VelocityContext context) throws IOException {
+		Object existingFile = context.get(EXISTING_FILE);
+		if(existingFile instanceof GeneratedFileScanner && !hasContentToRead((GeneratedFileScanner) existingFile)) {
+			return FileUtils.writeIfChanged(filePath, content, ((GeneratedFileScanner) existingFile).getContent());
+		}
+		return FileUtils.writeIfChanged(filePath, content);
+	}
+
+	/**
+	 * Move a temporary file to its final place, unless the final file already contains exactly the same bytes.
+	 * The file analysed for this context is not read again if its content has been kept, otherwise both files are compared block by block.
+	 * @param tempFilePath temporary file, in the same directory as the final file
+	 * @param filePath final file
+	 * @param context velocity context of the file
+	 * @return true if the file has been written, false if it was already up to date
+	 * @throws IOException
+	 */
+	public static boolean moveIfChanged(Path tempFilePath, Path filePath, VelocityContext context) throws IOException {
+		Object existingFile = context.get(EXISTING_FILE);
+		if(existingFile instanceof GeneratedFileScanner && !hasContentToRead((GeneratedFileScanner) existingFile)) {
+			return FileUtils.moveIfChanged(tempFilePath, filePath, ((GeneratedFileScanner) existingFile).getContent());
+		}
+		return FileUtils.moveIfChanged(tempFilePath, filePath);
+	}
+
+	/**
+	 * @param existingFile analysed file
+	 * @return true if the file exists but its content has not been kept by the analysis
+	 */
+	private static boolean hasContentToRead(GeneratedFileScanner existingFile) {
+		return existingFile.exists() && existingFile.getContent() == null;
 	}
 
 	/**
@@ -70,21 +103,10 @@ public class VelocityUtils {
 	 * @param templatePath
 	 * @param context
 	 * @throws IOException
+	 * @deprecated use a {@link VelocityTemplateCache} owned by the writer
 	 */
+	@Deprecated
 	public static void writeFileFromTemplate(Path filePath, Path templatePath, VelocityContext context, Charset charset) throws IOException {
-		Properties prop = new Properties();
-		prop.setProperty("file.resource.loader.path", templatePath.getParent().toString());
-		Velocity.init(prop);
-
-		Template template = null;
-		try{
-			template = Velocity.getTemplate(templatePath.getFileName().toString());
-		}catch( Exception e ){ 
-			throw new MdaGeneratorException("Error while writing from template " + templatePath,e);
-		}
-		StringWriter sw = new StringWriter();
-		template.merge(context,sw);		
-		LOG.debug("Creating " + filePath);				
-		Files.write(filePath, sw.toString().getBytes(charset));	
+		TEMPLATE_CACHE.writeFileFromTemplate(filePath, templatePath, context, charset);
 	}
 }
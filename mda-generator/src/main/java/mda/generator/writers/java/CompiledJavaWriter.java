@@ -0,0 +1,136 @@
+package mda.generator.writers.java;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.velocity.VelocityContext;
+
+import mda.generator.exceptions.MdaGeneratorException;
+import mda.generator.metrics.GenerationPhase;
+import mda.generator.metrics.PhaseMeasure;
+import mda.generator.utils.file.PathUtils;
+import mda.generator.writers.VelocityTemplateCache;
+import mda.generator.writers.VelocityUtils;
+import mda.generator.writers.java.codepart.JavaClass;
+
+/**
+ * Java writer emitting entities, daos and package-info files directly in java (see {@link JavaSourceEmitter}) when the default templates are configured,
+ * with the same output as Velocity. Other templates are still merged with Velocity.
+ *
+ * Files are always built in memory, in a buffer reused by each thread.
+ *
+ * @author Fabien Crapart
+ */
+public class CompiledJavaWriter extends JavaWriter {
+	/** Logger */
+	private static final Logger LOG = LogManager.getLogger(CompiledJavaWriter.class);
+
+	/** Default templates emitted in java */
+	private enum DefaultTemplate {
+		ENTITY, DAO, PACKAGE_INFO
+	}
+
+	/** Default templates by path */
+	private final Map<Path, DefaultTemplate> defaultTemplates = new HashMap<>();
+	/** Emitters by template path, with the line separator of the template */
+	private final Map<Path, JavaSourceEmitter> emitters = new ConcurrentHashMap<>();
+	/** Detail of the rendering measures, by template path */
+	private final Map<Path, String> measureDetails = new ConcurrentHashMap<>();
+	/** Buffer reused for each file written by a thread */
+	private final ThreadLocal<StringBuilder> buffers = ThreadLocal.withInitial(() -> new StringBuilder(16 * 1024));
+
+	/**
+	 * Java writer with its own templates cache (for non default templates)
+	 */
+	public CompiledJavaWriter() {
+		this(new VelocityTemplateCache());
+	}
+
+	/**
+	 * @param templateCache templates cache to use for non default templates
+	 */
+	public CompiledJavaWriter(VelocityTemplateCache templateCache) {
+		super(templateCache);
+		defaultTemplates.put(PathUtils.getPathForClassPathAndFs("/templates/entity.vm"), DefaultTemplate.ENTITY);
+		defaultTemplates.put(PathUtils.getPathForClassPathAndFs("/templates/entity_plan.vm"), DefaultTemplate.ENTITY);
+		defaultTemplates.put(PathUtils.getPathForClassPathAndFs("/templates/dao_spring.vm"), DefaultTemplate.DAO);
+		defaultTemplates.put(PathUtils.getPathForClassPathAndFs("/templates/package-info.vm"), DefaultTemplate.PACKAGE_INFO);
+	}
+
+	/**
+	 * Emit the file in java for the default templates, merge it with Velocity for the others.
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	protected boolean writeFromTemplate(Path filePath, Path templatePath, VelocityContext context) throws IOException {
+		DefaultTemplate defaultTemplate = defaultTemplates.get(templatePath.toAbsolutePath());
+		if(defaultTemplate == null) {
+			return super.writeFromTemplate(filePath, templatePath, context);
+		}
+
+		JavaWriterConfig config = getConfig();
+		byte[] content;
+		String measureDetail = measureDetails.get(templatePath);
+		if(measureDetail == null) {
+			measureDetail = measureDetails.computeIfAbsent(templatePath, path -> path.getFileName() + " (java)");
+		}
+		PhaseMeasure rendering = config.getReport().measure(GenerationPhase.TEMPLATE_RENDERING, measureDetail);
+		try {
+			JavaSourceEmitter emitter = emitters.computeIfAbsent(templatePath, path -> new JavaSourceEmitter(readLineSeparator(path)));
+			StringBuilder sb = buffers.get();
+			sb.setLength(0);
+			switch(defaultTemplate) {
+			case ENTITY:
+				emitter.appendEntity(sb, (JavaClass) context.get("javaClass"), (String) context.get("end_of_generated"),
+						Boolean.TRUE.equals(context.get("keep_content")), (String) context.get("content_to_keep"));
+				break;
+			case DAO:
+				emitter.appendDao(sb, (String) context.get("daoPackageName"), (JavaClass) context.get("javaClass"));
+				break;
+			default:
+				emitter.appendPackageInfo(sb, (String) context.get("packageName"), (List<String>) context.get("commentsList"));
+			}
+			content = sb.toString().getBytes(config.getCharset());
+		} finally {
+			rendering.close();
+		}
+
+		PhaseMeasure fileIo = config.getReport().measure(GenerationPhase.FILE_IO);
+		try {
+			if(VelocityUtils.writeIfChanged(filePath, content, context)) {
+				LOG.debug("Creating " + filePath);
+				config.getReport().bytesWritten(content.length);
+				return true;
+			}
+		} finally {
+			fileIo.close();
+		}
+		LOG.debug(filePath + " is unchanged");
+		return false;
+	}
+
+	/**
+	 * @param templatePath template file
+	 * @return line separator of the first line of the template ("\r\n" or "\n")
+	 */
+	private static String readLineSeparator(Path templatePath) {
+		try {
+			byte[] template = Files.readAllBytes(templatePath);
+			for(int idx = 0; idx < template.length; idx++) {
+				if(template[idx] == '\n') {
+					return idx > 0 && template[idx - 1] == '\r' ? "\r\n" : "\n";
+				}
+			}
+			return "\n";
+		} catch (IOException e) {
+			throw new MdaGeneratorException("Error while reading template " + templatePath, e);
+		}
+	}
+}
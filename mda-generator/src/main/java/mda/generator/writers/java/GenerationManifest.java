@@ -0,0 +1,236 @@
+package mda.generator.writers.java;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import mda.generator.beans.UmlAssociation;
+import mda.generator.beans.UmlAttribute;
+import mda.generator.beans.UmlClass;
+import mda.generator.beans.UmlDomain;
+import mda.generator.converters.type.ResolvedTypeCache;
+import mda.generator.converters.type.TypeConverterInterface;
+import mda.generator.exceptions.MdaGeneratorException;
+import mda.generator.writers.NamingContext;
+import mda.generator.writers.java.codepart.JavaClass;
+
+/**
+ * Manifest of a java generation, stored in the java output directory.
+ *
+ * Holds a fingerprint of the generator settings (templates, names, converters) and one fingerprint per generated class
+ * (attributes, domains, associations, comments, annotations and the primary keys of associated classes).
+ * A class whose fingerprint and settings are the same as in the previous run doesn't need to be rendered again.
+ *
+ * @author Fabien Crapart
+ */
+public class GenerationManifest {
+	private static final Logger LOG = LogManager.getLogger(GenerationManifest.class);
+
+	/** Name of the manifest file in the java output directory */
+	public static final String MANIFEST_FILE_NAME = "mda-generator.manifest";
+
+	/** Version of the fingerprints, to change when their content changes */
+	private static final String VERSION = "1";
+	private static final String SETTINGS_KEY = "settings";
+	private static final String CLASS_KEY_PREFIX = "class.";
+	private static final char SEPARATOR = '\u001F';
+
+	private final Path manifestPath;
+	private final Map<String, String> previousFingerprints;
+	private final Map<String, String> fingerprints = new TreeMap<>();
+
+	/**
+	 * Load the manifest of the previous generation (empty if the file doesn't exist or can't be read).
+	 * @param manifestPath path of the manifest file
+	 * @param settingsFingerprint fingerprint of the settings of this generation
+	 */
+	public GenerationManifest(Path manifestPath, String settingsFingerprint) {
+		this.manifestPath = manifestPath;
+		previousFingerprints = read(manifestPath);
+		fingerprints.put(SETTINGS_KEY, settingsFingerprint);
+	}
+
+	/**
+	 * Register the fingerprint of a class for this generation and compare it with the previous one.
+	 * @param javaClass generated class
+	 * @param fingerprint fingerprint of the class
+	 * @return true if the settings and the class fingerprint are the same as in the previous generation
+	 */
+	public boolean isUpToDate(JavaClass javaClass, String fingerprint) {
+		String key = CLASS_KEY_PREFIX + javaClass.getPackageName() + "." + javaClass.getName();
+		fingerprints.put(key, fingerprint);
+
+		return fingerprints.get(SETTINGS_KEY).equals(previousFingerprints.get(SETTINGS_KEY))
+				&& fingerprint.equals(previousFingerprints.get(key));
+	}
+
+	/**
+	 * Write the fingerprints of this generation in the manifest file.
+	 * @throws IOException
+	 */
+	public void save() throws IOException {
+		try(BufferedWriter writer = Files.newBufferedWriter(manifestPath, StandardCharsets.UTF_8)) {
+			writer.write("# Generated by mda-generator, used to regenerate only modified classes. Delete it to regenerate all classes.");
+			writer.newLine();
+			for(Map.Entry<String, String> entry : fingerprints.entrySet()) {
+				writer.write(entry.getKey() + "=" + entry.getValue());
+				writer.newLine();
+			}
+		}
+	}
+
+	/**
+	 * Fingerprint of the settings used for all the classes.
+	 * @param config writer config
+	 * @return fingerprint
+	 */
+	public static String computeSettingsFingerprint(JavaWriterConfig config) {
+		MessageDigest digest = newDigest();
+		update(digest, VERSION);
+		update(digest, config.getEntities());
+		update(digest, config.getDaos());
+		update(digest, config.getCharset().name());
+		// The converter used by the writer is a cache of the configured one
+		TypeConverterInterface converter = config.getConverter();
+		if(converter instanceof ResolvedTypeCache) {
+			converter = ((ResolvedTypeCache) converter).getConverter();
+		}
+		update(digest, converter.getClass().getName());
+		update(digest, config.getJavaNameConverter().getClass().getName());
+		for(Path template : new Path[] {config.getPathToEntitiesTemplate(), config.getPathToDaosTemplate()}) {
+			update(digest, template, "template");
+		}
+		if(config.getPathToTypeMapping() != null) {
+			update(digest, config.getPathToTypeMapping(), "types mapping");
+		}
+		return toHex(digest.digest());
+	}
+
+	/**
+	 * Fingerprint of a class : everything used to render the class and its dao.
+	 * @param umlClass class
+	 * @param annotations user defined annotations of the class (can be null)
+	 * @param namingContext names of the generation
+	 * @return fingerprint
+	 */
+	public static String computeClassFingerprint(UmlClass umlClass, List<String> annotations, NamingContext namingContext) {
+		MessageDigest digest = newDigest();
+		update(digest, umlClass.getName());
+		update(digest, umlClass.getComment());
+		update(digest, umlClass.getXmiPackage() == null ? null : umlClass.getXmiPackage().getName());
+		update(digest, namingContext.computeSequenceName(umlClass));
+		if(annotations != null) {
+			for(String annotation : annotations) {
+				update(digest, annotation);
+			}
+		}
+
+		for(UmlAttribute attribute : umlClass.getAttributes()) {
+			updateAttribute(digest, attribute);
+		}
+
+		for(UmlAssociation association : umlClass.getAssociations()) {
+			updateAssociation(digest, association);
+			updateAssociation(digest, association.getOpposite());
+
+			// Associated class is used through its name and its primary keys
+			UmlClass target = association.getTarget();
+			update(digest, target.getName());
+			update(digest, target.getXmiPackage() == null ? null : target.getXmiPackage().getName());
+			for(UmlAttribute pk : target.getPKs()) {
+				updateAttribute(digest, pk);
+			}
+		}
+
+		return toHex(digest.digest());
+	}
+
+	private static void updateAttribute(MessageDigest digest, UmlAttribute attribute) {
+		update(digest, attribute.getName());
+		update(digest, attribute.getComment());
+		update(digest, String.valueOf(attribute.isPK()));
+		update(digest, String.valueOf(attribute.getIsNotNull()));
+		update(digest, String.valueOf(attribute.isReadonly()));
+		UmlDomain domain = attribute.getDomain();
+		if(domain != null) {
+			update(digest, domain.getName());
+			update(digest, domain.getTypeName());
+			update(digest, domain.getMaxLength());
+			update(digest, domain.getPrecision());
+		}
+	}
+
+	private static void updateAssociation(MessageDigest digest, UmlAssociation association) {
+		if(association != null) {
+			update(digest, association.getName());
+			update(digest, association.getSource().getName());
+			update(digest, association.getTarget().getName());
+			update(digest, association.getFkName());
+			update(digest, association.getFkObjectName());
+			update(digest, association.isTargetMultiple() + ";" + association.isTargetNullable() + ";" + association.isTargetNavigable() + ";" + association.isTargetOwned());
+		}
+	}
+
+	private static void update(MessageDigest digest, String value) {
+		if(value != null) {
+			digest.update(value.getBytes(StandardCharsets.UTF_8));
+		}
+		digest.update((byte) SEPARATOR);
+	}
+
+	private static void update(MessageDigest digest, Path file, String description) {
+		try {
+			digest.update(Files.readAllBytes(file));
+		} catch (IOException e) {
+			throw new MdaGeneratorException("Error while reading " + description + " " + file, e);
+		}
+		digest.update((byte) SEPARATOR);
+	}
+
+	private static MessageDigest newDigest() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new MdaGeneratorException("SHA-256 not available", e);
+		}
+	}
+
+	private static String toHex(byte[] bytes) {
+		StringBuilder sb = new StringBuilder(bytes.length * 2);
+		for(byte b : bytes) {
+			sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+		}
+		return sb.toString();
+	}
+
+	private static Map<String, String> read(Path manifestPath) {
+		Map<String, String> values = new HashMap<>();
+		if(Files.exists(manifestPath)) {
+			try(BufferedReader reader = Files.newBufferedReader(manifestPath, StandardCharsets.UTF_8)) {
+				String line;
+				while((line = reader.readLine()) != null) {
+					int idx = line.indexOf('=');
+					if(!line.startsWith("#") && idx > 0) {
+						values.put(line.substring(0, idx), line.substring(idx + 1));
+					}
+				}
+			} catch (IOException e) {
+				LOG.warn("Cannot read generation manifest " + manifestPath + ", all classes will be regenerated", e);
+				values.clear();
+			}
+		}
+		return values;
+	}
+}
@@ -0,0 +1,263 @@
+package mda.generator.writers.java;
+
+import java.util.List;
+
+import mda.generator.writers.java.codepart.JavaAnnotation;
+import mda.generator.writers.java.codepart.JavaAnnotationProperty;
+import mda.generator.writers.java.codepart.JavaAttribute;
+import mda.generator.writers.java.codepart.JavaClass;
+import mda.generator.writers.java.codepart.JavaMethod;
+
+/**
+ * Java code equivalent of the default templates (entity.vm, dao_spring.vm and package-info.vm) : the same source is appended
+ * to a StringBuilder directly from the java objects, without template interpretation.
+ *
+ * Any change in the default templates must be reported here.
+ *
+ * @author Fabien Crapart
+ */
+public class JavaSourceEmitter {
+	/** Indentation of the methods comments and annotations in entity.vm */
+	private static final String METHOD_INDENT = "    ";
+
+	/** Line separator of the templates files */
+	private final String eol;
+
+	/**
+	 * @param lineSeparator line separator used in the template files (output is byte-identical only with the same separator)
+	 */
+	public JavaSourceEmitter(String lineSeparator) {
+		this.eol = lineSeparator;
+	}
+
+	/**
+	 * Same output as entity.vm (and entity_plan.vm)
+	 * @param sb destination
+	 * @param javaClass class to write, with its user defined annotations
+	 * @param endOfGenerated end of generated code comment
+	 * @param keepContent true if the user content of the existing file must be kept
+	 * @param contentToKeep user content of the existing file
+	 */
+	public void appendEntity(StringBuilder sb, JavaClass javaClass, String endOfGenerated, boolean keepContent, String contentToKeep) {
+		String name = javaClass.getName();
+
+		// Imports
+		sb.append("package ").append(javaClass.getPackageName()).append(';').append(eol);
+		sb.append(eol);
+		sb.append("import java.io.Serializable;").append(eol);
+		for(String importName : javaClass.getImportsList()) {
+			sb.append("import ").append(importName).append(';').append(eol);
+		}
+		sb.append(eol);
+
+		// Comments
+		sb.append("/**").append(eol);
+		for(String comment : javaClass.getCommentsList()) {
+			sb.append(" * ").append(comment).append(eol);
+		}
+		sb.append(" *").append(eol);
+		sb.append(" * This file has been automatically generated").append(eol);
+		sb.append(" */").append(eol);
+
+		// Annotations
+		for(JavaAnnotation annotation : javaClass.getAnnotationsList()) {
+			appendAnnotation(sb, "", annotation);
+			sb.append(eol);
+		}
+		if(javaClass.getUserDefinedAnnotations() != null) {
+			for(String annotation : javaClass.getUserDefinedAnnotations()) {
+				sb.append(annotation).append(eol);
+			}
+		}
+
+		// Declaration
+		sb.append(javaClass.getVisibilite()).append(" class ").append(name).append(" implements Serializable{").append(eol);
+		sb.append("\t/** Serial ID */").append(eol);
+		sb.append("\tprivate static final long serialVersionUID = 1L;").append(eol);
+		sb.append(eol);
+
+		// Attributes
+		if(javaClass.getPkClass() != null) {
+			sb.append("\t@EmbeddedId ").append(eol);
+			sb.append('\t').append(javaClass.getPkField().getJavaType()).append(' ').append(javaClass.getPkField().getName()).append(';').append(eol);
+		}
+		for(JavaAttribute attribute : javaClass.getAttributesList()) {
+			sb.append('\t').append(attribute.getVisibility()).append(' ').append(attribute.getJavaType()).append(' ').append(attribute.getName());
+			if(attribute.getDefaultValue() != null) {
+				sb.append(" = ").append(attribute.getDefaultValue());
+			}
+			sb.append(';').append(eol);
+		}
+		sb.append(eol);
+
+		// Methods
+		for(JavaMethod method : javaClass.getMethodsList()) {
+			appendMethod(sb, method);
+		}
+		sb.append(eol);
+
+		// hashCode
+		sb.append("\t@Override").append(eol);
+		sb.append("\tpublic int hashCode(){").append(eol);
+		sb.append("\t \t// Start with a non-zero constant. Prime is preferred").append(eol);
+		sb.append("\t    int result = 17;").append(eol);
+		sb.append('\t').append(eol);
+		sb.append("\t\t// Calculating hashcode with all \"primitives\" attributes").append(eol);
+		for(JavaAttribute attribute : javaClass.getAttributesList()) {
+			if(!"serialVersionUID".equals(attribute.getName()) && attribute.isPrimitive()) {
+				sb.append("\t\tresult = 31 * result + (").append(attribute.getName()).append(" == null? 0 : ").append(attribute.getName()).append(".hashCode());").append(eol);
+			}
+		}
+		sb.append("\t\t\t").append(eol);
+		sb.append("\t\treturn result;").append(eol);
+		sb.append("\t}").append(eol);
+		sb.append(eol);
+
+		// equals
+		sb.append("\t@Override").append(eol);
+		sb.append("\tpublic boolean equals(Object other){").append(eol);
+		sb.append("\t\t// Null object").append(eol);
+		sb.append("\t    if(other == null){").append(eol);
+		sb.append("\t    \treturn false;").append(eol);
+		sb.append("\t    }").append(eol);
+		sb.append('\t').append(eol);
+		sb.append("\t\t// Same object").append(eol);
+		sb.append("\t    if (this == other) {").append(eol);
+		sb.append("\t        return true;").append(eol);
+		sb.append("\t    }").append(eol);
+		sb.append("\t    \t").append(eol);
+		sb.append("\t\t// Wrong type").append(eol);
+		sb.append("\t    if (this.getClass() !=  other.getClass()) {").append(eol);
+		sb.append("\t        return false;").append(eol);
+		sb.append("\t    }").append(eol);
+		sb.append('\t').append(eol);
+		sb.append("\t\t// Test all \"primitives\" attributes").append(eol);
+		sb.append("\t    ").append(name).append(" other").append(name).append(" = (").append(name).append(") other;").append(eol);
+		sb.append("\t    ").append(eol);
+		sb.append("\t\treturn");
+		int count = 0;
+		for(JavaAttribute attribute : javaClass.getAttributesList()) {
+			count++;
+			if(attribute.isPrimitive()) {
+				// As in entity.vm, "&&" depends on the position of the attribute, not on the previous primitive ones
+				if(count > 1) {
+					sb.append("\t\t\t&&");
+				}
+				String attributeName = attribute.getName();
+				sb.append(" (").append(attributeName).append(" == null ?  (other").append(name).append('.').append(attributeName).append(" == null) : ")
+				.append(attributeName).append(".equals(other").append(name).append('.').append(attributeName).append("))").append(eol);
+			}
+		}
+		sb.append("\t\t;").append(eol);
+		sb.append("\t}").append(eol);
+		sb.append(eol);
+		sb.append(eol);
+		sb.append(eol);
+
+		// End of class
+		sb.append(endOfGenerated).append(eol);
+		if(keepContent) {
+			sb.append(contentToKeep);
+		} else {
+			sb.append('}');
+		}
+	}
+
+	/**
+	 * Same output as dao_spring.vm
+	 * @param sb destination
+	 * @param daoPackageName package of the dao
+	 * @param javaClass class of the dao
+	 */
+	public void appendDao(StringBuilder sb, String daoPackageName, JavaClass javaClass) {
+		String name = javaClass.getName();
+		sb.append("package ").append(daoPackageName).append(';').append(eol);
+		sb.append(eol);
+		sb.append("import org.springframework.data.repository.CrudRepository;").append(eol);
+		sb.append("import ").append(javaClass.getPackageName()).append('.').append(name).append(';').append(eol);
+		if(javaClass.getPkClass() != null) {
+			sb.append("import ").append(javaClass.getPackageName()).append('.').append(javaClass.getPkClass().getName()).append(';').append(eol);
+		}
+		sb.append(eol);
+		sb.append("/**").append(eol);
+		sb.append(" * Data Access Object for ").append(name).append(" using Spring CrudRepository interface").append(eol);
+		sb.append(" *").append(eol);
+		sb.append(" * This file has been automatically generated").append(eol);
+		sb.append(" */").append(eol);
+		sb.append("public interface ").append(name).append("DAO extends CrudRepository<").append(name).append(", ");
+		if(javaClass.getPkField() != null) {
+			sb.append(' ').append(javaClass.getPkField().getJavaType());
+		} else {
+			sb.append(" mda.example.CompositeKey");
+		}
+		sb.append("> {").append(eol);
+		sb.append(eol);
+		sb.append('}').append(eol);
+		sb.append(JavaWriter.STOP_GENERATION).append(" -> Comment used to prevent generator from generate the file again, DO NOT REMOVE IT");
+	}
+
+	/**
+	 * Same output as package-info.vm
+	 * @param sb destination
+	 * @param packageName package name
+	 * @param commentsList comment lines of the package
+	 */
+	public void appendPackageInfo(StringBuilder sb, String packageName, List<String> commentsList) {
+		sb.append("/**").append(eol);
+		for(String comment : commentsList) {
+			sb.append(" * ").append(comment).append(eol);
+		}
+		sb.append(" *").append(eol);
+		sb.append(" * This file has been automatically generated").append(eol);
+		sb.append(" */").append(eol);
+		sb.append("package ").append(packageName).append(';');
+	}
+
+	private void appendMethod(StringBuilder sb, JavaMethod method) {
+		sb.append(METHOD_INDENT).append("/**").append(eol);
+		for(String comment : method.getCommentsList()) {
+			sb.append(METHOD_INDENT).append(" * ").append(comment).append(eol);
+		}
+		sb.append(METHOD_INDENT).append(" */").append(eol);
+		for(JavaAnnotation annotation : method.getAnnotationsList()) {
+			appendAnnotation(sb, METHOD_INDENT, annotation);
+			sb.append(eol);
+		}
+		sb.append('\t').append(method.getVisibility()).append(' ').append(method.getReturnType()).append(' ').append(method.getName()).append('(');
+		boolean first = true;
+		for(String arg : method.getArgs()) {
+			if(first) {
+				first = false;
+			} else {
+				sb.append(", ");
+			}
+			sb.append(arg);
+		}
+		sb.append("){").append(eol);
+		for(String contentLine : method.getContentLines()) {
+			sb.append("\t\t").append(contentLine).append(';').append(eol);
+		}
+		sb.append(METHOD_INDENT).append("}  ").append(eol);
+	}
+
+	/**
+	 * Same as {@link JavaAnnotation#getDisplay(String)}, appended without intermediate string
+	 */
+	private static void appendAnnotation(StringBuilder sb, String indent, JavaAnnotation annotation) {
+		sb.append(indent).append(annotation.getName());
+		List<JavaAnnotationProperty> properties = annotation.getProperties();
+		if(!properties.isEmpty()) {
+			sb.append('(');
+			boolean first = true;
+			for(JavaAnnotationProperty property : properties) {
+				if(first) {
+					first = false;
+				} else {
+					sb.append(", ");
+				}
+				sb.append(property.getName()).append('=').append(property.getValue());
+			}
+			sb.append(')');
+		}
+	}
+}
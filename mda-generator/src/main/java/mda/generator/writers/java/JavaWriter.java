@@ -4,6 +4,12 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
@@ -12,8 +18,12 @@ import org.apache.velocity.VelocityContext;
 
 import mda.generator.beans.UmlPackage;
 import mda.generator.exceptions.MdaGeneratorException;
+import mda.generator.metrics.GenerationPhase;
+import mda.generator.metrics.PhaseMeasure;
+import mda.generator.writers.VelocityTemplateCache;
 import mda.generator.writers.VelocityUtils;
 import mda.generator.writers.java.codepart.JavaClass;
+import mda.generator.writers.java.codepart.JavaClassRenderingPlan;
 import mda.generator.writers.java.codepart.JavaPackage;
 
 /**
@@ -40,6 +50,53 @@ public class JavaWriter implements JavaWriterInterface {
 	/** Writer config */
 	private JavaWriterConfig config;
 
+	/** Parsed templates */
+	private VelocityTemplateCache templateCache;
+
+	/** Threads writing classes, null when classes are written sequentially */
+	private ExecutorService executor;
+
+	/** Classes being written by the executor */
+	private final List<Future<?>> pendingWrites = new ArrayList<>();
+
+	/** Fingerprints of the classes, null when all classes are regenerated */
+	private GenerationManifest manifest;
+
+	/**
+	 * Java writer with its own templates cache
+	 */
+	public JavaWriter() {
+		this(new VelocityTemplateCache());
+	}
+
+	/**
+	 * @param templateCache templates cache to use (can be shared with other writers)
+	 */
+	public JavaWriter(VelocityTemplateCache templateCache) {
+		this.templateCache = templateCache;
+	}
+
+	/**
+	 * @return the templateCache
+	 */
+	public VelocityTemplateCache getTemplateCache() {
+		return templateCache;
+	}
+
+	/**
+	 * @param templateCache the templateCache to set
+	 */
+	public void setTemplateCache(VelocityTemplateCache templateCache) {
+		this.templateCache = templateCache;
+	}
+
+	/**
+	 * @return the config of the current writing
+	 */
+	protected JavaWriterConfig getConfig() {
+		return config;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -58,9 +115,36 @@ public class JavaWriter implements JavaWriterInterface {
 			throw new MdaGeneratorException("Error while creating source root path", e);
 		}
 
-		// Iterate to create packages and classes inside
-		for(UmlPackage umlPackage : config.getUmlPackages()) {
-			createPackage(config.getJavaOutputDirectory(), umlPackage);
+		if(config.isIncremental()) {
+			manifest = new GenerationManifest(config.getJavaOutputDirectory().resolve(GenerationManifest.MANIFEST_FILE_NAME),
+					GenerationManifest.computeSettingsFingerprint(config));
+		}
+
+		int threads = config.getThreads() > 0 ? config.getThreads() : Runtime.getRuntime().availableProcessors();
+		if(threads > 1) {
+			executor = Executors.newFixedThreadPool(threads);
+		}
+
+		try {
+			// Iterate to create packages and classes inside
+			for(UmlPackage umlPackage : config.getUmlPackages()) {
+				createPackage(config.getJavaOutputDirectory(), umlPackage);
+			}
+
+			waitForPendingWrites();
+
+			if(manifest != null) {
+				manifest.save();
+			}
+		} catch (IOException e) {
+			throw new MdaGeneratorException("Error while writing generation manifest", e);
+		} finally {
+			manifest = null;
+			pendingWrites.clear();
+			if(executor != null) {
+				executor.shutdownNow();
+				executor = null;
+			}
 		}
 	}
 
@@ -70,7 +154,13 @@ public class JavaWriter implements JavaWriterInterface {
 	 * @param umlPackage UML Object with package information
 	 */
 	protected void createPackage(Path srcRoot, UmlPackage umlPackage) {
-		JavaPackage javaPackage = new JavaPackage(srcRoot, umlPackage, config.getConverter(), config.getJavaNameConverter());
+		JavaPackage javaPackage;
+		PhaseMeasure measure = config.getReport().measure(GenerationPhase.JAVA_MODEL_BUILD);
+		try {
+			javaPackage = new JavaPackage(srcRoot, umlPackage, config.getConverter(), config.getJavaNameConverter(), config.getNamingContext());
+		} finally {
+			measure.close();
+		}
 
 		// Writing package-info file for entities
 		Path entitiesPackagePath = writeEntitiesPackageInfo(javaPackage);
@@ -80,23 +170,86 @@ public class JavaWriter implements JavaWriterInterface {
 
 		// Writing classes and daos
 		for(JavaClass javaClass : javaPackage.getClasses()) {
-			try {
-				// Add user defined annotations if provided
-				javaClass.setUserDefinedAnnotations(config.getAnnotationsForClasses().get(javaClass.getName()));
-
-				writeClass(entitiesPackagePath, javaClass);
-				// Class without pk fields are embeddable => no dao
+			if(isUpToDate(entitiesPackagePath, daosPackagePath, javaClass)) {
+				LOG.debug(javaClass.getName() + " has not been modified since previous generation");
+				config.getReport().fileGenerated(false);
 				if(javaClass.getPkField() != null) {
-					writeDao(daosPackagePath, javaClass);
-				} else {
-					LOG.warn(javaClass.getName() + " is a composite key, it's bad, not sure it will work well.");
+					config.getReport().fileGenerated(false);
 				}
-			} catch (IOException e) {
-				throw new MdaGeneratorException("Error while generating class "  + javaClass.getName(), e);
+			} else if(executor == null) {
+				writeClassAndDao(entitiesPackagePath, daosPackagePath, javaClass);
+			} else {
+				pendingWrites.add(executor.submit(() -> writeClassAndDao(entitiesPackagePath, daosPackagePath, javaClass)));
 			}
 		}
 	}
 
+	/**
+	 * Indicate if a class (and its dao) can be kept as is, because neither the class nor the settings changed since previous generation.
+	 * @param entitiesPackagePath Path of the java class.
+	 * @param daosPackagePath Path of the dao.
+	 * @param javaClass Class to write.
+	 * @return true if the class doesn't need to be written
+	 */
+	protected boolean isUpToDate(Path entitiesPackagePath, Path daosPackagePath, JavaClass javaClass) {
+		if(manifest == null || javaClass.getUmlClass() == null) {
+			return false;
+		}
+
+		String fingerprint = GenerationManifest.computeClassFingerprint(javaClass.getUmlClass(), config.getAnnotationsForClasses().get(javaClass.getName()), config.getNamingContext());
+		return manifest.isUpToDate(javaClass, fingerprint)
+				&& Files.exists(entitiesPackagePath.resolve(javaClass.getName() + ".java"))
+				&& (javaClass.getPkField() == null || Files.exists(daosPackagePath.resolve(javaClass.getName() + "DAO.java")));
+	}
+
+	/**
+	 * Write the java class and its dao.
+	 * @param entitiesPackagePath Path where to create the java class.
+	 * @param daosPackagePath Path where to create the dao.
+	 * @param javaClass Object with data to create the java class.
+	 */
+	protected void writeClassAndDao(Path entitiesPackagePath, Path daosPackagePath, JavaClass javaClass) {
+		try {
+			// Add user defined annotations if provided
+			javaClass.setUserDefinedAnnotations(config.getAnnotationsForClasses().get(javaClass.getName()));
+
+			writeClass(entitiesPackagePath, javaClass);
+			// Class without pk fields are embeddable => no dao
+			if(javaClass.getPkField() != null) {
+				writeDao(daosPackagePath, javaClass);
+			} else {
+				LOG.warn(javaClass.getName() + " is a composite key, it's bad, not sure it will work well.");
+			}
+		} catch (IOException e) {
+			throw new MdaGeneratorException("Error while generating class "  + javaClass.getName(), e);
+		}
+	}
+
+	/**
+	 * Wait for all the classes submitted to the executor, the first error (in submission order) is thrown.
+	 */
+	protected void waitForPendingWrites() {
+		MdaGeneratorException firstError = null;
+		for(Future<?> pendingWrite : pendingWrites) {
+			try {
+				pendingWrite.get();
+			} catch (ExecutionException e) {
+				if(firstError == null) {
+					firstError = e.getCause() instanceof MdaGeneratorException ? (MdaGeneratorException) e.getCause()
+							: new MdaGeneratorException("Error while generating classes", e.getCause());
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new MdaGeneratorException("Interrupted while generating classes", e);
+			}
+		}
+		pendingWrites.clear();
+
+		if(firstError != null) {
+			throw firstError;
+		}
+	}
+
 
 	/**
 	 * Creation of package path for entities and the package info file inside.
@@ -113,7 +266,7 @@ public class JavaWriter implements JavaWriterInterface {
 		Path entitiesPackageInfoPath = entitiesPackagePath.resolve("package-info.java");
 		try {
 			Files.createDirectories(entitiesPackagePath);
-			VelocityUtils.writeFileFromTemplate(entitiesPackageInfoPath, config.getPathToPackageInfoTemplate(), context, config.getCharset());
+			config.getReport().fileGenerated(writeFromTemplate(entitiesPackageInfoPath, config.getPathToPackageInfoTemplate(), context));
 		}catch (IOException e) {
 			throw new MdaGeneratorException("Error while creating entities package-info "  + entitiesPackageInfoPath + " for package " + javaPackage.getPackageName(), e);
 		}
@@ -137,7 +290,7 @@ public class JavaWriter implements JavaWriterInterface {
 		Path daosPackageInfoPath = daosPackagePath.resolve("package-info.java");
 		try {
 			Files.createDirectories(daosPackagePath);
-			VelocityUtils.writeFileFromTemplate(daosPackageInfoPath, config.getPathToPackageInfoTemplate(), context, config.getCharset());
+			config.getReport().fileGenerated(writeFromTemplate(daosPackageInfoPath, config.getPathToPackageInfoTemplate(), context));
 		}catch (IOException e) {
 			throw new MdaGeneratorException("Error while creating daos package-info "  + daosPackageInfoPath + " for package " + javaPackage.getPackageName(), e);
 		}
@@ -156,12 +309,22 @@ public class JavaWriter implements JavaWriterInterface {
 		// Analyse file and existing content, add values to context to use in template
 		Path entityPath = packageEntitiesPath.resolve(javaClass.getName()+".java");
 		VelocityContext context = new VelocityContext();
-		if(VelocityUtils.analyseFileAndCompleteContext(entityPath, STOP_GENERATION, END_OF_GENERATED, context)) {
+		if(analyseFile(entityPath, context)) {
 			context.put( "javaClass", javaClass);
+			if(config.isRenderingPlans()) {
+				// Lines pre-formatted once, the template only iterates strings
+				PhaseMeasure measure = config.getReport().measure(GenerationPhase.JAVA_MODEL_BUILD);
+				try {
+					context.put( "plan", new JavaClassRenderingPlan(javaClass));
+				} finally {
+					measure.close();
+				}
+			}
 			context.put( "end_of_generated", END_OF_GENERATED);
 
-			VelocityUtils.writeFileFromTemplate(entityPath,  config.getPathToEntitiesTemplate(), context, config.getCharset());
+			config.getReport().fileGenerated(writeFromTemplate(entityPath, config.getPathToEntitiesTemplate(), context));
 		} else {
+			config.getReport().fileSkipped();
 			LOG.debug(entityPath + " will not be overwritten because '" + STOP_GENERATION + "' is present");
 		}
 	}
@@ -179,17 +342,49 @@ public class JavaWriter implements JavaWriterInterface {
 
 		// Analyse file and existing content, add values to context to use in template
 		VelocityContext context = new VelocityContext();
-		if(VelocityUtils.analyseFileAndCompleteContext(daoPath, STOP_GENERATION, END_OF_GENERATED, context)) {
+		if(analyseFile(daoPath, context)) {
 			context.put("daoPackageName", replaceEntitiesWithDaos(javaClass.getPackageName()));
 			context.put("javaClass", javaClass);
 			context.put("end_of_generated", END_OF_GENERATED);
 
-			VelocityUtils.writeFileFromTemplate(daoPath,  config.getPathToDaosTemplate(), context, config.getCharset());
+			config.getReport().fileGenerated(writeFromTemplate(daoPath, config.getPathToDaosTemplate(), context));
 		} else {
+			config.getReport().fileSkipped();
 			LOG.debug(daoPath + " will not be overwritten because '" + STOP_GENERATION + "' is present");
 		}
 	}
 
+	/**
+	 * Analyse an existing file (measured as file I/O), and add its user content to the context.
+	 * @param filePath file to analyse
+	 * @param context velocity context
+	 * @return true if the file can be generated
+	 * @throws IOException
+	 */
+	protected boolean analyseFile(Path filePath, VelocityContext context) throws IOException {
+		PhaseMeasure measure = config.getReport().measure(GenerationPhase.FILE_IO);
+		try {
+			return VelocityUtils.analyseFileAndCompleteContext(filePath, STOP_GENERATION, END_OF_GENERATED, context, config.isStreamingOutput());
+		} finally {
+			measure.close();
+		}
+	}
+
+	/**
+	 * Write a file from a template, in memory or streamed depending on configuration.
+	 * @param filePath file to write
+	 * @param templatePath template to use
+	 * @param context velocity context
+	 * @return true if the file has been written, false if it already had the same content
+	 * @throws IOException
+	 */
+	protected boolean writeFromTemplate(Path filePath, Path templatePath, VelocityContext context) throws IOException {
+		if(config.isStreamingOutput()) {
+			return templateCache.streamFileFromTemplate(filePath, templatePath, context, config.getCharset(), config.getReport());
+		}
+		return templateCache.writeFileFromTemplate(filePath, templatePath, context, config.getCharset(), config.getReport());
+	}
+
 	/**
 	 * Change in the package name, the "entities" part with "daos" (depending on configurated names).
 	 * @param entitiesPackage Actual path for the package with entites
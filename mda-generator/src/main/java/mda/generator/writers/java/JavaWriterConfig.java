@@ -10,6 +10,8 @@ import java.util.Map;
 import mda.generator.beans.UmlPackage;
 import mda.generator.converters.java.JavaNameConverterInterface;
 import mda.generator.converters.type.TypeConverterInterface;
+import mda.generator.metrics.GenerationReport;
+import mda.generator.writers.NamingContext;
 
 /**
  * Configuration for JavaWriter, alimented by MdaGenerator.
@@ -24,6 +26,8 @@ public class JavaWriterConfig {
 	private Path pathToPackageInfoTemplate;
 	private Path pathToEntitiesTemplate;
 	private Path pathToDaosTemplate;
+	/** Mapping file of the domains types, null if the types are converted by a converter class */
+	private Path pathToTypeMapping;
 	private String entities;
 	private String daos;
 	private JavaNameConverterInterface javaNameConverter;
@@ -33,6 +37,18 @@ public class JavaWriterConfig {
 	/** Added annotations for classes Map<ClassName, List<AnnotationString>>*/
 	private Map<String,List<String>> annotationsForClasses;
 	private Charset charset = StandardCharsets.UTF_8;
+	/** Number of threads writing classes : 1 for sequential writing, 0 or less for one thread per available processor */
+	private int threads = 1;
+	/** Only render classes modified since the previous generation (see GenerationManifest) */
+	private boolean incremental = false;
+	/** Merge templates directly into the files instead of building their content in memory */
+	private boolean streamingOutput = false;
+	/** Pre-compute a rendering plan per class, available as "plan" in the entities template context */
+	private boolean renderingPlans = false;
+	/** Counters of files written */
+	private GenerationReport report = new GenerationReport();
+	/** Names (sequences, PKs, FKs) of the generation */
+	private NamingContext namingContext = new NamingContext();
 
 	/**
 	 * @return the javaOutputDirectory
@@ -131,6 +147,18 @@ public class JavaWriterConfig {
 	public void setPathToDaosTemplate(Path pathToDaosTemplate) {
 		this.pathToDaosTemplate = pathToDaosTemplate;
 	}
+	/**
+	 * @return the pathToTypeMapping
+	 */
+	public Path getPathToTypeMapping() {
+		return pathToTypeMapping;
+	}
+	/**
+	 * @param pathToTypeMapping the pathToTypeMapping to set
+	 */
+	public void setPathToTypeMapping(Path pathToTypeMapping) {
+		this.pathToTypeMapping = pathToTypeMapping;
+	}
 	/**
 	 * @return the pathToPackageInfoTemplate
 	 */
@@ -155,6 +183,78 @@ public class JavaWriterConfig {
 	public void setAnnotationsForClasses(Map<String, List<String>> annotationsForClasses) {
 		this.annotationsForClasses = annotationsForClasses;
 	}
+	/**
+	 * @return the threads
+	 */
+	public int getThreads() {
+		return threads;
+	}
+	/**
+	 * @param threads the threads to set
+	 */
+	public void setThreads(int threads) {
+		this.threads = threads;
+	}
+	/**
+	 * @return the incremental
+	 */
+	public boolean isIncremental() {
+		return incremental;
+	}
+	/**
+	 * @param incremental the incremental to set
+	 */
+	public void setIncremental(boolean incremental) {
+		this.incremental = incremental;
+	}
+	/**
+	 * @return the streamingOutput
+	 */
+	public boolean isStreamingOutput() {
+		return streamingOutput;
+	}
+	/**
+	 * @param streamingOutput the streamingOutput to set
+	 */
+	public void setStreamingOutput(boolean streamingOutput) {
+		this.streamingOutput = streamingOutput;
+	}
+	/**
+	 * @return the renderingPlans
+	 */
+	public boolean isRenderingPlans() {
+		return renderingPlans;
+	}
+	/**
+	 * @param renderingPlans the renderingPlans to set
+	 */
+	public void setRenderingPlans(boolean renderingPlans) {
+		this.renderingPlans = renderingPlans;
+	}
+	/**
+	 * @return the report
+	 */
+	public GenerationReport getReport() {
+		return report;
+	}
+	/**
+	 * @param report the report to set
+	 */
+	public void setReport(GenerationReport report) {
+		this.report = report;
+	}
+	/**
+	 * @return the namingContext
+	 */
+	public NamingContext getNamingContext() {
+		return namingContext;
+	}
+	/**
+	 * @param namingContext the namingContext to set
+	 */
+	public void setNamingContext(NamingContext namingContext) {
+		this.namingContext = namingContext;
+	}
 	/**
 	 * @return the javaNameConverter
 	 */
@@ -13,7 +13,7 @@ import mda.generator.beans.UmlClass;
 import mda.generator.converters.java.JavaNameConverterInterface;
 import mda.generator.converters.type.TypeConverterInterface;
 import mda.generator.exceptions.MdaGeneratorException;
-import mda.generator.writers.NamesComputingUtil;
+import mda.generator.writers.NamingContext;
 import mda.generator.writers.java.JavaWriter;
 import mda.generator.writers.java.utils.ImportManager;
 
@@ -27,6 +27,7 @@ public class JavaClass {
 	protected final ImportManager importManager;
 	protected final JavaNameConverterInterface javaNameConverter;
 	protected final TypeConverterInterface typeConverter;
+	protected final NamingContext namingContext;
 
 	private final List<String> commentsList  = new ArrayList<>();
 	private final List<JavaAnnotation> annotationsList = new ArrayList<>();
@@ -40,6 +41,9 @@ public class JavaClass {
 
 	private JavaClass pkClass;
 	private JavaAttribute pkField;
+
+	/** UML class at the origin of this class (owner class for a composite key), null if not built from the model */
+	private UmlClass umlClass;
 	/**
 	 *
 	 * @param name
@@ -54,6 +58,7 @@ public class JavaClass {
 		// Not used in this case
 		javaNameConverter = null;
 		typeConverter = null;
+		namingContext = null;
 	}
 
 	/**-
@@ -64,8 +69,22 @@ public class JavaClass {
 	 * @param javaNameConverter
 	 */
 	public JavaClass(JavaPackage javaPackage, UmlClass umlClass, TypeConverterInterface typeConverter, JavaNameConverterInterface javaNameConverter) {
+		this(javaPackage, umlClass, typeConverter, javaNameConverter, new NamingContext());
+	}
+
+	/**
+	 *
+	 * @param javaPackage
+	 * @param umlClass
+	 * @param typeConverter
+	 * @param javaNameConverter
+	 * @param namingContext sequences, PKs and FKs names of the generation
+	 */
+	public JavaClass(JavaPackage javaPackage, UmlClass umlClass, TypeConverterInterface typeConverter, JavaNameConverterInterface javaNameConverter, NamingContext namingContext) {
 		this.javaNameConverter = javaNameConverter;
+		this.namingContext = namingContext;
 		this.typeConverter = typeConverter;
+		this.umlClass = umlClass;
 
 		name = javaNameConverter.convertClassName(umlClass.getName());
 		if(umlClass.getComment() != null) {
@@ -171,6 +190,13 @@ public class JavaClass {
 		return pkField;
 	}
 
+	/**
+	 * @return the umlClass
+	 */
+	public UmlClass getUmlClass() {
+		return umlClass;
+	}
+
 	/**
 	 * @param userDefinedAnnotations the userDefinedAnnotations to set
 	 */
@@ -199,7 +225,7 @@ public class JavaClass {
 
 		// Generate getter/setter
 		JavaMethod getterPK = generateGetter(pkField);
-		String seqName = "\"" + NamesComputingUtil.computeSequenceName(umlClass) + "\"";
+		String seqName = "\"" + namingContext.computeSequenceName(umlClass) + "\"";
 
 		// Id annotation on PK field
 		getterPK.addAnnotations(new JavaAnnotation(importManager.getFinalName("javax.persistence.Id")));
@@ -235,6 +261,7 @@ public class JavaClass {
 	protected void createCompositePK(JavaPackage javaPackage, UmlClass umlClass) {
 		// Use an embedded class as attribute
 		pkClass = new JavaClass(getName()+"Id", javaPackage.getPackageName(),"Composite Key for " + getName());
+		pkClass.umlClass = umlClass;
 		// Add embedded annotation in imports
 		importManager.getFinalName("javax.persistence.EmbeddedId");
 
@@ -315,34 +342,32 @@ public class JavaClass {
 	 * @param converter
 	 */
 	protected void manageAssociations(UmlClass umlClass) {
-		for(UmlAssociation association : umlClass.getAssociations()) {
-			if(association.isTargetNavigable()) {
-				JavaAttribute javaAttribute = new JavaAttribute(association, typeConverter,javaNameConverter, importManager);
-				attributesList.add(javaAttribute);
-
-				// Generate getter/setter
-				JavaMethod assocGetter = generateGetter(javaAttribute);
-
-				// xToMany
-				if(association.isTargetMultiple() ) {
-					// ManyToMany
-					if(association.getOpposite().isTargetMultiple()) {
-						buildManyToMany(association, assocGetter);
-					} else { // OneToMany
-						buildOneToMany(association, assocGetter);
-					}
-				} else { // xToOne
-					// ManyToOne
-					if(association.getOpposite().isTargetMultiple()) {
-						buildManyToOne(association, assocGetter);
-					} else { // OneToOne
-						buildOneToOne(association, assocGetter);
-					}
+		for(UmlAssociation association : umlClass.getNavigableAssociations()) {
+			JavaAttribute javaAttribute = new JavaAttribute(association, typeConverter,javaNameConverter, importManager);
+			attributesList.add(javaAttribute);
+
+			// Generate getter/setter
+			JavaMethod assocGetter = generateGetter(javaAttribute);
+
+			// xToMany
+			if(association.isTargetMultiple() ) {
+				// ManyToMany
+				if(association.getOpposite().isTargetMultiple()) {
+					buildManyToMany(association, assocGetter);
+				} else { // OneToMany
+					buildOneToMany(association, assocGetter);
+				}
+			} else { // xToOne
+				// ManyToOne
+				if(association.getOpposite().isTargetMultiple()) {
+					buildManyToOne(association, assocGetter);
+				} else { // OneToOne
+					buildOneToOne(association, assocGetter);
 				}
-
-				methodsList.add(assocGetter);
-				methodsList.add(generateSetter(javaAttribute));
 			}
+
+			methodsList.add(assocGetter);
+			methodsList.add(generateSetter(javaAttribute));
 		}
 	}
 
@@ -360,8 +385,8 @@ public class JavaClass {
 				);
 		assocGetter.addAnnotations(new JavaAnnotation(
 				importManager.getFinalName("javax.persistence.JoinColumn"),
-				new JavaAnnotationProperty("name","\"" + NamesComputingUtil.computeColumnFkName(association) + "\""),
-				new JavaAnnotationProperty("referencedColumnName","\"" + NamesComputingUtil.computeColumnPkName(association.getTarget()) + "\"")
+				new JavaAnnotationProperty("name","\"" + namingContext.computeColumnFkName(association) + "\""),
+				new JavaAnnotationProperty("referencedColumnName","\"" + namingContext.computeColumnPkName(association.getTarget()) + "\"")
 				));
 	}
 
@@ -382,8 +407,8 @@ public class JavaClass {
 		} else {// Unidirectional, needs join column name and reference column name
 			JavaAnnotation joinColumn = new JavaAnnotation(
 					importManager.getFinalName("javax.persistence.JoinColumn"),
-					new JavaAnnotationProperty("name","\"" + NamesComputingUtil.computeColumnFkName(association.getOpposite())+ "\""),
-					new JavaAnnotationProperty("referencedColumnName","\"" + NamesComputingUtil.computeColumnPkName(association.getSource()) + "\"")
+					new JavaAnnotationProperty("name","\"" + namingContext.computeColumnFkName(association.getOpposite())+ "\""),
+					new JavaAnnotationProperty("referencedColumnName","\"" + namingContext.computeColumnPkName(association.getSource()) + "\"")
 					);
 			assocGetter.addAnnotations(joinColumn);
 		}
@@ -416,8 +441,8 @@ public class JavaClass {
 			assocGetter.addAnnotations(new JavaAnnotation(
 					importManager.getFinalName("javax.persistence.JoinTable"),
 					new JavaAnnotationProperty("name","\"" +  association.getName() + "\""),
-					new JavaAnnotationProperty("joinColumns","@"+importManager.getFinalName("javax.persistence.JoinColumn")+"(name = \""+ NamesComputingUtil.computeColumnFkName(association.getOpposite())+"\")"),
-					new JavaAnnotationProperty("inverseJoinColumns","@"+importManager.getFinalName("javax.persistence.JoinColumn")+"(name = \""+  NamesComputingUtil.computeColumnFkName(association)+ "\")")
+					new JavaAnnotationProperty("joinColumns","@"+importManager.getFinalName("javax.persistence.JoinColumn")+"(name = \""+ namingContext.computeColumnFkName(association.getOpposite())+"\")"),
+					new JavaAnnotationProperty("inverseJoinColumns","@"+importManager.getFinalName("javax.persistence.JoinColumn")+"(name = \""+  namingContext.computeColumnFkName(association)+ "\")")
 					));
 		} else { // Not "owner" of the manyToMany, mappedBy with opposite getter is enough
 			assocGetter.addAnnotations(new JavaAnnotation(
@@ -449,8 +474,8 @@ public class JavaClass {
 			// Reference to owner PK
 			assocGetter.addAnnotations(new JavaAnnotation(
 					importManager.getFinalName("javax.persistence.JoinColumn"),
-					new JavaAnnotationProperty("name","\"" + NamesComputingUtil.computeColumnFkName(association) + "\""),
-					new JavaAnnotationProperty("referencedColumnName","\"" + NamesComputingUtil.computeColumnPkName(association.getTarget()) + "\"")
+					new JavaAnnotationProperty("name","\"" + namingContext.computeColumnFkName(association) + "\""),
+					new JavaAnnotationProperty("referencedColumnName","\"" + namingContext.computeColumnPkName(association.getTarget()) + "\"")
 					));
 		}
 		// Not owner, must have the owning side define (or association can't work)
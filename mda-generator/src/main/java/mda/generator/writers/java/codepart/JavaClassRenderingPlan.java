@@ -0,0 +1,191 @@
+package mda.generator.writers.java.codepart;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Pre-formatted view of a {@link JavaClass} for the rendering : lines of imports, comments, annotations, attributes, methods,
+ * hashCode and equals, computed once per class.
+ *
+ * The template only iterates plain lists of strings (see entity_plan.vm), instead of calling the getters of the class, its methods and annotations
+ * (copying lists and formatting annotations and arguments) for each element.
+ * The class itself stays available with {@link #getJavaClass()} for what is not pre-formatted.
+ *
+ * @author Fabien Crapart
+ */
+public class JavaClassRenderingPlan {
+	/** Indentation of the methods comments and annotations in the default template */
+	private static final String METHOD_INDENT = "    ";
+
+	private final JavaClass javaClass;
+
+	private final List<String> importLines;
+	private final List<String> commentLines;
+	private final List<String> annotationLines;
+	private final String declaration;
+	private final List<String> attributeLines;
+	private final List<String> methodLines;
+	private final List<String> hashCodeLines;
+	private final List<String> equalsLines;
+
+	/**
+	 * @param javaClass class to render, with its user defined annotations
+	 */
+	public JavaClassRenderingPlan(JavaClass javaClass) {
+		this.javaClass = javaClass;
+
+		List<String> imports = new ArrayList<>();
+		for(String importName : javaClass.getImportsList()) {
+			imports.add("import " + importName + ";");
+		}
+		importLines = Collections.unmodifiableList(imports);
+
+		List<String> comments = new ArrayList<>();
+		for(String comment : javaClass.getCommentsList()) {
+			comments.add(" * " + comment);
+		}
+		commentLines = Collections.unmodifiableList(comments);
+
+		List<String> annotations = new ArrayList<>();
+		for(JavaAnnotation annotation : javaClass.getAnnotationsList()) {
+			annotations.add(annotation.getDisplay(""));
+		}
+		if(javaClass.getUserDefinedAnnotations() != null) {
+			annotations.addAll(javaClass.getUserDefinedAnnotations());
+		}
+		annotationLines = Collections.unmodifiableList(annotations);
+
+		declaration = javaClass.getVisibilite() + " class " + javaClass.getName() + " implements Serializable{";
+
+		List<String> attributes = new ArrayList<>();
+		if(javaClass.getPkClass() != null) {
+			attributes.add("\t@EmbeddedId ");
+			attributes.add("\t" + javaClass.getPkField().getJavaType() + " " + javaClass.getPkField().getName() + ";");
+		}
+		for(JavaAttribute attribute : javaClass.getAttributesList()) {
+			attributes.add("\t" + attribute.getVisibility() + " " + attribute.getJavaType() + " " + attribute.getName()
+					+ (attribute.getDefaultValue() != null ? " = " + attribute.getDefaultValue() : "") + ";");
+		}
+		attributeLines = Collections.unmodifiableList(attributes);
+
+		List<String> methods = new ArrayList<>();
+		for(JavaMethod method : javaClass.getMethodsList()) {
+			addMethodLines(methods, method);
+		}
+		methodLines = Collections.unmodifiableList(methods);
+
+		List<String> hashCodes = new ArrayList<>();
+		List<String> equals = new ArrayList<>();
+		String otherName = "other" + javaClass.getName();
+		int count = 0;
+		for(JavaAttribute attribute : javaClass.getAttributesList()) {
+			count++;
+			if(!attribute.isPrimitive()) {
+				continue;
+			}
+			String name = attribute.getName();
+			if(!"serialVersionUID".equals(name)) {
+				hashCodes.add("\t\tresult = 31 * result + (" + name + " == null? 0 : " + name + ".hashCode());");
+			}
+			// Same output as entity.vm : "&&" depends on the position of the attribute, not on the previous primitive ones
+			equals.add((count > 1 ? "\t\t\t&&" : "") + " (" + name + " == null ?  (" + otherName + "." + name + " == null) : "
+					+ name + ".equals(" + otherName + "." + name + "))");
+		}
+		hashCodeLines = Collections.unmodifiableList(hashCodes);
+		equalsLines = Collections.unmodifiableList(equals);
+	}
+
+	private static void addMethodLines(List<String> lines, JavaMethod method) {
+		lines.add(METHOD_INDENT + "/**");
+		for(String comment : method.getCommentsList()) {
+			lines.add(METHOD_INDENT + " * " + comment);
+		}
+		lines.add(METHOD_INDENT + " */");
+		for(JavaAnnotation annotation : method.getAnnotationsList()) {
+			lines.add(annotation.getDisplay(METHOD_INDENT));
+		}
+		lines.add("\t" + method.getVisibility() + " " + method.getReturnType() + " " + method.getName() + "(" + method.getDisplayArgs() + "){");
+		for(String contentLine : method.getContentLines()) {
+			lines.add("\t\t" + contentLine + ";");
+		}
+		lines.add(METHOD_INDENT + "}  ");
+	}
+
+	/**
+	 * @return the class rendered
+	 */
+	public JavaClass getJavaClass() {
+		return javaClass;
+	}
+
+	/**
+	 * @return the package name
+	 */
+	public String getPackageName() {
+		return javaClass.getPackageName();
+	}
+
+	/**
+	 * @return the class name
+	 */
+	public String getName() {
+		return javaClass.getName();
+	}
+
+	/**
+	 * @return the import lines ("import x.y.Z;")
+	 */
+	public List<String> getImportLines() {
+		return importLines;
+	}
+
+	/**
+	 * @return the class comment lines (" * comment")
+	 */
+	public List<String> getCommentLines() {
+		return commentLines;
+	}
+
+	/**
+	 * @return the class annotation lines, user defined annotations included
+	 */
+	public List<String> getAnnotationLines() {
+		return annotationLines;
+	}
+
+	/**
+	 * @return the class declaration line
+	 */
+	public String getDeclaration() {
+		return declaration;
+	}
+
+	/**
+	 * @return the attribute lines (composite key included), indented
+	 */
+	public List<String> getAttributeLines() {
+		return attributeLines;
+	}
+
+	/**
+	 * @return the lines of all the methods (comments, annotations, declaration, body), indented
+	 */
+	public List<String> getMethodLines() {
+		return methodLines;
+	}
+
+	/**
+	 * @return the hashCode lines of the "primitives" attributes, indented
+	 */
+	public List<String> getHashCodeLines() {
+		return hashCodeLines;
+	}
+
+	/**
+	 * @return the equals conditions of the "primitives" attributes, following the "return"
+	 */
+	public List<String> getEqualsLines() {
+		return equalsLines;
+	}
+}
@@ -12,6 +12,7 @@ import mda.generator.beans.UmlClass;
 import mda.generator.beans.UmlPackage;
 import mda.generator.converters.java.JavaNameConverterInterface;
 import mda.generator.converters.type.TypeConverterInterface;
+import mda.generator.writers.NamingContext;
 import mda.generator.writers.java.JavaWriter;
 
 /**
@@ -35,6 +36,19 @@ public class JavaPackage {
 	 * @param converter Type converter for classes
 	 */
 	public JavaPackage(Path parentPath, UmlPackage umlPackage, TypeConverterInterface converter, JavaNameConverterInterface nameConverter) {
+		this(parentPath, umlPackage, converter, nameConverter, new NamingContext());
+	}
+
+	/**
+	 * Package initialization.
+	 *
+	 * @param parentPath Root of source code
+	 * @param umlPackage UML package
+	 * @param converter Type converter for classes
+	 * @param nameConverter Java names converter
+	 * @param namingContext Sequences, PKs and FKs names of the generation
+	 */
+	public JavaPackage(Path parentPath, UmlPackage umlPackage, TypeConverterInterface converter, JavaNameConverterInterface nameConverter, NamingContext namingContext) {
 		packagePath = parentPath.resolve(Paths.get(StringUtils.replaceChars(umlPackage.getName(), '.','/')));
 		packageName = umlPackage.getName();
 
@@ -45,7 +59,7 @@ public class JavaPackage {
 		}
 
 		for(UmlClass umlClass : umlPackage.getClasses()) {
-			classes.add(new JavaClass(this, umlClass, converter, nameConverter));
+			classes.add(new JavaClass(this, umlClass, converter, nameConverter, namingContext));
 		}
 	}
 
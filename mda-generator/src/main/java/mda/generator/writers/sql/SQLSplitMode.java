@@ -0,0 +1,15 @@
+package mda.generator.writers.sql;
+
+/**
+ * How SQL create and drop scripts are split.
+ *
+ * @author Fabien Crapart
+ */
+public enum SQLSplitMode {
+	/** One create script and one drop script for all tables */
+	NONE,
+	/** One script per UML package, plus a master script including them */
+	PACKAGE,
+	/** One script per group of N tables, plus a master script including them */
+	TABLES;
+}
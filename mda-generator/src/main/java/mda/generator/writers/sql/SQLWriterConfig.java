@@ -6,6 +6,8 @@ import java.nio.file.Path;
 
 import mda.generator.beans.UmlPackage;
 import mda.generator.converters.type.TypeConverterInterface;
+import mda.generator.metrics.GenerationReport;
+import mda.generator.writers.NamingContext;
 
 /**
  * Configuration for SQLWriter, alimented by MdaGenerator
@@ -24,6 +26,18 @@ public class SQLWriterConfig {
 	private TypeConverterInterface typeConverter;
 	private Charset charset = StandardCharsets.UTF_8;
 	private String sqlSchemaName;
+	/** Merge templates directly into the files instead of building their content in memory */
+	private boolean streamingOutput = false;
+	/** Split of the scripts (one script for all tables by default) */
+	private SQLSplitMode splitMode = SQLSplitMode.NONE;
+	/** Number of tables per script with TABLES split mode */
+	private int tablesPerScript = 100;
+	/** Template of the master scripts including split scripts */
+	private Path masterSqlTemplatePath;
+	/** Counters of files written */
+	private GenerationReport report = new GenerationReport();
+	/** Names (sequences, PKs, FKs) of the generation */
+	private NamingContext namingContext = new NamingContext();
 
 	/**
 	 * @return the sqlTemplatePath
@@ -127,6 +141,78 @@ public class SQLWriterConfig {
 	public void setCharset(Charset charset) {
 		this.charset = charset;
 	}
+	/**
+	 * @return the streamingOutput
+	 */
+	public boolean isStreamingOutput() {
+		return streamingOutput;
+	}
+	/**
+	 * @param streamingOutput the streamingOutput to set
+	 */
+	public void setStreamingOutput(boolean streamingOutput) {
+		this.streamingOutput = streamingOutput;
+	}
+	/**
+	 * @return the splitMode
+	 */
+	public SQLSplitMode getSplitMode() {
+		return splitMode;
+	}
+	/**
+	 * @param splitMode the splitMode to set
+	 */
+	public void setSplitMode(SQLSplitMode splitMode) {
+		this.splitMode = splitMode;
+	}
+	/**
+	 * @return the tablesPerScript
+	 */
+	public int getTablesPerScript() {
+		return tablesPerScript;
+	}
+	/**
+	 * @param tablesPerScript the tablesPerScript to set
+	 */
+	public void setTablesPerScript(int tablesPerScript) {
+		this.tablesPerScript = tablesPerScript;
+	}
+	/**
+	 * @return the masterSqlTemplatePath
+	 */
+	public Path getMasterSqlTemplatePath() {
+		return masterSqlTemplatePath;
+	}
+	/**
+	 * @param masterSqlTemplatePath the masterSqlTemplatePath to set
+	 */
+	public void setMasterSqlTemplatePath(Path masterSqlTemplatePath) {
+		this.masterSqlTemplatePath = masterSqlTemplatePath;
+	}
+	/**
+	 * @return the report
+	 */
+	public GenerationReport getReport() {
+		return report;
+	}
+	/**
+	 * @param report the report to set
+	 */
+	public void setReport(GenerationReport report) {
+		this.report = report;
+	}
+	/**
+	 * @return the namingContext
+	 */
+	public NamingContext getNamingContext() {
+		return namingContext;
+	}
+	/**
+	 * @param namingContext the namingContext to set
+	 */
+	public void setNamingContext(NamingContext namingContext) {
+		this.namingContext = namingContext;
+	}
 
 	/**
 	 * @return the schema
@@ -4,7 +4,18 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -15,10 +26,13 @@ import mda.generator.beans.UmlAttribute;
 import mda.generator.beans.UmlClass;
 import mda.generator.beans.UmlPackage;
 import mda.generator.exceptions.MdaGeneratorException;
-import mda.generator.writers.NamesComputingUtil;
+import mda.generator.metrics.GenerationPhase;
+import mda.generator.metrics.PhaseMeasure;
+import mda.generator.writers.VelocityTemplateCache;
 import mda.generator.writers.VelocityUtils;
 import mda.generator.writers.sql.codepart.SQLColumn;
 import mda.generator.writers.sql.codepart.SQLForeignKey;
+import mda.generator.writers.sql.codepart.SQLScript;
 import mda.generator.writers.sql.codepart.SQLSequence;
 import mda.generator.writers.sql.codepart.SQLTable;
 
@@ -38,8 +52,44 @@ public class StandardSQLWriter implements SQLWriterInterface {
 	private final List<SQLTable> tablesList = new ArrayList<>();
 	private final List<SQLSequence> sequencesList = new ArrayList<>();
 
+	/** Table of each sequence, used to split scripts */
+	private final Map<SQLSequence, SQLTable> sequencesTables = new IdentityHashMap<>();
+	/** Tables of each package (in package order), used to split scripts */
+	private final Map<String, List<SQLTable>> packagesTables = new LinkedHashMap<>();
+
 	private SQLWriterConfig config;
 
+	/** Parsed templates */
+	private VelocityTemplateCache templateCache;
+
+	/**
+	 * SQL writer with its own templates cache
+	 */
+	public StandardSQLWriter() {
+		this(new VelocityTemplateCache());
+	}
+
+	/**
+	 * @param templateCache templates cache to use (can be shared with other writers)
+	 */
+	public StandardSQLWriter(VelocityTemplateCache templateCache) {
+		this.templateCache = templateCache;
+	}
+
+	/**
+	 * @return the templateCache
+	 */
+	public VelocityTemplateCache getTemplateCache() {
+		return templateCache;
+	}
+
+	/**
+	 * @param templateCache the templateCache to set
+	 */
+	public void setTemplateCache(VelocityTemplateCache templateCache) {
+		this.templateCache = templateCache;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -58,20 +108,219 @@ public class StandardSQLWriter implements SQLWriterInterface {
 			throw new MdaGeneratorException("Error while creating source root path", e);
 		}
 
+		// Data of a previous generation (writer kept between generations in watch mode)
+		fksList.clear();
+		tablesList.clear();
+		sequencesList.clear();
+		sequencesTables.clear();
+		packagesTables.clear();
+
 		// Iterate to extract datas from all classes
-		for(UmlPackage umlPackage : config.getPackagesList()) {
-			extractDataFromPackage(umlPackage);
-		}
+		extractData(config);
 
 		// Write SQL file from template and extracted data
 		try {
-			writeSQLFile(config.getCreateTablesPath(), config.getCreateSqlTemplatePath());
-			writeSQLFile(config.getDropTablesPath(), config.getDropSqlTemplatePath());
+			if(config.getSplitMode() == null || config.getSplitMode() == SQLSplitMode.NONE) {
+				writeSQLFile(config.getCreateTablesPath(), config.getCreateSqlTemplatePath());
+				writeSQLFile(config.getDropTablesPath(), config.getDropSqlTemplatePath());
+			} else {
+				writeSplitSQLFiles(splitScripts());
+			}
+		}catch(MdaGeneratorException e) {
+			throw e;
 		}catch(Exception e) {
 			throw new MdaGeneratorException("Error while writing SQL files", e);
 		}
 	}
 
+	/**
+	 * Extract tables, sequences and FKs from all the packages of the config.
+	 * @param config writer config
+	 */
+	protected void extractData(SQLWriterConfig config) {
+		this.config = config;
+		PhaseMeasure measure = config.getReport().measure(GenerationPhase.SQL_MODEL_BUILD);
+		try {
+			for(UmlPackage umlPackage : config.getPackagesList()) {
+				int firstTable = tablesList.size();
+				extractDataFromPackage(umlPackage);
+				packagesTables.put(umlPackage.getName(), new ArrayList<>(tablesList.subList(firstTable, tablesList.size())));
+			}
+		} finally {
+			measure.close();
+		}
+	}
+
+	/**
+	 * Split tables, sequences and FKs in scripts (depending on split mode), sorted so that a script only references tables of previous scripts.
+	 * FKs that can't respect this order (cycles between scripts) are put in a last script.
+	 * @return scripts in execution order
+	 */
+	protected List<SQLScript> splitScripts() {
+		List<SQLScript> scripts = new ArrayList<>();
+		Map<String, SQLScript> scriptsByTable = new HashMap<>();
+
+		if(config.getSplitMode() == SQLSplitMode.PACKAGE) {
+			for(Map.Entry<String, List<SQLTable>> packageTables : packagesTables.entrySet()) {
+				if(!packageTables.getValue().isEmpty()) {
+					SQLScript script = new SQLScript(packageTables.getKey().replace('.', '_'));
+					addTables(script, packageTables.getValue(), scriptsByTable);
+					scripts.add(script);
+				}
+			}
+		} else {
+			int tablesPerScript = config.getTablesPerScript() > 0 ? config.getTablesPerScript() : tablesList.size();
+			for(int first = 0; first < tablesList.size(); first += tablesPerScript) {
+				SQLScript script = new SQLScript(String.format("part%03d", scripts.size() + 1));
+				addTables(script, tablesList.subList(first, Math.min(first + tablesPerScript, tablesList.size())), scriptsByTable);
+				scripts.add(script);
+			}
+		}
+
+		for(SQLSequence sequence : sequencesList) {
+			scriptsByTable.get(sequencesTables.get(sequence).getName()).getSequencesList().add(sequence);
+		}
+
+		// Dependencies between scripts (source table script needs target table script)
+		Map<SQLScript, Set<SQLScript>> dependencies = new IdentityHashMap<>();
+		for(SQLScript script : scripts) {
+			dependencies.put(script, new LinkedHashSet<>());
+		}
+		for(SQLForeignKey fk : fksList) {
+			SQLScript source = scriptsByTable.get(fk.getSourceName());
+			SQLScript target = scriptsByTable.get(fk.getTargetName());
+			if(target != null && target != source) {
+				dependencies.get(source).add(target);
+			}
+		}
+		List<SQLScript> sortedScripts = sortScripts(scripts, dependencies);
+
+		// FKs go with their source table, unless the target table is created by a following script
+		SQLScript crossScriptsFks = new SQLScript("foreign_keys");
+		for(SQLForeignKey fk : fksList) {
+			SQLScript source = scriptsByTable.get(fk.getSourceName());
+			SQLScript target = scriptsByTable.get(fk.getTargetName());
+			if(target == null || sortedScripts.indexOf(target) <= sortedScripts.indexOf(source)) {
+				source.getFksList().add(fk);
+			} else {
+				crossScriptsFks.getFksList().add(fk);
+			}
+		}
+		if(!crossScriptsFks.getFksList().isEmpty()) {
+			sortedScripts.add(crossScriptsFks);
+		}
+
+		return sortedScripts;
+	}
+
+	/**
+	 * Write create and drop scripts in parallel, then the master scripts including them.
+	 * @param scripts scripts in execution order
+	 * @throws IOException
+	 */
+	protected void writeSplitSQLFiles(List<SQLScript> scripts) throws IOException {
+		List<String> createScripts = new ArrayList<>();
+		List<String> dropScripts = new ArrayList<>();
+		List<Future<?>> pendingWrites = new ArrayList<>();
+
+		ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(scripts.size() * 2, Runtime.getRuntime().availableProcessors())));
+		try {
+			for(SQLScript script : scripts) {
+				Path createPath = getScriptPath(config.getCreateTablesPath(), script);
+				Path dropPath = getScriptPath(config.getDropTablesPath(), script);
+				createScripts.add(createPath.getFileName().toString());
+				dropScripts.add(dropPath.getFileName().toString());
+
+				pendingWrites.add(executor.submit(() -> {
+					writeSQLFile(createPath, config.getCreateSqlTemplatePath(), script.getSequencesList(), script.getTablesList(), script.getFksList());
+					return null;
+				}));
+				pendingWrites.add(executor.submit(() -> {
+					writeSQLFile(dropPath, config.getDropSqlTemplatePath(), script.getSequencesList(), script.getTablesList(), script.getFksList());
+					return null;
+				}));
+			}
+
+			for(Future<?> pendingWrite : pendingWrites) {
+				pendingWrite.get();
+			}
+		} catch (ExecutionException e) {
+			throw new MdaGeneratorException("Error while writing SQL files", e.getCause());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new MdaGeneratorException("Interrupted while writing SQL files", e);
+		} finally {
+			executor.shutdownNow();
+		}
+
+		// Drop in reverse order
+		Collections.reverse(dropScripts);
+		writeMasterSQLFile(config.getCreateTablesPath(), createScripts);
+		writeMasterSQLFile(config.getDropTablesPath(), dropScripts);
+	}
+
+	/**
+	 * Write a master script including other scripts.
+	 * @param filePath master script path
+	 * @param scriptsList file names of the scripts to include, in execution order
+	 * @throws IOException
+	 */
+	protected void writeMasterSQLFile(Path filePath, List<String> scriptsList) throws IOException {
+		VelocityContext context = new VelocityContext();
+		if(analyseFile(filePath, context)) {
+			context.put("scriptsList", scriptsList);
+			context.put("sqlSchemaName", config.getSqlSchemaName());
+			context.put("end_of_generated", END_OF_GENERATED);
+
+			config.getReport().fileGenerated(writeFromTemplate(filePath, config.getMasterSqlTemplatePath(), context));
+		}else {
+			config.getReport().fileSkipped();
+			LOG.debug(filePath + " will not be overwritten because '" + STOP_GENERATION + "' is present");
+		}
+	}
+
+	/**
+	 * Path of a split script : name of the master script suffixed with the name of the script (ex: create_tables_my_package.sql).
+	 * @param masterPath path of the master script
+	 * @param script script
+	 * @return path of the script, in the same directory as the master script
+	 */
+	protected Path getScriptPath(Path masterPath, SQLScript script) {
+		String masterName = masterPath.getFileName().toString();
+		int extensionIdx = masterName.lastIndexOf('.');
+		String baseName = extensionIdx > 0 ? masterName.substring(0, extensionIdx) : masterName;
+		String extension = extensionIdx > 0 ? masterName.substring(extensionIdx) : ".sql";
+		return masterPath.resolveSibling(baseName + "_" + script.getName() + extension);
+	}
+
+	private static void addTables(SQLScript script, List<SQLTable> tables, Map<String, SQLScript> scriptsByTable) {
+		for(SQLTable table : tables) {
+			script.getTablesList().add(table);
+			scriptsByTable.put(table.getName(), script);
+		}
+	}
+
+	/**
+	 * Sort scripts so that each one comes after the scripts it depends on, keeping the initial order when possible.
+	 * When there is a cycle, the first remaining script is taken.
+	 */
+	private static List<SQLScript> sortScripts(List<SQLScript> scripts, Map<SQLScript, Set<SQLScript>> dependencies) {
+		List<SQLScript> sorted = new ArrayList<>();
+		List<SQLScript> remaining = new ArrayList<>(scripts);
+		while(!remaining.isEmpty()) {
+			SQLScript next = remaining.get(0);
+			for(SQLScript candidate : remaining) {
+				if(sorted.containsAll(dependencies.get(candidate))) {
+					next = candidate;
+					break;
+				}
+			}
+			remaining.remove(next);
+			sorted.add(next);
+		}
+		return sorted;
+	}
+
 	/**
 	 *
 	 * @param filePath
@@ -79,21 +328,66 @@ public class StandardSQLWriter implements SQLWriterInterface {
 	 * @throws IOException
 	 */
 	protected void writeSQLFile(Path filePath, Path templateToUse) throws IOException {
+		writeSQLFile(filePath, templateToUse, sequencesList, tablesList, fksList);
+	}
+
+	/**
+	 *
+	 * @param filePath
+	 * @param templateToUse
+	 * @param sequences sequences to write
+	 * @param tables tables to write
+	 * @param fks foreign keys to write
+	 * @throws IOException
+	 */
+	protected void writeSQLFile(Path filePath, Path templateToUse, List<SQLSequence> sequences, List<SQLTable> tables, List<SQLForeignKey> fks) throws IOException {
 		VelocityContext context = new VelocityContext();
-		if(VelocityUtils.analyseFileAndCompleteContext(filePath, STOP_GENERATION, END_OF_GENERATED, context)) {
-			context.put("sequencesList", sequencesList);
-			context.put("tablesList", tablesList);
-			context.put("fksList", fksList);
+		if(analyseFile(filePath, context)) {
+			context.put("sequencesList", sequences);
+			context.put("tablesList", tables);
+			context.put("fksList", fks);
 			context.put("sqlSchemaName", config.getSqlSchemaName());
 			context.put("end_of_generated", END_OF_GENERATED);
 
-			VelocityUtils.writeFileFromTemplate(filePath, templateToUse, context, config.getCharset());
+			config.getReport().fileGenerated(writeFromTemplate(filePath, templateToUse, context));
 		}else {
+			config.getReport().fileSkipped();
 			LOG.debug(filePath + " will not be overwritten because '" + STOP_GENERATION + "' is present");
 		}
 	}
 
 
+	/**
+	 * Analyse an existing file (measured as file I/O), and add its user content to the context.
+	 * @param filePath file to analyse
+	 * @param context velocity context
+	 * @return true if the file can be generated
+	 * @throws IOException
+	 */
+	protected boolean analyseFile(Path filePath, VelocityContext context) throws IOException {
+		PhaseMeasure measure = config.getReport().measure(GenerationPhase.FILE_IO);
+		try {
+			return VelocityUtils.analyseFileAndCompleteContext(filePath, STOP_GENERATION, END_OF_GENERATED, context, config.isStreamingOutput());
+		} finally {
+			measure.close();
+		}
+	}
+
+	/**
+	 * Write a file from a template, in memory or streamed depending on configuration.
+	 * @param filePath file to write
+	 * @param templatePath template to use
+	 * @param context velocity context
+	 * @return true if the file has been written, false if it already had the same content
+	 * @throws IOException
+	 */
+	protected boolean writeFromTemplate(Path filePath, Path templatePath, VelocityContext context) throws IOException {
+		if(config.isStreamingOutput()) {
+			return templateCache.streamFileFromTemplate(filePath, templatePath, context, config.getCharset(), config.getReport());
+		}
+		return templateCache.writeFileFromTemplate(filePath, templatePath, context, config.getCharset(), config.getReport());
+	}
+
 	/**
 	 *
 	 * @param umlPackage
@@ -106,11 +400,13 @@ public class StandardSQLWriter implements SQLWriterInterface {
 
 				// Compute sequence name, no sequence for multiple pks
 				if(umlClass.getPKs().size() == 1) {
-					sequencesList.add(new SQLSequence(umlClass));
+					SQLSequence sequence = new SQLSequence(umlClass, config.getNamingContext());
+					sequencesList.add(sequence);
+					sequencesTables.put(sequence, table);
 				}
 
 				// Compute pk value
-				table.setPkValue(NamesComputingUtil.computePkSqlName(umlClass));
+				table.setPkValue(config.getNamingContext().computePkSqlName(umlClass));
 
 				// Add columns and compute pk name list
 				for(UmlAttribute umlAttribute : umlClass.getAttributes()) {
@@ -139,12 +435,12 @@ public class StandardSQLWriter implements SQLWriterInterface {
 							// PK 1
 							UmlAttribute attrPk1 = umlAssociation.getSource().getPKs().get(0);
 
-							SQLColumn pk1 = new SQLColumn(NamesComputingUtil.computeColumnFkName(umlAssociation.getOpposite()),attrPk1.getDomain(),true,"ManyToMany FK " + umlAssociation.getSource().getName(), config.getTypeConverter());
+							SQLColumn pk1 = new SQLColumn(config.getNamingContext().computeColumnFkName(umlAssociation.getOpposite()),attrPk1.getDomain(),true,"ManyToMany FK " + umlAssociation.getSource().getName(), config.getTypeConverter());
 							manyToManyTable.addColumn(pk1);
 
 							// PK 2
 							UmlAttribute attrPk2 = umlAssociation.getTarget().getPKs().get(0);
-							SQLColumn pk2 = new SQLColumn(NamesComputingUtil.computeColumnFkName(umlAssociation),attrPk2.getDomain(),true,"ManyToMany FK " + umlAssociation.getTarget().getName(), config.getTypeConverter());
+							SQLColumn pk2 = new SQLColumn(config.getNamingContext().computeColumnFkName(umlAssociation),attrPk2.getDomain(),true,"ManyToMany FK " + umlAssociation.getTarget().getName(), config.getTypeConverter());
 							manyToManyTable.addColumn(pk2);
 
 							// PK VALUE
@@ -171,14 +467,14 @@ public class StandardSQLWriter implements SQLWriterInterface {
 								SQLColumn fk;
 								// Use fk column name defined in association
 								if(umlAssociation.getTarget().getPKs().size() == 1) {
-									fk = new SQLColumn(NamesComputingUtil.computeColumnFkName(umlAssociation),pkX.getDomain(), !umlAssociation.isTargetNullable(),"ManyToOne FK " + umlAssociation.getTarget().getName(), config.getTypeConverter());
+									fk = new SQLColumn(config.getNamingContext().computeColumnFkName(umlAssociation),pkX.getDomain(), !umlAssociation.isTargetNullable(),"ManyToOne FK " + umlAssociation.getTarget().getName(), config.getTypeConverter());
 								} else { // Generate name from pk because it's a composite key
 									fk = new SQLColumn(pkX.getName(),pkX.getDomain(),true,"ManyToOne FK " + umlAssociation.getTarget().getName(), config.getTypeConverter());
 								}
 								table.addColumn(fk);
 							}
 
-							fksList.add(new SQLForeignKey(umlAssociation));
+							fksList.add(new SQLForeignKey(umlAssociation, config.getNamingContext()));
 						}
 						// OneToOne, create FK if owned
 						else {
@@ -189,14 +485,14 @@ public class StandardSQLWriter implements SQLWriterInterface {
 									SQLColumn fk;
 									// Use fk column name defined in association
 									if(umlAssociation.getTarget().getPKs().size() == 1) {
-										fk = new SQLColumn(NamesComputingUtil.computeColumnFkName(umlAssociation),pkX.getDomain(), !umlAssociation.isTargetNullable(),"OneToOne FK " + umlAssociation.getTarget().getName(), config.getTypeConverter());
+										fk = new SQLColumn(config.getNamingContext().computeColumnFkName(umlAssociation),pkX.getDomain(), !umlAssociation.isTargetNullable(),"OneToOne FK " + umlAssociation.getTarget().getName(), config.getTypeConverter());
 									} else { // Generate name from pk because it's a composite key
 										fk = new SQLColumn(pkX.getName(),pkX.getDomain(),true,"OneToOne FK " + umlAssociation.getTarget().getName(), config.getTypeConverter());
 									}
 									table.addColumn(fk);
 								}
 
-								fksList.add(new SQLForeignKey(umlAssociation));
+								fksList.add(new SQLForeignKey(umlAssociation, config.getNamingContext()));
 							}
 						}
 					}
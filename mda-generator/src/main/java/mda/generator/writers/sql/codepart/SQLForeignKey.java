@@ -1,7 +1,7 @@
 package mda.generator.writers.sql.codepart;
 
 import mda.generator.beans.UmlAssociation;
-import mda.generator.writers.NamesComputingUtil;
+import mda.generator.writers.NamingContext;
 
 /**
  * Class which represent a foreign key between two tables
@@ -20,14 +20,15 @@ public class SQLForeignKey {
 	/**
 	 * 
 	 * @param umlAssociation
+	 * @param namingContext names of the generation
 	 */
-	public SQLForeignKey(UmlAssociation umlAssociation) {
+	public SQLForeignKey(UmlAssociation umlAssociation, NamingContext namingContext) {
 		name = umlAssociation.getName();
 		sourceName = umlAssociation.getSource().getName();
 		targetName = umlAssociation.getTarget().getName();
 				
-		fkValue = NamesComputingUtil.computeFkSqlName(umlAssociation);
-		pkValue = NamesComputingUtil.computePkSqlName(umlAssociation.getTarget());
+		fkValue = namingContext.computeFkSqlName(umlAssociation);
+		pkValue = namingContext.computePkSqlName(umlAssociation.getTarget());
 	}
 	
 	/**
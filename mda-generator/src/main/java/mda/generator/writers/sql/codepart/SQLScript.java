@@ -0,0 +1,51 @@
+package mda.generator.writers.sql.codepart;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Part of the SQL schema written in its own create and drop scripts.
+ *
+ * @author Fabien Crapart
+ */
+public class SQLScript {
+	private final String name;
+	private final List<SQLSequence> sequencesList = new ArrayList<>();
+	private final List<SQLTable> tablesList = new ArrayList<>();
+	private final List<SQLForeignKey> fksList = new ArrayList<>();
+
+	/**
+	 * @param name name of the script, used as suffix of the file names
+	 */
+	public SQLScript(String name) {
+		this.name = name;
+	}
+
+	/**
+	 * @return the name
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * @return the sequencesList
+	 */
+	public List<SQLSequence> getSequencesList() {
+		return sequencesList;
+	}
+
+	/**
+	 * @return the tablesList
+	 */
+	public List<SQLTable> getTablesList() {
+		return tablesList;
+	}
+
+	/**
+	 * @return the fksList
+	 */
+	public List<SQLForeignKey> getFksList() {
+		return fksList;
+	}
+}
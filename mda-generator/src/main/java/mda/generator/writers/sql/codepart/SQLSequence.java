@@ -1,7 +1,7 @@
 package mda.generator.writers.sql.codepart;
 
 import mda.generator.beans.UmlClass;
-import mda.generator.writers.NamesComputingUtil;
+import mda.generator.writers.NamingContext;
 
 
 /**
@@ -13,8 +13,12 @@ import mda.generator.writers.NamesComputingUtil;
 public class SQLSequence {
 	private final String name;
 	
-	public SQLSequence(UmlClass umlClass) {
-		name = NamesComputingUtil.computeSequenceName(umlClass);
+	/**
+	 * @param umlClass class with a single PK
+	 * @param namingContext names of the generation
+	 */
+	public SQLSequence(UmlClass umlClass, NamingContext namingContext) {
+		name = namingContext.computeSequenceName(umlClass);
 	}
 
 	/**
@@ -0,0 +1,196 @@
+package mda.generator;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import mda.generator.beans.UmlAssociation;
+import mda.generator.beans.UmlAttribute;
+import mda.generator.beans.UmlClass;
+import mda.generator.beans.UmlDomain;
+import mda.generator.beans.UmlPackage;
+
+/**
+ * Small model built in memory for the tests, as read by XmiReader (packages, classes, domains and both sides of each connector).
+ *
+ * @author Fabien Crapart
+ */
+public class TestModel {
+	private final Map<String, UmlDomain> domains = new LinkedHashMap<>();
+	private final Map<String, UmlPackage> packages = new LinkedHashMap<>();
+
+	/**
+	 * Model of two packages with foreign keys between them and a cycle :
+	 * <ul>
+	 * <li>com.test.entities.orders : ORD_ORDER (-> CUS_CUSTOMER), ORD_LINE (-> ORD_ORDER, -> PRD_PRODUCT)</li>
+	 * <li>com.test.entities.customers : CUS_CUSTOMER (-> ORD_ORDER, last order : cycle), CUS_ADDRESS (-> CUS_CUSTOMER), PRD_PRODUCT</li>
+	 * </ul>
+	 * The model is not frozen, tests can still modify it.
+	 * @return model
+	 */
+	public static TestModel orders() {
+		TestModel model = new TestModel();
+		model.addDomain("DO_ID", "Long", null);
+		model.addDomain("DO_LABEL", "String", "100");
+		model.addDomain("DO_AMOUNT", "BigDecimal", null);
+
+		UmlPackage orders = model.addPackage("com.test.entities.orders");
+		UmlPackage customers = model.addPackage("com.test.entities.customers");
+
+		UmlClass order = model.addClass(orders, "ORD_ORDER");
+		model.addAttribute(order, "ORD_ID", "DO_ID", true);
+		model.addAttribute(order, "ORD_LABEL", "DO_LABEL", false);
+		UmlClass line = model.addClass(orders, "ORD_LINE");
+		model.addAttribute(line, "LIN_ID", "DO_ID", true);
+		model.addAttribute(line, "LIN_AMOUNT", "DO_AMOUNT", false);
+
+		UmlClass customer = model.addClass(customers, "CUS_CUSTOMER");
+		model.addAttribute(customer, "CUS_ID", "DO_ID", true);
+		model.addAttribute(customer, "CUS_NAME", "DO_LABEL", false);
+		UmlClass address = model.addClass(customers, "CUS_ADDRESS");
+		model.addAttribute(address, "ADR_ID", "DO_ID", true);
+		model.addAttribute(address, "ADR_CITY", "DO_LABEL", false);
+		UmlClass product = model.addClass(customers, "PRD_PRODUCT");
+		model.addAttribute(product, "PRD_ID", "DO_ID", true);
+		model.addAttribute(product, "PRD_LABEL", "DO_LABEL", false);
+
+		model.addManyToOne("EAID_C1", "ORD_CUS", order, customer, true);
+		model.addManyToOne("EAID_C2", "LIN_ORD", line, order, false);
+		model.addManyToOne("EAID_C3", "LIN_PRD", line, product, false);
+		model.addManyToOne("EAID_C4", "CUS_LAST_ORD", customer, order, true);
+		model.addManyToOne("EAID_C5", "ADR_CUS", address, customer, false);
+		return model;
+	}
+
+	/**
+	 * @param name domain name
+	 * @param typeName domain type
+	 * @param maxLength max length (can be null)
+	 * @return domain added
+	 */
+	public UmlDomain addDomain(String name, String typeName, String maxLength) {
+		UmlDomain domain = new UmlDomain();
+		domain.setName(name);
+		domain.setTypeName(typeName);
+		domain.setMaxLength(maxLength);
+		domains.put(name, domain);
+		return domain;
+	}
+
+	/**
+	 * @param name package name
+	 * @return package added
+	 */
+	public UmlPackage addPackage(String name) {
+		UmlPackage umlPackage = new UmlPackage();
+		umlPackage.setId("EAPK_" + name);
+		umlPackage.setName(name);
+		packages.put(name, umlPackage);
+		return umlPackage;
+	}
+
+	/**
+	 * @param umlPackage package of the class
+	 * @param name class name
+	 * @return class added
+	 */
+	public UmlClass addClass(UmlPackage umlPackage, String name) {
+		UmlClass umlClass = new UmlClass();
+		umlClass.setId("EAID_" + name);
+		umlClass.setName(name);
+		umlClass.setXmiPackage(umlPackage);
+		umlPackage.getClasses().add(umlClass);
+		return umlClass;
+	}
+
+	/**
+	 * @param umlClass class of the attribute
+	 * @param name attribute name
+	 * @param domainName name of its domain (not found : attribute without domain)
+	 * @param pk true for a primary key
+	 * @return attribute added
+	 */
+	public UmlAttribute addAttribute(UmlClass umlClass, String name, String domainName, boolean pk) {
+		UmlAttribute attribute = new UmlAttribute();
+		attribute.setId("EAID_" + umlClass.getName() + "_" + name);
+		attribute.setName(name);
+		attribute.setDomain(domains.get(domainName));
+		attribute.setPK(pk);
+		attribute.setIsNotNull(pk);
+		attribute.setReadonly(false);
+		umlClass.addAttribute(attribute);
+		return attribute;
+	}
+
+	/**
+	 * Connector with a foreign key in the source class, navigable from both sides
+	 * @param connectorId xmi:id of the connector
+	 * @param name association name (can be null)
+	 * @param source class with the foreign key
+	 * @param target referenced class
+	 * @param nullable true if the foreign key is nullable
+	 * @return association from the source to the target
+	 */
+	public UmlAssociation addManyToOne(String connectorId, String name, UmlClass source, UmlClass target, boolean nullable) {
+		UmlAssociation sourceToTarget = new UmlAssociation();
+		sourceToTarget.setId(connectorId);
+		sourceToTarget.setName(name);
+		sourceToTarget.setSource(source);
+		sourceToTarget.setTarget(target);
+		sourceToTarget.setTargetMultiple(false);
+		sourceToTarget.setTargetNullable(nullable);
+		sourceToTarget.setTargetNavigable(true);
+		sourceToTarget.setTargetOwned(true);
+		source.addAssociation(sourceToTarget);
+
+		UmlAssociation targetToSource = new UmlAssociation();
+		targetToSource.setId(connectorId);
+		targetToSource.setName(name);
+		targetToSource.setSource(target);
+		targetToSource.setTarget(source);
+		targetToSource.setTargetMultiple(true);
+		targetToSource.setTargetNullable(true);
+		targetToSource.setTargetNavigable(true);
+		target.addAssociation(targetToSource);
+
+		sourceToTarget.setOpposite(targetToSource);
+		targetToSource.setOpposite(sourceToTarget);
+		return sourceToTarget;
+	}
+
+	/**
+	 * @param name class name
+	 * @return class of the model, null if not found
+	 */
+	public UmlClass getClass(String name) {
+		for(UmlPackage umlPackage : packages.values()) {
+			for(UmlClass umlClass : umlPackage.getClasses()) {
+				if(umlClass.getName().equals(name)) {
+					return umlClass;
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * @return domains by name
+	 */
+	public Map<String, UmlDomain> getDomains() {
+		return domains;
+	}
+
+	/**
+	 * Packages of the model, frozen as after the reading of a model file
+	 * @return packages
+	 */
+	public Collection<UmlPackage> getPackages() {
+		for(UmlDomain domain : domains.values()) {
+			domain.freeze();
+		}
+		for(UmlPackage umlPackage : packages.values()) {
+			umlPackage.freeze();
+		}
+		return packages.values();
+	}
+}
@@ -0,0 +1,63 @@
+package mda.generator.components;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.function.Supplier;
+
+import org.junit.Test;
+
+import mda.generator.converters.type.DomainToOracleConverter;
+import mda.generator.converters.type.TypeConverterInterface;
+import mda.generator.exceptions.MdaGeneratorException;
+import mda.generator.readers.ModelFileReaderInterface;
+import mda.generator.readers.xmi.XmiStaxReader;
+
+/**
+ * Implementations resolved from the registered suppliers only, the reflection being kept for the deprecated configuration by class.
+ *
+ * @author Fabien Crapart
+ */
+public class ComponentsRegistryTest {
+
+	@Test
+	public void testRegisteredNames() {
+		ComponentsRegistry registry = ComponentsRegistry.getDefault();
+		Supplier<? extends ModelFileReaderInterface> reader = registry.getSupplier(ModelFileReaderInterface.class, "XmiStaxReader");
+		assertTrue(reader.get() instanceof XmiStaxReader);
+		assertEquals(XmiStaxReader.class.getName(), reader.toString());
+
+		Supplier<? extends TypeConverterInterface> converter = registry.getSupplier(TypeConverterInterface.class, DomainToOracleConverter.class.getName());
+		assertTrue(converter.get() instanceof DomainToOracleConverter);
+	}
+
+	@Test
+	public void testUnknownName() {
+		try {
+			ComponentsRegistry.getDefault().getSupplier(TypeConverterInterface.class, "com.mycompany.MyTypeConverter");
+			fail();
+		} catch (MdaGeneratorException e) {
+			assertTrue(e.getMessage(), e.getMessage().contains("com.mycompany.MyTypeConverter"));
+		}
+	}
+
+	@Test(expected = MdaGeneratorException.class)
+	public void testNotRegisteredClass() {
+		ComponentsRegistry.getDefault().getSupplier(TypeConverterInterface.class, NotRegisteredConverter.class);
+	}
+
+	@Test
+	@SuppressWarnings("deprecation")
+	public void testLegacyNotRegisteredClass() {
+		Supplier<? extends TypeConverterInterface> converter = ComponentsRegistry.getDefault().getLegacySupplier(TypeConverterInterface.class, NotRegisteredConverter.class);
+		assertTrue(converter.get() instanceof NotRegisteredConverter);
+		assertEquals(NotRegisteredConverter.class.getName(), converter.toString());
+	}
+
+	/**
+	 * Converter of a project, not registered by a ComponentsProvider
+	 */
+	public static class NotRegisteredConverter extends DomainToOracleConverter {
+	}
+}
@@ -0,0 +1,50 @@
+package mda.generator.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Measures of the phases, by phase and detail.
+ *
+ * @author Fabien Crapart
+ */
+public class GenerationReportTest {
+
+	@Test
+	public void testMeasuresByPhaseAndDetail() {
+		GenerationReport report = new GenerationReport();
+		measure(report, GenerationPhase.TEMPLATE_RENDERING, "entity.vm");
+		measure(report, GenerationPhase.FILE_IO, null);
+		measure(report, GenerationPhase.TEMPLATE_RENDERING, "dao_spring.vm");
+		measure(report, GenerationPhase.TEMPLATE_RENDERING, "entity.vm");
+		measure(report, GenerationPhase.TEMPLATE_RENDERING, null);
+		measure(report, GenerationPhase.FILE_IO, null);
+
+		// Ordered by phase, then without detail first and by detail
+		List<PhaseMetrics> phases = report.getPhases();
+		assertEquals(4, phases.size());
+		assertMetrics(phases.get(0), GenerationPhase.TEMPLATE_RENDERING, null, 1);
+		assertMetrics(phases.get(1), GenerationPhase.TEMPLATE_RENDERING, "dao_spring.vm", 1);
+		assertMetrics(phases.get(2), GenerationPhase.TEMPLATE_RENDERING, "entity.vm", 2);
+		assertMetrics(phases.get(3), GenerationPhase.FILE_IO, null, 2);
+
+		assertSame(phases.get(3), report.getPhase(GenerationPhase.FILE_IO));
+		assertNull(report.getPhase(GenerationPhase.MODEL_PARSING));
+	}
+
+	private static void measure(GenerationReport report, GenerationPhase phase, String detail) {
+		PhaseMeasure measure = report.measure(phase, detail);
+		measure.close();
+	}
+
+	private static void assertMetrics(PhaseMetrics metrics, GenerationPhase phase, String detail, long count) {
+		assertEquals(phase, metrics.getPhase());
+		assertEquals(detail, metrics.getDetail());
+		assertEquals(count, metrics.getCount());
+	}
+}
@@ -0,0 +1,154 @@
+package mda.generator.readers.snapshot;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import mda.generator.TestModel;
+import mda.generator.beans.UmlAssociation;
+import mda.generator.beans.UmlAttribute;
+import mda.generator.beans.UmlClass;
+import mda.generator.beans.UmlPackage;
+import mda.generator.exceptions.MdaGeneratorException;
+
+/**
+ * Write and read back of a model snapshot, and key of its input files.
+ *
+ * @author Fabien Crapart
+ */
+public class ModelSnapshotTest {
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testRoundTrip() throws IOException {
+		Path input = write("model.xmi", "<xmi/>");
+		Path snapshotPath = folder.getRoot().toPath().resolve("model.snapshot");
+		snapshot(TestModel.orders()).write(snapshotPath, Collections.singletonList(ModelSnapshot.InputFile.of(input)));
+
+		ModelSnapshot snapshot = ModelSnapshot.read(snapshotPath);
+		assertEquals(3, snapshot.getDomainsMap().size());
+		assertEquals("100", snapshot.getDomainsMap().get("DO_LABEL").getMaxLength());
+		assertEquals(2, snapshot.getPackagesMap().size());
+		assertEquals(5, snapshot.getClassesMap().size());
+
+		UmlPackage orders = snapshot.getPackagesMap().get("com.test.entities.orders");
+		assertEquals(Arrays.asList("ORD_ORDER", "ORD_LINE"), Arrays.asList(orders.getClasses().get(0).getName(), orders.getClasses().get(1).getName()));
+
+		UmlClass line = snapshot.getClassesMap().get("EAID_ORD_LINE");
+		assertSame(orders, line.getXmiPackage());
+		UmlAttribute amount = line.getAttributes().get(1);
+		assertEquals("LIN_AMOUNT", amount.getName());
+		assertSame(snapshot.getDomainsMap().get("DO_AMOUNT"), amount.getDomain());
+		assertTrue(line.getAttributes().get(0).isPK());
+
+		UmlAssociation lineToOrder = line.getAssociations().get(0);
+		assertEquals("EAID_C2", lineToOrder.getId());
+		assertEquals("LIN_ORD", lineToOrder.getName());
+		assertSame(snapshot.getClassesMap().get("EAID_ORD_ORDER"), lineToOrder.getTarget());
+		assertTrue(lineToOrder.isTargetOwned());
+		assertFalse(lineToOrder.isTargetNullable());
+		assertSame(lineToOrder, lineToOrder.getOpposite().getOpposite());
+		assertTrue(lineToOrder.getOpposite().isTargetMultiple());
+		assertTrue(line.isFrozen());
+	}
+
+	@Test
+	public void testSnapshotReplacedAfterRead() throws IOException {
+		Path snapshotPath = folder.getRoot().toPath().resolve("model.snapshot");
+		List<ModelSnapshot.InputFile> inputs = Collections.singletonList(ModelSnapshot.InputFile.of(write("model.xmi", "<xmi/>")));
+		snapshot(TestModel.orders()).write(snapshotPath, inputs);
+		ModelSnapshot.readKey(snapshotPath);
+		ModelSnapshot.read(snapshotPath);
+
+		// The file read is not kept open or mapped
+		TestModel model = TestModel.orders();
+		model.addClass(model.addPackage("com.test.entities.stocks"), "STK_STOCK");
+		snapshot(model).write(snapshotPath, inputs);
+		assertEquals(3, ModelSnapshot.read(snapshotPath).getPackagesMap().size());
+	}
+
+	@Test
+	public void testKey() throws IOException {
+		Path first = write("first.xmi", "<xmi>first</xmi>");
+		Path second = write("second.xmi", "<xmi>second</xmi>");
+		Path snapshotPath = folder.getRoot().toPath().resolve("model.snapshot");
+		snapshot(TestModel.orders()).write(snapshotPath, Arrays.asList(ModelSnapshot.InputFile.of(first), ModelSnapshot.InputFile.of(second)));
+
+		List<ModelSnapshot.InputFile> key = ModelSnapshot.readKey(snapshotPath);
+		assertEquals(2, key.size());
+		assertTrue(key.get(0).hasSameAttributes(first));
+		assertTrue(key.get(1).hasSameAttributes(second));
+		assertTrue(key.get(0).hasSameContent(ModelSnapshot.InputFile.of(first)));
+		assertFalse(key.get(0).hasSameContent(ModelSnapshot.InputFile.of(second)));
+	}
+
+	@Test
+	public void testKeyOfModifiedFile() throws IOException {
+		Path input = write("model.xmi", "<xmi>first</xmi>");
+		ModelSnapshot.InputFile key = ModelSnapshot.InputFile.of(input);
+		FileTime lastModified = Files.getLastModifiedTime(input);
+
+		// Touched only : attributes differ, same content
+		Files.setLastModifiedTime(input, FileTime.fromMillis(lastModified.toMillis() + 10_000));
+		assertFalse(key.hasSameAttributes(input));
+		assertTrue(key.hasSameContent(ModelSnapshot.InputFile.of(input)));
+
+		// Same size and date, other content : only the content tells
+		write("model.xmi", "<xmi>other</xmi>");
+		Files.setLastModifiedTime(input, lastModified);
+		assertTrue(key.hasSameAttributes(input));
+		assertFalse(key.hasSameContent(ModelSnapshot.InputFile.of(input)));
+	}
+
+	@Test
+	public void testNoKeyForOtherFiles() throws IOException {
+		Path folderPath = folder.getRoot().toPath();
+		assertNull(ModelSnapshot.readKey(folderPath.resolve("missing.snapshot")));
+		assertNull(ModelSnapshot.readKey(write("empty.snapshot", "")));
+		assertNull(ModelSnapshot.readKey(write("other.snapshot", "not a snapshot of the model")));
+	}
+
+	@Test(expected = MdaGeneratorException.class)
+	public void testTruncatedSnapshot() throws IOException {
+		Path snapshotPath = folder.getRoot().toPath().resolve("model.snapshot");
+		snapshot(TestModel.orders()).write(snapshotPath, Collections.singletonList(ModelSnapshot.InputFile.of(write("model.xmi", "<xmi/>"))));
+		byte[] bytes = Files.readAllBytes(snapshotPath);
+		Files.write(snapshotPath, Arrays.copyOf(bytes, bytes.length - 10));
+
+		ModelSnapshot.read(snapshotPath);
+	}
+
+	private Path write(String fileName, String content) throws IOException {
+		return Files.write(folder.getRoot().toPath().resolve(fileName), content.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static ModelSnapshot snapshot(TestModel model) {
+		Map<String, UmlPackage> packagesMap = new LinkedHashMap<>();
+		Map<String, UmlClass> classesMap = new LinkedHashMap<>();
+		for(UmlPackage umlPackage : model.getPackages()) {
+			packagesMap.put(umlPackage.getName(), umlPackage);
+			for(UmlClass umlClass : umlPackage.getClasses()) {
+				classesMap.put(umlClass.getId(), umlClass);
+			}
+		}
+		return new ModelSnapshot(model.getDomains(), packagesMap, classesMap);
+	}
+}
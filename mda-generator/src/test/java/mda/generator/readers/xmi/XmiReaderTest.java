@@ -0,0 +1,196 @@
+package mda.generator.readers.xmi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.net.URISyntaxException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import mda.generator.beans.UmlClass;
+import mda.generator.beans.UmlDomain;
+import mda.generator.beans.UmlPackage;
+import mda.generator.converters.type.DomainToOracleConverter;
+import mda.generator.exceptions.MdaGeneratorException;
+import mda.generator.metrics.GenerationPhase;
+import mda.generator.metrics.GenerationReport;
+import mda.generator.metrics.ModelReport;
+
+/**
+ * Same model read by both readers, whatever the order of its parts.
+ * Reading of invalid model files (export in progress for example) and errors of the metadata thread : the readers fail with a {@link MdaGeneratorException}.
+ *
+ * @author Fabien Crapart
+ */
+public class XmiReaderTest {
+	private static final String METADATA = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<RefData version=\"1.0\">\n</RefData>\n";
+	private static final String TRUNCATED_MODEL = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+			+ "<xmi:XMI xmi:version=\"2.1\" xmlns:uml=\"http://schema.omg.org/spec/UML/2.1\" xmlns:xmi=\"http://schema.omg.org/spec/XMI/2.1\">\n"
+			+ "\t<uml:Model xmi:type=\"uml:Model\" name=\"EA_Model\" visibility=\"public\">\n"
+			+ "\t\t<packagedElement xmi:type=\"uml:Package\" xmi:id=\"EAPK_1\" name=\"com.test.entities\" vis";
+
+	private static final Charset MODEL_CHARSET = Charset.forName("windows-1252");
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testSameModelWithBothReaders() throws IOException, URISyntaxException {
+		String model = resource("/model/orders.xmi");
+		String metadata = resource("/model/orders_metadata.xml");
+
+		String expected = report(model, metadata, new XmiReader());
+		assertTrue(expected, expected.contains("\"name\": \"LIN_ORD\", \"target\": \"ORD_ORDER\""));
+		assertEquals(expected, report(model, metadata, new XmiStaxReader()));
+	}
+
+	@Test
+	public void testExtensionBeforeModel() throws IOException, URISyntaxException {
+		String model = resource("/model/orders.xmi");
+		String metadata = resource("/model/orders_metadata.xml");
+
+		// Extension moved before the UML part
+		String content = new String(Files.readAllBytes(Paths.get(model)), MODEL_CHARSET);
+		int modelStart = content.indexOf("\t<uml:Model");
+		int extensionStart = content.indexOf("\t<xmi:Extension");
+		int extensionEnd = content.indexOf('\n', content.indexOf("</xmi:Extension>")) + 1;
+		String reordered = content.substring(0, modelStart) + content.substring(extensionStart, extensionEnd)
+				+ content.substring(modelStart, extensionStart) + content.substring(extensionEnd);
+		Path reorderedModel = Files.write(folder.getRoot().toPath().resolve("reordered.xmi"), reordered.getBytes(MODEL_CHARSET));
+
+		assertEquals(report(model, metadata, new XmiReader()), report(reorderedModel.toString(), metadata, new XmiStaxReader()));
+		assertEquals(1, linkingCount(reorderedModel.toString(), metadata, new XmiStaxReader()));
+	}
+
+	@Test
+	public void testLinkingMeasuredOnce() throws URISyntaxException {
+		String model = resource("/model/orders.xmi");
+		String metadata = resource("/model/orders_metadata.xml");
+
+		assertEquals(1, linkingCount(model, metadata, new XmiReader()));
+		assertEquals(1, linkingCount(model, metadata, new XmiStaxReader()));
+	}
+
+	@Test(expected = MdaGeneratorException.class)
+	public void testTruncatedModel() throws IOException {
+		new XmiReader().extractObjects(write("model.xmi", TRUNCATED_MODEL), write("metadata.xml", METADATA));
+	}
+
+	@Test(expected = MdaGeneratorException.class)
+	public void testTruncatedModelStreamed() throws IOException {
+		new XmiStaxReader().extractObjects(write("model.xmi", TRUNCATED_MODEL), write("metadata.xml", METADATA));
+	}
+
+	@Test(expected = MdaGeneratorException.class)
+	public void testTruncatedMetadata() throws IOException {
+		new XmiReader().extractObjects(write("model.xmi", TRUNCATED_MODEL), write("metadata.xml", METADATA.substring(0, 50)));
+	}
+
+	@Test(expected = MdaGeneratorException.class)
+	public void testMissingModel() {
+		new XmiStaxReader().extractObjects(folder.getRoot().toPath().resolve("missing.xmi").toString(), folder.getRoot().toPath().resolve("missing.xml").toString());
+	}
+
+	@Test
+	public void testErrorOfMetadataThread() {
+		XmiReader reader = new XmiReader() {
+			@Override
+			protected void extractModel(String pathToXmi) {
+				// Empty model
+			}
+
+			@Override
+			protected void extractMetadata(String pathToMetadataXmi) {
+				throw new AssertionError("metadata error");
+			}
+		};
+
+		try {
+			reader.extractObjects("model.xmi", "metadata.xml");
+			fail();
+		} catch (MdaGeneratorException e) {
+			assertEquals("metadata error", e.getCause().getMessage());
+		}
+	}
+
+	@Test
+	public void testInterruptedWhileReadingMetadata() throws InterruptedException {
+		CountDownLatch metadataEnd = new CountDownLatch(1);
+		XmiReader reader = new XmiReader() {
+			@Override
+			protected void extractModel(String pathToXmi) {
+				Thread.currentThread().interrupt();
+			}
+
+			@Override
+			protected void extractMetadata(String pathToMetadataXmi) {
+				try {
+					metadataEnd.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		};
+
+		try {
+			reader.extractObjects("model.xmi", "metadata.xml");
+			fail();
+		} catch (MdaGeneratorException e) {
+			// The interrupt of the caller is kept
+			assertTrue(Thread.interrupted());
+		} finally {
+			metadataEnd.countDown();
+		}
+	}
+
+	/**
+	 * @return report of the model read, with the comments which are not in the report, packages and domains sorted by name
+	 */
+	private static String report(String model, String metadata, XmiReader reader) throws IOException {
+		reader.extractObjects(model, metadata);
+		List<UmlDomain> domains = new ArrayList<>(reader.getDomainsMap().values());
+		domains.sort(Comparator.comparing(UmlDomain::getName));
+		List<UmlPackage> packages = new ArrayList<>(reader.getPackagesMap().values());
+		packages.sort(Comparator.comparing(UmlPackage::getName));
+
+		StringWriter report = new StringWriter();
+		new ModelReport(domains, packages, new DomainToOracleConverter()).writeJson(report);
+		for(UmlPackage umlPackage : packages) {
+			report.append(umlPackage.getName()).append(" : ").append(umlPackage.getComment()).append("\n");
+			for(UmlClass umlClass : umlPackage.getClasses()) {
+				report.append(umlClass.getName()).append(" : ").append(umlClass.getComment()).append("\n");
+			}
+		}
+		return report.toString();
+	}
+
+	private static long linkingCount(String model, String metadata, XmiReader reader) {
+		GenerationReport report = new GenerationReport();
+		reader.setReport(report);
+		reader.extractObjects(model, metadata);
+		return report.getPhase(GenerationPhase.ASSOCIATIONS_LINKING).getCount();
+	}
+
+	private static String resource(String name) throws URISyntaxException {
+		return Paths.get(XmiReaderTest.class.getResource(name).toURI()).toString();
+	}
+
+	private String write(String fileName, String content) throws IOException {
+		Path file = Files.write(folder.getRoot().toPath().resolve(fileName), content.getBytes(StandardCharsets.UTF_8));
+		return file.toString();
+	}
+}
@@ -0,0 +1,50 @@
+package mda.generator.validation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import mda.generator.TestModel;
+import mda.generator.beans.UmlClass;
+import mda.generator.converters.type.DomainToOracleConverter;
+
+/**
+ * Violations of the model, each one reported once.
+ *
+ * @author Fabien Crapart
+ */
+public class ModelValidatorTest {
+
+	@Test
+	public void testValidModel() {
+		assertTrue(validate(TestModel.orders()).isEmpty());
+	}
+
+	@Test
+	public void testViolations() {
+		TestModel model = TestModel.orders();
+		// Domain not found
+		UmlClass address = model.getClass("CUS_ADDRESS");
+		model.addAttribute(address, "ADR_ZIP", "DO_ZIP", false);
+		// Connector without name, owned from both sides
+		model.addManyToOne("EAID_C6", null, address, model.getClass("PRD_PRODUCT"), true).getOpposite().setTargetOwned(true);
+		// Foreign key to a class without primary key
+		UmlClass stock = model.addClass(model.addPackage("com.test.entities.stocks"), "STK_STOCK");
+		model.addAttribute(stock, "STK_QUANTITY", "DO_AMOUNT", false);
+		model.addManyToOne("EAID_C7", "LIN_STK", model.getClass("ORD_LINE"), stock, true);
+
+		assertEquals(Arrays.asList(
+				"Cannot find a primary key for class STK_STOCK, needed by association LIN_STK",
+				"Domain not found for attribute ADR_ZIP of class CUS_ADDRESS",
+				"Association EAID_C6 between CUS_ADDRESS and PRD_PRODUCT has no name"),
+				validate(model));
+	}
+
+	private static List<String> validate(TestModel model) {
+		return new ModelValidator(new DomainToOracleConverter(), null).validate(model.getPackages());
+	}
+}
@@ -0,0 +1,85 @@
+package mda.generator.writers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.apache.commons.lang3.StringUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Analysis of generated files, the streamed analysis gives the same result without keeping the content of the file.
+ *
+ * @author Fabien Crapart
+ */
+public class GeneratedFileScannerTest {
+	private static final String STOP = "// STOP GENERATION";
+	private static final String END = "// END OF GENERATED CODE";
+	/** Bigger than the blocks read, the comments are read across two blocks */
+	private static final String GENERATED = StringUtils.repeat("// generated line\n", 1000);
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testUserContent() throws IOException {
+		GeneratedFileScanner scanner = assertSameAnalysis(GENERATED + END + "\n\tpublic void custom() {\n\t}\n}\n");
+		assertTrue(scanner.hasUserContent());
+		assertEquals("\tpublic void custom() {\n\t}\n}", scanner.getUserContent());
+	}
+
+	@Test
+	public void testUserContentWithOtherLineBreaks() throws IOException {
+		assertEquals("}\n// user", assertSameAnalysis(GENERATED + END + "\r\n}\r\n// user\r\n").getUserContent());
+		assertEquals("}\n// user", assertSameAnalysis(GENERATED + END + "\r}\r// user").getUserContent());
+	}
+
+	@Test
+	public void testNoUserContent() throws IOException {
+		assertTrue(assertSameAnalysis(GENERATED + END).hasUserContent());
+		assertEquals("", assertSameAnalysis(GENERATED + END + "\n").getUserContent());
+		assertFalse(assertSameAnalysis(GENERATED + "}\n").hasUserContent());
+	}
+
+	@Test
+	public void testStopGeneration() throws IOException {
+		assertTrue(assertSameAnalysis(GENERATED + STOP + "\n}\n").isStopGeneration());
+		assertTrue(assertSameAnalysis(GENERATED + END + "\n" + STOP + "\n}\n").isStopGeneration());
+		// Partial comment
+		assertFalse(assertSameAnalysis("// STOP // STOP GENERATIO\n").isStopGeneration());
+	}
+
+	@Test
+	public void testMissingFile() throws IOException {
+		GeneratedFileScanner scanner = GeneratedFileScanner.scanStreamed(folder.getRoot().toPath().resolve("Missing.java"), STOP, END);
+		assertFalse(scanner.exists());
+		assertFalse(scanner.hasUserContent());
+	}
+
+	/**
+	 * @param content content of the analysed file
+	 * @return result of the streamed analysis, which is the same as the analysis keeping the content
+	 * @throws IOException
+	 */
+	private GeneratedFileScanner assertSameAnalysis(String content) throws IOException {
+		Path filePath = Files.write(folder.getRoot().toPath().resolve("Generated.java"), content.getBytes(StandardCharsets.UTF_8));
+		GeneratedFileScanner scanner = GeneratedFileScanner.scan(filePath, STOP, END);
+		GeneratedFileScanner streamed = GeneratedFileScanner.scanStreamed(filePath, STOP, END);
+
+		assertTrue(streamed.exists());
+		assertNull(streamed.getContent());
+		assertEquals(scanner.isStopGeneration(), streamed.isStopGeneration());
+		assertEquals(scanner.hasUserContent(), streamed.hasUserContent());
+		assertEquals(scanner.getUserContentOffset(), streamed.getUserContentOffset());
+		assertEquals(scanner.getUserContent(), streamed.getUserContent());
+		return streamed;
+	}
+}
@@ -0,0 +1,120 @@
+package mda.generator.writers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import mda.generator.TestModel;
+import mda.generator.beans.UmlAssociation;
+import mda.generator.beans.UmlClass;
+import mda.generator.beans.UmlPackage;
+import mda.generator.converters.type.DomainToOracleConverter;
+import mda.generator.utils.file.PathUtils;
+import mda.generator.writers.sql.SQLWriterConfig;
+import mda.generator.writers.sql.StandardSQLWriter;
+
+/**
+ * Names computed once per generation, with the sequence prefix of the generation.
+ *
+ * @author Fabien Crapart
+ */
+public class NamingContextTest {
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testNamesComputedOnce() {
+		TestModel model = TestModel.orders();
+		UmlClass line = model.getClass("ORD_LINE");
+		UmlAssociation lineToOrder = line.getAssociations().get(0);
+		NamingContext context = new NamingContext("S_");
+
+		String sequenceName = context.computeSequenceName(line);
+		assertEquals("S_ORD_LINE", sequenceName);
+		assertSame(sequenceName, context.computeSequenceName(line));
+		assertSame(context.computePkSqlName(line), context.computePkSqlName(line));
+		assertSame(context.computeFkSqlName(lineToOrder), context.computeFkSqlName(lineToOrder));
+
+		// Another context computes its own names
+		assertEquals("SEQ_ORD_LINE", new NamingContext().computeSequenceName(line));
+		assertSame(sequenceName, context.computeSequenceName(line));
+	}
+
+	@Test
+	@SuppressWarnings("deprecation")
+	public void testDeprecatedSequencePrefix() {
+		UmlClass order = TestModel.orders().getClass("ORD_ORDER");
+		try {
+			NamesComputingUtil.changeSequencePrefix("OLD_");
+			assertEquals("OLD_ORD_ORDER", NamesComputingUtil.computeSequenceName(order));
+		} finally {
+			NamesComputingUtil.changeSequencePrefix(NamesComputingUtil.DEFAULT_SEQUENCE_PREFIX);
+		}
+		assertEquals("SEQ_ORD_ORDER", NamesComputingUtil.computeSequenceName(order));
+	}
+
+	@Test
+	public void testConcurrentGenerations() throws InterruptedException, ExecutionException {
+		// Same model (frozen before the generations) for both generations
+		Collection<UmlPackage> packages = TestModel.orders().getPackages();
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			Future<String> first = executor.submit(() -> generateSql(packages, "FIRST_", start));
+			Future<String> second = executor.submit(() -> generateSql(packages, "SECOND_", start));
+			start.countDown();
+
+			String firstScript = first.get();
+			String secondScript = second.get();
+			assertTrue(firstScript, firstScript.contains("CREATE SEQUENCE FIRST_ORD_ORDER "));
+			assertFalse(firstScript, firstScript.contains("SECOND_"));
+			assertTrue(secondScript, secondScript.contains("CREATE SEQUENCE SECOND_ORD_ORDER "));
+			assertFalse(secondScript, secondScript.contains("FIRST_"));
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Generation of the sql scripts, with its own naming context
+	 * @param packages packages of the model
+	 * @param sequencePrefix prefix of the sequences of the generation
+	 * @param start started when all the generations are ready
+	 * @return create script
+	 * @throws IOException
+	 * @throws InterruptedException
+	 */
+	private String generateSql(Collection<UmlPackage> packages, String sequencePrefix, CountDownLatch start) throws IOException, InterruptedException {
+		Path outputDirectory = folder.newFolder(sequencePrefix).toPath();
+		SQLWriterConfig config = new SQLWriterConfig();
+		config.setPackagesList(packages);
+		config.setCreateSqlTemplatePath(PathUtils.getPathForClassPathAndFs("/templates/createSQL_oracle.vm"));
+		config.setDropSqlTemplatePath(PathUtils.getPathForClassPathAndFs("/templates/dropSQL_oracle.vm"));
+		config.setCreateTablesPath(outputDirectory.resolve("create.sql"));
+		config.setDropTablesPath(outputDirectory.resolve("drop.sql"));
+		config.setTypeConverter(new DomainToOracleConverter());
+		config.setExcludesClassesPrefixes(Collections.emptyList());
+		config.setNamingContext(new NamingContext(sequencePrefix));
+
+		start.await();
+		new StandardSQLWriter().writeSql(config);
+		return new String(Files.readAllBytes(outputDirectory.resolve("create.sql")), StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,113 @@
+package mda.generator.writers;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.apache.velocity.VelocityContext;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Analysis of an existing file and comparison with its new content.
+ *
+ * @author Fabien Crapart
+ */
+public class VelocityUtilsTest {
+	private static final String STOP = "// STOP GENERATION";
+	private static final String END = "// END OF GENERATED CODE";
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testUserContentIsAddedToContext() throws IOException {
+		Path file = write("Generated.java", "class Generated {}\r\n" + END + "\r\n// user line 1\r\n// user line 2\r\n");
+		VelocityContext context = new VelocityContext();
+
+		assertTrue(VelocityUtils.analyseFileAndCompleteContext(file, STOP, END, context));
+		assertEquals(Boolean.TRUE, context.get("keep_content"));
+		assertEquals("// user line 1\n// user line 2", context.get("content_to_keep"));
+	}
+
+	@Test
+	public void testStopGeneration() throws IOException {
+		Path file = write("Kept.java", "class Kept {}\n" + STOP + "\n");
+
+		assertFalse(VelocityUtils.analyseFileAndCompleteContext(file, STOP, END, new VelocityContext()));
+	}
+
+	@Test
+	public void testNewFileIsWritten() throws IOException {
+		Path file = folder.getRoot().toPath().resolve("New.java");
+		VelocityContext context = new VelocityContext();
+		VelocityUtils.analyseFileAndCompleteContext(file, STOP, END, context);
+
+		assertTrue(VelocityUtils.writeIfChanged(file, bytes("class New {}\n"), context));
+		assertArrayEquals(bytes("class New {}\n"), Files.readAllBytes(file));
+	}
+
+	@Test
+	public void testComparedWithContentAnalysed() throws IOException {
+		Path file = write("Same.java", "class Same {}\n");
+		VelocityContext context = new VelocityContext();
+		VelocityUtils.analyseFileAndCompleteContext(file, STOP, END, context);
+
+		// Same content as analysed : the file is neither read again nor written
+		Files.write(file, bytes("modified after the analysis\n"));
+		assertFalse(VelocityUtils.writeIfChanged(file, bytes("class Same {}\n"), context));
+		assertArrayEquals(bytes("modified after the analysis\n"), Files.readAllBytes(file));
+
+		assertTrue(VelocityUtils.writeIfChanged(file, bytes("class Other {}\n"), context));
+		assertArrayEquals(bytes("class Other {}\n"), Files.readAllBytes(file));
+	}
+
+	@Test
+	public void testTemporaryFileComparedWithContentAnalysed() throws IOException {
+		Path file = write("Streamed.java", "class Streamed {}\n");
+		VelocityContext context = new VelocityContext();
+		VelocityUtils.analyseFileAndCompleteContext(file, STOP, END, context);
+
+		Path tempFile = write(".Streamed.java.tmp", "class Streamed {}\n");
+		assertFalse(VelocityUtils.moveIfChanged(tempFile, file, context));
+		assertFalse(Files.exists(tempFile));
+
+		tempFile = write(".Streamed.java.tmp", "class Streamed { int i; }\n");
+		assertTrue(VelocityUtils.moveIfChanged(tempFile, file, context));
+		assertFalse(Files.exists(tempFile));
+		assertArrayEquals(bytes("class Streamed { int i; }\n"), Files.readAllBytes(file));
+	}
+
+	@Test
+	public void testTemporaryFileComparedWithFileStreamed() throws IOException {
+		Path file = write("Streamed.java", "class Streamed {}\n" + END + "\n// user\n");
+		VelocityContext context = new VelocityContext();
+		assertTrue(VelocityUtils.analyseFileAndCompleteContext(file, STOP, END, context, true));
+		assertEquals("// user", context.get("content_to_keep"));
+
+		// Content not kept by the analysis : the temporary file is compared with the file
+		Path tempFile = write(".Streamed.java.tmp", "class Streamed {}\n" + END + "\n// user\n");
+		assertFalse(VelocityUtils.moveIfChanged(tempFile, file, context));
+		assertFalse(Files.exists(tempFile));
+
+		Files.write(file, bytes("modified after the analysis\n"));
+		tempFile = write(".Streamed.java.tmp", "class Streamed {}\n" + END + "\n// user\n");
+		assertTrue(VelocityUtils.moveIfChanged(tempFile, file, context));
+		assertArrayEquals(bytes("class Streamed {}\n" + END + "\n// user\n"), Files.readAllBytes(file));
+	}
+
+	private Path write(String fileName, String content) throws IOException {
+		return Files.write(folder.getRoot().toPath().resolve(fileName), bytes(content));
+	}
+
+	private static byte[] bytes(String content) {
+		return content.getBytes(StandardCharsets.UTF_8);
+	}
+}
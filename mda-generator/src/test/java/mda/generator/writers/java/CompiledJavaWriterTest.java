@@ -0,0 +1,143 @@
+package mda.generator.writers.java;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import mda.generator.TestModel;
+import mda.generator.converters.java.JavaSnakeToCamelNameConverter;
+import mda.generator.converters.type.DomainToOracleConverter;
+import mda.generator.converters.type.ResolvedTypeCache;
+import mda.generator.metrics.GenerationReport;
+import mda.generator.utils.file.PathUtils;
+
+/**
+ * Files emitted in java by {@link CompiledJavaWriter} are the same, byte for byte, as the files merged by Velocity with the default templates.
+ *
+ * @author Fabien Crapart
+ */
+public class CompiledJavaWriterTest {
+	/** 5 classes, 5 daos and 2 package-info per package */
+	private static final int ALL_FILES = 14;
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private Path velocityOutputDirectory;
+	private Path compiledOutputDirectory;
+
+	@Before
+	public void setUp() throws IOException {
+		velocityOutputDirectory = folder.newFolder("velocity").toPath();
+		compiledOutputDirectory = folder.newFolder("compiled").toPath();
+	}
+
+	@Test
+	public void testSameFiles() throws IOException {
+		generate(new JavaWriter(), velocityOutputDirectory, false);
+		generate(new CompiledJavaWriter(), compiledOutputDirectory, false);
+
+		assertSameFiles();
+	}
+
+	@Test
+	public void testSameFilesWithRenderingPlans() throws IOException {
+		generate(new JavaWriter(), velocityOutputDirectory, true);
+		generate(new CompiledJavaWriter(), compiledOutputDirectory, true);
+
+		assertSameFiles();
+	}
+
+	@Test
+	public void testSameFilesWithUserContent() throws IOException {
+		generate(new JavaWriter(), velocityOutputDirectory, false);
+		generate(new CompiledJavaWriter(), compiledOutputDirectory, false);
+		addUserContent(velocityOutputDirectory.resolve("com/test/entities/orders/OrdOrder.java"));
+		addUserContent(compiledOutputDirectory.resolve("com/test/entities/orders/OrdOrder.java"));
+
+		TestModel model = TestModel.orders();
+		model.addAttribute(model.getClass("ORD_ORDER"), "ORD_COMMENT", "DO_LABEL", false);
+		generate(new JavaWriter(), velocityOutputDirectory, false, model);
+		generate(new CompiledJavaWriter(), compiledOutputDirectory, false, model);
+
+		assertSameFiles();
+		String order = new String(Files.readAllBytes(compiledOutputDirectory.resolve("com/test/entities/orders/OrdOrder.java")), StandardCharsets.UTF_8);
+		assertTrue(order.contains("ORD_COMMENT"));
+		assertTrue(order.contains("public void custom()"));
+	}
+
+	/**
+	 * Content added by the user after the end of the generated code
+	 * @param entityPath entity file
+	 * @throws IOException
+	 */
+	private static void addUserContent(Path entityPath) throws IOException {
+		String content = new String(Files.readAllBytes(entityPath), StandardCharsets.UTF_8);
+		content = content.substring(0, content.lastIndexOf('}')) + "\t// user content\n\tpublic void custom() {\n\t}\n}\n";
+		Files.write(entityPath, content.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private void assertSameFiles() throws IOException {
+		List<Path> velocityFiles = listFiles(velocityOutputDirectory);
+		assertEquals(ALL_FILES, velocityFiles.size());
+		assertEquals(velocityFiles, listFiles(compiledOutputDirectory));
+		for(Path relativePath : velocityFiles) {
+			assertArrayEquals(relativePath.toString(), Files.readAllBytes(velocityOutputDirectory.resolve(relativePath)),
+					Files.readAllBytes(compiledOutputDirectory.resolve(relativePath)));
+		}
+	}
+
+	/**
+	 * @param directory output directory
+	 * @return files of the directory, relative to it and sorted
+	 * @throws IOException
+	 */
+	private static List<Path> listFiles(Path directory) throws IOException {
+		try(Stream<Path> files = Files.walk(directory)) {
+			return files.filter(Files::isRegularFile).map(directory::relativize).sorted().collect(Collectors.toList());
+		}
+	}
+
+	private static void generate(JavaWriter writer, Path javaOutputDirectory, boolean renderingPlans) {
+		generate(writer, javaOutputDirectory, renderingPlans, TestModel.orders());
+	}
+
+	/**
+	 * Generation of the model with the default templates
+	 * @param writer writer to use
+	 * @param javaOutputDirectory output directory
+	 * @param renderingPlans true to render the entities with entity_plan.vm
+	 * @param model model to generate
+	 */
+	private static void generate(JavaWriter writer, Path javaOutputDirectory, boolean renderingPlans, TestModel model) {
+		JavaWriterConfig config = new JavaWriterConfig();
+		config.setJavaOutputDirectory(javaOutputDirectory);
+		config.setUmlPackages(model.getPackages());
+		config.setConverter(new ResolvedTypeCache(new DomainToOracleConverter(), model.getDomains().values()));
+		config.setJavaNameConverter(new JavaSnakeToCamelNameConverter());
+		config.setAnnotationsForClasses(new HashMap<>());
+		config.setEntities("entities");
+		config.setDaos("daos");
+		config.setPathToPackageInfoTemplate(PathUtils.getPathForClassPathAndFs("/templates/package-info.vm"));
+		config.setPathToEntitiesTemplate(PathUtils.getPathForClassPathAndFs(renderingPlans ? "/templates/entity_plan.vm" : "/templates/entity.vm"));
+		config.setPathToDaosTemplate(PathUtils.getPathForClassPathAndFs("/templates/dao_spring.vm"));
+		config.setRenderingPlans(renderingPlans);
+		config.setReport(new GenerationReport());
+
+		writer.writeSourceCode(config);
+	}
+}
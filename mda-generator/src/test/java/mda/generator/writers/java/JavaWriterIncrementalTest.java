@@ -0,0 +1,174 @@
+package mda.generator.writers.java;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import mda.generator.TestModel;
+import mda.generator.converters.java.JavaSnakeToCamelNameConverter;
+import mda.generator.converters.type.DomainToOracleConverter;
+import mda.generator.converters.type.ResolvedTypeCache;
+import mda.generator.converters.type.TableTypeConverter;
+import mda.generator.converters.type.TypeConverterInterface;
+import mda.generator.metrics.GenerationReport;
+import mda.generator.utils.file.PathUtils;
+
+/**
+ * Incremental generation : only the classes modified since the previous generation are written.
+ *
+ * @author Fabien Crapart
+ */
+public class JavaWriterIncrementalTest {
+	/** 5 classes, 5 daos and 2 package-info per package */
+	private static final int ALL_FILES = 14;
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private Path javaOutputDirectory;
+	private Path entitiesTemplate;
+
+	@Before
+	public void setUp() throws IOException {
+		javaOutputDirectory = folder.newFolder("javagen").toPath();
+		entitiesTemplate = folder.getRoot().toPath().resolve("entity.vm");
+		Files.copy(PathUtils.getPathForClassPathAndFs("/templates/entity.vm"), entitiesTemplate);
+	}
+
+	@Test
+	public void testUnchangedModelWritesNothing() {
+		assertEquals(ALL_FILES, generate(TestModel.orders()).getWritten());
+
+		GenerationReport report = generate(TestModel.orders());
+		assertEquals(0, report.getWritten());
+		assertEquals(ALL_FILES, report.getUnchanged());
+	}
+
+	@Test
+	public void testAttributeChangeRewritesItsClass() throws IOException {
+		generate(TestModel.orders());
+
+		TestModel model = TestModel.orders();
+		model.addAttribute(model.getClass("ORD_LINE"), "LIN_QUANTITY", "DO_AMOUNT", false);
+		GenerationReport report = generate(model);
+
+		// The class, its dao is rendered but kept (STOP GENERATION in the default template)
+		assertEquals(1, report.getWritten());
+		assertEquals(1, report.getSkipped());
+		assertTrue(read("com/test/entities/orders/OrdLine.java").contains("LIN_QUANTITY"));
+	}
+
+	@Test
+	public void testAssociationChangeRewritesBothSides() {
+		generate(TestModel.orders());
+
+		TestModel model = TestModel.orders();
+		model.addManyToOne("EAID_C6", "ADR_PRD", model.getClass("CUS_ADDRESS"), model.getClass("PRD_PRODUCT"), true);
+		GenerationReport report = generate(model);
+
+		// CUS_ADDRESS and PRD_PRODUCT
+		assertEquals(2, report.getWritten());
+		assertEquals(2, report.getSkipped());
+	}
+
+	@Test
+	public void testTemplateChangeRewritesAllClasses() throws IOException {
+		generate(TestModel.orders());
+
+		Files.write(entitiesTemplate, "// template modified\n".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+		GenerationReport report = generate(TestModel.orders());
+
+		// All the entities, the package-info files keep the same content and the daos are kept
+		assertEquals(5, report.getWritten());
+		assertEquals(5, report.getSkipped());
+		assertTrue(read("com/test/entities/orders/OrdOrder.java").endsWith("// template modified\n"));
+	}
+
+	@Test
+	public void testTypeMappingChangeRewritesClasses() throws IOException {
+		Path typeMapping = folder.getRoot().toPath().resolve("types.properties");
+		Files.copy(PathUtils.getPathForClassPathAndFs("/types/oracle.properties"), typeMapping);
+		generate(TestModel.orders(), typeMapping);
+
+		String mapping = new String(Files.readAllBytes(typeMapping), StandardCharsets.UTF_8);
+		Files.write(typeMapping, mapping.replace("java.long=Long", "java.long=java.math.BigInteger").getBytes(StandardCharsets.UTF_8));
+		GenerationReport report = generate(TestModel.orders(), typeMapping);
+
+		// All the entities have a DO_ID primary key
+		assertEquals(5, report.getWritten());
+		assertEquals(5, report.getSkipped());
+		assertTrue(read("com/test/entities/orders/OrdOrder.java").contains("java.math.BigInteger"));
+	}
+
+	@Test
+	public void testMissingFileIsWrittenAgain() throws IOException {
+		generate(TestModel.orders());
+
+		Files.delete(javaOutputDirectory.resolve("com/test/daos/customers/CusAddressDAO.java"));
+		GenerationReport report = generate(TestModel.orders());
+
+		// Only the missing dao is written
+		assertEquals(1, report.getWritten());
+		assertEquals(ALL_FILES - 1, report.getUnchanged());
+	}
+
+	/**
+	 * Incremental generation of the model, with a new writer as in a new run of the generator
+	 * @param model model to generate
+	 * @return report of the generation
+	 */
+	private GenerationReport generate(TestModel model) {
+		return generate(model, new DomainToOracleConverter(), null);
+	}
+
+	/**
+	 * @param model model to generate
+	 * @param typeMapping mapping file of the domains types
+	 * @return report of the generation
+	 */
+	private GenerationReport generate(TestModel model, Path typeMapping) {
+		return generate(model, new TableTypeConverter(typeMapping), typeMapping);
+	}
+
+	/**
+	 * @param model model to generate
+	 * @param typeConverter converter of the domains types
+	 * @param typeMapping mapping file used by the converter (can be null)
+	 * @return report of the generation
+	 */
+	private GenerationReport generate(TestModel model, TypeConverterInterface typeConverter, Path typeMapping) {
+		JavaWriterConfig config = new JavaWriterConfig();
+		config.setJavaOutputDirectory(javaOutputDirectory);
+		config.setUmlPackages(model.getPackages());
+		config.setConverter(new ResolvedTypeCache(typeConverter, model.getDomains().values()));
+		config.setPathToTypeMapping(typeMapping);
+		config.setJavaNameConverter(new JavaSnakeToCamelNameConverter());
+		config.setAnnotationsForClasses(new HashMap<>());
+		config.setEntities("entities");
+		config.setDaos("daos");
+		config.setPathToPackageInfoTemplate(PathUtils.getPathForClassPathAndFs("/templates/package-info.vm"));
+		config.setPathToEntitiesTemplate(entitiesTemplate);
+		config.setPathToDaosTemplate(PathUtils.getPathForClassPathAndFs("/templates/dao_spring.vm"));
+		config.setIncremental(true);
+		GenerationReport report = new GenerationReport();
+		config.setReport(report);
+
+		new JavaWriter().writeSourceCode(config);
+		return report;
+	}
+
+	private String read(String relativePath) throws IOException {
+		return new String(Files.readAllBytes(javaOutputDirectory.resolve(relativePath)), StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,172 @@
+package mda.generator.writers.sql;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import mda.generator.TestModel;
+import mda.generator.beans.UmlClass;
+import mda.generator.beans.UmlPackage;
+import mda.generator.converters.type.DomainToOracleConverter;
+import mda.generator.utils.file.PathUtils;
+import mda.generator.writers.sql.codepart.SQLForeignKey;
+import mda.generator.writers.sql.codepart.SQLScript;
+import mda.generator.writers.sql.codepart.SQLSequence;
+import mda.generator.writers.sql.codepart.SQLTable;
+
+/**
+ * Split of the SQL scripts : tables of each script, order of the scripts and foreign keys between scripts.
+ *
+ * The model (see {@link TestModel#orders()}) has foreign keys between its two packages in both directions :
+ * ORD_ORDER and ORD_LINE reference CUS_CUSTOMER and PRD_PRODUCT, CUS_CUSTOMER references ORD_ORDER (cycle).
+ *
+ * @author Fabien Crapart
+ */
+public class StandardSQLWriterSplitTest {
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testSplitByPackage() {
+		List<SQLScript> scripts = split(TestModel.orders(), SQLSplitMode.PACKAGE, 0);
+
+		// Cycle between the packages : the first package is kept first, its FKs to the second package go in the last script
+		assertEquals(Arrays.asList("com_test_entities_orders", "com_test_entities_customers", "foreign_keys"), names(scripts));
+		assertEquals(Arrays.asList("ORD_ORDER", "ORD_LINE"), tables(scripts.get(0)));
+		assertEquals(Arrays.asList("CUS_CUSTOMER", "CUS_ADDRESS", "PRD_PRODUCT"), tables(scripts.get(1)));
+		assertTrue(tables(scripts.get(2)).isEmpty());
+
+		assertEquals(Arrays.asList("ORD_LINE->ORD_ORDER"), fks(scripts.get(0)));
+		assertEquals(Arrays.asList("CUS_CUSTOMER->ORD_ORDER", "CUS_ADDRESS->CUS_CUSTOMER"), fks(scripts.get(1)));
+		assertEquals(Arrays.asList("ORD_ORDER->CUS_CUSTOMER", "ORD_LINE->PRD_PRODUCT"), fks(scripts.get(2)));
+	}
+
+	@Test
+	public void testSplitByTables() {
+		List<SQLScript> scripts = split(TestModel.orders(), SQLSplitMode.TABLES, 2);
+
+		// part003 has no dependency and comes first, then part001 (cycle with part002) and part002
+		assertEquals(Arrays.asList("part003", "part001", "part002", "foreign_keys"), names(scripts));
+		assertEquals(Arrays.asList("PRD_PRODUCT"), tables(scripts.get(0)));
+		assertEquals(Arrays.asList("ORD_ORDER", "ORD_LINE"), tables(scripts.get(1)));
+		assertEquals(Arrays.asList("CUS_CUSTOMER", "CUS_ADDRESS"), tables(scripts.get(2)));
+
+		assertTrue(fks(scripts.get(0)).isEmpty());
+		assertEquals(Arrays.asList("ORD_LINE->ORD_ORDER", "ORD_LINE->PRD_PRODUCT"), fks(scripts.get(1)));
+		assertEquals(Arrays.asList("CUS_CUSTOMER->ORD_ORDER", "CUS_ADDRESS->CUS_CUSTOMER"), fks(scripts.get(2)));
+		assertEquals(Arrays.asList("ORD_ORDER->CUS_CUSTOMER"), fks(scripts.get(3)));
+	}
+
+	@Test
+	public void testSequencesFollowTheirTable() {
+		List<SQLScript> scripts = split(TestModel.orders(), SQLSplitMode.TABLES, 2);
+
+		for(SQLScript script : scripts) {
+			assertEquals(script.getTablesList().size(), script.getSequencesList().size());
+		}
+		assertEquals(Arrays.asList("SEQ_PRD_PRODUCT"), scripts.get(0).getSequencesList().stream().map(SQLSequence::getName).collect(Collectors.toList()));
+	}
+
+	@Test
+	public void testOneScriptWhenTablesPerScriptNotSet() {
+		List<SQLScript> scripts = split(TestModel.orders(), SQLSplitMode.TABLES, 0);
+
+		assertEquals(Arrays.asList("part001"), names(scripts));
+		assertEquals(5, scripts.get(0).getTablesList().size());
+		assertEquals(5, scripts.get(0).getFksList().size());
+	}
+
+	@Test
+	public void testDependenciesWithoutCycle() {
+		// Package order is the reverse of the dependency order
+		TestModel model = new TestModel();
+		model.addDomain("DO_ID", "Long", null);
+		UmlPackage children = model.addPackage("com.test.entities.children");
+		UmlPackage parents = model.addPackage("com.test.entities.parents");
+		UmlClass child = model.addClass(children, "CHI_CHILD");
+		model.addAttribute(child, "CHI_ID", "DO_ID", true);
+		UmlClass parent = model.addClass(parents, "PAR_PARENT");
+		model.addAttribute(parent, "PAR_ID", "DO_ID", true);
+		UmlClass grandParent = model.addClass(parents, "PAR_GRAND_PARENT");
+		model.addAttribute(grandParent, "GRP_ID", "DO_ID", true);
+		model.addManyToOne("EAID_C1", "CHI_PAR", child, parent, false);
+		model.addManyToOne("EAID_C2", "PAR_GRP", parent, grandParent, true);
+
+		List<SQLScript> scripts = split(model, SQLSplitMode.PACKAGE, 0);
+
+		// No foreign keys script : every FK target is created by a previous script (or the same one)
+		assertEquals(Arrays.asList("com_test_entities_parents", "com_test_entities_children"), names(scripts));
+		assertEquals(Arrays.asList("PAR_PARENT->PAR_GRAND_PARENT"), fks(scripts.get(0)));
+		assertEquals(Arrays.asList("CHI_CHILD->PAR_PARENT"), fks(scripts.get(1)));
+	}
+
+	@Test
+	public void testMasterScripts() throws IOException {
+		Path sqlDirectory = folder.newFolder("sqlgen").toPath();
+		SQLWriterConfig config = newConfig(TestModel.orders(), SQLSplitMode.TABLES, 2);
+		config.setCreateTablesPath(sqlDirectory.resolve("create_tables.sql"));
+		config.setDropTablesPath(sqlDirectory.resolve("drop_tables.sql"));
+
+		new StandardSQLWriter().writeSql(config);
+
+		// Created in execution order, dropped in reverse order
+		assertEquals(Arrays.asList("@@create_tables_part003.sql", "@@create_tables_part001.sql", "@@create_tables_part002.sql", "@@create_tables_foreign_keys.sql"),
+				includes(sqlDirectory.resolve("create_tables.sql")));
+		assertEquals(Arrays.asList("@@drop_tables_foreign_keys.sql", "@@drop_tables_part002.sql", "@@drop_tables_part001.sql", "@@drop_tables_part003.sql"),
+				includes(sqlDirectory.resolve("drop_tables.sql")));
+		for(String script : new String[] {"part001", "part002", "part003", "foreign_keys"}) {
+			assertTrue(Files.exists(sqlDirectory.resolve("create_tables_" + script + ".sql")));
+			assertTrue(Files.exists(sqlDirectory.resolve("drop_tables_" + script + ".sql")));
+		}
+	}
+
+	private List<SQLScript> split(TestModel model, SQLSplitMode splitMode, int tablesPerScript) {
+		StandardSQLWriter writer = new StandardSQLWriter();
+		writer.extractData(newConfig(model, splitMode, tablesPerScript));
+		return writer.splitScripts();
+	}
+
+	private SQLWriterConfig newConfig(TestModel model, SQLSplitMode splitMode, int tablesPerScript) {
+		SQLWriterConfig config = new SQLWriterConfig();
+		config.setPackagesList(model.getPackages());
+		config.setTypeConverter(new DomainToOracleConverter());
+		config.setSplitMode(splitMode);
+		config.setTablesPerScript(tablesPerScript);
+		config.setCreateSqlTemplatePath(PathUtils.getPathForClassPathAndFs("/templates/createSQL_oracle.vm"));
+		config.setDropSqlTemplatePath(PathUtils.getPathForClassPathAndFs("/templates/dropSQL_oracle.vm"));
+		config.setMasterSqlTemplatePath(PathUtils.getPathForClassPathAndFs("/templates/masterSQL_oracle.vm"));
+		return config;
+	}
+
+	private static List<String> names(List<SQLScript> scripts) {
+		return scripts.stream().map(SQLScript::getName).collect(Collectors.toList());
+	}
+
+	private static List<String> tables(SQLScript script) {
+		return script.getTablesList().stream().map(SQLTable::getName).collect(Collectors.toList());
+	}
+
+	private static List<String> fks(SQLScript script) {
+		List<String> fks = new ArrayList<>();
+		for(SQLForeignKey fk : script.getFksList()) {
+			fks.add(fk.getSourceName() + "->" + fk.getTargetName());
+		}
+		return fks;
+	}
+
+	private static List<String> includes(Path masterScript) throws IOException {
+		return Files.readAllLines(masterScript, StandardCharsets.UTF_8).stream().filter(line -> line.startsWith("@@")).collect(Collectors.toList());
+	}
+}
@@ -0,0 +1,59 @@
+package mda.generator.maven;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Annotation to add to generated classes (see MdaGeneratorBuilder.withAnnotation), configured in the pom :
+ * <pre>
+ * &lt;annotations&gt;
+ *   &lt;annotation&gt;
+ *     &lt;value&gt;@org.hibernate.annotations.Cache(usage = org.hibernate.annotations.CacheConcurrencyStrategy.READ_ONLY)&lt;/value&gt;
+ *     &lt;classNames&gt;
+ *       &lt;className&gt;UserType&lt;/className&gt;
+ *     &lt;/classNames&gt;
+ *   &lt;/annotation&gt;
+ * &lt;/annotations&gt;
+ * </pre>
+ *
+ * @author Fabien Crapart
+ */
+public class Annotation {
+	/** Annotation, as written in the classes */
+	private String value;
+	/** Names of the classes to annotate */
+	private List<String> classNames = new ArrayList<>();
+
+	/**
+	 * @return the value
+	 */
+	public String getValue() {
+		return value;
+	}
+
+	/**
+	 * @param value the value to set
+	 */
+	public void setValue(String value) {
+		this.value = value;
+	}
+
+	/**
+	 * @return the classNames
+	 */
+	public List<String> getClassNames() {
+		return classNames;
+	}
+
+	/**
+	 * @param classNames the classNames to set
+	 */
+	public void setClassNames(List<String> classNames) {
+		this.classNames = classNames;
+	}
+
+	@Override
+	public String toString() {
+		return value + " " + classNames;
+	}
+}
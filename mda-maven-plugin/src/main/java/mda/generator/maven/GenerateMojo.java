@@ -0,0 +1,366 @@
+package mda.generator.maven;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.descriptor.PluginDescriptor;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.project.MavenProject;
+
+import mda.generator.MdaGenerator;
+import mda.generator.MdaGeneratorBuilder;
+import mda.generator.components.ComponentsRegistry;
+import mda.generator.converters.java.JavaNameConverterInterface;
+import mda.generator.converters.type.TypeConverterInterface;
+import mda.generator.exceptions.MdaGeneratorException;
+import mda.generator.metrics.GenerationReport;
+import mda.generator.readers.ModelFileReaderInterface;
+import mda.generator.utils.file.PathUtils;
+import mda.generator.writers.java.JavaWriterInterface;
+import mda.generator.writers.sql.SQLWriterInterface;
+
+/**
+ * Generate java and sql files from the model with {@link MdaGeneratorBuilder}.
+ *
+ * The model, metadata, properties file, templates and types mapping are the inputs of the generation, the java and sql output directories its outputs :
+ * the generation is skipped while the inputs and the configuration are unchanged since the last one and the outputs still exist.
+ * The java output directory is added to the compile source roots of the project.
+ *
+ * @author Fabien Crapart
+ */
+@Mojo(name = "generate", defaultPhase = LifecyclePhase.GENERATE_SOURCES, threadSafe = true)
+public class GenerateMojo extends AbstractMojo {
+	/** Keys of the properties file whose values are input files */
+	private static final String[] PROPERTIES_INPUTS = {"pathToModel", "pathToMetadata", "pathToTypeMapping", "pathToPackageInfoTemplate", "pathToEntitiesTemplate",
+			"pathToDaosTemplate", "pathToCreateSQLTemplate", "pathToDropSQLTemplate", "pathToMasterSQLTemplate"};
+
+	@Parameter(defaultValue = "${project}", readonly = true, required = true)
+	private MavenProject project;
+
+	@Parameter(defaultValue = "${plugin}", readonly = true, required = true)
+	private PluginDescriptor plugin;
+
+	/** Properties file of the generator (see mda-generator.properties), the parameters of the pom override its values */
+	@Parameter(property = "mda.propertiesFile")
+	private File propertiesFile;
+
+	/** Model file */
+	@Parameter(property = "mda.modelPath")
+	private File modelPath;
+	/** Metadata file (can be the same as the model) */
+	@Parameter(property = "mda.metadataPath")
+	private File metadataPath;
+	/** Name of the class reading the model (full name, or simple name of a class registered by a ComponentsProvider) */
+	@Parameter
+	private String readerClass;
+	/** Name of the class converting the domains to java and database types */
+	@Parameter
+	private String typeConverter;
+	/** Properties file of the types conversions, instead of typeConverter (classpath or filesystem) */
+	@Parameter
+	private String typeMapping;
+	/** Name of the class converting the diagram names to java names */
+	@Parameter
+	private String javaNameConverter;
+	/** Name of the class writing the java files */
+	@Parameter
+	private String javaWriter;
+	/** Name of the class writing the sql files */
+	@Parameter
+	private String sqlWriter;
+
+	/** Output directory of the java files, added to the compile source roots */
+	@Parameter(property = "mda.javaOutputDirectory", defaultValue = "${project.build.directory}/generated-sources/mda", required = true)
+	private File javaOutputDirectory;
+	/** Output directory of the sql files */
+	@Parameter(property = "mda.sqlOutputDirectory", defaultValue = "${project.build.directory}/generated-sql/mda", required = true)
+	private File sqlOutputDirectory;
+
+	/** Templates (classpath or filesystem) */
+	@Parameter
+	private String packageInfoTemplate;
+	@Parameter
+	private String entityTemplate;
+	@Parameter
+	private String daoTemplate;
+	@Parameter
+	private String createSQLTemplate;
+	@Parameter
+	private String dropSQLTemplate;
+	@Parameter
+	private String masterSQLTemplate;
+
+	@Parameter
+	private String entitiesPackagePartName;
+	@Parameter
+	private String daosPackagePartName;
+	@Parameter
+	private String charset;
+	@Parameter
+	private List<String> excludedPrefixes;
+	@Parameter
+	private String sqlSequencePrefixName;
+	@Parameter
+	private String sqlSchemaName;
+	/** Annotations to add to generated classes */
+	@Parameter
+	private List<Annotation> annotations;
+
+	@Parameter
+	private Integer javaWriterThreads;
+	@Parameter
+	private Boolean incrementalGeneration;
+	@Parameter
+	private Boolean streamingOutput;
+	@Parameter
+	private Boolean renderingPlans;
+
+	/** Add the java output directory to the compile source roots */
+	@Parameter(defaultValue = "true")
+	private boolean addCompileSourceRoot;
+	/** State of the inputs of the last generation */
+	@Parameter(defaultValue = "${project.build.directory}/mda-generator/generation.state", required = true)
+	private File stateFile;
+	/** Generate even if the inputs are unchanged */
+	@Parameter(property = "mda.force", defaultValue = "false")
+	private boolean force;
+	/** Skip the generation */
+	@Parameter(property = "mda.skip", defaultValue = "false")
+	private boolean skip;
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void execute() throws MojoExecutionException {
+		if(skip) {
+			getLog().info("MDA generation skipped");
+			return;
+		}
+
+		String configuration = describeConfiguration();
+		Path statePath = stateFile.toPath();
+		try {
+			Set<Path> inputs = collectInputs();
+			GenerationState state = force ? null : GenerationState.read(statePath);
+			if(state != null && javaOutputDirectory.isDirectory() && sqlOutputDirectory.isDirectory() && state.isUpToDate(configuration, inputs)) {
+				getLog().info("MDA generation is up to date (" + inputs.size() + " input file(s) unchanged)");
+				if(state.isDatesChanged()) {
+					GenerationState.compute(configuration, inputs).write(statePath);
+				}
+			} else {
+				// State removed first : a failed generation is done again by the next build
+				Files.deleteIfExists(statePath);
+				GenerationReport report = createGenerator().generate();
+				getLog().info("MDA generation done : " + report);
+				GenerationState.compute(configuration, inputs).write(statePath);
+			}
+		} catch (IOException e) {
+			throw new MojoExecutionException("Cannot check the inputs of the MDA generation", e);
+		} catch (MdaGeneratorException e) {
+			throw new MojoExecutionException("MDA generation failed : " + e.getMessage(), e);
+		}
+
+		if(addCompileSourceRoot) {
+			project.addCompileSourceRoot(javaOutputDirectory.getAbsolutePath());
+		}
+	}
+
+	/**
+	 * @return generator configured with the properties file and the parameters of the pom
+	 * @throws MojoExecutionException if a class can't be found
+	 */
+	private MdaGenerator createGenerator() throws MojoExecutionException {
+		MdaGeneratorBuilder builder = new MdaGeneratorBuilder();
+		if(propertiesFile != null) {
+			builder.fromPropertiesFile(propertiesFile.getAbsolutePath());
+		}
+		if(modelPath != null) {
+			builder.withModelPath(modelPath.toPath());
+		}
+		if(metadataPath != null) {
+			builder.withMetadataPath(metadataPath.toPath());
+		}
+		if(readerClass != null) {
+			builder.withReader(loadComponent(readerClass, ModelFileReaderInterface.class));
+		}
+		if(typeConverter != null) {
+			builder.withTypeConverter(loadComponent(typeConverter, TypeConverterInterface.class));
+		}
+		if(typeMapping != null) {
+			builder.withTypeMapping(PathUtils.getPathForClassPathAndFs(typeMapping));
+		}
+		if(javaNameConverter != null) {
+			builder.withJavaNameConverter(loadComponent(javaNameConverter, JavaNameConverterInterface.class));
+		}
+		if(javaWriter != null) {
+			builder.withJavaWriter(loadComponent(javaWriter, JavaWriterInterface.class));
+		}
+		if(sqlWriter != null) {
+			builder.withSqlWriter(loadComponent(sqlWriter, SQLWriterInterface.class));
+		}
+		builder.withJavaOutputDirectory(javaOutputDirectory.toPath());
+		builder.withSqlOutputDirectory(sqlOutputDirectory.toPath());
+
+		if(packageInfoTemplate != null) {
+			builder.withPackageInfoTemplate(PathUtils.getPathForClassPathAndFs(packageInfoTemplate));
+		}
+		if(entityTemplate != null) {
+			builder.withEntityTemplate(PathUtils.getPathForClassPathAndFs(entityTemplate));
+		}
+		if(daoTemplate != null) {
+			builder.withDaoTemplate(PathUtils.getPathForClassPathAndFs(daoTemplate));
+		}
+		if(createSQLTemplate != null) {
+			builder.withCreateSQLTemplate(PathUtils.getPathForClassPathAndFs(createSQLTemplate));
+		}
+		if(dropSQLTemplate != null) {
+			builder.withDropSQLTemplate(PathUtils.getPathForClassPathAndFs(dropSQLTemplate));
+		}
+		if(masterSQLTemplate != null) {
+			builder.withMasterSQLTemplate(PathUtils.getPathForClassPathAndFs(masterSQLTemplate));
+		}
+
+		if(entitiesPackagePartName != null) {
+			builder.withEntitiesPackagePartName(entitiesPackagePartName);
+		}
+		if(daosPackagePartName != null) {
+			builder.withDaosPackagePartName(daosPackagePartName);
+		}
+		if(charset != null) {
+			builder.withCharset(Charset.forName(charset));
+		}
+		if(excludedPrefixes != null) {
+			builder.withExcludedPrefixes(excludedPrefixes.toArray(new String[excludedPrefixes.size()]));
+		}
+		if(sqlSequencePrefixName != null) {
+			builder.withSqlSequencePrefixName(sqlSequencePrefixName);
+		}
+		if(sqlSchemaName != null) {
+			builder.withSqlSchemaName(sqlSchemaName);
+		}
+		if(annotations != null) {
+			for(Annotation annotation : annotations) {
+				builder.withAnnotation(annotation.getValue(), annotation.getClassNames().toArray(new String[annotation.getClassNames().size()]));
+			}
+		}
+
+		if(javaWriterThreads != null) {
+			builder.withJavaWriterThreads(javaWriterThreads);
+		}
+		if(incrementalGeneration != null) {
+			builder.withIncrementalGeneration(incrementalGeneration);
+		}
+		if(streamingOutput != null) {
+			builder.withStreamingOutput(streamingOutput);
+		}
+		if(renderingPlans != null) {
+			builder.withRenderingPlans(renderingPlans);
+		}
+		return builder.build();
+	}
+
+	private <T> Supplier<? extends T> loadComponent(String className, Class<T> type) throws MojoExecutionException {
+		try {
+			return ComponentsRegistry.getDefault().getSupplier(type, className);
+		} catch (MdaGeneratorException e) {
+			throw new MojoExecutionException("Class " + className + " not found or not implementing " + type.getName(), e);
+		}
+	}
+
+	/**
+	 * @return input files of the generation : files of the pom parameters and of the properties file, and the generator itself
+	 */
+	private Set<Path> collectInputs() {
+		Set<Path> inputs = new LinkedHashSet<>();
+		addInput(inputs, propertiesFile != null ? propertiesFile.toPath() : null);
+		addInput(inputs, modelPath != null ? modelPath.toPath() : null);
+		addInput(inputs, metadataPath != null ? metadataPath.toPath() : null);
+		for(String template : new String[] {typeMapping, packageInfoTemplate, entityTemplate, daoTemplate, createSQLTemplate, dropSQLTemplate, masterSQLTemplate}) {
+			addInput(inputs, template != null ? Paths.get(template) : null);
+		}
+
+		if(propertiesFile != null && propertiesFile.isFile()) {
+			Properties properties = new Properties();
+			try(InputStream input = Files.newInputStream(propertiesFile.toPath())) {
+				properties.load(input);
+			} catch (IOException e) {
+				throw new MdaGeneratorException("Cannot load property file " + propertiesFile, e);
+			}
+			for(String key : PROPERTIES_INPUTS) {
+				String value = properties.getProperty(key);
+				addInput(inputs, value != null ? Paths.get(value.trim()) : null);
+			}
+		}
+
+		// Generator and default templates
+		try {
+			addInput(inputs, Paths.get(MdaGenerator.class.getProtectionDomain().getCodeSource().getLocation().toURI()));
+		} catch (URISyntaxException | RuntimeException e) {
+			getLog().debug("Generator location not found", e);
+		}
+		return inputs;
+	}
+
+	/**
+	 * Only regular files are inputs (classpath resources are part of the generator or of the plugin version)
+	 */
+	private static void addInput(Set<Path> inputs, Path path) {
+		if(path != null && Files.isRegularFile(path)) {
+			inputs.add(path.toAbsolutePath().normalize());
+		}
+	}
+
+	/**
+	 * @return description of the parameters of the generation, the generation is done again when it changes
+	 */
+	private String describeConfiguration() {
+		List<Object> values = new ArrayList<>();
+		values.add(plugin.getVersion());
+		values.add(propertiesFile);
+		values.add(modelPath);
+		values.add(metadataPath);
+		values.add(readerClass);
+		values.add(typeConverter);
+		values.add(typeMapping);
+		values.add(javaNameConverter);
+		values.add(javaWriter);
+		values.add(sqlWriter);
+		values.add(javaOutputDirectory);
+		values.add(sqlOutputDirectory);
+		values.add(packageInfoTemplate);
+		values.add(entityTemplate);
+		values.add(daoTemplate);
+		values.add(createSQLTemplate);
+		values.add(dropSQLTemplate);
+		values.add(masterSQLTemplate);
+		values.add(entitiesPackagePartName);
+		values.add(daosPackagePartName);
+		values.add(charset);
+		values.add(excludedPrefixes);
+		values.add(sqlSequencePrefixName);
+		values.add(sqlSchemaName);
+		values.add(annotations);
+		values.add(javaWriterThreads);
+		values.add(incrementalGeneration);
+		values.add(streamingOutput);
+		values.add(renderingPlans);
+		return values.toString();
+	}
+}
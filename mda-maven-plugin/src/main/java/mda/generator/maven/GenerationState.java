@@ -0,0 +1,202 @@
+package mda.generator.maven;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+import mda.generator.exceptions.MdaGeneratorException;
+
+/**
+ * State of the inputs of the last generation : hash of the configuration and key (size, modification date, SHA-256) of each input file.
+ *
+ * As for the model snapshot, files are compared on size and date first, and on content only when the date changed.
+ *
+ * @author Fabien Crapart
+ */
+public class GenerationState {
+	private static final String CONFIGURATION = "configuration";
+	private static final String INPUT_PREFIX = "input.";
+	/** Size of the buffer used to hash the input files */
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	/** Key of an input file */
+	private static final class InputFile {
+		private final long size;
+		private final long lastModified;
+		private final String hash;
+
+		private InputFile(long size, long lastModified, String hash) {
+			this.size = size;
+			this.lastModified = lastModified;
+			this.hash = hash;
+		}
+
+		private static InputFile of(Path filePath) throws IOException {
+			return new InputFile(Files.size(filePath), Files.getLastModifiedTime(filePath).toMillis(), hash(filePath));
+		}
+
+		private static InputFile parse(String value) {
+			String[] parts = value.split(";");
+			return new InputFile(Long.parseLong(parts[0]), Long.parseLong(parts[1]), parts[2]);
+		}
+
+		private boolean hasSameAttributes(Path filePath) throws IOException {
+			return Files.size(filePath) == size && Files.getLastModifiedTime(filePath).toMillis() == lastModified;
+		}
+
+		@Override
+		public String toString() {
+			return size + ";" + lastModified + ";" + hash;
+		}
+	}
+
+	private final String configuration;
+	/** Keys by absolute path of the input files */
+	private final Map<String, InputFile> inputs;
+	/** true if the last up-to-date check found files with a different date but the same content */
+	private boolean datesChanged;
+
+	private GenerationState(String configuration, Map<String, InputFile> inputs) {
+		this.configuration = configuration;
+		this.inputs = inputs;
+	}
+
+	/**
+	 * Compute the state of the inputs (all the files are read)
+	 * @param configuration description of the configuration of the generation
+	 * @param inputPaths input files
+	 * @return state
+	 * @throws IOException
+	 */
+	public static GenerationState compute(String configuration, Collection<Path> inputPaths) throws IOException {
+		Map<String, InputFile> inputs = new TreeMap<>();
+		for(Path inputPath : inputPaths) {
+			inputs.put(inputPath.toAbsolutePath().toString(), InputFile.of(inputPath));
+		}
+		return new GenerationState(hash(configuration.getBytes(StandardCharsets.UTF_8)), inputs);
+	}
+
+	/**
+	 * @param stateFile file written by {@link #write(Path)}
+	 * @return state of the last generation, null if the file doesn't exist or can't be read
+	 */
+	public static GenerationState read(Path stateFile) {
+		if(!Files.isRegularFile(stateFile)) {
+			return null;
+		}
+		Properties properties = new Properties();
+		try(InputStream input = Files.newInputStream(stateFile)) {
+			properties.load(input);
+			Map<String, InputFile> inputs = new TreeMap<>();
+			for(String key : properties.stringPropertyNames()) {
+				if(key.startsWith(INPUT_PREFIX)) {
+					inputs.put(key.substring(INPUT_PREFIX.length()), InputFile.parse(properties.getProperty(key)));
+				}
+			}
+			return new GenerationState(properties.getProperty(CONFIGURATION), inputs);
+		} catch (IOException | RuntimeException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * @param configuration description of the configuration of the generation
+	 * @param inputPaths input files
+	 * @return true if the configuration and the input files are the same as in this state
+	 * @throws IOException
+	 */
+	public boolean isUpToDate(String configuration, Collection<Path> inputPaths) throws IOException {
+		if(!hash(configuration.getBytes(StandardCharsets.UTF_8)).equals(this.configuration) || inputPaths.size() != inputs.size()) {
+			return false;
+		}
+		for(Path inputPath : inputPaths) {
+			InputFile inputFile = inputs.get(inputPath.toAbsolutePath().toString());
+			if(inputFile == null || !Files.isRegularFile(inputPath)) {
+				return false;
+			}
+			// Dates modifiées (checkout, copie...) : comparaison du contenu
+			if(!inputFile.hasSameAttributes(inputPath)) {
+				if(Files.size(inputPath) != inputFile.size || !hash(inputPath).equals(inputFile.hash)) {
+					return false;
+				}
+				datesChanged = true;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @return true if the last up-to-date check found files with a different date but the same content (state to rewrite with the new dates)
+	 */
+	public boolean isDatesChanged() {
+		return datesChanged;
+	}
+
+	/**
+	 * Write the state (temporary file then move, a partial state is never read)
+	 * @param stateFile file to write
+	 * @throws IOException
+	 */
+	public void write(Path stateFile) throws IOException {
+		Properties properties = new Properties();
+		properties.setProperty(CONFIGURATION, configuration);
+		for(Map.Entry<String, InputFile> input : inputs.entrySet()) {
+			properties.setProperty(INPUT_PREFIX + input.getKey(), input.getValue().toString());
+		}
+		if(stateFile.getParent() != null) {
+			Files.createDirectories(stateFile.getParent());
+		}
+		Path tmpFile = stateFile.resolveSibling(stateFile.getFileName() + ".tmp");
+		try(OutputStream output = Files.newOutputStream(tmpFile)) {
+			properties.store(output, "mda-maven-plugin inputs of the last generation");
+		}
+		Files.move(tmpFile, stateFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	private static String hash(Path filePath) throws IOException {
+		MessageDigest digest = newDigest();
+		// Heap buffer : a mapped file is released only when garbage collected
+		try(FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+			ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+			while(channel.read(buffer) >= 0) {
+				buffer.flip();
+				digest.update(buffer);
+				buffer.clear();
+			}
+		}
+		return toHex(digest.digest());
+	}
+
+	private static String hash(byte[] content) {
+		return toHex(newDigest().digest(content));
+	}
+
+	private static MessageDigest newDigest() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new MdaGeneratorException("SHA-256 not available", e);
+		}
+	}
+
+	private static String toHex(byte[] bytes) {
+		StringBuilder sb = new StringBuilder(bytes.length * 2);
+		for(byte b : bytes) {
+			sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+		}
+		return sb.toString();
+	}
+}